@@ -59,12 +59,14 @@ CREATE TABLE aviones (
     estado EstadoAvion NOT NULL DEFAULT 'DISPONIBLE',
     fecha_creacion DATETIME2 DEFAULT GETDATE(),
     fecha_actualizacion DATETIME2 DEFAULT GETDATE(),
+    version_fila ROWVERSION,
     CONSTRAINT CHK_EstadoAvion CHECK (estado IN ('DISPONIBLE', 'EN_MANTENIMIENTO', 'EN_VUELO', 'FUERA_SERVICIO'))
 );
 GO
 
 CREATE INDEX idx_estado ON aviones(estado);
 CREATE INDEX idx_modelo ON aviones(modelo);
+CREATE INDEX idx_version_fila ON aviones(version_fila);
 GO
 
 -- Tabla: personas (tabla base para pasajeros y empleados)
@@ -84,6 +86,8 @@ GO
 CREATE INDEX idx_email ON personas(email);
 CREATE INDEX idx_tipo ON personas(tipo);
 CREATE INDEX idx_nombre_apellido ON personas(nombre, apellido);
+-- Clave de los listados paginados de pasajeros y empleados
+CREATE INDEX idx_apellido_nombre_dni ON personas(apellido, nombre, dni);
 GO
 
 -- Tabla: pasajeros (extiende personas)
@@ -148,6 +152,7 @@ CREATE TABLE vuelos (
     estado EstadoVuelo NOT NULL DEFAULT 'PROGRAMADO',
     fecha_creacion DATETIME2 DEFAULT GETDATE(),
     fecha_actualizacion DATETIME2 DEFAULT GETDATE(),
+    version_fila ROWVERSION,
     FOREIGN KEY (numero_serie_avion) REFERENCES aviones(numero_serie) ON DELETE NO ACTION,
     CONSTRAINT CHK_EstadoVuelo CHECK (estado IN ('PROGRAMADO', 'EN_ABORDAR', 'EN_VUELO', 'COMPLETADO', 'CANCELADO')),
     CONSTRAINT CHK_FechaValida CHECK (fecha_hora_llegada > fecha_hora_salida)
@@ -159,6 +164,7 @@ CREATE INDEX idx_destino ON vuelos(destino);
 CREATE INDEX idx_fecha_salida ON vuelos(fecha_hora_salida);
 CREATE INDEX idx_estado ON vuelos(estado);
 CREATE INDEX idx_origen_destino ON vuelos(origen, destino);
+CREATE INDEX idx_version_fila ON vuelos(version_fila);
 GO
 
 -- Tabla: reservas
@@ -185,6 +191,19 @@ CREATE INDEX idx_fecha_reserva ON reservas(fecha_reserva);
 CREATE INDEX idx_estado ON reservas(estado);
 GO
 
+-- Tabla: filas_eliminadas (claves borradas de vuelos y aviones, para el sondeo de cambios:
+-- una fila borrada ya no tiene version_fila que consultar)
+CREATE TABLE filas_eliminadas (
+    tabla VARCHAR(20) NOT NULL,
+    clave VARCHAR(50) NOT NULL,
+    fecha_eliminacion DATETIME2 DEFAULT GETDATE(),
+    version_fila ROWVERSION
+);
+GO
+
+CREATE INDEX idx_tabla_version ON filas_eliminadas(tabla, version_fila);
+GO
+
 -- Trigger para actualizar fecha_actualizacion automáticamente
 CREATE TRIGGER trg_aviones_update ON aviones
 AFTER UPDATE
@@ -234,6 +253,30 @@ BEGIN
 END;
 GO
 
+-- Triggers que registran los borrados para el sondeo de cambios; las marcas de más de un día se
+-- descartan (un nodo que no sondeó en ese tiempo vuelve a cargar sus cachés completas)
+CREATE TRIGGER trg_aviones_delete ON aviones
+AFTER DELETE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO filas_eliminadas (tabla, clave)
+    SELECT 'aviones', d.numero_serie FROM deleted d;
+    DELETE FROM filas_eliminadas WHERE fecha_eliminacion < DATEADD(DAY, -1, GETDATE());
+END;
+GO
+
+CREATE TRIGGER trg_vuelos_delete ON vuelos
+AFTER DELETE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO filas_eliminadas (tabla, clave)
+    SELECT 'vuelos', d.numero_vuelo FROM deleted d;
+    DELETE FROM filas_eliminadas WHERE fecha_eliminacion < DATEADD(DAY, -1, GETDATE());
+END;
+GO
+
 -- =====================================================
 -- PROCEDIMIENTOS ALMACENADOS
 -- =====================================================
@@ -269,6 +312,13 @@ BEGIN
         UPDATE usuarios 
         SET ultimo_acceso = GETDATE()
         WHERE nombre_usuario = @p_nombre_usuario;
+        
+        -- Usuario completo con su empleado, para no buscarlo en otra consulta
+        SELECT u.*, e.*, per.nombre, per.apellido, per.email, per.telefono
+        FROM usuarios u
+        INNER JOIN empleados e ON u.dni_empleado = e.dni
+        INNER JOIN personas per ON e.dni = per.dni
+        WHERE u.nombre_usuario = @p_nombre_usuario;
     END
     ELSE
     BEGIN
@@ -290,10 +340,12 @@ CREATE PROCEDURE sp_crear_reserva
     @p_numero_vuelo VARCHAR(50),
     @p_numero_asiento INT,
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_asientos_disponibles INT;
     DECLARE @v_precio DECIMAL(10, 2);
@@ -338,6 +390,7 @@ BEGIN
     IF @v_existe_reserva > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'El asiento ya está ocupado';
         RETURN;
     END
@@ -365,7 +418,268 @@ BEGIN
         SET @p_mensaje = 'Reserva creada exitosamente';
     END TRY
     BEGIN CATCH
-        ROLLBACK TRANSACTION;
+        -- Sin transacción abierta el ROLLBACK fallaría (3903) y taparía el número del error original
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        -- Interbloqueo (1205) o bloqueo agotado (1222): se propaga para que la aplicación reintente
+        IF ERROR_NUMBER() IN (1205, 1222)
+            THROW;
+        SET @p_resultado = 0;
+        SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = CASE WHEN ERROR_MESSAGE() LIKE '%UK_VueloAsiento%'
+                                   THEN 'El asiento ya está ocupado'
+                                   ELSE 'Ya existe una reserva con ese número' END;
+        END
+    END CATCH
+END;
+GO
+
+-- Procedimiento: Crear reservas de grupo
+-- Reserva un asiento por pasajero en un mismo vuelo de forma atómica: se confirma el grupo completo
+-- o no se reserva ninguno. @p_reservas es un arreglo JSON de {numero_reserva, dni_pasajero,
+-- numero_asiento}; con @p_politica PRIMEROS_LIBRES o CONTIGUOS los asientos se eligen aquí, con el
+-- vuelo bloqueado. Devuelve (numero_reserva, numero_asiento) de los asientos asignados o, si el
+-- rechazo es por asientos ocupados, de los asientos en conflicto
+IF OBJECT_ID('sp_crear_reservas_grupo', 'P') IS NOT NULL
+    DROP PROCEDURE sp_crear_reservas_grupo;
+GO
+
+CREATE PROCEDURE sp_crear_reservas_grupo
+    @p_numero_vuelo VARCHAR(50),
+    @p_politica VARCHAR(20),
+    @p_reservas NVARCHAR(MAX),
+    @p_resultado BIT OUTPUT,
+    @p_mensaje VARCHAR(255) OUTPUT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    DECLARE @v_asientos_disponibles INT;
+    DECLARE @v_precio DECIMAL(10, 2);
+    DECLARE @v_estado_vuelo VARCHAR(20);
+    DECLARE @v_capacidad INT;
+    DECLARE @v_cantidad INT;
+    DECLARE @v_inicio INT;
+    DECLARE @v_detalle VARCHAR(200);
+    
+    DECLARE @grupo TABLE (
+        indice INT PRIMARY KEY,
+        numero_reserva VARCHAR(50),
+        dni_pasajero VARCHAR(20),
+        numero_asiento INT NULL
+    );
+    DECLARE @libres TABLE (
+        numero_asiento INT PRIMARY KEY
+    );
+    
+    INSERT INTO @grupo (indice, numero_reserva, dni_pasajero, numero_asiento)
+    SELECT CAST(j.[key] AS INT), f.numero_reserva, f.dni_pasajero, f.numero_asiento
+    FROM OPENJSON(@p_reservas) j
+    CROSS APPLY OPENJSON(j.[value]) WITH (
+        numero_reserva VARCHAR(50),
+        dni_pasajero VARCHAR(20),
+        numero_asiento INT
+    ) f;
+    
+    SELECT @v_cantidad = COUNT(*) FROM @grupo;
+    
+    BEGIN TRY
+        BEGIN TRANSACTION;
+        
+        -- Bloquear el vuelo hasta confirmar: ningún otro agente toma asientos mientras se asignan
+        SELECT @v_asientos_disponibles = v.asientos_disponibles,
+               @v_precio = v.precio,
+               @v_estado_vuelo = v.estado,
+               @v_capacidad = a.capacidad_pasajeros
+        FROM vuelos v WITH (UPDLOCK, HOLDLOCK)
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie
+        WHERE v.numero_vuelo = @p_numero_vuelo;
+        
+        IF @v_asientos_disponibles IS NULL
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'El vuelo no existe';
+            RETURN;
+        END
+        
+        IF @v_estado_vuelo != 'PROGRAMADO' AND @v_estado_vuelo != 'EN_ABORDAR'
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'El vuelo no está disponible. Estado: ' + @v_estado_vuelo;
+            RETURN;
+        END
+        
+        IF @v_cantidad = 0
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'El grupo no tiene pasajeros';
+            RETURN;
+        END
+        
+        IF @v_asientos_disponibles < @v_cantidad
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'No hay asientos suficientes para el grupo. Disponibles: '
+                             + CAST(@v_asientos_disponibles AS VARCHAR(10));
+            RETURN;
+        END
+        
+        -- Verificar que los pasajeros existan
+        SELECT @v_detalle = LEFT(STRING_AGG(g.dni_pasajero, ', '), 200)
+        FROM @grupo g
+        WHERE NOT EXISTS (SELECT 1 FROM pasajeros p WHERE p.dni = g.dni_pasajero);
+        
+        IF @v_detalle IS NOT NULL
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'Pasajeros no registrados: ' + @v_detalle;
+            RETURN;
+        END
+        
+        -- Verificar que los números de reserva no existan
+        SELECT @v_detalle = LEFT(STRING_AGG(g.numero_reserva, ', '), 200)
+        FROM @grupo g
+        WHERE EXISTS (SELECT 1 FROM reservas r WHERE r.numero_reserva = g.numero_reserva);
+        
+        IF @v_detalle IS NOT NULL
+        BEGIN
+            ROLLBACK TRANSACTION;
+            SET @p_resultado = 0;
+            SET @p_mensaje = 'Ya existen reservas con los números: ' + @v_detalle;
+            RETURN;
+        END
+        
+        IF @p_politica = 'ELEGIDOS'
+        BEGIN
+            IF EXISTS (SELECT 1 FROM @grupo WHERE numero_asiento IS NULL OR numero_asiento <= 0
+                                                 OR numero_asiento > @v_capacidad)
+            BEGIN
+                ROLLBACK TRANSACTION;
+                SET @p_resultado = 0;
+                SET @p_mensaje = 'Los asientos deben estar entre 1 y ' + CAST(@v_capacidad AS VARCHAR(10));
+                RETURN;
+            END
+            
+            -- Asientos ya reservados (UK_VueloAsiento no admite repetirlos, aunque la reserva esté
+            -- cancelada) o repetidos dentro del grupo
+            IF EXISTS (
+                SELECT 1 FROM @grupo g
+                WHERE EXISTS (SELECT 1 FROM reservas r
+                              WHERE r.numero_vuelo = @p_numero_vuelo AND r.numero_asiento = g.numero_asiento)
+                   OR EXISTS (SELECT 1 FROM @grupo o
+                              WHERE o.numero_asiento = g.numero_asiento AND o.indice < g.indice)
+            )
+            BEGIN
+                ROLLBACK TRANSACTION;
+                
+                SELECT g.numero_reserva, g.numero_asiento
+                FROM @grupo g
+                WHERE EXISTS (SELECT 1 FROM reservas r
+                              WHERE r.numero_vuelo = @p_numero_vuelo AND r.numero_asiento = g.numero_asiento)
+                   OR EXISTS (SELECT 1 FROM @grupo o
+                              WHERE o.numero_asiento = g.numero_asiento AND o.indice < g.indice)
+                ORDER BY g.numero_asiento;
+                
+                SET @p_resultado = 0;
+                SET @p_mensaje = 'Hay asientos ocupados';
+                RETURN;
+            END
+        END
+        ELSE
+        BEGIN
+            -- Asientos libres del avión (1..capacidad) que no tienen reserva en este vuelo
+            INSERT INTO @libres (numero_asiento)
+            SELECT n.numero_asiento
+            FROM (
+                SELECT TOP (@v_capacidad) ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) AS numero_asiento
+                FROM sys.all_columns c1 CROSS JOIN sys.all_columns c2
+            ) n
+            WHERE NOT EXISTS (SELECT 1 FROM reservas r
+                              WHERE r.numero_vuelo = @p_numero_vuelo AND r.numero_asiento = n.numero_asiento);
+            
+            IF @p_politica = 'CONTIGUOS'
+            BEGIN
+                -- Bloques de asientos consecutivos: numero_asiento - posición es constante en cada bloque
+                WITH bloques AS (
+                    SELECT MIN(numero_asiento) AS inicio, COUNT(*) AS largo
+                    FROM (
+                        SELECT numero_asiento,
+                               numero_asiento - ROW_NUMBER() OVER (ORDER BY numero_asiento) AS bloque
+                        FROM @libres
+                    ) l
+                    GROUP BY bloque
+                )
+                SELECT TOP 1 @v_inicio = inicio
+                FROM bloques
+                WHERE largo >= @v_cantidad
+                ORDER BY inicio;
+                
+                UPDATE @grupo
+                SET numero_asiento = @v_inicio + indice
+                WHERE @v_inicio IS NOT NULL;
+            END
+            ELSE
+            BEGIN
+                WITH ordenados AS (
+                    SELECT numero_asiento, ROW_NUMBER() OVER (ORDER BY numero_asiento) - 1 AS posicion
+                    FROM @libres
+                )
+                UPDATE g
+                SET numero_asiento = o.numero_asiento
+                FROM @grupo g
+                INNER JOIN ordenados o ON o.posicion = g.indice;
+            END
+            
+            IF EXISTS (SELECT 1 FROM @grupo WHERE numero_asiento IS NULL)
+            BEGIN
+                ROLLBACK TRANSACTION;
+                SET @p_resultado = 0;
+                SET @p_mensaje = CASE WHEN @p_politica = 'CONTIGUOS'
+                                      THEN 'No hay ' + CAST(@v_cantidad AS VARCHAR(10)) + ' asientos contiguos libres'
+                                      ELSE 'No hay ' + CAST(@v_cantidad AS VARCHAR(10)) + ' asientos libres'
+                                 END;
+                RETURN;
+            END
+        END
+        
+        -- Crear todas las reservas
+        INSERT INTO reservas (
+            numero_reserva, dni_pasajero, numero_vuelo,
+            numero_asiento, precio_pagado, estado
+        )
+        SELECT numero_reserva, dni_pasajero, @p_numero_vuelo,
+               numero_asiento, @v_precio, 'CONFIRMADA'
+        FROM @grupo;
+        
+        -- Un único descuento de asientos para todo el grupo
+        UPDATE vuelos
+        SET asientos_disponibles = asientos_disponibles - @v_cantidad
+        WHERE numero_vuelo = @p_numero_vuelo;
+        
+        COMMIT TRANSACTION;
+        
+        SELECT numero_reserva, numero_asiento
+        FROM @grupo
+        ORDER BY indice;
+        
+        SET @p_resultado = 1;
+        SET @p_mensaje = 'Reserva de grupo creada exitosamente';
+    END TRY
+    BEGIN CATCH
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        -- Interbloqueo (1205) o bloqueo agotado (1222): se propaga para que la aplicación reintente
+        IF ERROR_NUMBER() IN (1205, 1222)
+            THROW;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
     END CATCH
@@ -434,7 +748,12 @@ BEGIN
         SET @p_mensaje = 'Reserva cancelada exitosamente';
     END TRY
     BEGIN CATCH
-        ROLLBACK TRANSACTION;
+        -- Sin transacción abierta el ROLLBACK fallaría (3903) y taparía el número del error original
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        -- Interbloqueo (1205) o bloqueo agotado (1222): se propaga para que la aplicación reintente
+        IF ERROR_NUMBER() IN (1205, 1222)
+            THROW;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
     END CATCH
@@ -473,10 +792,12 @@ BEGIN
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie
     WHERE (@p_origen IS NULL OR v.origen = @p_origen)
       AND (@p_destino IS NULL OR v.destino = @p_destino)
-      AND (@p_fecha IS NULL OR CAST(v.fecha_hora_salida AS DATE) = @p_fecha)
+      AND (@p_fecha IS NULL OR (v.fecha_hora_salida >= @p_fecha AND v.fecha_hora_salida < DATEADD(DAY, 1, @p_fecha)))
       AND v.estado IN ('PROGRAMADO', 'EN_ABORDAR')
       AND v.asientos_disponibles > 0
-    ORDER BY v.fecha_hora_salida ASC;
+    ORDER BY v.fecha_hora_salida ASC
+    -- Filtros opcionales: se compila con los valores de cada llamada para descartar los nulos
+    OPTION (RECOMPILE);
 END;
 GO
 
@@ -606,7 +927,9 @@ BEGIN
         (SELECT COUNT(*) FROM pasajeros) AS total_pasajeros,
         (SELECT COUNT(*) FROM empleados WHERE activo = 1) AS empleados_activos,
         (SELECT ISNULL(SUM(precio_pagado), 0) FROM reservas WHERE estado = 'CONFIRMADA') AS ingresos_totales,
-        (SELECT COUNT(*) FROM vuelos WHERE CAST(fecha_hora_salida AS DATE) = CAST(GETDATE() AS DATE)) AS vuelos_hoy;
+        (SELECT COUNT(*) FROM vuelos
+         WHERE fecha_hora_salida >= CAST(GETDATE() AS DATE)
+           AND fecha_hora_salida < DATEADD(DAY, 1, CAST(GETDATE() AS DATE))) AS vuelos_hoy;
 END;
 GO
 
@@ -695,6 +1018,150 @@ BEGIN
 END;
 GO
 
+-- Procedimiento: Listar reservas por página (paginación por clave)
+-- Devuelve hasta @p_tamano reservas anteriores a la clave (fecha_reserva, numero_reserva)
+-- de la última fila de la página anterior, de la más reciente a la más antigua
+IF OBJECT_ID('sp_listar_reservas_pagina', 'P') IS NOT NULL
+    DROP PROCEDURE sp_listar_reservas_pagina;
+GO
+
+CREATE PROCEDURE sp_listar_reservas_pagina
+    @p_tamano INT,
+    @p_fecha_reserva DATETIME2 = NULL,
+    @p_numero_reserva VARCHAR(50) = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    -- Dos consultas separadas para que cada una tenga su propio plan de búsqueda sobre idx_fecha_reserva
+    IF @p_fecha_reserva IS NULL
+        SELECT TOP (@p_tamano) 
+            r.numero_reserva, 
+            r.fecha_reserva, 
+            r.estado AS estado_reserva, 
+            r.numero_asiento, 
+            r.precio_pagado, 
+            p.dni AS dni_pasajero, 
+            p.nombre AS nombre_pasajero, 
+            p.apellido AS apellido_pasajero, 
+            p.email AS email_pasajero, 
+            p.telefono AS telefono_pasajero, 
+            pas.fecha_nacimiento, 
+            pas.nacionalidad, 
+            pas.numero_pasaporte, 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo, 
+            a.fabricante, 
+            a.capacidad_pasajeros, 
+            a.capacidad_carga, 
+            a.estado AS estado_avion 
+        FROM reservas r 
+        INNER JOIN pasajeros pas ON r.dni_pasajero = pas.dni 
+        INNER JOIN personas p ON pas.dni = p.dni 
+        INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        ORDER BY r.fecha_reserva DESC, r.numero_reserva DESC;
+    ELSE
+        SELECT TOP (@p_tamano) 
+            r.numero_reserva, 
+            r.fecha_reserva, 
+            r.estado AS estado_reserva, 
+            r.numero_asiento, 
+            r.precio_pagado, 
+            p.dni AS dni_pasajero, 
+            p.nombre AS nombre_pasajero, 
+            p.apellido AS apellido_pasajero, 
+            p.email AS email_pasajero, 
+            p.telefono AS telefono_pasajero, 
+            pas.fecha_nacimiento, 
+            pas.nacionalidad, 
+            pas.numero_pasaporte, 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo, 
+            a.fabricante, 
+            a.capacidad_pasajeros, 
+            a.capacidad_carga, 
+            a.estado AS estado_avion 
+        FROM reservas r 
+        INNER JOIN pasajeros pas ON r.dni_pasajero = pas.dni 
+        INNER JOIN personas p ON pas.dni = p.dni 
+        INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        WHERE r.fecha_reserva < @p_fecha_reserva 
+           OR (r.fecha_reserva = @p_fecha_reserva AND r.numero_reserva < @p_numero_reserva) 
+        ORDER BY r.fecha_reserva DESC, r.numero_reserva DESC;
+END;
+GO
+
+-- Procedimiento: Listar resumen de reservas por página
+-- Mismo orden y clave que sp_listar_reservas_pagina; el pasajero se lee de personas y el vuelo
+-- aporta número y precio, sin los datos de pasaporte ni del avión
+-- Devuelve hasta @p_tamano reservas anteriores a la clave (fecha_reserva, numero_reserva)
+-- de la última fila de la página anterior, de la más reciente a la más antigua
+IF OBJECT_ID('sp_listar_reservas_resumen_pagina', 'P') IS NOT NULL
+    DROP PROCEDURE sp_listar_reservas_resumen_pagina;
+GO
+
+CREATE PROCEDURE sp_listar_reservas_resumen_pagina
+    @p_tamano INT,
+    @p_fecha_reserva DATETIME2 = NULL,
+    @p_numero_reserva VARCHAR(50) = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    -- Dos consultas separadas para que cada una tenga su propio plan de búsqueda sobre idx_fecha_reserva
+    IF @p_fecha_reserva IS NULL
+        SELECT TOP (@p_tamano) 
+            r.numero_reserva, 
+            r.fecha_reserva, 
+            r.estado AS estado_reserva, 
+            r.numero_asiento, 
+            p.dni AS dni_pasajero, 
+            p.nombre AS nombre_pasajero, 
+            p.apellido AS apellido_pasajero, 
+            v.numero_vuelo, 
+            v.precio 
+        FROM reservas r 
+        INNER JOIN personas p ON r.dni_pasajero = p.dni 
+        INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+        ORDER BY r.fecha_reserva DESC, r.numero_reserva DESC;
+    ELSE
+        SELECT TOP (@p_tamano) 
+            r.numero_reserva, 
+            r.fecha_reserva, 
+            r.estado AS estado_reserva, 
+            r.numero_asiento, 
+            p.dni AS dni_pasajero, 
+            p.nombre AS nombre_pasajero, 
+            p.apellido AS apellido_pasajero, 
+            v.numero_vuelo, 
+            v.precio 
+        FROM reservas r 
+        INNER JOIN personas p ON r.dni_pasajero = p.dni 
+        INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+        WHERE r.fecha_reserva < @p_fecha_reserva 
+           OR (r.fecha_reserva = @p_fecha_reserva AND r.numero_reserva < @p_numero_reserva) 
+        ORDER BY r.fecha_reserva DESC, r.numero_reserva DESC;
+END;
+GO
+
 -- Procedimiento: Buscar reserva por número de reserva
 IF OBJECT_ID('sp_buscar_reserva_por_numero', 'P') IS NOT NULL
     DROP PROCEDURE sp_buscar_reserva_por_numero;
@@ -792,6 +1259,113 @@ BEGIN
 END;
 GO
 
+-- Procedimiento: Buscar resumen de reservas por vuelo
+IF OBJECT_ID('sp_buscar_reservas_resumen_por_vuelo', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_reservas_resumen_por_vuelo;
+GO
+
+CREATE PROCEDURE sp_buscar_reservas_resumen_por_vuelo
+    @p_numero_vuelo VARCHAR(50)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        r.numero_reserva, 
+        r.fecha_reserva, 
+        r.estado AS estado_reserva, 
+        r.numero_asiento, 
+        p.dni AS dni_pasajero, 
+        p.nombre AS nombre_pasajero, 
+        p.apellido AS apellido_pasajero, 
+        v.numero_vuelo, 
+        v.precio 
+    FROM reservas r 
+    INNER JOIN personas p ON r.dni_pasajero = p.dni 
+    INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+    WHERE r.numero_vuelo = @p_numero_vuelo 
+    ORDER BY r.numero_asiento;
+END;
+GO
+
+-- Procedimiento: Buscar reservas por pasajero (mismas columnas que sp_listar_reservas, sin consultas adicionales)
+IF OBJECT_ID('sp_buscar_reservas_por_pasajero', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_reservas_por_pasajero;
+GO
+
+CREATE PROCEDURE sp_buscar_reservas_por_pasajero
+    @p_dni_pasajero VARCHAR(20)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        r.numero_reserva, 
+        r.fecha_reserva, 
+        r.estado AS estado_reserva, 
+        r.numero_asiento, 
+        r.precio_pagado, 
+        p.dni AS dni_pasajero, 
+        p.nombre AS nombre_pasajero, 
+        p.apellido AS apellido_pasajero, 
+        p.email AS email_pasajero, 
+        p.telefono AS telefono_pasajero, 
+        pas.fecha_nacimiento, 
+        pas.nacionalidad, 
+        pas.numero_pasaporte, 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo, 
+        a.fabricante, 
+        a.capacidad_pasajeros, 
+        a.capacidad_carga, 
+        a.estado AS estado_avion 
+    FROM reservas r 
+    INNER JOIN pasajeros pas ON r.dni_pasajero = pas.dni 
+    INNER JOIN personas p ON pas.dni = p.dni 
+    INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE r.dni_pasajero = @p_dni_pasajero 
+    ORDER BY r.fecha_reserva DESC;
+END;
+GO
+
+-- Procedimiento: Buscar resumen de reservas por pasajero
+IF OBJECT_ID('sp_buscar_reservas_resumen_por_pasajero', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_reservas_resumen_por_pasajero;
+GO
+
+CREATE PROCEDURE sp_buscar_reservas_resumen_por_pasajero
+    @p_dni_pasajero VARCHAR(20)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        r.numero_reserva, 
+        r.fecha_reserva, 
+        r.estado AS estado_reserva, 
+        r.numero_asiento, 
+        p.dni AS dni_pasajero, 
+        p.nombre AS nombre_pasajero, 
+        p.apellido AS apellido_pasajero, 
+        v.numero_vuelo, 
+        v.precio 
+    FROM reservas r 
+    INNER JOIN personas p ON r.dni_pasajero = p.dni 
+    INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+    WHERE r.dni_pasajero = @p_dni_pasajero 
+    ORDER BY r.fecha_reserva DESC;
+END;
+GO
+
 -- Procedimiento: Buscar reservas por fecha
 IF OBJECT_ID('sp_buscar_reservas_por_fecha', 'P') IS NOT NULL
     DROP PROCEDURE sp_buscar_reservas_por_fecha;
@@ -836,17 +1410,349 @@ BEGIN
     INNER JOIN personas p ON pas.dni = p.dni 
     INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE CAST(r.fecha_reserva AS DATE) = @p_fecha 
-    ORDER BY r.fecha_reserva DESC;
+    -- Rango semiabierto sobre la columna, sin convertirla, para que use idx_fecha_reserva
+    WHERE r.fecha_reserva >= @p_fecha AND r.fecha_reserva < DATEADD(DAY, 1, @p_fecha) 
+    ORDER BY r.fecha_reserva DESC;
+END;
+GO
+
+-- Procedimiento: Buscar resumen de reservas por fecha
+IF OBJECT_ID('sp_buscar_reservas_resumen_por_fecha', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_reservas_resumen_por_fecha;
+GO
+
+CREATE PROCEDURE sp_buscar_reservas_resumen_por_fecha
+    @p_fecha DATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        r.numero_reserva, 
+        r.fecha_reserva, 
+        r.estado AS estado_reserva, 
+        r.numero_asiento, 
+        p.dni AS dni_pasajero, 
+        p.nombre AS nombre_pasajero, 
+        p.apellido AS apellido_pasajero, 
+        v.numero_vuelo, 
+        v.precio 
+    FROM reservas r 
+    INNER JOIN personas p ON r.dni_pasajero = p.dni 
+    INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+    -- Rango semiabierto sobre la columna, sin convertirla, para que use idx_fecha_reserva
+    WHERE r.fecha_reserva >= @p_fecha AND r.fecha_reserva < DATEADD(DAY, 1, @p_fecha) 
+    ORDER BY r.fecha_reserva DESC;
+END;
+GO
+
+-- Procedimiento: Buscar resumen de reservas por rango de fechas (ambos días incluidos)
+IF OBJECT_ID('sp_buscar_reservas_resumen_por_rango', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_reservas_resumen_por_rango;
+GO
+
+CREATE PROCEDURE sp_buscar_reservas_resumen_por_rango
+    @p_desde DATE,
+    @p_hasta DATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        r.numero_reserva, 
+        r.fecha_reserva, 
+        r.estado AS estado_reserva, 
+        r.numero_asiento, 
+        p.dni AS dni_pasajero, 
+        p.nombre AS nombre_pasajero, 
+        p.apellido AS apellido_pasajero, 
+        v.numero_vuelo, 
+        v.precio 
+    FROM reservas r 
+    INNER JOIN personas p ON r.dni_pasajero = p.dni 
+    INNER JOIN vuelos v ON r.numero_vuelo = v.numero_vuelo 
+    -- Un solo recorrido de idx_fecha_reserva: [desde, hasta + 1 día)
+    WHERE r.fecha_reserva >= @p_desde AND r.fecha_reserva < DATEADD(DAY, 1, @p_hasta) 
+    ORDER BY r.fecha_reserva, r.numero_reserva;
+END;
+GO
+
+-- Procedimiento: Listar todos los vuelos con información completa
+IF OBJECT_ID('sp_listar_vuelos', 'P') IS NOT NULL
+    DROP PROCEDURE sp_listar_vuelos;
+GO
+
+CREATE PROCEDURE sp_listar_vuelos
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo, 
+        a.fabricante, 
+        a.capacidad_pasajeros, 
+        a.capacidad_carga, 
+        a.estado AS estado_avion 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    ORDER BY v.fecha_hora_salida;
+END;
+GO
+
+-- Procedimiento: Listar vuelos por página (paginación por clave)
+-- Devuelve hasta @p_tamano vuelos posteriores a la clave (fecha_hora_salida, numero_vuelo)
+-- de la última fila de la página anterior; sin clave devuelve la primera página
+IF OBJECT_ID('sp_listar_vuelos_pagina', 'P') IS NOT NULL
+    DROP PROCEDURE sp_listar_vuelos_pagina;
+GO
+
+CREATE PROCEDURE sp_listar_vuelos_pagina
+    @p_tamano INT,
+    @p_fecha_salida DATETIME2 = NULL,
+    @p_numero_vuelo VARCHAR(50) = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    -- Dos consultas separadas para que cada una tenga su propio plan de búsqueda sobre idx_fecha_salida
+    IF @p_fecha_salida IS NULL
+        SELECT TOP (@p_tamano) 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo, 
+            a.fabricante, 
+            a.capacidad_pasajeros, 
+            a.capacidad_carga, 
+            a.estado AS estado_avion 
+        FROM vuelos v 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        ORDER BY v.fecha_hora_salida, v.numero_vuelo;
+    ELSE
+        SELECT TOP (@p_tamano) 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo, 
+            a.fabricante, 
+            a.capacidad_pasajeros, 
+            a.capacidad_carga, 
+            a.estado AS estado_avion 
+        FROM vuelos v 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        WHERE v.fecha_hora_salida > @p_fecha_salida 
+           OR (v.fecha_hora_salida = @p_fecha_salida AND v.numero_vuelo > @p_numero_vuelo) 
+        ORDER BY v.fecha_hora_salida, v.numero_vuelo;
+END;
+GO
+
+-- Procedimiento: Listar resumen de vuelos por página
+-- Mismo orden y clave que sp_listar_vuelos_pagina, con solo las columnas que muestran los listados
+-- Devuelve hasta @p_tamano vuelos posteriores a la clave (fecha_hora_salida, numero_vuelo)
+-- de la última fila de la página anterior; sin clave devuelve la primera página
+IF OBJECT_ID('sp_listar_vuelos_resumen_pagina', 'P') IS NOT NULL
+    DROP PROCEDURE sp_listar_vuelos_resumen_pagina;
+GO
+
+CREATE PROCEDURE sp_listar_vuelos_resumen_pagina
+    @p_tamano INT,
+    @p_fecha_salida DATETIME2 = NULL,
+    @p_numero_vuelo VARCHAR(50) = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    -- Dos consultas separadas para que cada una tenga su propio plan de búsqueda sobre idx_fecha_salida
+    IF @p_fecha_salida IS NULL
+        SELECT TOP (@p_tamano) 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo 
+        FROM vuelos v 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        ORDER BY v.fecha_hora_salida, v.numero_vuelo;
+    ELSE
+        SELECT TOP (@p_tamano) 
+            v.numero_vuelo, 
+            v.origen, 
+            v.destino, 
+            v.fecha_hora_salida, 
+            v.fecha_hora_llegada, 
+            v.precio, 
+            v.asientos_disponibles, 
+            v.estado AS estado_vuelo, 
+            a.numero_serie, 
+            a.modelo 
+        FROM vuelos v 
+        INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+        WHERE v.fecha_hora_salida > @p_fecha_salida 
+           OR (v.fecha_hora_salida = @p_fecha_salida AND v.numero_vuelo > @p_numero_vuelo) 
+        ORDER BY v.fecha_hora_salida, v.numero_vuelo;
+END;
+GO
+
+-- Procedimiento: Buscar vuelo por número con información completa
+IF OBJECT_ID('sp_buscar_vuelo_por_numero', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelo_por_numero;
+GO
+
+CREATE PROCEDURE sp_buscar_vuelo_por_numero
+    @p_numero_vuelo VARCHAR(50)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo, 
+        a.fabricante, 
+        a.capacidad_pasajeros, 
+        a.capacidad_carga, 
+        a.estado AS estado_avion 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.numero_vuelo = @p_numero_vuelo;
+END;
+GO
+
+-- Procedimiento: Buscar vuelos por origen con información completa
+IF OBJECT_ID('sp_buscar_vuelos_por_origen', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_por_origen;
+GO
+
+CREATE PROCEDURE sp_buscar_vuelos_por_origen
+    @p_origen VARCHAR(100)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo, 
+        a.fabricante, 
+        a.capacidad_pasajeros, 
+        a.capacidad_carga, 
+        a.estado AS estado_avion 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.origen = @p_origen 
+    ORDER BY v.fecha_hora_salida;
+END;
+GO
+
+-- Procedimiento: Buscar resumen de vuelos por origen
+IF OBJECT_ID('sp_buscar_vuelos_resumen_por_origen', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_resumen_por_origen;
+GO
+
+CREATE PROCEDURE sp_buscar_vuelos_resumen_por_origen
+    @p_origen VARCHAR(100)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.origen = @p_origen 
+    ORDER BY v.fecha_hora_salida;
+END;
+GO
+
+-- Procedimiento: Buscar vuelos por destino con información completa
+IF OBJECT_ID('sp_buscar_vuelos_por_destino', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_por_destino;
+GO
+
+CREATE PROCEDURE sp_buscar_vuelos_por_destino
+    @p_destino VARCHAR(100)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo, 
+        a.fabricante, 
+        a.capacidad_pasajeros, 
+        a.capacidad_carga, 
+        a.estado AS estado_avion 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.destino = @p_destino 
+    ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Listar todos los vuelos con información completa
-IF OBJECT_ID('sp_listar_vuelos', 'P') IS NOT NULL
-    DROP PROCEDURE sp_listar_vuelos;
+-- Procedimiento: Buscar resumen de vuelos por destino
+IF OBJECT_ID('sp_buscar_vuelos_resumen_por_destino', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_resumen_por_destino;
 GO
 
-CREATE PROCEDURE sp_listar_vuelos
+CREATE PROCEDURE sp_buscar_vuelos_resumen_por_destino
+    @p_destino VARCHAR(100)
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -861,24 +1767,22 @@ BEGIN
         v.asientos_disponibles, 
         v.estado AS estado_vuelo, 
         a.numero_serie, 
-        a.modelo, 
-        a.fabricante, 
-        a.capacidad_pasajeros, 
-        a.capacidad_carga, 
-        a.estado AS estado_avion 
+        a.modelo 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.destino = @p_destino 
     ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Buscar vuelo por número con información completa
-IF OBJECT_ID('sp_buscar_vuelo_por_numero', 'P') IS NOT NULL
-    DROP PROCEDURE sp_buscar_vuelo_por_numero;
+-- Procedimiento: Buscar vuelos por origen y destino con información completa
+IF OBJECT_ID('sp_buscar_vuelos_por_ruta', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_por_ruta;
 GO
 
-CREATE PROCEDURE sp_buscar_vuelo_por_numero
-    @p_numero_vuelo VARCHAR(50)
+CREATE PROCEDURE sp_buscar_vuelos_por_ruta
+    @p_origen VARCHAR(100),
+    @p_destino VARCHAR(100)
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -900,17 +1804,19 @@ BEGIN
         a.estado AS estado_avion 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE v.numero_vuelo = @p_numero_vuelo;
+    WHERE v.origen = @p_origen AND v.destino = @p_destino 
+    ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Buscar vuelos por origen con información completa
-IF OBJECT_ID('sp_buscar_vuelos_por_origen', 'P') IS NOT NULL
-    DROP PROCEDURE sp_buscar_vuelos_por_origen;
+-- Procedimiento: Buscar resumen de vuelos por ruta
+IF OBJECT_ID('sp_buscar_vuelos_resumen_por_ruta', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_resumen_por_ruta;
 GO
 
-CREATE PROCEDURE sp_buscar_vuelos_por_origen
-    @p_origen VARCHAR(100)
+CREATE PROCEDURE sp_buscar_vuelos_resumen_por_ruta
+    @p_origen VARCHAR(100),
+    @p_destino VARCHAR(100)
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -925,25 +1831,21 @@ BEGIN
         v.asientos_disponibles, 
         v.estado AS estado_vuelo, 
         a.numero_serie, 
-        a.modelo, 
-        a.fabricante, 
-        a.capacidad_pasajeros, 
-        a.capacidad_carga, 
-        a.estado AS estado_avion 
+        a.modelo 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE v.origen = @p_origen 
+    WHERE v.origen = @p_origen AND v.destino = @p_destino 
     ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Buscar vuelos por destino con información completa
-IF OBJECT_ID('sp_buscar_vuelos_por_destino', 'P') IS NOT NULL
-    DROP PROCEDURE sp_buscar_vuelos_por_destino;
+-- Procedimiento: Buscar vuelos por fecha con información completa
+IF OBJECT_ID('sp_buscar_vuelos_por_fecha', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_por_fecha;
 GO
 
-CREATE PROCEDURE sp_buscar_vuelos_por_destino
-    @p_destino VARCHAR(100)
+CREATE PROCEDURE sp_buscar_vuelos_por_fecha
+    @p_fecha DATE
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -965,19 +1867,19 @@ BEGIN
         a.estado AS estado_avion 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE v.destino = @p_destino 
+    -- Rango semiabierto sobre la columna, sin convertirla, para que use idx_fecha_salida
+    WHERE v.fecha_hora_salida >= @p_fecha AND v.fecha_hora_salida < DATEADD(DAY, 1, @p_fecha) 
     ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Buscar vuelos por origen y destino con información completa
-IF OBJECT_ID('sp_buscar_vuelos_por_ruta', 'P') IS NOT NULL
-    DROP PROCEDURE sp_buscar_vuelos_por_ruta;
+-- Procedimiento: Buscar resumen de vuelos por fecha
+IF OBJECT_ID('sp_buscar_vuelos_resumen_por_fecha', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_resumen_por_fecha;
 GO
 
-CREATE PROCEDURE sp_buscar_vuelos_por_ruta
-    @p_origen VARCHAR(100),
-    @p_destino VARCHAR(100)
+CREATE PROCEDURE sp_buscar_vuelos_resumen_por_fecha
+    @p_fecha DATE
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -992,25 +1894,23 @@ BEGIN
         v.asientos_disponibles, 
         v.estado AS estado_vuelo, 
         a.numero_serie, 
-        a.modelo, 
-        a.fabricante, 
-        a.capacidad_pasajeros, 
-        a.capacidad_carga, 
-        a.estado AS estado_avion 
+        a.modelo 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE v.origen = @p_origen AND v.destino = @p_destino 
+    -- Rango semiabierto sobre la columna, sin convertirla, para que use idx_fecha_salida
+    WHERE v.fecha_hora_salida >= @p_fecha AND v.fecha_hora_salida < DATEADD(DAY, 1, @p_fecha) 
     ORDER BY v.fecha_hora_salida;
 END;
 GO
 
--- Procedimiento: Buscar vuelos por fecha con información completa
-IF OBJECT_ID('sp_buscar_vuelos_por_fecha', 'P') IS NOT NULL
-    DROP PROCEDURE sp_buscar_vuelos_por_fecha;
+-- Procedimiento: Buscar resumen de vuelos por rango de fechas de salida (ambos días incluidos)
+IF OBJECT_ID('sp_buscar_vuelos_resumen_por_rango', 'P') IS NOT NULL
+    DROP PROCEDURE sp_buscar_vuelos_resumen_por_rango;
 GO
 
-CREATE PROCEDURE sp_buscar_vuelos_por_fecha
-    @p_fecha DATE
+CREATE PROCEDURE sp_buscar_vuelos_resumen_por_rango
+    @p_desde DATE,
+    @p_hasta DATE
 AS
 BEGIN
     SET NOCOUNT ON;
@@ -1025,15 +1925,12 @@ BEGIN
         v.asientos_disponibles, 
         v.estado AS estado_vuelo, 
         a.numero_serie, 
-        a.modelo, 
-        a.fabricante, 
-        a.capacidad_pasajeros, 
-        a.capacidad_carga, 
-        a.estado AS estado_avion 
+        a.modelo 
     FROM vuelos v 
     INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
-    WHERE CAST(v.fecha_hora_salida AS DATE) = @p_fecha 
-    ORDER BY v.fecha_hora_salida;
+    -- Un solo recorrido de idx_fecha_salida: [desde, hasta + 1 día)
+    WHERE v.fecha_hora_salida >= @p_desde AND v.fecha_hora_salida < DATEADD(DAY, 1, @p_hasta) 
+    ORDER BY v.fecha_hora_salida, v.numero_vuelo;
 END;
 GO
 
@@ -1052,10 +1949,12 @@ CREATE PROCEDURE sp_crear_usuario
     @p_rol VARCHAR(20),
     @p_dni_empleado VARCHAR(20),
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_existe_usuario INT;
     DECLARE @v_existe_empleado INT;
@@ -1068,6 +1967,7 @@ BEGIN
     IF @v_existe_usuario > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'El nombre de usuario ya existe';
         RETURN;
     END
@@ -1099,6 +1999,12 @@ BEGIN
         ROLLBACK TRANSACTION;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = 'El nombre de usuario ya existe';
+        END
     END CATCH
 END;
 GO
@@ -1166,10 +2072,12 @@ CREATE PROCEDURE sp_crear_empleado
     @p_fecha_contratacion DATE,
     @p_salario DECIMAL(10, 2),
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_existe_persona INT;
     DECLARE @v_existe_empleado INT;
@@ -1184,6 +2092,7 @@ BEGIN
     IF @v_existe_persona > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'Ya existe una persona con ese DNI';
         RETURN;
     END
@@ -1196,6 +2105,7 @@ BEGIN
     IF @v_existe_email > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'El email ya está en uso';
         RETURN;
     END
@@ -1208,6 +2118,7 @@ BEGIN
     IF @v_existe_numero_empleado > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'El número de empleado ya está en uso';
         RETURN;
     END
@@ -1232,6 +2143,12 @@ BEGIN
         ROLLBACK TRANSACTION;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = 'Ya existe una persona con ese DNI, email o número de empleado';
+        END
     END CATCH
 END;
 GO
@@ -1298,10 +2215,12 @@ CREATE PROCEDURE sp_crear_pasajero
     @p_nacionalidad VARCHAR(100),
     @p_numero_pasaporte VARCHAR(50),
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_existe_persona INT;
     DECLARE @v_existe_email INT;
@@ -1315,6 +2234,7 @@ BEGIN
     IF @v_existe_persona > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'Ya existe una persona con ese DNI';
         RETURN;
     END
@@ -1327,6 +2247,7 @@ BEGIN
     IF @v_existe_email > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'El email ya está en uso';
         RETURN;
     END
@@ -1341,6 +2262,7 @@ BEGIN
         IF @v_existe_pasaporte > 0
         BEGIN
             SET @p_resultado = 0;
+            SET @p_duplicado = 1;
             SET @p_mensaje = 'El número de pasaporte ya está en uso';
             RETURN;
         END
@@ -1366,7 +2288,148 @@ BEGIN
         ROLLBACK TRANSACTION;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = 'Ya existe una persona con ese DNI, email o pasaporte';
+        END
+    END CATCH
+END;
+GO
+
+-- Procedimiento: Crear pasajeros en lote
+-- Recibe las filas como arreglo JSON y devuelve una fila (indice, resultado, mensaje) por cada una,
+-- con las mismas validaciones que sp_crear_pasajero. Si una clave se repite dentro del lote se
+-- crea la primera aparición. Si el INSERT por conjuntos falla por alguna fila, las filas válidas
+-- se crean una por una con sp_crear_pasajero para aislar la que falla
+IF OBJECT_ID('sp_crear_pasajeros_lote', 'P') IS NOT NULL
+    DROP PROCEDURE sp_crear_pasajeros_lote;
+GO
+
+CREATE PROCEDURE sp_crear_pasajeros_lote
+    @p_filas NVARCHAR(MAX)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    DECLARE @filas TABLE (
+        indice INT PRIMARY KEY,
+        dni VARCHAR(20),
+        nombre VARCHAR(100),
+        apellido VARCHAR(100),
+        email VARCHAR(150),
+        telefono VARCHAR(20),
+        fecha_nacimiento DATE,
+        nacionalidad VARCHAR(100),
+        numero_pasaporte VARCHAR(50),
+        resultado BIT NULL,
+        mensaje VARCHAR(255) NULL
+    );
+    
+    INSERT INTO @filas (indice, dni, nombre, apellido, email, telefono, fecha_nacimiento, nacionalidad, numero_pasaporte)
+    SELECT CAST(j.[key] AS INT), f.dni, f.nombre, f.apellido, f.email, f.telefono,
+           f.fecha_nacimiento, f.nacionalidad, f.numero_pasaporte
+    FROM OPENJSON(@p_filas) j
+    CROSS APPLY OPENJSON(j.[value]) WITH (
+        dni VARCHAR(20),
+        nombre VARCHAR(100),
+        apellido VARCHAR(100),
+        email VARCHAR(150),
+        telefono VARCHAR(20),
+        fecha_nacimiento DATE,
+        nacionalidad VARCHAR(100),
+        numero_pasaporte VARCHAR(50)
+    ) f;
+    
+    -- Verificar que la persona no exista
+    WITH candidatas AS (
+        SELECT dni, mensaje, ROW_NUMBER() OVER (PARTITION BY dni ORDER BY indice) AS orden
+        FROM @filas
+    )
+    UPDATE candidatas
+    SET mensaje = 'Ya existe una persona con ese DNI'
+    WHERE orden > 1 OR EXISTS (SELECT 1 FROM personas p WHERE p.dni = candidatas.dni);
+    
+    -- Verificar que el email no esté en uso
+    WITH candidatas AS (
+        SELECT email, mensaje, ROW_NUMBER() OVER (PARTITION BY email ORDER BY indice) AS orden
+        FROM @filas
+        WHERE mensaje IS NULL
+    )
+    UPDATE candidatas
+    SET mensaje = 'El email ya está en uso'
+    WHERE orden > 1 OR EXISTS (SELECT 1 FROM personas p WHERE p.email = candidatas.email);
+    
+    -- Verificar que el pasaporte no esté en uso (si se proporciona)
+    WITH candidatas AS (
+        SELECT numero_pasaporte, mensaje, ROW_NUMBER() OVER (PARTITION BY numero_pasaporte ORDER BY indice) AS orden
+        FROM @filas
+        WHERE mensaje IS NULL AND numero_pasaporte IS NOT NULL AND numero_pasaporte != ''
+    )
+    UPDATE candidatas
+    SET mensaje = 'El número de pasaporte ya está en uso'
+    WHERE orden > 1 OR EXISTS (SELECT 1 FROM pasajeros pas WHERE pas.numero_pasaporte = candidatas.numero_pasaporte);
+    
+    BEGIN TRY
+        BEGIN TRANSACTION;
+        
+        INSERT INTO personas (dni, nombre, apellido, email, telefono, tipo)
+        SELECT dni, nombre, apellido, email, telefono, 'PASAJERO'
+        FROM @filas
+        WHERE mensaje IS NULL;
+        
+        INSERT INTO pasajeros (dni, fecha_nacimiento, nacionalidad, numero_pasaporte)
+        SELECT dni, fecha_nacimiento, nacionalidad, numero_pasaporte
+        FROM @filas
+        WHERE mensaje IS NULL;
+        
+        COMMIT TRANSACTION;
+        
+        UPDATE @filas
+        SET resultado = 1, mensaje = 'Pasajero creado exitosamente'
+        WHERE mensaje IS NULL;
+    END TRY
+    BEGIN CATCH
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        
+        DECLARE @v_indice INT = -1;
+        DECLARE @v_dni VARCHAR(20), @v_nombre VARCHAR(100), @v_apellido VARCHAR(100), @v_email VARCHAR(150),
+                @v_telefono VARCHAR(20), @v_fecha_nacimiento DATE, @v_nacionalidad VARCHAR(100),
+                @v_numero_pasaporte VARCHAR(50), @v_resultado BIT, @v_mensaje VARCHAR(255);
+        
+        WHILE 1 = 1
+        BEGIN
+            SELECT TOP 1 @v_indice = indice, @v_dni = dni, @v_nombre = nombre, @v_apellido = apellido,
+                   @v_email = email, @v_telefono = telefono, @v_fecha_nacimiento = fecha_nacimiento,
+                   @v_nacionalidad = nacionalidad, @v_numero_pasaporte = numero_pasaporte
+            FROM @filas
+            WHERE mensaje IS NULL AND indice > @v_indice
+            ORDER BY indice;
+            
+            IF @@ROWCOUNT = 0
+                BREAK;
+            
+            BEGIN TRY
+                EXEC sp_crear_pasajero @v_dni, @v_nombre, @v_apellido, @v_email, @v_telefono,
+                     @v_fecha_nacimiento, @v_nacionalidad, @v_numero_pasaporte,
+                     @v_resultado OUTPUT, @v_mensaje OUTPUT;
+            END TRY
+            BEGIN CATCH
+                SET @v_resultado = 0;
+                SET @v_mensaje = ERROR_MESSAGE();
+            END CATCH
+            
+            UPDATE @filas
+            SET resultado = @v_resultado, mensaje = @v_mensaje
+            WHERE indice = @v_indice;
+        END
     END CATCH
+    
+    SELECT indice, ISNULL(resultado, 0) AS resultado, mensaje
+    FROM @filas
+    ORDER BY indice;
 END;
 GO
 
@@ -1443,10 +2506,12 @@ CREATE PROCEDURE sp_crear_avion
     @p_capacidad_carga INT,
     @p_estado VARCHAR(20),
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_existe INT;
     
@@ -1458,6 +2523,7 @@ BEGIN
     IF @v_existe > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'Ya existe un avión con ese número de serie';
         RETURN;
     END
@@ -1492,7 +2558,125 @@ BEGIN
         ROLLBACK TRANSACTION;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = 'Ya existe un avión con ese número de serie';
+        END
+    END CATCH
+END;
+GO
+
+-- Procedimiento: Crear aviones en lote
+-- Recibe las filas como arreglo JSON y devuelve una fila (indice, resultado, mensaje) por cada una,
+-- con las mismas validaciones que sp_crear_avion (ver sp_crear_pasajeros_lote)
+IF OBJECT_ID('sp_crear_aviones_lote', 'P') IS NOT NULL
+    DROP PROCEDURE sp_crear_aviones_lote;
+GO
+
+CREATE PROCEDURE sp_crear_aviones_lote
+    @p_filas NVARCHAR(MAX)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    DECLARE @filas TABLE (
+        indice INT PRIMARY KEY,
+        numero_serie VARCHAR(50),
+        modelo VARCHAR(100),
+        fabricante VARCHAR(100),
+        capacidad_pasajeros INT,
+        capacidad_carga INT,
+        estado VARCHAR(20),
+        resultado BIT NULL,
+        mensaje VARCHAR(255) NULL
+    );
+    
+    INSERT INTO @filas (indice, numero_serie, modelo, fabricante, capacidad_pasajeros, capacidad_carga, estado)
+    SELECT CAST(j.[key] AS INT), f.numero_serie, f.modelo, f.fabricante,
+           f.capacidad_pasajeros, f.capacidad_carga, f.estado
+    FROM OPENJSON(@p_filas) j
+    CROSS APPLY OPENJSON(j.[value]) WITH (
+        numero_serie VARCHAR(50),
+        modelo VARCHAR(100),
+        fabricante VARCHAR(100),
+        capacidad_pasajeros INT,
+        capacidad_carga INT,
+        estado VARCHAR(20)
+    ) f;
+    
+    -- Verificar que el avión no exista
+    WITH candidatas AS (
+        SELECT numero_serie, mensaje, ROW_NUMBER() OVER (PARTITION BY numero_serie ORDER BY indice) AS orden
+        FROM @filas
+    )
+    UPDATE candidatas
+    SET mensaje = 'Ya existe un avión con ese número de serie'
+    WHERE orden > 1 OR EXISTS (SELECT 1 FROM aviones a WHERE a.numero_serie = candidatas.numero_serie);
+    
+    -- Validar capacidad
+    UPDATE @filas
+    SET mensaje = 'La capacidad de pasajeros debe ser mayor a 0'
+    WHERE mensaje IS NULL AND capacidad_pasajeros <= 0;
+    
+    UPDATE @filas
+    SET mensaje = 'La capacidad de carga no puede ser negativa'
+    WHERE mensaje IS NULL AND capacidad_carga < 0;
+    
+    BEGIN TRY
+        BEGIN TRANSACTION;
+        
+        INSERT INTO aviones (numero_serie, modelo, fabricante, capacidad_pasajeros, capacidad_carga, estado)
+        SELECT numero_serie, modelo, fabricante, capacidad_pasajeros, capacidad_carga, estado
+        FROM @filas
+        WHERE mensaje IS NULL;
+        
+        COMMIT TRANSACTION;
+        
+        UPDATE @filas
+        SET resultado = 1, mensaje = 'Avión creado exitosamente'
+        WHERE mensaje IS NULL;
+    END TRY
+    BEGIN CATCH
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        
+        DECLARE @v_indice INT = -1;
+        DECLARE @v_numero_serie VARCHAR(50), @v_modelo VARCHAR(100), @v_fabricante VARCHAR(100),
+                @v_capacidad_pasajeros INT, @v_capacidad_carga INT, @v_estado VARCHAR(20),
+                @v_resultado BIT, @v_mensaje VARCHAR(255);
+        
+        WHILE 1 = 1
+        BEGIN
+            SELECT TOP 1 @v_indice = indice, @v_numero_serie = numero_serie, @v_modelo = modelo,
+                   @v_fabricante = fabricante, @v_capacidad_pasajeros = capacidad_pasajeros,
+                   @v_capacidad_carga = capacidad_carga, @v_estado = estado
+            FROM @filas
+            WHERE mensaje IS NULL AND indice > @v_indice
+            ORDER BY indice;
+            
+            IF @@ROWCOUNT = 0
+                BREAK;
+            
+            BEGIN TRY
+                EXEC sp_crear_avion @v_numero_serie, @v_modelo, @v_fabricante, @v_capacidad_pasajeros,
+                     @v_capacidad_carga, @v_estado, @v_resultado OUTPUT, @v_mensaje OUTPUT;
+            END TRY
+            BEGIN CATCH
+                SET @v_resultado = 0;
+                SET @v_mensaje = ERROR_MESSAGE();
+            END CATCH
+            
+            UPDATE @filas
+            SET resultado = @v_resultado, mensaje = @v_mensaje
+            WHERE indice = @v_indice;
+        END
     END CATCH
+    
+    SELECT indice, ISNULL(resultado, 0) AS resultado, mensaje
+    FROM @filas
+    ORDER BY indice;
 END;
 GO
 
@@ -1643,10 +2827,12 @@ CREATE PROCEDURE sp_crear_vuelo
     @p_precio DECIMAL(10, 2),
     @p_estado VARCHAR(20),
     @p_resultado BIT OUTPUT,
-    @p_mensaje VARCHAR(255) OUTPUT
+    @p_mensaje VARCHAR(255) OUTPUT,
+    @p_duplicado BIT = 0 OUTPUT
 AS
 BEGIN
     SET NOCOUNT ON;
+    SET @p_duplicado = 0;
     
     DECLARE @v_existe_vuelo INT;
     DECLARE @v_existe_avion INT;
@@ -1661,6 +2847,7 @@ BEGIN
     IF @v_existe_vuelo > 0
     BEGIN
         SET @p_resultado = 0;
+        SET @p_duplicado = 1;
         SET @p_mensaje = 'Ya existe un vuelo con ese número';
         RETURN;
     END
@@ -1732,7 +2919,170 @@ BEGIN
         ROLLBACK TRANSACTION;
         SET @p_resultado = 0;
         SET @p_mensaje = ERROR_MESSAGE();
+        -- Violación de clave primaria o única (2627, 2601): la clave se insertó después de la verificación
+        IF ERROR_NUMBER() IN (2627, 2601)
+        BEGIN
+            SET @p_duplicado = 1;
+            SET @p_mensaje = 'Ya existe un vuelo con ese número';
+        END
+    END CATCH
+END;
+GO
+
+-- Procedimiento: Crear vuelos en lote
+-- Recibe las filas como arreglo JSON y devuelve una fila (indice, resultado, mensaje) por cada una,
+-- con las mismas validaciones que sp_crear_vuelo (ver sp_crear_pasajeros_lote). Como un vuelo
+-- PROGRAMADO deja su avión EN_MANTENIMIENTO, los vuelos posteriores del lote con ese avión se rechazan
+IF OBJECT_ID('sp_crear_vuelos_lote', 'P') IS NOT NULL
+    DROP PROCEDURE sp_crear_vuelos_lote;
+GO
+
+CREATE PROCEDURE sp_crear_vuelos_lote
+    @p_filas NVARCHAR(MAX)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    DECLARE @filas TABLE (
+        indice INT PRIMARY KEY,
+        numero_vuelo VARCHAR(50),
+        origen VARCHAR(100),
+        destino VARCHAR(100),
+        fecha_hora_salida DATETIME2,
+        fecha_hora_llegada DATETIME2,
+        numero_serie_avion VARCHAR(50),
+        precio DECIMAL(10, 2),
+        estado VARCHAR(20),
+        resultado BIT NULL,
+        mensaje VARCHAR(255) NULL
+    );
+    
+    INSERT INTO @filas (indice, numero_vuelo, origen, destino, fecha_hora_salida, fecha_hora_llegada,
+                        numero_serie_avion, precio, estado)
+    SELECT CAST(j.[key] AS INT), f.numero_vuelo, f.origen, f.destino, f.fecha_hora_salida,
+           f.fecha_hora_llegada, f.numero_serie_avion, f.precio, f.estado
+    FROM OPENJSON(@p_filas) j
+    CROSS APPLY OPENJSON(j.[value]) WITH (
+        numero_vuelo VARCHAR(50),
+        origen VARCHAR(100),
+        destino VARCHAR(100),
+        fecha_hora_salida DATETIME2,
+        fecha_hora_llegada DATETIME2,
+        numero_serie_avion VARCHAR(50),
+        precio DECIMAL(10, 2),
+        estado VARCHAR(20)
+    ) f;
+    
+    -- Verificar que el vuelo no exista
+    WITH candidatas AS (
+        SELECT numero_vuelo, mensaje, ROW_NUMBER() OVER (PARTITION BY numero_vuelo ORDER BY indice) AS orden
+        FROM @filas
+    )
+    UPDATE candidatas
+    SET mensaje = 'Ya existe un vuelo con ese número'
+    WHERE orden > 1 OR EXISTS (SELECT 1 FROM vuelos v WHERE v.numero_vuelo = candidatas.numero_vuelo);
+    
+    -- Verificar que el avión exista y esté disponible
+    UPDATE f
+    SET mensaje = CASE
+                      WHEN a.numero_serie IS NULL THEN 'El avión no existe'
+                      ELSE 'El avión no está disponible. Estado: ' + a.estado
+                  END
+    FROM @filas f
+    LEFT JOIN aviones a ON a.numero_serie = f.numero_serie_avion
+    WHERE f.mensaje IS NULL AND (a.numero_serie IS NULL OR a.estado != 'DISPONIBLE');
+    
+    -- Validar fechas y precio
+    UPDATE @filas
+    SET mensaje = 'La fecha de llegada debe ser posterior a la fecha de salida'
+    WHERE mensaje IS NULL AND fecha_hora_llegada <= fecha_hora_salida;
+    
+    UPDATE @filas
+    SET mensaje = 'El precio no puede ser negativo'
+    WHERE mensaje IS NULL AND precio < 0;
+    
+    -- El primer vuelo PROGRAMADO de cada avión lo deja EN_MANTENIMIENTO para el resto del lote
+    UPDATE f
+    SET mensaje = 'El avión no está disponible. Estado: EN_MANTENIMIENTO'
+    FROM @filas f
+    INNER JOIN (
+        SELECT numero_serie_avion, MIN(indice) AS indice
+        FROM @filas
+        WHERE mensaje IS NULL AND estado = 'PROGRAMADO'
+        GROUP BY numero_serie_avion
+    ) programado ON programado.numero_serie_avion = f.numero_serie_avion
+    WHERE f.mensaje IS NULL AND f.indice > programado.indice;
+    
+    BEGIN TRY
+        BEGIN TRANSACTION;
+        
+        INSERT INTO vuelos (
+            numero_vuelo, origen, destino, fecha_hora_salida, fecha_hora_llegada,
+            numero_serie_avion, precio, asientos_disponibles, estado
+        )
+        SELECT f.numero_vuelo, f.origen, f.destino, f.fecha_hora_salida, f.fecha_hora_llegada,
+               f.numero_serie_avion, f.precio, a.capacidad_pasajeros, f.estado
+        FROM @filas f
+        INNER JOIN aviones a ON a.numero_serie = f.numero_serie_avion
+        WHERE f.mensaje IS NULL;
+        
+        -- Actualizar estado de los aviones con vuelos programados
+        UPDATE aviones
+        SET estado = 'EN_MANTENIMIENTO'
+        WHERE numero_serie IN (
+            SELECT numero_serie_avion
+            FROM @filas
+            WHERE mensaje IS NULL AND estado = 'PROGRAMADO'
+        );
+        
+        COMMIT TRANSACTION;
+        
+        UPDATE @filas
+        SET resultado = 1, mensaje = 'Vuelo creado exitosamente'
+        WHERE mensaje IS NULL;
+    END TRY
+    BEGIN CATCH
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        
+        DECLARE @v_indice INT = -1;
+        DECLARE @v_numero_vuelo VARCHAR(50), @v_origen VARCHAR(100), @v_destino VARCHAR(100),
+                @v_fecha_hora_salida DATETIME2, @v_fecha_hora_llegada DATETIME2,
+                @v_numero_serie_avion VARCHAR(50), @v_precio DECIMAL(10, 2), @v_estado VARCHAR(20),
+                @v_resultado BIT, @v_mensaje VARCHAR(255);
+        
+        WHILE 1 = 1
+        BEGIN
+            SELECT TOP 1 @v_indice = indice, @v_numero_vuelo = numero_vuelo, @v_origen = origen,
+                   @v_destino = destino, @v_fecha_hora_salida = fecha_hora_salida,
+                   @v_fecha_hora_llegada = fecha_hora_llegada, @v_numero_serie_avion = numero_serie_avion,
+                   @v_precio = precio, @v_estado = estado
+            FROM @filas
+            WHERE mensaje IS NULL AND indice > @v_indice
+            ORDER BY indice;
+            
+            IF @@ROWCOUNT = 0
+                BREAK;
+            
+            BEGIN TRY
+                EXEC sp_crear_vuelo @v_numero_vuelo, @v_origen, @v_destino, @v_fecha_hora_salida,
+                     @v_fecha_hora_llegada, @v_numero_serie_avion, @v_precio, @v_estado,
+                     @v_resultado OUTPUT, @v_mensaje OUTPUT;
+            END TRY
+            BEGIN CATCH
+                SET @v_resultado = 0;
+                SET @v_mensaje = ERROR_MESSAGE();
+            END CATCH
+            
+            UPDATE @filas
+            SET resultado = @v_resultado, mensaje = @v_mensaje
+            WHERE indice = @v_indice;
+        END
     END CATCH
+    
+    SELECT indice, ISNULL(resultado, 0) AS resultado, mensaje
+    FROM @filas
+    ORDER BY indice;
 END;
 GO
 
@@ -1894,6 +3244,89 @@ BEGIN
 END;
 GO
 
+-- =====================================================
+-- SONDEO DE CAMBIOS (ROWVERSION)
+-- =====================================================
+-- Cada procedimiento devuelve las filas cambiadas en [@p_desde, @p_hasta) y, en un segundo
+-- resultado, las claves borradas en el mismo tramo. @p_hasta es MIN_ACTIVE_ROWVERSION(): todo lo
+-- anterior ya está confirmado, así que una transacción en curso no se saltea; la próxima consulta
+-- empieza en ese valor
+
+-- Procedimiento: Versión desde la que empezar a sondear
+IF OBJECT_ID('sp_version_cambios', 'P') IS NOT NULL
+    DROP PROCEDURE sp_version_cambios;
+GO
+
+CREATE PROCEDURE sp_version_cambios
+    @p_version BINARY(8) OUTPUT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    SET @p_version = MIN_ACTIVE_ROWVERSION();
+END;
+GO
+
+-- Procedimiento: Cambios de vuelos (mismas columnas que los procedimientos *_resumen)
+IF OBJECT_ID('sp_cambios_vuelos', 'P') IS NOT NULL
+    DROP PROCEDURE sp_cambios_vuelos;
+GO
+
+CREATE PROCEDURE sp_cambios_vuelos
+    @p_desde BINARY(8),
+    @p_hasta BINARY(8) OUTPUT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SET @p_hasta = MIN_ACTIVE_ROWVERSION();
+    
+    SELECT 
+        v.numero_vuelo, 
+        v.origen, 
+        v.destino, 
+        v.fecha_hora_salida, 
+        v.fecha_hora_llegada, 
+        v.precio, 
+        v.asientos_disponibles, 
+        v.estado AS estado_vuelo, 
+        a.numero_serie, 
+        a.modelo 
+    FROM vuelos v 
+    INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie 
+    WHERE v.version_fila >= @p_desde AND v.version_fila < @p_hasta 
+    ORDER BY v.version_fila;
+    
+    SELECT clave 
+    FROM filas_eliminadas 
+    WHERE tabla = 'vuelos' AND version_fila >= @p_desde AND version_fila < @p_hasta;
+END;
+GO
+
+-- Procedimiento: Cambios de aviones
+IF OBJECT_ID('sp_cambios_aviones', 'P') IS NOT NULL
+    DROP PROCEDURE sp_cambios_aviones;
+GO
+
+CREATE PROCEDURE sp_cambios_aviones
+    @p_desde BINARY(8),
+    @p_hasta BINARY(8) OUTPUT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    
+    SET @p_hasta = MIN_ACTIVE_ROWVERSION();
+    
+    SELECT numero_serie, modelo, fabricante, capacidad_pasajeros, capacidad_carga, estado 
+    FROM aviones 
+    WHERE version_fila >= @p_desde AND version_fila < @p_hasta 
+    ORDER BY version_fila;
+    
+    SELECT clave 
+    FROM filas_eliminadas 
+    WHERE tabla = 'aviones' AND version_fila >= @p_desde AND version_fila < @p_hasta;
+END;
+GO
+
 -- =====================================================
 -- TRIGGERS DE VALIDACIÓN
 -- =====================================================
@@ -1934,53 +3367,27 @@ BEGIN
     END
     
     -- Si pasa las validaciones, insertar normalmente
-    INSERT INTO reservas
-    SELECT * FROM inserted;
+    INSERT INTO reservas (
+        numero_reserva, dni_pasajero, numero_vuelo, fecha_reserva, estado,
+        numero_asiento, precio_pagado, fecha_creacion, fecha_actualizacion
+    )
+    SELECT numero_reserva, dni_pasajero, numero_vuelo, fecha_reserva, estado,
+           numero_asiento, precio_pagado, fecha_creacion, fecha_actualizacion
+    FROM inserted;
 END;
 GO
 
--- Trigger: Actualizar asientos disponibles al crear reserva
+-- Triggers de asientos retirados: sp_crear_reserva, sp_crear_reservas_grupo y sp_cancelar_reserva
+-- actualizan asientos_disponibles en la misma transacción que la reserva. Con estos triggers cada
+-- reserva descontaba dos asientos y un INSERT de varias filas de un mismo vuelo descontaba uno solo
 IF OBJECT_ID('trg_actualizar_asientos_crear', 'TR') IS NOT NULL
     DROP TRIGGER trg_actualizar_asientos_crear;
 GO
 
-CREATE TRIGGER trg_actualizar_asientos_crear
-ON reservas
-AFTER INSERT
-AS
-BEGIN
-    SET NOCOUNT ON;
-    
-    UPDATE vuelos 
-    SET asientos_disponibles = asientos_disponibles - 1
-    FROM vuelos v
-    INNER JOIN inserted i ON v.numero_vuelo = i.numero_vuelo
-    WHERE i.estado = 'CONFIRMADA';
-END;
-GO
-
--- Trigger: Actualizar asientos disponibles al cancelar reserva
 IF OBJECT_ID('trg_actualizar_asientos_cancelar', 'TR') IS NOT NULL
     DROP TRIGGER trg_actualizar_asientos_cancelar;
 GO
 
-CREATE TRIGGER trg_actualizar_asientos_cancelar
-ON reservas
-AFTER UPDATE
-AS
-BEGIN
-    SET NOCOUNT ON;
-    
-    -- Si se cancela una reserva confirmada, liberar el asiento
-    UPDATE vuelos 
-    SET asientos_disponibles = asientos_disponibles + 1
-    FROM vuelos v
-    INNER JOIN inserted i ON v.numero_vuelo = i.numero_vuelo
-    INNER JOIN deleted d ON i.numero_reserva = d.numero_reserva
-    WHERE d.estado = 'CONFIRMADA' AND i.estado = 'CANCELADA';
-END;
-GO
-
 -- =====================================================
 -- VISTAS ÚTILES
 -- =====================================================
@@ -1,5 +1,7 @@
 import ui.MenuService;
 
+import java.util.Arrays;
+
 /**
  * Clase principal del Sistema de Gestión de Vuelos
  * Aplica principios SOLID:
@@ -12,6 +14,10 @@ import ui.MenuService;
 public class Main {
     public static void main(String[] args) {
         MenuService menuService = new MenuService();
+        // Precalentamiento opcional: java Main --precalentar (o -Dsistemavuelos.precalentar=true)
+        if (Arrays.asList(args).contains("--precalentar") || Boolean.getBoolean("sistemavuelos.precalentar")) {
+            menuService.precalentar();
+        }
         menuService.mostrarMenuPrincipal();
     }
 }
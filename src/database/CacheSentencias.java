@@ -0,0 +1,167 @@
+package database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU de sentencias preparadas de una conexión física, indexada por el texto SQL
+ * Al cerrar una sentencia obtenida de la cache, esta se limpia y queda lista para
+ * reutilizarse en lugar de volver a prepararse en el servidor
+ * Una conexión física solo la usa un préstamo a la vez, por eso no se sincroniza
+ */
+class CacheSentencias {
+    private final int capacidad;
+    private final LongAdder aciertos;
+    private final LongAdder fallos;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    /**
+     * @param aciertos Contador compartido de aciertos del pool
+     * @param fallos Contador compartido de fallos del pool
+     */
+    CacheSentencias(int capacidad, LongAdder aciertos, LongAdder fallos) {
+        this.capacidad = capacidad;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        // En orden de acceso: la primera entrada es la usada hace más tiempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Devuelve una sentencia para el SQL dado, reutilizando la cacheada si está libre
+     * @param tipo PreparedStatement.class o CallableStatement.class
+     */
+    PreparedStatement preparar(Connection real, String sql, Class<?> tipo) throws SQLException {
+        if (capacidad <= 0) {
+            return preparar(real, sql, tipo == CallableStatement.class);
+        }
+
+        Entrada entrada = entradas.get(sql);
+        if (entrada != null && !entrada.enUso && entrada.tipo == tipo) {
+            aciertos.increment();
+            entrada.enUso = true;
+            return envolver(entrada);
+        }
+
+        fallos.increment();
+        PreparedStatement sentencia = preparar(real, sql, tipo == CallableStatement.class);
+        if (entrada != null) {
+            // La cacheada está ocupada (uso anidado) o es de otro tipo: se entrega una sentencia normal
+            return sentencia;
+        }
+        Entrada nueva = new Entrada(sentencia, tipo);
+        nueva.enUso = true;
+        entradas.put(sql, nueva);
+        recortar();
+        return envolver(nueva);
+    }
+
+    /**
+     * Olvida las sentencias cacheadas (la conexión física se va a cerrar)
+     */
+    void limpiar() {
+        entradas.clear();
+    }
+
+    private static PreparedStatement preparar(Connection real, String sql, boolean llamada) throws SQLException {
+        return llamada ? real.prepareCall(sql) : real.prepareStatement(sql);
+    }
+
+    private PreparedStatement envolver(Entrada entrada) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{entrada.tipo},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "close":
+                            if (entrada.enUso) {
+                                liberar(entrada);
+                            }
+                            return null;
+                        case "isClosed":
+                            return !entrada.enUso;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if (!entrada.enUso) {
+                        throw new SQLException("La sentencia ya fue cerrada");
+                    }
+                    Object resultado;
+                    try {
+                        resultado = metodo.invoke(entrada.sentencia, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (resultado instanceof ResultSet) {
+                        entrada.ultimoResultado = (ResultSet) resultado;
+                    }
+                    return resultado;
+                });
+    }
+
+    private void liberar(Entrada entrada) {
+        try {
+            if (entrada.ultimoResultado != null && !entrada.ultimoResultado.isClosed()) {
+                entrada.ultimoResultado.close();
+            }
+            entrada.sentencia.clearParameters();
+            entrada.sentencia.clearWarnings();
+            entrada.enUso = false;
+            recortar();
+        } catch (SQLException e) {
+            // Si no se puede limpiar no se reutiliza
+            entradas.values().remove(entrada);
+            cerrarSilenciosamente(entrada.sentencia);
+            entrada.enUso = false;
+        } finally {
+            entrada.ultimoResultado = null;
+        }
+    }
+
+    /**
+     * Cierra las sentencias libres usadas hace más tiempo hasta volver a la capacidad. Las que
+     * están en uso se saltean; si por ellas la cache quedó por encima, se recorta al liberarlas
+     */
+    private void recortar() {
+        Iterator<Entrada> recorrido = entradas.values().iterator();
+        while (entradas.size() > capacidad && recorrido.hasNext()) {
+            Entrada entrada = recorrido.next();
+            if (!entrada.enUso) {
+                recorrido.remove();
+                cerrarSilenciosamente(entrada.sentencia);
+            }
+        }
+    }
+
+    private static void cerrarSilenciosamente(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            // Ya no se va a usar
+        }
+    }
+
+    private static class Entrada {
+        final PreparedStatement sentencia;
+        final Class<?> tipo;
+        boolean enUso;
+        ResultSet ultimoResultado;
+
+        Entrada(PreparedStatement sentencia, Class<?> tipo) {
+            this.sentencia = sentencia;
+            this.tipo = tipo;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Clase para gestionar la conexión a la base de datos
- * Implementa patrón Singleton para una única instancia de conexión
+ * Implementa patrón Singleton para una única instancia del pool de conexiones
  */
 public class ConexionBD {
     // Configuración de la base de datos SQL Server
@@ -16,13 +21,35 @@ public class ConexionBD {
             "jdbc:sqlserver://sistemavuelos.mssql.somee.com:1433;"
                     + "databaseName=sistemavuelos;"
                     + "encrypt=true;"
-                    + "trustServerCertificate=true;";
+                    + "trustServerCertificate=true;"
+                    // El driver lee las filas del servidor a medida que se consumen en lugar de
+                    // cargar el resultado completo (necesario para CursorResultados)
+                    + "responseBuffering=adaptive;";
 
     private static final String USUARIO = "jesusmechan_SQLLogin_1";
     private static final String CONTRASENA = "vxiaarfrbc";
+
+    // Configuración del pool (se puede ajustar con -Dsistemavuelos.pool.*)
+    private static final int POOL_MINIMO = Integer.getInteger("sistemavuelos.pool.minimo", 2);
+    private static final int POOL_MAXIMO = Integer.getInteger("sistemavuelos.pool.maximo", 10);
+    private static final long UMBRAL_FUGA_MS = Long.getLong("sistemavuelos.pool.umbralFugaMs", 60_000L);
+
+    // Réplicas de solo lectura: URLs JDBC separadas por comas (mismas credenciales que el primario)
+    private static final String URLS_REPLICAS = System.getProperty("sistemavuelos.bd.replicas", "");
+    // Tras escribir, la sesión lee del primario durante esta ventana para ver sus propios cambios (0 = desactivado)
+    private static final long VENTANA_LECTURA_PROPIA_MS = Long.getLong("sistemavuelos.bd.ventanaLecturaPropiaMs", 2_000L);
+    // Métricas por sentencia (latencia, filas, commits); se desactivan con -Dsistemavuelos.jdbc.metricas=false
+    private static final boolean METRICAS_ACTIVAS = Boolean.parseBoolean(System.getProperty("sistemavuelos.jdbc.metricas", "true"));
     
     private static ConexionBD instancia;
-    private Connection conexion;
+    private final PoolConexiones pool;
+    private final List<PoolConexiones> replicas;
+    private final AtomicInteger siguienteReplica = new AtomicInteger();
+    // Sesión de lectura de cada hilo; las tareas asíncronas usan la del hilo que las pidió (enSesion)
+    private static final ThreadLocal<SesionLectura> SESION = new ThreadLocal<>();
+    // Marca los hilos que ejecutan leerDelPrimario()
+    private final ThreadLocal<Boolean> lecturaPrimario = new ThreadLocal<>();
+    private final MetricasJdbc metricas = new MetricasJdbc();
     
     /**
      * Constructor privado para implementar Singleton
@@ -34,13 +61,47 @@ public class ConexionBD {
         } catch (ClassNotFoundException e) {
             System.err.println("Error al cargar el driver de SQL Server: " + e.getMessage());
         }
+        this.pool = new PoolConexiones("principal", URL, USUARIO, CONTRASENA,
+                POOL_MINIMO, POOL_MAXIMO, UMBRAL_FUGA_MS, false);
+        this.pool.setAlConfirmar(() -> sesionActual().registrarEscritura());
+
+        List<PoolConexiones> pools = new ArrayList<>();
+        for (String urlReplica : URLS_REPLICAS.split(",")) {
+            if (!urlReplica.isBlank()) {
+                String url = conLecturaAdaptativa(urlReplica.trim());
+                pools.add(new PoolConexiones("replica-" + (pools.size() + 1), url, USUARIO, CONTRASENA,
+                        POOL_MINIMO, POOL_MAXIMO, UMBRAL_FUGA_MS, true));
+            }
+        }
+        this.replicas = Collections.unmodifiableList(pools);
+
+        if (METRICAS_ACTIVAS) {
+            this.pool.setInstrumentacion(metricas::instrumentar);
+            this.replicas.forEach(replica -> replica.setInstrumentacion(metricas::instrumentar));
+        }
+
+        // El mantenimiento arranca con los pools ya configurados
+        this.pool.iniciar();
+        this.replicas.forEach(PoolConexiones::iniciar);
     }
     
+    /**
+     * Agrega responseBuffering=adaptive a la URL de una réplica si no lo indica: los cursores
+     * (recorrerTodos) también leen de las réplicas y sin esa opción el driver cargaría el
+     * resultado completo en memoria
+     */
+    private static String conLecturaAdaptativa(String url) {
+        if (url.toLowerCase().contains("responsebuffering=")) {
+            return url;
+        }
+        return url + (url.endsWith(";") ? "" : ";") + "responseBuffering=adaptive;";
+    }
+
     /**
      * Obtiene la instancia única de ConexionBD (Singleton)
      * @return Instancia de ConexionBD
      */
-    public static ConexionBD getInstancia() {
+    public static synchronized ConexionBD getInstancia() {
         if (instancia == null) {
             instancia = new ConexionBD();
         }
@@ -48,60 +109,191 @@ public class ConexionBD {
     }
     
     /**
-     * Obtiene una conexión a la base de datos
+     * Presta una conexión del pool. Debe cerrarse (try-with-resources) para devolverla;
+     * el trabajo no confirmado con commit() se revierte al devolverla.
+     * Si el hilo está dentro de enTransaccion(), devuelve la conexión de esa transacción
      * @return Objeto Connection
-     * @throws SQLException Si hay error al conectar
+     * @throws SQLException Si hay error al conectar o se agota el tiempo de espera
      */
     public Connection getConexion() throws SQLException {
-        if (conexion == null || conexion.isClosed()) {
-            conexion = DriverManager.getConnection(URL, USUARIO, CONTRASENA);
-            // Configurar autocommit a false para manejar transacciones
-            conexion.setAutoCommit(false);
+        Transaccion transaccion = Transaccion.actual();
+        if (transaccion != null) {
+            return transaccion.getVista();
         }
-        return conexion;
+        return pool.prestar();
     }
     
     /**
-     * Cierra la conexión a la base de datos
+     * Presta una conexión para consultas. Se atiende desde una réplica de solo lectura,
+     * salvo que el hilo esté en una transacción o dentro de leerDelPrimario(), que no haya
+     * réplicas configuradas o que la sesión haya escrito hace poco (lectura de sus propias
+     * escrituras): en esos casos se usa el primario
+     * @return Objeto Connection
+     * @throws SQLException Si hay error al conectar o se agota el tiempo de espera
      */
-    public void cerrarConexion() {
+    public Connection getConexionLectura() throws SQLException {
+        if (replicas.isEmpty() || Transaccion.actual() != null || lecturaPrimario.get() != null
+                || debeLeerDelPrimario()) {
+            return getConexion();
+        }
+
+        PoolConexiones replica = replicas.get(Math.floorMod(siguienteReplica.getAndIncrement(), replicas.size()));
+        try {
+            return replica.prestar();
+        } catch (SQLException e) {
+            System.err.println("Réplica " + replica.getNombre() + " no disponible, se lee del primario: " + e.getMessage());
+            return getConexion();
+        }
+    }
+
+    /**
+     * Ejecuta la consulta leyendo siempre del primario, aunque el repositorio pida una conexión
+     * de lectura. Para cargar cachés que tienen que incluir todo lo que este nodo ya confirmó,
+     * incluso pasada la ventana de lectura propia
+     * @param consulta Consultas de repositorio a ejecutar en el hilo actual
+     * @return Resultado de la consulta
+     */
+    public <T> T leerDelPrimario(Supplier<T> consulta) {
+        if (lecturaPrimario.get() != null) {
+            return consulta.get();
+        }
+        lecturaPrimario.set(Boolean.TRUE);
         try {
-            if (conexion != null && !conexion.isClosed()) {
-                conexion.close();
+            return consulta.get();
+        } finally {
+            lecturaPrimario.remove();
+        }
+    }
+
+    private boolean debeLeerDelPrimario() {
+        SesionLectura sesion = SESION.get();
+        return sesion != null && System.currentTimeMillis() - sesion.ultimaEscritura.get() < VENTANA_LECTURA_PROPIA_MS;
+    }
+
+    /**
+     * Sesión de lectura del hilo actual: cuándo escribió por última vez. Se pasa a enSesion()
+     * para que una tarea que corre en otro hilo en nombre de este lea lo que la sesión escribió
+     * y le sume lo que escriba ella
+     */
+    public static SesionLectura sesionActual() {
+        SesionLectura sesion = SESION.get();
+        if (sesion == null) {
+            sesion = new SesionLectura();
+            SESION.set(sesion);
+        }
+        return sesion;
+    }
+
+    /**
+     * Ejecuta la tarea en el hilo actual como parte de la sesión indicada; al terminar el hilo
+     * vuelve a su propia sesión
+     * @param sesion Sesión obtenida con sesionActual() en el hilo que pidió la tarea
+     * @param tarea Trabajo a ejecutar
+     * @return Resultado de la tarea
+     */
+    public static <T> T enSesion(SesionLectura sesion, Supplier<T> tarea) {
+        SesionLectura anterior = SESION.get();
+        SESION.set(sesion);
+        try {
+            return tarea.get();
+        } finally {
+            if (anterior != null) {
+                SESION.set(anterior);
+            } else {
+                SESION.remove();
             }
+        }
+    }
+    
+    /**
+     * Ejecuta varias operaciones de repositorio en una sola transacción ligada al hilo actual.
+     * Las llamadas anidadas se unen a la transacción exterior; se confirma al terminar la
+     * unidad más externa y se revierte si alguna operación falla o hace rollback
+     * @param unidad Trabajo a ejecutar
+     * @return Resultado de la unidad de trabajo
+     */
+    public <T> T enTransaccion(UnidadTrabajo<T> unidad) {
+        try {
+            return Transaccion.ejecutar(pool, unidad);
         } catch (SQLException e) {
-            System.err.println("Error al cerrar la conexión: " + e.getMessage());
+            throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Confirma los cambios en la base de datos (commit)
+     * Indica si el hilo actual está dentro de una transacción
+     */
+    public boolean enTransaccionActiva() {
+        return Transaccion.actual() != null;
+    }
+    
+    /**
+     * Precalienta el primario y las réplicas: abre en paralelo sus conexiones mínimas y
+     * deja preparadas las llamadas indicadas en la cache de sentencias de cada una
+     * @param llamadas Sentencias SQL de uso frecuente ({CALL ...} o consultas)
+     * @return Número total de conexiones precalentadas
      */
-    public void commit() throws SQLException {
-        if (conexion != null && !conexion.isClosed()) {
-            conexion.commit();
+    public int precalentar(List<String> llamadas) {
+        int total = pool.precalentar(llamadas);
+        for (PoolConexiones replica : replicas) {
+            total += replica.precalentar(llamadas);
         }
+        return total;
     }
     
     /**
-     * Revierte los cambios en la base de datos (rollback)
+     * Obtiene las estadísticas del pool (activas, libres, tiempos de espera, fugas)
      */
-    public void rollback() throws SQLException {
-        if (conexion != null && !conexion.isClosed()) {
-            conexion.rollback();
+    public EstadisticasPool getEstadisticasPool() {
+        return pool.getEstadisticas();
+    }
+    
+    /**
+     * Obtiene las métricas JDBC por procedimiento/sentencia (llamadas, latencias, filas, commits)
+     */
+    public MetricasJdbc getMetricas() {
+        return metricas;
+    }
+    
+    /**
+     * Obtiene las estadísticas de los pools de réplicas de lectura
+     */
+    public List<EstadisticasPool> getEstadisticasReplicas() {
+        List<EstadisticasPool> estadisticas = new ArrayList<>();
+        for (PoolConexiones replica : replicas) {
+            estadisticas.add(replica.getEstadisticas());
         }
+        return estadisticas;
     }
     
     /**
-     * Verifica si la conexión está activa
-     * @return true si la conexión está activa, false en caso contrario
+     * Cierra los pools (primario y réplicas) y sus conexiones a la base de datos
+     */
+    public void cerrarConexion() {
+        pool.close();
+        replicas.forEach(PoolConexiones::close);
+    }
+    
+    /**
+     * Verifica si el pool está activo
+     * @return true si el pool está activo, false en caso contrario
      */
     public boolean estaConectado() {
-        try {
-            return conexion != null && !conexion.isClosed();
-        } catch (SQLException e) {
-            return false;
+        return !pool.estaCerrado();
+    }
+
+    /**
+     * Última escritura confirmada de una sesión. La comparten el hilo de la sesión y sus tareas
+     * asíncronas, que pueden confirmar en paralelo: se conserva la más reciente
+     */
+    public static final class SesionLectura {
+        private final AtomicLong ultimaEscritura = new AtomicLong();
+
+        private SesionLectura() {
+        }
+
+        private void registrarEscritura() {
+            ultimaEscritura.accumulateAndGet(System.currentTimeMillis(), Math::max);
         }
     }
 }
-
@@ -0,0 +1,119 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recorre el resultado de una consulta como un Stream perezoso: cada fila se lee del
+ * servidor recién cuando se consume, así que la memoria usada no depende del tamaño
+ * de la tabla. El Stream es dueño de la conexión, la sentencia y el ResultSet; al
+ * cerrarlo (try-with-resources) se liberan y la conexión vuelve al pool. También se
+ * liberan solos al agotar las filas
+ */
+public final class CursorResultados<T> extends Spliterators.AbstractSpliterator<T> {
+    // Filas que el driver pide al servidor en cada lectura (-Dsistemavuelos.jdbc.tamanoLectura)
+    public static final int TAMANO_LECTURA = Integer.getInteger("sistemavuelos.jdbc.tamanoLectura", 1000);
+
+    /**
+     * Convierte la fila actual del ResultSet en un objeto
+     */
+    @FunctionalInterface
+    public interface MapeadorFila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private final Connection conexion;
+    private final PreparedStatement sentencia;
+    private final ResultSet resultado;
+    private final MapeadorFila<T> mapeador;
+    private boolean agotado;
+    private boolean cerrado;
+
+    private CursorResultados(Connection conexion, PreparedStatement sentencia, ResultSet resultado,
+                             MapeadorFila<T> mapeador) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.conexion = conexion;
+        this.sentencia = sentencia;
+        this.resultado = resultado;
+        this.mapeador = mapeador;
+    }
+
+    /**
+     * Ejecuta la consulta y devuelve sus filas como Stream. Las sentencias que empiezan
+     * con "{" ({CALL ...}) se preparan como llamadas a procedimiento
+     * @param conexion Conexión prestada; pasa a ser del Stream, incluso si la consulta falla
+     * @param sql Consulta sin parámetros
+     * @throws SQLException Si no se puede ejecutar la consulta (la conexión ya se devolvió)
+     */
+    public static <T> Stream<T> abrir(Connection conexion, String sql, MapeadorFila<T> mapeador) throws SQLException {
+        PreparedStatement sentencia = null;
+        try {
+            sentencia = sql.startsWith("{") ? conexion.prepareCall(sql) : conexion.prepareStatement(sql);
+            sentencia.setFetchSize(TAMANO_LECTURA);
+            ResultSet resultado = sentencia.executeQuery();
+            resultado.setFetchSize(TAMANO_LECTURA);
+            CursorResultados<T> cursor = new CursorResultados<>(conexion, sentencia, resultado, mapeador);
+            return StreamSupport.stream(cursor, false).onClose(cursor::cerrar);
+        } catch (SQLException | RuntimeException e) {
+            if (sentencia != null) {
+                cerrarSilenciosamente(sentencia);
+            }
+            cerrarSilenciosamente(conexion);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> accion) {
+        if (cerrado) {
+            return false;
+        }
+        T fila;
+        try {
+            if (!resultado.next()) {
+                agotado = true;
+                cerrar();
+                return false;
+            }
+            fila = mapeador.mapear(resultado);
+        } catch (SQLException e) {
+            cerrar();
+            throw new RuntimeException("Error al leer el cursor: " + e.getMessage(), e);
+        }
+        accion.accept(fila);
+        return true;
+    }
+
+    private void cerrar() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        if (!agotado) {
+            // Sin cancelar, el driver leería y descartaría todas las filas pendientes al cerrar
+            try {
+                sentencia.cancel();
+            } catch (SQLException e) {
+                // Se cierra igual
+            }
+        }
+        cerrarSilenciosamente(resultado);
+        cerrarSilenciosamente(sentencia);
+        cerrarSilenciosamente(conexion);
+    }
+
+    private static void cerrarSilenciosamente(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception e) {
+            System.err.println("Error al cerrar el cursor: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package database;
+
+/**
+ * Foto inmutable de las estadísticas de un pool de conexiones
+ */
+public class EstadisticasPool {
+    private final String nombre;
+    private final int activas;
+    private final int libres;
+    private final int maximo;
+    private final int hilosEsperando;
+    private final long prestamos;
+    private final long esperaPromedioMicros;
+    private final long esperaMaximaMicros;
+    private final long conexionesCreadas;
+    private final long conexionesDescartadas;
+    private final long fugasDetectadas;
+    private final long tiemposAgotados;
+    private final long aciertosCacheSentencias;
+    private final long fallosCacheSentencias;
+
+    public EstadisticasPool(String nombre, int activas, int libres, int maximo, int hilosEsperando,
+                            long prestamos, long esperaPromedioMicros, long esperaMaximaMicros,
+                            long conexionesCreadas, long conexionesDescartadas,
+                            long fugasDetectadas, long tiemposAgotados,
+                            long aciertosCacheSentencias, long fallosCacheSentencias) {
+        this.nombre = nombre;
+        this.activas = activas;
+        this.libres = libres;
+        this.maximo = maximo;
+        this.hilosEsperando = hilosEsperando;
+        this.prestamos = prestamos;
+        this.esperaPromedioMicros = esperaPromedioMicros;
+        this.esperaMaximaMicros = esperaMaximaMicros;
+        this.conexionesCreadas = conexionesCreadas;
+        this.conexionesDescartadas = conexionesDescartadas;
+        this.fugasDetectadas = fugasDetectadas;
+        this.tiemposAgotados = tiemposAgotados;
+        this.aciertosCacheSentencias = aciertosCacheSentencias;
+        this.fallosCacheSentencias = fallosCacheSentencias;
+    }
+
+    // Getters
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getActivas() {
+        return activas;
+    }
+
+    public int getLibres() {
+        return libres;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public int getHilosEsperando() {
+        return hilosEsperando;
+    }
+
+    public long getPrestamos() {
+        return prestamos;
+    }
+
+    public long getEsperaPromedioMicros() {
+        return esperaPromedioMicros;
+    }
+
+    public long getEsperaMaximaMicros() {
+        return esperaMaximaMicros;
+    }
+
+    public long getConexionesCreadas() {
+        return conexionesCreadas;
+    }
+
+    public long getConexionesDescartadas() {
+        return conexionesDescartadas;
+    }
+
+    public long getFugasDetectadas() {
+        return fugasDetectadas;
+    }
+
+    public long getTiemposAgotados() {
+        return tiemposAgotados;
+    }
+
+    public long getAciertosCacheSentencias() {
+        return aciertosCacheSentencias;
+    }
+
+    public long getFallosCacheSentencias() {
+        return fallosCacheSentencias;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasPool{" +
+                "nombre='" + nombre + '\'' +
+                ", activas=" + activas +
+                ", libres=" + libres +
+                ", maximo=" + maximo +
+                ", hilosEsperando=" + hilosEsperando +
+                ", prestamos=" + prestamos +
+                ", esperaPromedioMicros=" + esperaPromedioMicros +
+                ", esperaMaximaMicros=" + esperaMaximaMicros +
+                ", conexionesCreadas=" + conexionesCreadas +
+                ", conexionesDescartadas=" + conexionesDescartadas +
+                ", fugasDetectadas=" + fugasDetectadas +
+                ", tiemposAgotados=" + tiemposAgotados +
+                ", aciertosCacheSentencias=" + aciertosCacheSentencias +
+                ", fallosCacheSentencias=" + fallosCacheSentencias +
+                '}';
+    }
+}
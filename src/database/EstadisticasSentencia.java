@@ -0,0 +1,95 @@
+package database;
+
+/**
+ * Foto inmutable de las métricas JDBC de una sentencia o procedimiento almacenado
+ */
+public class EstadisticasSentencia {
+    private final String clave;
+    private final long llamadas;
+    private final long errores;
+    private final long consultasAnidadas;
+    private final long filas;
+    private final long tiempoTotalMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maximoMicros;
+
+    public EstadisticasSentencia(String clave, long llamadas, long errores, long consultasAnidadas, long filas,
+                                 long tiempoTotalMicros, long p50Micros, long p95Micros, long p99Micros,
+                                 long maximoMicros) {
+        this.clave = clave;
+        this.llamadas = llamadas;
+        this.errores = errores;
+        this.consultasAnidadas = consultasAnidadas;
+        this.filas = filas;
+        this.tiempoTotalMicros = tiempoTotalMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maximoMicros = maximoMicros;
+    }
+
+    // Getters
+    /**
+     * @return Nombre del procedimiento ({CALL sp_...}) o texto SQL normalizado
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    public long getLlamadas() {
+        return llamadas;
+    }
+
+    public long getErrores() {
+        return errores;
+    }
+
+    /**
+     * @return Ejecuciones hechas mientras el mismo hilo recorría otro ResultSet (N+1)
+     */
+    public long getConsultasAnidadas() {
+        return consultasAnidadas;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public long getTiempoTotalMicros() {
+        return tiempoTotalMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP95Micros() {
+        return p95Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaximoMicros() {
+        return maximoMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasSentencia{" +
+                "clave='" + clave + '\'' +
+                ", llamadas=" + llamadas +
+                ", errores=" + errores +
+                ", consultasAnidadas=" + consultasAnidadas +
+                ", filas=" + filas +
+                ", tiempoTotalMicros=" + tiempoTotalMicros +
+                ", p50Micros=" + p50Micros +
+                ", p95Micros=" + p95Micros +
+                ", p99Micros=" + p99Micros +
+                ", maximoMicros=" + maximoMicros +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package database;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas geométricas (cada límite es un 10% mayor que el anterior)
+ * Los percentiles se aproximan por el límite superior de la cubeta, con error acotado al 10%
+ * Admite registros concurrentes sin bloqueo
+ */
+class HistogramaLatencia {
+    private static final double FACTOR = 1.1;
+    private static final long MAXIMO_MICROS = 600_000_000L;
+    private static final long[] LIMITES_MICROS = crearLimites();
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(LIMITES_MICROS.length + 1);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maximoMicros = new AtomicLong();
+
+    private static long[] crearLimites() {
+        long[] limites = new long[256];
+        int n = 0;
+        double limite = 1;
+        while (limite < MAXIMO_MICROS && n < limites.length) {
+            long valor = (long) Math.ceil(limite);
+            if (n == 0 || valor > limites[n - 1]) {
+                limites[n++] = valor;
+            }
+            limite *= FACTOR;
+        }
+        return Arrays.copyOf(limites, n);
+    }
+
+    void registrar(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int indice = Arrays.binarySearch(LIMITES_MICROS, micros);
+        if (indice < 0) {
+            indice = -indice - 1;
+        }
+        cubetas.incrementAndGet(indice);
+        cantidad.increment();
+        totalMicros.add(micros);
+        maximoMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * @param percentil Valor entre 0 y 100
+     * @return Latencia aproximada en microsegundos (0 si no hay registros)
+     */
+    long percentil(double percentil) {
+        long total = 0;
+        long[] copia = new long[cubetas.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rango = (long) Math.ceil(total * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= Math.max(rango, 1)) {
+                return i < LIMITES_MICROS.length ? Math.min(LIMITES_MICROS[i], maximoMicros.get()) : maximoMicros.get();
+            }
+        }
+        return maximoMicros.get();
+    }
+
+    long getCantidad() {
+        return cantidad.sum();
+    }
+
+    long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    long getMaximoMicros() {
+        return maximoMicros.get();
+    }
+}
@@ -0,0 +1,317 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Instrumentación JDBC: envuelve Connection, Statement/CallableStatement y ResultSet para medir,
+ * por procedimiento almacenado o texto SQL, llamadas (viajes al servidor), latencia (p50/p95/p99),
+ * filas leídas y errores, además de los commit/rollback de las conexiones
+ * También detecta consultas anidadas: una sentencia ejecutada por el mismo hilo mientras
+ * recorre otro ResultSet (patrón N+1), que se cuenta y se reporta una vez con su pila
+ * Se instala en ConexionBD sobre cada conexión prestada por los pools
+ */
+public class MetricasJdbc {
+    private static final Pattern LLAMADA = Pattern.compile(
+            "^\\s*\\{?\\s*(?:\\?\\s*=\\s*)?(?:CALL|EXEC|EXECUTE)\\s+([\\w.\\[\\]]+)", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, Registro> registros = new ConcurrentHashMap<>();
+    private final LongAdder confirmaciones = new LongAdder();
+    private final LongAdder reversiones = new LongAdder();
+    // ResultSets que cada hilo está recorriendo
+    private final ThreadLocal<List<Recorrido>> recorridos = ThreadLocal.withInitial(ArrayList::new);
+    private final Set<String> anidadasReportadas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Envuelve una conexión para registrar sus métricas
+     */
+    Connection instrumentar(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ManejadorConexion(conexion));
+    }
+
+    /**
+     * Obtiene las métricas de todas las sentencias, de mayor a menor tiempo total
+     */
+    public List<EstadisticasSentencia> getEstadisticas() {
+        List<EstadisticasSentencia> estadisticas = new ArrayList<>();
+        for (Registro registro : registros.values()) {
+            estadisticas.add(registro.foto());
+        }
+        estadisticas.sort(Comparator.comparingLong(EstadisticasSentencia::getTiempoTotalMicros).reversed());
+        return estadisticas;
+    }
+
+    /**
+     * Obtiene las métricas de un procedimiento (p. ej. "sp_listar_reservas") o texto SQL
+     * @return Métricas o null si no se ha ejecutado
+     */
+    public EstadisticasSentencia getEstadisticas(String clave) {
+        Registro registro = registros.get(clave);
+        return registro != null ? registro.foto() : null;
+    }
+
+    public long getConfirmaciones() {
+        return confirmaciones.sum();
+    }
+
+    public long getReversiones() {
+        return reversiones.sum();
+    }
+
+    /**
+     * Reinicia todas las métricas
+     */
+    public void reiniciar() {
+        registros.clear();
+        confirmaciones.reset();
+        reversiones.reset();
+        anidadasReportadas.clear();
+    }
+
+    /**
+     * Genera un informe en texto con las métricas actuales
+     */
+    public String volcar() {
+        StringBuilder informe = new StringBuilder();
+        informe.append(String.format("%-45s %9s %7s %8s %9s %12s %9s %9s %9s %9s%n",
+                "SENTENCIA", "LLAMADAS", "ERRORES", "ANIDADAS", "FILAS", "TOTAL(ms)", "P50(ms)", "P95(ms)", "P99(ms)", "MAX(ms)"));
+        for (EstadisticasSentencia e : getEstadisticas()) {
+            informe.append(String.format("%-45s %9d %7d %8d %9d %12.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    recortar(e.getClave(), 45), e.getLlamadas(), e.getErrores(), e.getConsultasAnidadas(), e.getFilas(),
+                    e.getTiempoTotalMicros() / 1000.0, e.getP50Micros() / 1000.0, e.getP95Micros() / 1000.0,
+                    e.getP99Micros() / 1000.0, e.getMaximoMicros() / 1000.0));
+        }
+        informe.append("Commits: ").append(getConfirmaciones())
+                .append(" | Rollbacks: ").append(getReversiones());
+        return informe.toString();
+    }
+
+    /**
+     * Clave de agregación: nombre del procedimiento para {CALL ...}/EXEC, o el SQL normalizado
+     */
+    static String clave(String sql) {
+        Matcher matcher = LLAMADA.matcher(sql);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    private Registro registro(String sql) {
+        return registros.computeIfAbsent(clave(sql), Registro::new);
+    }
+
+    /**
+     * Si el hilo está recorriendo un ResultSet, la sentencia que se va a ejecutar es una
+     * consulta anidada: se cuenta y se reporta la primera vez para cada par exterior/interior
+     */
+    private void detectarAnidada(Registro interior) {
+        List<Recorrido> abiertos = recorridos.get();
+        abiertos.removeIf(r -> r.terminado);
+        if (abiertos.isEmpty()) {
+            return;
+        }
+        Recorrido exterior = abiertos.get(abiertos.size() - 1);
+        interior.anidadas.increment();
+        if (anidadasReportadas.add(exterior.clave + " -> " + interior.clave)) {
+            System.err.println("Consulta anidada: " + interior.clave + " se ejecuta mientras se recorre "
+                    + exterior.clave + " (N+1)");
+            new Throwable("Consulta anidada en " + Thread.currentThread().getName()).printStackTrace();
+        }
+    }
+
+    private static String recortar(String texto, int maximo) {
+        return texto.length() <= maximo ? texto : texto.substring(0, maximo - 3) + "...";
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Métricas acumuladas de una sentencia
+     */
+    private static class Registro {
+        final String clave;
+        final HistogramaLatencia latencias = new HistogramaLatencia();
+        final LongAdder errores = new LongAdder();
+        final LongAdder filas = new LongAdder();
+        final LongAdder anidadas = new LongAdder();
+
+        Registro(String clave) {
+            this.clave = clave;
+        }
+
+        EstadisticasSentencia foto() {
+            return new EstadisticasSentencia(clave, latencias.getCantidad(), errores.sum(), anidadas.sum(),
+                    filas.sum(), latencias.getTotalMicros(), latencias.percentil(50), latencias.percentil(95),
+                    latencias.percentil(99), latencias.getMaximoMicros());
+        }
+    }
+
+    /**
+     * ResultSet abierto por un hilo; termina al cerrarlo, al agotarlo o al cerrar su sentencia
+     */
+    private static class Recorrido {
+        final String clave;
+        volatile boolean terminado;
+
+        Recorrido(String clave) {
+            this.clave = clave;
+        }
+    }
+
+    private class ManejadorConexion implements InvocationHandler {
+        private final Connection real;
+
+        ManejadorConexion(Connection real) {
+            this.real = real;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            Object resultado = invocar(real, metodo, args);
+            switch (metodo.getName()) {
+                case "prepareCall":
+                case "prepareStatement":
+                    return envolverSentencia((Statement) resultado, metodo.getReturnType(),
+                            registro((String) args[0]), (Connection) proxy);
+                case "createStatement":
+                    return envolverSentencia((Statement) resultado, metodo.getReturnType(), null, (Connection) proxy);
+                case "commit":
+                    confirmaciones.increment();
+                    return resultado;
+                case "rollback":
+                    reversiones.increment();
+                    return resultado;
+                default:
+                    return resultado;
+            }
+        }
+    }
+
+    /**
+     * @param registro Métricas de la sentencia preparada, o null en un Statement simple
+     *                 (se resuelve con el SQL de cada execute)
+     */
+    private Statement envolverSentencia(Statement real, Class<?> tipo, Registro registro, Connection conexion) {
+        Recorrido[] ultimo = new Recorrido[1];
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    String nombre = metodo.getName();
+                    switch (nombre) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getConnection":
+                            return conexion;
+                        case "close":
+                            terminar(ultimo[0]);
+                            return invocar(real, metodo, args);
+                        case "getResultSet":
+                            Object actual = invocar(real, metodo, args);
+                            if (actual == null || registro == null) {
+                                return actual;
+                            }
+                            terminar(ultimo[0]);
+                            ultimo[0] = new Recorrido(registro.clave);
+                            return envolverResultado((ResultSet) actual, registro, ultimo[0]);
+                        default:
+                            break;
+                    }
+                    if (!nombre.startsWith("execute")) {
+                        return invocar(real, metodo, args);
+                    }
+
+                    Registro destino = registro;
+                    if (destino == null) {
+                        destino = registro(args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : "(batch)");
+                    }
+                    terminar(ultimo[0]);
+                    detectarAnidada(destino);
+                    long inicio = System.nanoTime();
+                    Object resultado;
+                    try {
+                        resultado = invocar(real, metodo, args);
+                    } catch (Throwable t) {
+                        destino.errores.increment();
+                        throw t;
+                    } finally {
+                        destino.latencias.registrar(System.nanoTime() - inicio);
+                    }
+                    if (resultado instanceof ResultSet) {
+                        ultimo[0] = new Recorrido(destino.clave);
+                        return envolverResultado((ResultSet) resultado, destino, ultimo[0]);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static void terminar(Recorrido recorrido) {
+        if (recorrido != null) {
+            recorrido.terminado = true;
+        }
+    }
+
+    private ResultSet envolverResultado(ResultSet real, Registro registro, Recorrido recorrido) {
+        recorridos.get().add(recorrido);
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object resultado = invocar(real, metodo, args);
+                    if ("next".equals(metodo.getName())) {
+                        if (Boolean.TRUE.equals(resultado)) {
+                            registro.filas.increment();
+                        } else {
+                            recorrido.terminado = true;
+                        }
+                    } else if ("close".equals(metodo.getName())) {
+                        recorrido.terminado = true;
+                    }
+                    return resultado;
+                });
+    }
+}
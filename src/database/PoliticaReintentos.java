@@ -0,0 +1,182 @@
+package database;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Política de reintentos para errores transitorios de SQL Server (víctima de interbloqueo,
+ * tiempo de espera de bloqueo, base de datos ocupada). Cada operación de repositorio declara
+ * la suya; las esperas crecen exponencialmente con jitter completo y un presupuesto limita
+ * los reintentos a una fracción de las operaciones para no agravar la contención
+ */
+public class PoliticaReintentos {
+    // 1205 víctima de interbloqueo, 1222 tiempo de espera de bloqueo agotado,
+    // 40501/40613/49918-49920 servicio ocupado o no disponible temporalmente
+    private static final Set<Integer> CODIGOS_TRANSITORIOS = Set.of(1205, 1222, 40501, 40613, 49918, 49919, 49920);
+    private static final String ESTADO_SERIALIZACION = "40001";
+
+    // Presupuesto: cada operación aporta RATIO_PRESUPUESTO fichas y cada reintento consume una
+    private static final double RATIO_PRESUPUESTO = 0.2;
+    private static final double PRESUPUESTO_MAXIMO = 20;
+
+    private static final List<PoliticaReintentos> REGISTRADAS = new CopyOnWriteArrayList<>();
+
+    private final String nombre;
+    private final int maxIntentos;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+
+    private double presupuesto = PRESUPUESTO_MAXIMO;
+    private final LongAdder operaciones = new LongAdder();
+    private final LongAdder reintentos = new LongAdder();
+    private final LongAdder recuperadas = new LongAdder();
+    private final LongAdder abandonos = new LongAdder();
+
+    private PoliticaReintentos(String nombre, int maxIntentos, long esperaInicialMs, long esperaMaximaMs) {
+        this.nombre = nombre;
+        this.maxIntentos = maxIntentos;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    /**
+     * Crea la política y la registra para las métricas (getRegistradas())
+     * @param nombre Operación a la que se aplica (p. ej. "ReservaRepository.guardar")
+     * @param maxIntentos Intentos totales, incluido el primero
+     * @param esperaInicialMs Espera máxima antes del primer reintento
+     * @param esperaMaximaMs Tope de la espera entre reintentos
+     */
+    public static PoliticaReintentos de(String nombre, int maxIntentos, long esperaInicialMs, long esperaMaximaMs) {
+        if (maxIntentos < 1 || esperaInicialMs < 0 || esperaMaximaMs < esperaInicialMs) {
+            throw new IllegalArgumentException("Política de reintentos inválida: " + nombre);
+        }
+        PoliticaReintentos politica = new PoliticaReintentos(nombre, maxIntentos, esperaInicialMs, esperaMaximaMs);
+        REGISTRADAS.add(politica);
+        return politica;
+    }
+
+    /**
+     * Ejecuta la operación reintentándola mientras falle con un error transitorio.
+     * Dentro de una transacción de ConexionBD.enTransaccion() no se reintenta: el servidor ya
+     * revirtió toda la transacción y es la unidad exterior la que debe repetirse
+     * @param operacion Operación completa (pedir conexión, ejecutar y confirmar)
+     * @return Resultado de la operación
+     * @throws SQLException El último error si no es transitorio o se agotan intentos o presupuesto
+     */
+    public <T> T ejecutar(UnidadTrabajo<T> operacion) throws SQLException {
+        operaciones.increment();
+        depositar();
+        int intento = 1;
+        while (true) {
+            try {
+                T resultado = operacion.ejecutar();
+                if (intento > 1) {
+                    recuperadas.increment();
+                }
+                return resultado;
+            } catch (SQLException e) {
+                if (!esTransitorio(e) || Transaccion.actual() != null) {
+                    throw e;
+                }
+                if (intento >= maxIntentos || !retirar()) {
+                    abandonos.increment();
+                    System.err.println("Reintentos agotados en " + nombre + " tras " + intento
+                            + " intento(s): " + e.getMessage());
+                    throw e;
+                }
+                reintentos.increment();
+                esperar(intento, e);
+                intento++;
+            }
+        }
+    }
+
+    /**
+     * Indica si el error (o alguno encadenado) es transitorio y puede reintentarse
+     */
+    public static boolean esTransitorio(SQLException error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                for (SQLException e = (SQLException) t; e != null; e = e.getNextException()) {
+                    if (CODIGOS_TRANSITORIOS.contains(e.getErrorCode()) || ESTADO_SERIALIZACION.equals(e.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void esperar(int intento, SQLException error) throws SQLException {
+        long tope = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(intento - 1, 20));
+        long espera = ThreadLocalRandom.current().nextLong(tope + 1);
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+
+    private synchronized void depositar() {
+        presupuesto = Math.min(PRESUPUESTO_MAXIMO, presupuesto + RATIO_PRESUPUESTO);
+    }
+
+    private synchronized boolean retirar() {
+        if (presupuesto < 1) {
+            return false;
+        }
+        presupuesto--;
+        return true;
+    }
+
+    /**
+     * Obtiene todas las políticas declaradas, para consultar sus métricas
+     */
+    public static List<PoliticaReintentos> getRegistradas() {
+        return Collections.unmodifiableList(new ArrayList<>(REGISTRADAS));
+    }
+
+    // Getters
+    public String getNombre() {
+        return nombre;
+    }
+
+    public long getOperaciones() {
+        return operaciones.sum();
+    }
+
+    public long getReintentos() {
+        return reintentos.sum();
+    }
+
+    public long getRecuperadas() {
+        return recuperadas.sum();
+    }
+
+    public long getAbandonos() {
+        return abandonos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PoliticaReintentos{" +
+                "nombre='" + nombre + '\'' +
+                ", maxIntentos=" + maxIntentos +
+                ", operaciones=" + getOperaciones() +
+                ", reintentos=" + getReintentos() +
+                ", recuperadas=" + getRecuperadas() +
+                ", abandonos=" + getAbandonos() +
+                '}';
+    }
+}
@@ -0,0 +1,495 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pool acotado de conexiones JDBC
+ * Reutiliza conexiones físicas en lugar de abrir una nueva en cada operación:
+ * se pre-llena al iniciar, valida al prestar, descarta conexiones inactivas o
+ * demasiado antiguas y avisa de préstamos que no se devuelven (fugas)
+ */
+public class PoolConexiones implements AutoCloseable {
+    private static final long TIEMPO_ESPERA_MS = 30_000;
+    private static final long TIEMPO_INACTIVO_MAX_MS = 10 * 60_000;
+    private static final long VIDA_MAXIMA_MS = 30 * 60_000;
+    private static final long VALIDAR_SI_INACTIVA_MS = 500;
+    private static final int TIEMPO_VALIDACION_SEG = 5;
+    private static final long PERIODO_MANTENIMIENTO_MS = 30_000;
+    private static final int TAMANO_CACHE_SENTENCIAS = Integer.getInteger("sistemavuelos.pool.cacheSentencias", 64);
+
+    private final String nombre;
+    private final String url;
+    private final String usuario;
+    private final String contrasena;
+    private final int minimo;
+    private final int maximo;
+    private final long umbralFugaMs;
+    private final boolean soloLectura;
+    private volatile Runnable alConfirmar;
+    private volatile UnaryOperator<Connection> instrumentacion = UnaryOperator.identity();
+
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+    private final Set<ConexionFisica> prestadas = ConcurrentHashMap.newKeySet();
+    private final Semaphore permisos;
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    // Estadísticas
+    private final LongAdder prestamos = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final LongAdder conexionesCreadas = new LongAdder();
+    private final LongAdder conexionesDescartadas = new LongAdder();
+    private final LongAdder fugasDetectadas = new LongAdder();
+    private final LongAdder tiemposAgotados = new LongAdder();
+    private final LongAdder aciertosSentencias = new LongAdder();
+    private final LongAdder fallosSentencias = new LongAdder();
+
+    /**
+     * @param nombre Nombre del pool (para mensajes y estadísticas)
+     * @param minimo Conexiones que se mantienen abiertas aunque no se usen
+     * @param maximo Conexiones simultáneas como máximo
+     * @param umbralFugaMs Tiempo de préstamo a partir del cual se reporta una fuga (0 la desactiva)
+     * @param soloLectura true para réplicas: conexiones de solo lectura en modo autocommit
+     */
+    public PoolConexiones(String nombre, String url, String usuario, String contrasena,
+                          int minimo, int maximo, long umbralFugaMs, boolean soloLectura) {
+        if (minimo < 0 || maximo <= 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaño de pool inválido: minimo=" + minimo + ", maximo=" + maximo);
+        }
+        this.nombre = nombre;
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasena = contrasena;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.umbralFugaMs = umbralFugaMs;
+        this.soloLectura = soloLectura;
+        this.permisos = new Semaphore(maximo, true);
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-" + nombre + "-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Arranca el mantenimiento periódico (conexiones mínimas, inactivas y fugas). Se llama una
+     * vez, con el pool ya construido y configurado; la primera pasada pre-llena el pool en
+     * segundo plano sin bloquear el arranque
+     */
+    public void iniciar() {
+        mantenimiento.scheduleWithFixedDelay(this::mantener,
+                0, PERIODO_MANTENIMIENTO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre las conexiones mínimas del pool
+     */
+    public void prellenar() {
+        while (!cerrado && total.get() < minimo) {
+            try {
+                libres.offerFirst(crearConexion());
+            } catch (SQLException e) {
+                System.err.println("Pool " + nombre + ": no se pudo pre-llenar: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Abre en paralelo las conexiones mínimas del pool y prepara en cada una las llamadas
+     * indicadas, que quedan en su cache de sentencias para el primer uso real
+     * @param llamadas Sentencias SQL a preparar en cada conexión: las {CALL ...} como llamadas
+     *                 y el resto como consultas, igual que las preparan los repositorios
+     * @return Número de conexiones precalentadas
+     */
+    public int precalentar(List<String> llamadas) {
+        int cantidad = Math.max(minimo, 1);
+        // Cada hilo retiene su conexión hasta que todos tengan la suya, así no se repiten
+        CountDownLatch todasPrestadas = new CountDownLatch(cantidad);
+        AtomicInteger listas = new AtomicInteger();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < cantidad; i++) {
+                hilos.submit(() -> {
+                    Connection conn = null;
+                    try {
+                        conn = prestar();
+                        for (String sql : llamadas) {
+                            try (PreparedStatement sentencia = sql.startsWith("{")
+                                    ? conn.prepareCall(sql) : conn.prepareStatement(sql)) {
+                                sentencia.getParameterMetaData();
+                            }
+                        }
+                        listas.incrementAndGet();
+                    } catch (SQLException e) {
+                        System.err.println("Pool " + nombre + ": no se pudo precalentar una conexión: " + e.getMessage());
+                    } finally {
+                        todasPrestadas.countDown();
+                        esperar(todasPrestadas);
+                        cerrarSilenciosamente(conn);
+                    }
+                });
+            }
+        }
+        return listas.get();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(TIEMPO_ESPERA_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void cerrarSilenciosamente(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Se descarta al devolverla
+            }
+        }
+    }
+
+    /**
+     * Presta una conexión del pool. Al cerrarla se devuelve al pool en lugar de destruirse
+     * @return Conexión prestada
+     * @throws SQLException Si no hay conexión disponible dentro del tiempo de espera
+     */
+    public Connection prestar() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool " + nombre + " está cerrado");
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(TIEMPO_ESPERA_MS, TimeUnit.MILLISECONDS)) {
+                tiemposAgotados.increment();
+                throw new SQLException("Tiempo de espera agotado al obtener conexión del pool " + nombre
+                        + " (activas=" + prestadas.size() + ", maximo=" + maximo + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+        }
+
+        try {
+            ConexionFisica fisica = obtenerValida();
+            registrarEspera(System.nanoTime() - inicio);
+            fisica.prestadaEn = System.currentTimeMillis();
+            fisica.pilaPrestamo = umbralFugaMs > 0 ? new Throwable("Conexión prestada por " + Thread.currentThread().getName()) : null;
+            fisica.fugaReportada = false;
+            prestadas.add(fisica);
+            prestamos.increment();
+            return instrumentacion.apply(envolver(fisica));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    private ConexionFisica obtenerValida() throws SQLException {
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            if (fisica.expirada() || !fisica.esValida()) {
+                descartar(fisica);
+                continue;
+            }
+            return fisica;
+        }
+        return crearConexion();
+    }
+
+    private ConexionFisica crearConexion() throws SQLException {
+        Connection real = DriverManager.getConnection(url, usuario, contrasena);
+        if (soloLectura) {
+            // Las lecturas no necesitan transacción explícita ni rollback al devolverse
+            real.setAutoCommit(true);
+            real.setReadOnly(true);
+        } else {
+            // Configurar autocommit a false para manejar transacciones
+            real.setAutoCommit(false);
+        }
+        total.incrementAndGet();
+        conexionesCreadas.increment();
+        return new ConexionFisica(real,
+                new CacheSentencias(TAMANO_CACHE_SENTENCIAS, aciertosSentencias, fallosSentencias));
+    }
+
+    private void devolver(ConexionFisica fisica) {
+        prestadas.remove(fisica);
+        try {
+            if (fisica.sucia && !soloLectura) {
+                // Descartar trabajo no confirmado para que no lo herede el siguiente préstamo
+                fisica.real.rollback();
+                fisica.sucia = false;
+            }
+            fisica.real.clearWarnings();
+            fisica.ultimoUso = System.currentTimeMillis();
+            if (cerrado || fisica.expirada()) {
+                descartar(fisica);
+            } else {
+                libres.offerFirst(fisica);
+            }
+        } catch (SQLException e) {
+            descartar(fisica);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        total.decrementAndGet();
+        conexionesDescartadas.increment();
+        fisica.sentencias.limpiar();
+        try {
+            fisica.real.close();
+        } catch (SQLException e) {
+            // La conexión ya no es utilizable; no hay nada más que hacer
+        }
+    }
+
+    /**
+     * Tarea periódica: retira conexiones inactivas o vencidas, repone el mínimo y reporta fugas
+     */
+    private void mantener() {
+        try {
+            retirarInactivas();
+            prellenar();
+            reportarFugas();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría la tarea programada; se registra y se sigue
+            System.err.println("Pool " + nombre + ": error en mantenimiento: " + e.getMessage());
+        }
+    }
+
+    private void retirarInactivas() {
+        long ahora = System.currentTimeMillis();
+        for (ConexionFisica fisica : libres) {
+            boolean inactiva = ahora - fisica.ultimoUso > TIEMPO_INACTIVO_MAX_MS && total.get() > minimo;
+            if ((inactiva || fisica.expirada()) && libres.remove(fisica)) {
+                descartar(fisica);
+            }
+        }
+    }
+
+    private void reportarFugas() {
+        long ahora = System.currentTimeMillis();
+        if (umbralFugaMs > 0) {
+            for (ConexionFisica fisica : prestadas) {
+                if (!fisica.fugaReportada && ahora - fisica.prestadaEn > umbralFugaMs) {
+                    fisica.fugaReportada = true;
+                    fugasDetectadas.increment();
+                    System.err.println("Pool " + nombre + ": posible fuga, conexión prestada hace "
+                            + (ahora - fisica.prestadaEn) + " ms sin devolverse");
+                    if (fisica.pilaPrestamo != null) {
+                        fisica.pilaPrestamo.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    private void registrarEspera(long nanos) {
+        esperaTotalNanos.add(nanos);
+        esperaMaximaNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Obtiene una foto de las estadísticas actuales del pool
+     */
+    public EstadisticasPool getEstadisticas() {
+        long totalPrestamos = prestamos.sum();
+        return new EstadisticasPool(
+                nombre,
+                prestadas.size(),
+                libres.size(),
+                maximo,
+                permisos.getQueueLength(),
+                totalPrestamos,
+                totalPrestamos > 0 ? esperaTotalNanos.sum() / totalPrestamos / 1_000 : 0,
+                esperaMaximaNanos.get() / 1_000,
+                conexionesCreadas.sum(),
+                conexionesDescartadas.sum(),
+                fugasDetectadas.sum(),
+                tiemposAgotados.sum(),
+                aciertosSentencias.sum(),
+                fallosSentencias.sum()
+        );
+    }
+
+    /**
+     * Registra una acción que se ejecuta en el hilo que confirma (commit) una conexión del pool
+     */
+    public void setAlConfirmar(Runnable alConfirmar) {
+        this.alConfirmar = alConfirmar;
+    }
+
+    /**
+     * Registra un envoltorio que se aplica a cada conexión prestada (p. ej. métricas JDBC)
+     */
+    public void setInstrumentacion(UnaryOperator<Connection> instrumentacion) {
+        this.instrumentacion = instrumentacion;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean estaCerrado() {
+        return cerrado;
+    }
+
+    /**
+     * Cierra el pool y todas las conexiones libres; las prestadas se cierran al devolverse
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+
+    private Connection envolver(ConexionFisica fisica) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ManejadorConexion(fisica));
+    }
+
+    /**
+     * Conexión física con los datos que el pool necesita para gestionarla
+     */
+    private static class ConexionFisica {
+        final Connection real;
+        final CacheSentencias sentencias;
+        final long creadaEn;
+        volatile long ultimoUso;
+        volatile long prestadaEn;
+        volatile Throwable pilaPrestamo;
+        volatile boolean fugaReportada;
+        volatile boolean sucia;
+
+        ConexionFisica(Connection real, CacheSentencias sentencias) {
+            this.real = real;
+            this.sentencias = sentencias;
+            this.creadaEn = System.currentTimeMillis();
+            this.ultimoUso = creadaEn;
+        }
+
+        boolean expirada() {
+            return System.currentTimeMillis() - creadaEn > VIDA_MAXIMA_MS;
+        }
+
+        boolean esValida() {
+            if (System.currentTimeMillis() - ultimoUso < VALIDAR_SI_INACTIVA_MS) {
+                return true;
+            }
+            try {
+                return real.isValid(TIEMPO_VALIDACION_SEG);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Intercepta la conexión prestada: close() la devuelve al pool,
+     * prepareCall/prepareStatement se sirven desde la cache de sentencias y
+     * cualquier uso posterior al cierre falla como en una conexión cerrada
+     */
+    private class ManejadorConexion implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private boolean cerrada;
+
+        ManejadorConexion(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        devolver(fisica);
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPool[" + nombre + "]";
+                default:
+                    break;
+            }
+
+            if (cerrada) {
+                throw new SQLException("La conexión ya fue devuelta al pool " + nombre);
+            }
+
+            switch (metodo.getName()) {
+                case "prepareCall":
+                case "prepareStatement":
+                    fisica.sucia = true;
+                    if (args.length == 1) {
+                        return fisica.sentencias.preparar(fisica.real, (String) args[0], metodo.getReturnType());
+                    }
+                    break;
+                case "createStatement":
+                    fisica.sucia = true;
+                    break;
+                default:
+                    break;
+            }
+
+            Object resultado;
+            try {
+                resultado = metodo.invoke(fisica.real, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Solo queda limpia si el commit o rollback completo terminó bien; si falló, la
+            // transacción sigue abierta y devolver() la revierte antes de prestarla de nuevo
+            boolean finTransaccion = args == null || args.length == 0;
+            if (finTransaccion && ("commit".equals(metodo.getName()) || "rollback".equals(metodo.getName()))) {
+                fisica.sucia = false;
+            }
+            Runnable accion = alConfirmar;
+            if (accion != null && "commit".equals(metodo.getName())) {
+                accion.run();
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Transacción ligada a un hilo (o hilo virtual) mientras dura una unidad de trabajo
+ * Mientras está activa, los repositorios reciben la misma conexión: sus commit()
+ * se difieren hasta que termina la unidad más externa, sus rollback() marcan la
+ * transacción para revertirse y su close() no devuelve la conexión al pool
+ */
+class Transaccion {
+    private static final ThreadLocal<Transaccion> ACTUAL = new ThreadLocal<>();
+
+    private final Connection conexion;
+    private final Connection vista;
+    private boolean soloRollback;
+
+    private Transaccion(Connection conexion) {
+        this.conexion = conexion;
+        this.vista = crearVista();
+    }
+
+    /**
+     * @return La transacción activa del hilo actual, o null si no hay ninguna
+     */
+    static Transaccion actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Ejecuta la unidad de trabajo en la transacción del hilo, creando una si no existe
+     */
+    static <T> T ejecutar(PoolConexiones pool, UnidadTrabajo<T> unidad) throws SQLException {
+        Transaccion existente = ACTUAL.get();
+        if (existente != null) {
+            // Llamada anidada: se une a la transacción exterior
+            try {
+                return unidad.ejecutar();
+            } catch (SQLException | RuntimeException e) {
+                existente.soloRollback = true;
+                throw e;
+            }
+        }
+
+        try (Connection conexion = pool.prestar()) {
+            Transaccion transaccion = new Transaccion(conexion);
+            ACTUAL.set(transaccion);
+            try {
+                T resultado = unidad.ejecutar();
+                if (transaccion.soloRollback) {
+                    conexion.rollback();
+                    throw new SQLException("La transacción fue marcada para revertirse");
+                }
+                conexion.commit();
+                return resultado;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conexion.rollback();
+                } catch (SQLException ex) {
+                    e.addSuppressed(ex);
+                }
+                throw e;
+            } finally {
+                ACTUAL.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Vista de la conexión que entregan los repositorios mientras dura la transacción
+     */
+    Connection getVista() {
+        return vista;
+    }
+
+    private Connection crearVista() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "close":
+                        case "commit":
+                            return null;
+                        case "rollback":
+                            if (args == null || args.length == 0) {
+                                soloRollback = true;
+                                return null;
+                            }
+                            break;
+                        case "isClosed":
+                            return ACTUAL.get() != this;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Transaccion[" + conexion + "]";
+                        default:
+                            break;
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
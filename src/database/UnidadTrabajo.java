@@ -0,0 +1,12 @@
+package database;
+
+import java.sql.SQLException;
+
+/**
+ * Bloque de trabajo que se ejecuta dentro de una transacción de ConexionBD
+ * @param <T> Tipo del resultado
+ */
+@FunctionalInterface
+public interface UnidadTrabajo<T> {
+    T ejecutar() throws SQLException;
+}
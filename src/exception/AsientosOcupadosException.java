@@ -0,0 +1,24 @@
+package exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una reserva de grupo se rechazó porque algunos de sus asientos ya están ocupados
+ */
+public class AsientosOcupadosException extends OperacionNoPermitidaException {
+    private static final long serialVersionUID = 1L;
+
+    // ArrayList y no List: el campo de una excepción (serializable) debe ser de un tipo serializable
+    private final ArrayList<Integer> asientos;
+
+    public AsientosOcupadosException(String mensaje, List<Integer> asientos) {
+        super(mensaje);
+        this.asientos = new ArrayList<>(asientos);
+    }
+
+    public List<Integer> getAsientos() {
+        return Collections.unmodifiableList(asientos);
+    }
+}
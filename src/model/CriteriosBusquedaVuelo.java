@@ -0,0 +1,185 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filtros de una búsqueda de vuelos; los que no se indican no filtran
+ * Es inmutable: cada método con... devuelve una copia con ese filtro
+ *
+ * La salida es un intervalo semiabierto [desde, hasta), para que un día completo sea
+ * [fecha 00:00, fecha + 1 00:00) y se compare la columna sin convertirla. El precio
+ * es un intervalo cerrado [mínimo, máximo]
+ */
+public class CriteriosBusquedaVuelo {
+    private String origen;
+    private String destino;
+    private LocalDateTime salidaDesde;
+    private LocalDateTime salidaHasta;
+    private Double precioMinimo;
+    private Double precioMaximo;
+    private Integer asientosMinimos;
+    private Set<EstadoVuelo> estados = Collections.emptySet();
+    private OrdenBusquedaVuelo orden = OrdenBusquedaVuelo.SALIDA;
+
+    private CriteriosBusquedaVuelo() {
+    }
+
+    /**
+     * Criterios sin filtros, ordenados por salida
+     */
+    public static CriteriosBusquedaVuelo todos() {
+        return new CriteriosBusquedaVuelo();
+    }
+
+    public CriteriosBusquedaVuelo conOrigen(String origen) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.origen = vacioANulo(origen);
+        return copia;
+    }
+
+    public CriteriosBusquedaVuelo conDestino(String destino) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.destino = vacioANulo(destino);
+        return copia;
+    }
+
+    /**
+     * @param desde Salida mínima, incluida; null para no acotar
+     * @param hasta Salida máxima, excluida; null para no acotar
+     */
+    public CriteriosBusquedaVuelo conSalidaEntre(LocalDateTime desde, LocalDateTime hasta) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.salidaDesde = desde;
+        copia.salidaHasta = hasta;
+        return copia;
+    }
+
+    /**
+     * Vuelos que salen entre el primer día y el último, ambos incluidos
+     */
+    public CriteriosBusquedaVuelo conSalidaEntreFechas(LocalDate primerDia, LocalDate ultimoDia) {
+        return conSalidaEntre(primerDia != null ? primerDia.atStartOfDay() : null,
+                ultimoDia != null ? ultimoDia.plusDays(1).atStartOfDay() : null);
+    }
+
+    /**
+     * @param minimo Precio mínimo, incluido; null para no acotar
+     * @param maximo Precio máximo, incluido; null para no acotar
+     */
+    public CriteriosBusquedaVuelo conPrecioEntre(Double minimo, Double maximo) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.precioMinimo = minimo;
+        copia.precioMaximo = maximo;
+        return copia;
+    }
+
+    public CriteriosBusquedaVuelo conAsientosMinimos(Integer asientosMinimos) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.asientosMinimos = asientosMinimos;
+        return copia;
+    }
+
+    /**
+     * @param estados Estados aceptados; vacío o null para aceptar cualquiera
+     */
+    public CriteriosBusquedaVuelo conEstados(Collection<EstadoVuelo> estados) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.estados = estados == null || estados.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(estados));
+        return copia;
+    }
+
+    public CriteriosBusquedaVuelo ordenadosPor(OrdenBusquedaVuelo orden) {
+        CriteriosBusquedaVuelo copia = copiar();
+        copia.orden = orden != null ? orden : OrdenBusquedaVuelo.SALIDA;
+        return copia;
+    }
+
+    /**
+     * Indica si el vuelo cumple todos los filtros (lo usa el repositorio en memoria)
+     */
+    public boolean cumple(VueloResumen vuelo) {
+        return (origen == null || origen.equalsIgnoreCase(vuelo.getOrigen()))
+                && (destino == null || destino.equalsIgnoreCase(vuelo.getDestino()))
+                && (salidaDesde == null || !vuelo.getFechaHoraSalida().isBefore(salidaDesde))
+                && (salidaHasta == null || vuelo.getFechaHoraSalida().isBefore(salidaHasta))
+                && (precioMinimo == null || vuelo.getPrecio() >= precioMinimo)
+                && (precioMaximo == null || vuelo.getPrecio() <= precioMaximo)
+                && (asientosMinimos == null || vuelo.getAsientosDisponibles() >= asientosMinimos)
+                && (estados.isEmpty() || estados.contains(vuelo.getEstado()));
+    }
+
+    private CriteriosBusquedaVuelo copiar() {
+        CriteriosBusquedaVuelo copia = new CriteriosBusquedaVuelo();
+        copia.origen = origen;
+        copia.destino = destino;
+        copia.salidaDesde = salidaDesde;
+        copia.salidaHasta = salidaHasta;
+        copia.precioMinimo = precioMinimo;
+        copia.precioMaximo = precioMaximo;
+        copia.asientosMinimos = asientosMinimos;
+        copia.estados = estados;
+        copia.orden = orden;
+        return copia;
+    }
+
+    private static String vacioANulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    // Getters
+    public String getOrigen() {
+        return origen;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public LocalDateTime getSalidaDesde() {
+        return salidaDesde;
+    }
+
+    public LocalDateTime getSalidaHasta() {
+        return salidaHasta;
+    }
+
+    public Double getPrecioMinimo() {
+        return precioMinimo;
+    }
+
+    public Double getPrecioMaximo() {
+        return precioMaximo;
+    }
+
+    public Integer getAsientosMinimos() {
+        return asientosMinimos;
+    }
+
+    public Set<EstadoVuelo> getEstados() {
+        return estados;
+    }
+
+    public OrdenBusquedaVuelo getOrden() {
+        return orden;
+    }
+
+    @Override
+    public String toString() {
+        return "CriteriosBusquedaVuelo{" +
+                "origen='" + origen + '\'' +
+                ", destino='" + destino + '\'' +
+                ", salida=[" + salidaDesde + ", " + salidaHasta + ")" +
+                ", precio=[" + precioMinimo + ", " + precioMaximo + "]" +
+                ", asientosMinimos=" + asientosMinimos +
+                ", estados=" + estados +
+                ", orden=" + orden +
+                '}';
+    }
+}
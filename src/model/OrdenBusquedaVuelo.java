@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * Enum que representa el orden de los resultados de una búsqueda de vuelos
+ * Todos desempatan por salida y número de vuelo, para que el orden sea estable
+ */
+public enum OrdenBusquedaVuelo {
+    SALIDA("Salida"),
+    PRECIO("Precio"),
+    ASIENTOS_DISPONIBLES("Asientos disponibles");
+
+    private final String descripcion;
+
+    OrdenBusquedaVuelo(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    @Override
+    public String toString() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,54 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Forma de asignar los asientos de una reserva de grupo
+ * Los asientos automáticos se eligen en el servidor, en la misma operación que los reserva,
+ * para que otro agente no pueda tomarlos entre la elección y la reserva
+ */
+public class PoliticaAsientos {
+    private final TipoAsignacionAsiento tipo;
+    private final List<Integer> asientos;
+
+    private PoliticaAsientos(TipoAsignacionAsiento tipo, List<Integer> asientos) {
+        this.tipo = tipo;
+        this.asientos = asientos;
+    }
+
+    /**
+     * Asientos indicados por quien reserva, en el mismo orden que los pasajeros
+     */
+    public static PoliticaAsientos elegidos(List<Integer> asientos) {
+        return new PoliticaAsientos(TipoAsignacionAsiento.ELEGIDOS, List.copyOf(asientos));
+    }
+
+    /**
+     * Los asientos libres de número más bajo, aunque queden separados
+     */
+    public static PoliticaAsientos primerosLibres() {
+        return new PoliticaAsientos(TipoAsignacionAsiento.PRIMEROS_LIBRES, Collections.emptyList());
+    }
+
+    /**
+     * El primer bloque de asientos consecutivos libres que alcance para todo el grupo
+     */
+    public static PoliticaAsientos contiguos() {
+        return new PoliticaAsientos(TipoAsignacionAsiento.CONTIGUOS, Collections.emptyList());
+    }
+
+    // Getters
+    public TipoAsignacionAsiento getTipo() {
+        return tipo;
+    }
+
+    public List<Integer> getAsientos() {
+        return asientos;
+    }
+
+    @Override
+    public String toString() {
+        return tipo == TipoAsignacionAsiento.ELEGIDOS ? tipo.getDescripcion() + " " + asientos : tipo.getDescripcion();
+    }
+}
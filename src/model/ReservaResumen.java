@@ -0,0 +1,93 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista reducida de una reserva para listados y búsquedas: el nombre y DNI del pasajero y
+ * el número y precio del vuelo, sin cargar pasajero, vuelo ni avión completos
+ */
+public class ReservaResumen {
+    private final String numeroReserva;
+    private final String dniPasajero;
+    private final String nombreCompletoPasajero;
+    private final String numeroVuelo;
+    private final LocalDateTime fechaReserva;
+    private final int numeroAsiento;
+    private final double precioVuelo;
+    private final EstadoReserva estado;
+
+    public ReservaResumen(String numeroReserva, String dniPasajero, String nombreCompletoPasajero,
+                          String numeroVuelo, LocalDateTime fechaReserva, int numeroAsiento,
+                          double precioVuelo, EstadoReserva estado) {
+        this.numeroReserva = numeroReserva;
+        this.dniPasajero = dniPasajero;
+        this.nombreCompletoPasajero = nombreCompletoPasajero;
+        this.numeroVuelo = numeroVuelo;
+        this.fechaReserva = fechaReserva;
+        this.numeroAsiento = numeroAsiento;
+        this.precioVuelo = precioVuelo;
+        this.estado = estado;
+    }
+
+    /**
+     * Resumen de una reserva ya cargada
+     */
+    public static ReservaResumen de(Reserva reserva) {
+        Pasajero pasajero = reserva.getPasajero();
+        Vuelo vuelo = reserva.getVuelo();
+        return new ReservaResumen(reserva.getNumeroReserva(),
+                pasajero != null ? pasajero.getDni() : null,
+                pasajero != null ? pasajero.getNombreCompleto() : null,
+                vuelo != null ? vuelo.getNumeroVuelo() : null,
+                reserva.getFechaReserva(), reserva.getNumeroAsiento(),
+                reserva.calcularTotal(), reserva.getEstado());
+    }
+
+    // Getters
+    public String getNumeroReserva() {
+        return numeroReserva;
+    }
+
+    public String getDniPasajero() {
+        return dniPasajero;
+    }
+
+    public String getNombreCompletoPasajero() {
+        return nombreCompletoPasajero;
+    }
+
+    public String getNumeroVuelo() {
+        return numeroVuelo;
+    }
+
+    public LocalDateTime getFechaReserva() {
+        return fechaReserva;
+    }
+
+    public int getNumeroAsiento() {
+        return numeroAsiento;
+    }
+
+    public EstadoReserva getEstado() {
+        return estado;
+    }
+
+    /**
+     * Mismo criterio que {@link Reserva#calcularTotal()}: el precio del vuelo
+     */
+    public double calcularTotal() {
+        return precioVuelo;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservaResumen{" +
+                "numeroReserva='" + numeroReserva + '\'' +
+                ", pasajero=" + nombreCompletoPasajero +
+                ", vuelo=" + numeroVuelo +
+                ", asiento=" + numeroAsiento +
+                ", estado=" + estado +
+                ", total=" + precioVuelo +
+                '}';
+    }
+}
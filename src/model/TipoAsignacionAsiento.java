@@ -0,0 +1,25 @@
+package model;
+
+/**
+ * Enum que representa cómo se eligen los asientos de una reserva de grupo
+ */
+public enum TipoAsignacionAsiento {
+    ELEGIDOS("Elegidos"),
+    PRIMEROS_LIBRES("Primeros libres"),
+    CONTIGUOS("Contiguos");
+
+    private final String descripcion;
+
+    TipoAsignacionAsiento(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    @Override
+    public String toString() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista reducida de un vuelo para listados y búsquedas: solo las columnas que se muestran,
+ * con el modelo del avión en lugar del avión completo. El vuelo completo se carga al
+ * consultar uno en particular
+ */
+public class VueloResumen {
+    private final String numeroVuelo;
+    private final String origen;
+    private final String destino;
+    private final LocalDateTime fechaHoraSalida;
+    private final LocalDateTime fechaHoraLlegada;
+    private final String numeroSerieAvion;
+    private final String modeloAvion;
+    private final double precio;
+    private final int asientosDisponibles;
+    private final EstadoVuelo estado;
+
+    public VueloResumen(String numeroVuelo, String origen, String destino,
+                        LocalDateTime fechaHoraSalida, LocalDateTime fechaHoraLlegada,
+                        String numeroSerieAvion, String modeloAvion, double precio,
+                        int asientosDisponibles, EstadoVuelo estado) {
+        this.numeroVuelo = numeroVuelo;
+        this.origen = origen;
+        this.destino = destino;
+        this.fechaHoraSalida = fechaHoraSalida;
+        this.fechaHoraLlegada = fechaHoraLlegada;
+        this.numeroSerieAvion = numeroSerieAvion;
+        this.modeloAvion = modeloAvion;
+        this.precio = precio;
+        this.asientosDisponibles = asientosDisponibles;
+        this.estado = estado;
+    }
+
+    /**
+     * Resumen de un vuelo ya cargado
+     */
+    public static VueloResumen de(Vuelo vuelo) {
+        Avion avion = vuelo.getAvion();
+        return new VueloResumen(vuelo.getNumeroVuelo(), vuelo.getOrigen(), vuelo.getDestino(),
+                vuelo.getFechaHoraSalida(), vuelo.getFechaHoraLlegada(),
+                avion != null ? avion.getNumeroSerie() : null, avion != null ? avion.getModelo() : null,
+                vuelo.getPrecio(), vuelo.getAsientosDisponibles(), vuelo.getEstado());
+    }
+
+    // Getters
+    public String getNumeroVuelo() {
+        return numeroVuelo;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public LocalDateTime getFechaHoraSalida() {
+        return fechaHoraSalida;
+    }
+
+    public LocalDateTime getFechaHoraLlegada() {
+        return fechaHoraLlegada;
+    }
+
+    public String getNumeroSerieAvion() {
+        return numeroSerieAvion;
+    }
+
+    public String getModeloAvion() {
+        return modeloAvion;
+    }
+
+    public double getPrecio() {
+        return precio;
+    }
+
+    public int getAsientosDisponibles() {
+        return asientosDisponibles;
+    }
+
+    public EstadoVuelo getEstado() {
+        return estado;
+    }
+
+    @Override
+    public String toString() {
+        return "VueloResumen{" +
+                "numeroVuelo='" + numeroVuelo + '\'' +
+                ", origen='" + origen + '\'' +
+                ", destino='" + destino + '\'' +
+                ", salida=" + fechaHoraSalida +
+                ", avion=" + modeloAvion +
+                ", precio=" + precio +
+                ", asientos=" + asientosDisponibles +
+                ", estado=" + estado +
+                '}';
+    }
+}
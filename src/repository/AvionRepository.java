@@ -1,11 +1,12 @@
 package repository;
 
 import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
 import model.Avion;
-import model.EstadoAvion;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +22,7 @@ public class AvionRepository implements IAvionRepository {
 
     @Override
     public void guardar(Avion avion) {
-        String sql = "{CALL sp_crear_avion(?, ?, ?, ?, ?, ?, ?, ?)}";
+        String sql = "{CALL sp_crear_avion(?, ?, ?, ?, ?, ?, ?, ?, ?)}";
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -34,6 +35,7 @@ public class AvionRepository implements IAvionRepository {
             cstmt.setString(6, avion.getEstado().toString());
             cstmt.registerOutParameter(7, Types.BIT);
             cstmt.registerOutParameter(8, Types.VARCHAR);
+            cstmt.registerOutParameter(9, Types.BIT);
             
             cstmt.execute();
             
@@ -41,33 +43,47 @@ public class AvionRepository implements IAvionRepository {
             String mensaje = cstmt.getString(8);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
             } else {
-                conexionBD.rollback();
+                conn.rollback();
+                if (cstmt.getBoolean(9)) {
+                    throw new ClaveDuplicadaException(mensaje);
+                }
                 throw new RuntimeException("Error al guardar avión: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar avión: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Avion> aviones) {
+        return new CargaPorLotes<Avion>(conexionBD, "{CALL sp_crear_aviones_lote(?)}", Avion::getNumeroSerie,
+                (fila, avion) -> fila
+                        .campo("numero_serie", avion.getNumeroSerie())
+                        .campo("modelo", avion.getModelo())
+                        .campo("fabricante", avion.getFabricante())
+                        .campo("capacidad_pasajeros", avion.getCapacidadPasajeros())
+                        .campo("capacidad_carga", avion.getCapacidadCarga())
+                        .campo("estado", avion.getEstado() != null ? avion.getEstado().name() : null))
+                .guardar(aviones);
+    }
+
     @Override
     public Optional<Avion> buscarPorNumeroSerie(String numeroSerie) {
         String sql = "SELECT * FROM aviones WHERE numero_serie = ?";
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, numeroSerie);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToAvion(rs));
+                    return Optional.of(Mapeadores.avion("estado").mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -82,12 +98,13 @@ public class AvionRepository implements IAvionRepository {
         String sql = "SELECT * FROM aviones ORDER BY numero_serie";
         List<Avion> aviones = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            MapeadorFila<Avion> mapeador = Mapeadores.avion("estado");
             while (rs.next()) {
-                aviones.add(mapResultSetToAvion(rs));
+                aviones.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar aviones: " + e.getMessage(), e);
@@ -96,19 +113,49 @@ public class AvionRepository implements IAvionRepository {
         return aviones;
     }
 
+    @Override
+    public Pagina<Avion> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 1) : null;
+        String sql = "SELECT TOP (?) * FROM aviones " +
+                     (clave != null ? "WHERE numero_serie > ? " : "") +
+                     "ORDER BY numero_serie";
+        List<Avion> aviones = new ArrayList<>();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                pstmt.setString(2, clave[0]);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Avion> mapeador = Mapeadores.avion("estado");
+                while (rs.next()) {
+                    aviones.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar aviones por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(aviones, tamano, a -> TokenPagina.codificar(a.getNumeroSerie()));
+    }
+
     @Override
     public List<Avion> buscarPorEstado(String estado) {
         String sql = "SELECT * FROM aviones WHERE estado = ? ORDER BY numero_serie";
         List<Avion> aviones = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, estado.toUpperCase());
             
             try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Avion> mapeador = Mapeadores.avion("estado");
                 while (rs.next()) {
-                    aviones.add(mapResultSetToAvion(rs));
+                    aviones.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -135,18 +182,13 @@ public class AvionRepository implements IAvionRepository {
             String mensaje = cstmt.getString(3);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
                 return true;
             } else {
-                conexionBD.rollback();
+                conn.rollback();
                 throw new RuntimeException("Error al eliminar avión: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
-            }
             throw new RuntimeException("Error al eliminar avión: " + e.getMessage(), e);
         }
     }
@@ -171,27 +213,4 @@ public class AvionRepository implements IAvionRepository {
         
         return false;
     }
-
-    /**
-     * Mapea un ResultSet a un objeto Avion
-     */
-    private Avion mapResultSetToAvion(ResultSet rs) throws SQLException {
-        Avion avion = new Avion(
-            rs.getString("numero_serie"),
-            rs.getString("modelo"),
-            rs.getString("fabricante"),
-            rs.getInt("capacidad_pasajeros"),
-            rs.getInt("capacidad_carga")
-        );
-        
-        // Establecer estado
-        String estadoStr = rs.getString("estado");
-        try {
-            avion.setEstado(EstadoAvion.valueOf(estadoStr));
-        } catch (IllegalArgumentException e) {
-            avion.setEstado(EstadoAvion.DISPONIBLE);
-        }
-        
-        return avion;
-    }
 }
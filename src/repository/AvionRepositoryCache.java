@@ -0,0 +1,203 @@
+package repository;
+
+import model.Avion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de lectura de la flota alrededor de otro repositorio de aviones
+ * La flota es chica y cambia poco: se carga completa en la primera lectura y las búsquedas
+ * por número de serie, por estado y los listados se responden desde índices en memoria.
+ * Las escrituras pasan al repositorio envuelto e invalidan la caché; los cambios de estado
+ * que hacen los vuelos (programar, despegar, completar, eliminar) la invalidan con invalidar().
+ * Registrada en un SondeoCambios, recibe también los cambios hechos por otros nodos
+ *
+ * Devuelve copias de los aviones, de modo que quien modifique un resultado no altera la caché
+ */
+public class AvionRepositoryCache implements IAvionRepository, IObservadorCambios<Avion> {
+    private final IAvionRepository repositorio;
+    private final ILecturaPrimario lecturaPrimario;
+    // Se incrementa en cada invalidación; una carga solo se publica si no hubo otra en el medio
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Flota> flota = new AtomicReference<>();
+
+    public AvionRepositoryCache(IAvionRepository repositorio) {
+        this(repositorio, ILecturaPrimario.directa());
+    }
+
+    /**
+     * @param lecturaPrimario Forma de leer del primario al cargar la flota: una carga desde una
+     *                        réplica retrasada perdería cambios de estado ya confirmados
+     */
+    public AvionRepositoryCache(IAvionRepository repositorio, ILecturaPrimario lecturaPrimario) {
+        this.repositorio = repositorio;
+        this.lecturaPrimario = lecturaPrimario;
+    }
+
+    /**
+     * Descarta la flota cargada; la próxima lectura la vuelve a cargar
+     */
+    public void invalidar() {
+        version.incrementAndGet();
+        flota.set(null);
+    }
+
+    /**
+     * Arma una flota nueva con los aviones cambiados y sin los eliminados; si mientras tanto se
+     * invalidó, no la publica y pide el tramo de nuevo
+     */
+    @Override
+    public boolean aplicarCambios(LoteCambios<Avion> cambios) {
+        Flota actual = flota.get();
+        if (actual == null || cambios.getConsultadoEn() - actual.cargadaEn <= 0) {
+            // Sin flota, o cargada después de la consulta: ya incluye estos cambios
+            return true;
+        }
+        Map<String, Avion> aviones = new LinkedHashMap<>(actual.porNumeroSerie);
+        for (String numeroSerie : cambios.getEliminados()) {
+            aviones.remove(numeroSerie);
+        }
+        for (Avion avion : cambios.getCambiados()) {
+            aviones.put(avion.getNumeroSerie(), avion);
+        }
+        return flota.compareAndSet(actual, new Flota(new ArrayList<>(aviones.values()), actual.cargadaEn));
+    }
+
+    @Override
+    public void guardar(Avion avion) {
+        try {
+            repositorio.guardar(avion);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Avion> aviones) {
+        try {
+            return repositorio.guardarTodos(aviones);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public Optional<Avion> buscarPorNumeroSerie(String numeroSerie) {
+        return Optional.ofNullable(copiar(flota().porNumeroSerie.get(numeroSerie)));
+    }
+
+    @Override
+    public List<Avion> listarTodos() {
+        return copiar(flota().ordenados);
+    }
+
+    @Override
+    public Pagina<Avion> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 1) : null;
+        List<Avion> filas = flota().ordenados.stream()
+                .filter(a -> clave == null || a.getNumeroSerie().compareTo(clave[0]) > 0)
+                .limit(tamano + 1L)
+                .map(AvionRepositoryCache::copiar)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano, a -> TokenPagina.codificar(a.getNumeroSerie()));
+    }
+
+    @Override
+    public List<Avion> buscarPorEstado(String estado) {
+        if (estado == null) {
+            return new ArrayList<>();
+        }
+        return copiar(flota().porEstado.getOrDefault(estado.toUpperCase(), Collections.emptyList()));
+    }
+
+    @Override
+    public boolean eliminar(String numeroSerie) {
+        try {
+            return repositorio.eliminar(numeroSerie);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public boolean existe(String numeroSerie) {
+        return flota().porNumeroSerie.containsKey(numeroSerie);
+    }
+
+    private Flota flota() {
+        Flota actual = flota.get();
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (this) {
+            actual = flota.get();
+            if (actual != null) {
+                return actual;
+            }
+            long versionCarga = version.get();
+            long inicio = System.nanoTime();
+            Flota cargada = new Flota(lecturaPrimario.leer(repositorio::listarTodos), inicio);
+            if (version.get() == versionCarga) {
+                flota.compareAndSet(null, cargada);
+            }
+            return cargada;
+        }
+    }
+
+    private static List<Avion> copiar(List<Avion> aviones) {
+        List<Avion> copias = new ArrayList<>(aviones.size());
+        for (Avion avion : aviones) {
+            copias.add(copiar(avion));
+        }
+        return copias;
+    }
+
+    private static Avion copiar(Avion avion) {
+        if (avion == null) {
+            return null;
+        }
+        Avion copia = new Avion(avion.getNumeroSerie(), avion.getModelo(), avion.getFabricante(),
+                avion.getCapacidadPasajeros(), avion.getCapacidadCarga());
+        copia.setEstado(avion.getEstado());
+        return copia;
+    }
+
+    /**
+     * Foto inmutable de la flota con sus índices
+     */
+    private static final class Flota {
+        private final List<Avion> ordenados;
+        private final Map<String, Avion> porNumeroSerie;
+        private final Map<String, List<Avion>> porEstado;
+        // Inicio de la consulta de carga: los cambios consultados antes ya están incluidos
+        private final long cargadaEn;
+
+        private Flota(List<Avion> aviones, long cargadaEn) {
+            this.cargadaEn = cargadaEn;
+            List<Avion> copia = new ArrayList<>(aviones);
+            copia.sort(Comparator.comparing(Avion::getNumeroSerie));
+            Map<String, Avion> indiceSerie = new LinkedHashMap<>();
+            Map<String, List<Avion>> indiceEstado = new HashMap<>();
+            for (Avion avion : copia) {
+                indiceSerie.put(avion.getNumeroSerie(), avion);
+                if (avion.getEstado() != null) {
+                    indiceEstado.computeIfAbsent(avion.getEstado().name(), e -> new ArrayList<>()).add(avion);
+                }
+            }
+            this.ordenados = Collections.unmodifiableList(copia);
+            this.porNumeroSerie = Collections.unmodifiableMap(indiceSerie);
+            this.porEstado = Collections.unmodifiableMap(indiceEstado);
+        }
+    }
+}
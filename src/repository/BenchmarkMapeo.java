@@ -0,0 +1,268 @@
+package repository;
+
+import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
+import model.Avion;
+import model.EstadoAvion;
+import model.EstadoReserva;
+import model.EstadoVuelo;
+import model.Pasajero;
+import model.Reserva;
+import model.Vuelo;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mide el costo por fila de mapear reservas leyendo las columnas por nombre (como lo hacían
+ * los repositorios) frente a los mapeadores compilados por ordinal de {@link Mapeadores}
+ *
+ * Por defecto usa filas sintéticas en memoria con las columnas de sp_listar_reservas, así
+ * que no necesita base de datos. Con -Dsistemavuelos.benchmark.origen=bd ejecuta
+ * sp_listar_reservas contra la base configurada en cada iteración
+ *
+ * Uso: java -cp ... repository.BenchmarkMapeo
+ *      -Dsistemavuelos.benchmark.filas=20000 -Dsistemavuelos.benchmark.iteraciones=10
+ */
+public class BenchmarkMapeo {
+    private static final int FILAS = Integer.getInteger("sistemavuelos.benchmark.filas", 20000);
+    private static final int ITERACIONES = Integer.getInteger("sistemavuelos.benchmark.iteraciones", 10);
+    private static final int CALENTAMIENTO = Integer.getInteger("sistemavuelos.benchmark.calentamiento", 5);
+
+    private static final String[] COLUMNAS = {
+        "numero_reserva", "fecha_reserva", "estado_reserva", "numero_asiento", "precio_pagado",
+        "dni_pasajero", "nombre_pasajero", "apellido_pasajero", "email_pasajero", "telefono_pasajero",
+        "fecha_nacimiento", "nacionalidad", "numero_pasaporte",
+        "numero_vuelo", "origen", "destino", "fecha_hora_salida", "fecha_hora_llegada", "precio",
+        "asientos_disponibles", "estado_vuelo",
+        "numero_serie", "modelo", "fabricante", "capacidad_pasajeros", "capacidad_carga", "estado_avion"
+    };
+
+    /**
+     * Origen de las filas de una iteración: un ResultSet desconectado, en memoria
+     */
+    @FunctionalInterface
+    private interface Origen {
+        ResultSet abrir() throws SQLException;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        boolean contraBase = "bd".equalsIgnoreCase(System.getProperty("sistemavuelos.benchmark.origen"));
+        Origen origen = contraBase ? BenchmarkMapeo::consultarBase : filasSinteticas(FILAS);
+
+        System.out.println("=== Benchmark de mapeo de reservas (" + (contraBase ? "base de datos" : "memoria") + ") ===");
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            medir(origen, false);
+            medir(origen, true);
+        }
+
+        long nanosNombre = 0;
+        long nanosOrdinal = 0;
+        long filas = 0;
+        for (int i = 0; i < ITERACIONES; i++) {
+            long[] porNombre = medir(origen, false);
+            long[] porOrdinal = medir(origen, true);
+            nanosNombre += porNombre[0];
+            nanosOrdinal += porOrdinal[0];
+            filas += porNombre[1];
+        }
+        if (filas == 0) {
+            System.out.println("No hay filas para mapear.");
+            return;
+        }
+
+        double filaNombre = (double) nanosNombre / filas;
+        double filaOrdinal = (double) nanosOrdinal / filas;
+        System.out.printf("Filas por iteración: %d, iteraciones: %d%n", filas / ITERACIONES, ITERACIONES);
+        System.out.printf("Por nombre:  %10.1f ns/fila%n", filaNombre);
+        System.out.printf("Por ordinal: %10.1f ns/fila%n", filaOrdinal);
+        System.out.printf("Reducción:   %10.1f %%%n", 100.0 * (filaNombre - filaOrdinal) / filaNombre);
+    }
+
+    /**
+     * @return {nanosegundos, filas} de recorrer y mapear el origen una vez
+     */
+    private static long[] medir(Origen origen, boolean porOrdinal) throws SQLException {
+        MapaIdentidad mapa = new MapaIdentidad();
+        MapeadorFila<Reserva> mapeador = porOrdinal ? Mapeadores.reserva(mapa) : rs -> mapearPorNombre(rs, mapa);
+        long filas = 0;
+        long hash = 0;
+        ResultSet rs = origen.abrir();
+        long inicio = System.nanoTime();
+        while (rs.next()) {
+            hash += mapeador.mapear(rs).getNumeroAsiento();
+            filas++;
+        }
+        long nanos = System.nanoTime() - inicio;
+        if (hash == Long.MIN_VALUE) {
+            // Evita que el JIT descarte el mapeo
+            System.out.println(hash);
+        }
+        return new long[]{nanos, filas};
+    }
+
+    private static ResultSet consultarBase() throws SQLException {
+        Connection conn = ConexionBD.getInstancia().getConexionLectura();
+        try (conn; CallableStatement cstmt = conn.prepareCall("{CALL sp_listar_reservas}");
+             ResultSet rs = cstmt.executeQuery()) {
+            // Se copia para devolver la conexión; la copia se mide igual en los dos mapeos
+            CachedRowSet copia = RowSetProvider.newFactory().createCachedRowSet();
+            copia.populate(rs);
+            return copia;
+        }
+    }
+
+    private static Origen filasSinteticas(int cantidad) throws SQLException {
+        RowSetMetaDataImpl metadatos = new RowSetMetaDataImpl();
+        metadatos.setColumnCount(COLUMNAS.length);
+        for (int i = 0; i < COLUMNAS.length; i++) {
+            metadatos.setColumnName(i + 1, COLUMNAS[i]);
+            metadatos.setColumnLabel(i + 1, COLUMNAS[i]);
+            metadatos.setColumnType(i + 1, tipo(COLUMNAS[i]));
+        }
+
+        CachedRowSet filas = RowSetProvider.newFactory().createCachedRowSet();
+        filas.setMetaData(metadatos);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        for (int i = 0; i < cantidad; i++) {
+            // Un pasajero por fila y un vuelo cada 50 reservas, como un listado real
+            int vuelo = i / 50;
+            filas.moveToInsertRow();
+            filas.updateString("numero_reserva", "R" + i);
+            filas.updateTimestamp("fecha_reserva", Timestamp.valueOf(base.plusMinutes(i)));
+            filas.updateString("estado_reserva", EstadoReserva.CONFIRMADA.name());
+            filas.updateInt("numero_asiento", i % 50 + 1);
+            filas.updateDouble("precio_pagado", 150.0);
+            filas.updateString("dni_pasajero", "P" + i);
+            filas.updateString("nombre_pasajero", "Nombre" + i);
+            filas.updateString("apellido_pasajero", "Apellido" + i);
+            filas.updateString("email_pasajero", "p" + i + "@correo.com");
+            filas.updateString("telefono_pasajero", "555-" + i);
+            filas.updateDate("fecha_nacimiento", Date.valueOf(LocalDate.of(1990, 1, 1)));
+            filas.updateString("nacionalidad", "Argentina");
+            filas.updateString("numero_pasaporte", "PA" + i);
+            filas.updateString("numero_vuelo", "V" + vuelo);
+            filas.updateString("origen", "Buenos Aires");
+            filas.updateString("destino", "Madrid");
+            filas.updateTimestamp("fecha_hora_salida", Timestamp.valueOf(base.plusDays(vuelo)));
+            filas.updateTimestamp("fecha_hora_llegada", Timestamp.valueOf(base.plusDays(vuelo).plusHours(12)));
+            filas.updateDouble("precio", 150.0);
+            filas.updateInt("asientos_disponibles", 100);
+            filas.updateString("estado_vuelo", EstadoVuelo.PROGRAMADO.name());
+            filas.updateString("numero_serie", "AV" + vuelo % 10);
+            filas.updateString("modelo", "Boeing 737");
+            filas.updateString("fabricante", "Boeing");
+            filas.updateInt("capacidad_pasajeros", 180);
+            filas.updateInt("capacidad_carga", 20000);
+            filas.updateString("estado_avion", EstadoAvion.DISPONIBLE.name());
+            filas.insertRow();
+            filas.moveToCurrentRow();
+        }
+
+        return () -> {
+            filas.beforeFirst();
+            return filas;
+        };
+    }
+
+    private static int tipo(String columna) {
+        switch (columna) {
+            case "fecha_reserva":
+            case "fecha_hora_salida":
+            case "fecha_hora_llegada":
+                return Types.TIMESTAMP;
+            case "fecha_nacimiento":
+                return Types.DATE;
+            case "numero_asiento":
+            case "asientos_disponibles":
+            case "capacidad_pasajeros":
+            case "capacidad_carga":
+                return Types.INTEGER;
+            case "precio_pagado":
+            case "precio":
+                return Types.DOUBLE;
+            default:
+                return Types.VARCHAR;
+        }
+    }
+
+    /**
+     * Mapeo anterior, por nombre de columna y con valueOf dentro de try/catch; se conserva
+     * solo como referencia de la medición
+     */
+    private static Reserva mapearPorNombre(ResultSet rs, MapaIdentidad mapa) throws SQLException {
+        Timestamp fechaReserva = rs.getTimestamp("fecha_reserva");
+        LocalDateTime fechaRes = fechaReserva != null ? fechaReserva.toLocalDateTime() : LocalDateTime.now();
+        String numeroReserva = rs.getString("numero_reserva");
+        int numeroAsiento = rs.getInt("numero_asiento");
+        String estadoReserva = rs.getString("estado_reserva");
+
+        Pasajero pasajero = mapa.pasajero(rs.getString("dni_pasajero"), () -> {
+            Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+            return new Pasajero(
+                rs.getString("dni_pasajero"),
+                rs.getString("nombre_pasajero"),
+                rs.getString("apellido_pasajero"),
+                rs.getString("email_pasajero"),
+                rs.getString("telefono_pasajero"),
+                fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null,
+                rs.getString("nacionalidad"),
+                rs.getString("numero_pasaporte")
+            );
+        });
+        Vuelo vuelo = mapa.vuelo(rs.getString("numero_vuelo"), () -> {
+            Avion avion = mapa.avion(rs.getString("numero_serie"), () -> {
+                Avion nuevo = new Avion(
+                    rs.getString("numero_serie"),
+                    rs.getString("modelo"),
+                    rs.getString("fabricante"),
+                    rs.getInt("capacidad_pasajeros"),
+                    rs.getInt("capacidad_carga")
+                );
+                try {
+                    nuevo.setEstado(EstadoAvion.valueOf(rs.getString("estado_avion")));
+                } catch (IllegalArgumentException e) {
+                    nuevo.setEstado(EstadoAvion.DISPONIBLE);
+                }
+                return nuevo;
+            });
+            Timestamp salida = rs.getTimestamp("fecha_hora_salida");
+            Timestamp llegada = rs.getTimestamp("fecha_hora_llegada");
+            Vuelo nuevo = new Vuelo(
+                rs.getString("numero_vuelo"),
+                rs.getString("origen"),
+                rs.getString("destino"),
+                salida != null ? salida.toLocalDateTime() : null,
+                llegada != null ? llegada.toLocalDateTime() : null,
+                avion,
+                rs.getDouble("precio")
+            );
+            nuevo.setAsientosDisponibles(rs.getInt("asientos_disponibles"));
+            try {
+                nuevo.setEstado(EstadoVuelo.valueOf(rs.getString("estado_vuelo")));
+            } catch (IllegalArgumentException e) {
+                nuevo.setEstado(EstadoVuelo.PROGRAMADO);
+            }
+            return nuevo;
+        });
+
+        Reserva reserva = new Reserva(numeroReserva, pasajero, vuelo, numeroAsiento);
+        reserva.setFechaReserva(fechaRes);
+        try {
+            reserva.setEstado(EstadoReserva.valueOf(estadoReserva));
+        } catch (IllegalArgumentException e) {
+            reserva.setEstado(EstadoReserva.CONFIRMADA);
+        }
+        return reserva;
+    }
+}
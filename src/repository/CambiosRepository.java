@@ -0,0 +1,94 @@
+package repository;
+
+import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
+import model.Avion;
+import model.VueloResumen;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de la consulta de cambios con SQL Server (columnas version_fila ROWVERSION)
+ * Se consulta siempre el primario: las réplicas pueden ir atrasadas respecto de la versión
+ */
+public class CambiosRepository implements ICambiosRepository {
+    private final ConexionBD conexionBD;
+
+    public CambiosRepository() {
+        this.conexionBD = ConexionBD.getInstancia();
+    }
+
+    @Override
+    public long versionActual() {
+        String sql = "{CALL sp_version_cambios(?)}";
+
+        try (Connection conn = conexionBD.getConexion();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+
+            cstmt.registerOutParameter(1, Types.BINARY);
+            cstmt.execute();
+            return aVersion(cstmt.getBytes(1));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al consultar versión de cambios: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public LoteCambios<VueloResumen> cambiosVuelos(long desde) {
+        return consultar("{CALL sp_cambios_vuelos(?, ?)}", desde, Mapeadores.vueloResumen(), "vuelos");
+    }
+
+    @Override
+    public LoteCambios<Avion> cambiosAviones(long desde) {
+        return consultar("{CALL sp_cambios_aviones(?, ?)}", desde, Mapeadores.avion("estado"), "aviones");
+    }
+
+    /**
+     * Lee las filas cambiadas (primer resultado) y, si el procedimiento lo devuelve, las claves
+     * borradas (segundo resultado); la versión final llega como parámetro de salida
+     */
+    private <T> LoteCambios<T> consultar(String sql, long desde, MapeadorFila<T> mapeador, String tabla) {
+        long consultadoEn = System.nanoTime();
+        List<T> cambiados = new ArrayList<>();
+        List<String> eliminados = new ArrayList<>();
+
+        try (Connection conn = conexionBD.getConexion();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+
+            cstmt.setBytes(1, aBytes(desde));
+            cstmt.registerOutParameter(2, Types.BINARY);
+
+            if (cstmt.execute()) {
+                try (ResultSet rs = cstmt.getResultSet()) {
+                    while (rs.next()) {
+                        cambiados.add(mapeador.mapear(rs));
+                    }
+                }
+                if (cstmt.getMoreResults()) {
+                    try (ResultSet rs = cstmt.getResultSet()) {
+                        while (rs.next()) {
+                            eliminados.add(rs.getString("clave"));
+                        }
+                    }
+                }
+            }
+
+            long hasta = aVersion(cstmt.getBytes(2));
+            return new LoteCambios<>(desde, hasta, cambiados, eliminados, consultadoEn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al consultar cambios de " + tabla + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ROWVERSION es un BINARY(8) big-endian que crece con cada escritura de la base
+    private static byte[] aBytes(long version) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(version).array();
+    }
+
+    private static long aVersion(byte[] bytes) {
+        return bytes != null ? ByteBuffer.wrap(bytes).getLong() : 0L;
+    }
+}
@@ -0,0 +1,88 @@
+package repository;
+
+import database.ConexionBD;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Carga masiva con procedimientos por conjuntos: las filas viajan en lotes como un
+ * arreglo JSON en un solo parámetro y el procedimiento devuelve una fila de resultado
+ * (indice, resultado, mensaje) por cada una. Cada lote es una llamada y un commit
+ */
+class CargaPorLotes<T> {
+    // Filas por llamada al servidor (-Dsistemavuelos.jdbc.tamanoLote)
+    static final int TAMANO_LOTE = Integer.getInteger("sistemavuelos.jdbc.tamanoLote", 500);
+
+    private final ConexionBD conexionBD;
+    private final String sql;
+    private final Function<T, String> clave;
+    private final BiConsumer<DocumentoJson, T> escritor;
+
+    /**
+     * @param sql Llamada al procedimiento de lote, con un único parámetro para el JSON
+     * @param clave Clave primaria de cada elemento, para informar el resultado
+     * @param escritor Vuelca los campos de un elemento en la fila actual del documento
+     */
+    CargaPorLotes(ConexionBD conexionBD, String sql, Function<T, String> clave,
+                  BiConsumer<DocumentoJson, T> escritor) {
+        this.conexionBD = conexionBD;
+        this.sql = sql;
+        this.clave = clave;
+        this.escritor = escritor;
+    }
+
+    List<ResultadoFila> guardar(Collection<T> elementos) {
+        List<T> filas = new ArrayList<>(elementos);
+        List<ResultadoFila> resultados = new ArrayList<>(filas.size());
+        int tamanoLote = Math.max(1, TAMANO_LOTE);
+        for (int inicio = 0; inicio < filas.size(); inicio += tamanoLote) {
+            List<T> lote = filas.subList(inicio, Math.min(inicio + tamanoLote, filas.size()));
+            resultados.addAll(guardarLote(lote, inicio));
+        }
+        return resultados;
+    }
+
+    private List<ResultadoFila> guardarLote(List<T> lote, int desplazamiento) {
+        DocumentoJson documento = new DocumentoJson();
+        for (T elemento : lote) {
+            escritor.accept(documento.fila(), elemento);
+        }
+
+        ResultadoFila[] resultados = new ResultadoFila[lote.size()];
+        try (Connection conn = conexionBD.getConexion();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+
+            cstmt.setString(1, documento.cerrar());
+
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    int indice = rs.getInt("indice");
+                    resultados[indice] = new ResultadoFila(desplazamiento + indice, clave.apply(lote.get(indice)),
+                            rs.getBoolean("resultado"), rs.getString("mensaje"));
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            // Falla la llamada completa (no una fila): se informa en todas las filas del lote
+            for (int i = 0; i < lote.size(); i++) {
+                resultados[i] = new ResultadoFila(desplazamiento + i, clave.apply(lote.get(i)), false, e.getMessage());
+            }
+        }
+
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i] == null) {
+                resultados[i] = new ResultadoFila(desplazamiento + i, clave.apply(lote.get(i)), false,
+                        "El servidor no informó el resultado de la fila");
+            }
+        }
+        return List.of(resultados);
+    }
+}
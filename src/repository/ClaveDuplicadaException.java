@@ -0,0 +1,30 @@
+package repository;
+
+import java.sql.SQLException;
+
+/**
+ * El alta se rechazó porque su clave (o un valor único como email o pasaporte) ya existe
+ * Lo informa la misma llamada que inserta, sin consultar antes con existe()
+ */
+public class ClaveDuplicadaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    // Violación de PRIMARY KEY o UNIQUE, y de índice único, en SQL Server
+    private static final int VIOLACION_RESTRICCION_UNICA = 2627;
+    private static final int VIOLACION_INDICE_UNICO = 2601;
+
+    public ClaveDuplicadaException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ClaveDuplicadaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+
+    /**
+     * Indica si el error es una violación de clave que llegó sin pasar por el procedimiento
+     */
+    static boolean esViolacionUnica(SQLException e) {
+        return e.getErrorCode() == VIOLACION_RESTRICCION_UNICA || e.getErrorCode() == VIOLACION_INDICE_UNICO;
+    }
+}
@@ -0,0 +1,42 @@
+package repository;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ordinales de las columnas de un ResultSet, leídos una sola vez de sus metadatos
+ * Los nombres se comparan sin distinguir mayúsculas, igual que en findColumn
+ */
+final class Columnas {
+    private final Map<String, Integer> ordinales;
+
+    private Columnas(Map<String, Integer> ordinales) {
+        this.ordinales = ordinales;
+    }
+
+    static Columnas de(ResultSet rs) throws SQLException {
+        ResultSetMetaData metadatos = rs.getMetaData();
+        int cantidad = metadatos.getColumnCount();
+        Map<String, Integer> ordinales = new HashMap<>(cantidad * 2);
+        for (int i = 1; i <= cantidad; i++) {
+            // Si el nombre se repite (SELECT u.*, e.*) vale la primera columna, como en findColumn
+            ordinales.putIfAbsent(metadatos.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new Columnas(ordinales);
+    }
+
+    /**
+     * @throws SQLException Si la consulta no devuelve la columna
+     */
+    int indice(String nombre) throws SQLException {
+        Integer ordinal = ordinales.get(nombre.toLowerCase(Locale.ROOT));
+        if (ordinal == null) {
+            throw new SQLException("La consulta no devuelve la columna " + nombre);
+        }
+        return ordinal;
+    }
+}
@@ -0,0 +1,82 @@
+package repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Arma el arreglo JSON de filas que reciben los procedimientos de carga masiva (OPENJSON)
+ * Cada fila es un objeto plano; los valores nulos se omiten y OPENJSON los lee como NULL
+ */
+class DocumentoJson {
+    private final StringBuilder json = new StringBuilder("[");
+    private boolean hayFilas;
+    private boolean hayCampos;
+
+    DocumentoJson fila() {
+        if (hayFilas) {
+            json.append("},");
+        }
+        json.append('{');
+        hayFilas = true;
+        hayCampos = false;
+        return this;
+    }
+
+    DocumentoJson campo(String nombre, Object valor) {
+        if (valor == null) {
+            return this;
+        }
+        if (hayCampos) {
+            json.append(',');
+        }
+        hayCampos = true;
+        escribirTexto(nombre);
+        json.append(':');
+        if (valor instanceof Integer || valor instanceof Long) {
+            json.append(valor);
+        } else if (valor instanceof Double) {
+            // Sin notación exponencial para que OPENJSON lo convierta a DECIMAL
+            json.append(BigDecimal.valueOf((Double) valor).toPlainString());
+        } else {
+            escribirTexto(valor.toString());
+        }
+        return this;
+    }
+
+    String cerrar() {
+        if (hayFilas) {
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private void escribirTexto(String texto) {
+        json.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -1,11 +1,11 @@
 package repository;
 
 import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
 import model.Empleado;
 import model.Persona;
 
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -22,7 +22,7 @@ public class EmpleadoRepository implements IEmpleadoRepository {
 
     @Override
     public void guardar(Empleado empleado) {
-        String sql = "{CALL sp_crear_empleado(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
+        String sql = "{CALL sp_crear_empleado(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -38,6 +38,7 @@ public class EmpleadoRepository implements IEmpleadoRepository {
             cstmt.setDouble(9, empleado.getSalario());
             cstmt.registerOutParameter(10, Types.BIT);
             cstmt.registerOutParameter(11, Types.VARCHAR);
+            cstmt.registerOutParameter(12, Types.BIT);
             
             cstmt.execute();
             
@@ -45,16 +46,17 @@ public class EmpleadoRepository implements IEmpleadoRepository {
             String mensaje = cstmt.getString(11);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
             } else {
-                conexionBD.rollback();
+                conn.rollback();
+                if (cstmt.getBoolean(12)) {
+                    throw new ClaveDuplicadaException(mensaje);
+                }
                 throw new RuntimeException("Error al guardar empleado: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar empleado: " + e.getMessage(), e);
         }
@@ -67,14 +69,14 @@ public class EmpleadoRepository implements IEmpleadoRepository {
                      "INNER JOIN personas per ON e.dni = per.dni " +
                      "WHERE e.dni = ?";
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, dni);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToEmpleado(rs));
+                    return Optional.of(Mapeadores.empleado().mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -91,14 +93,14 @@ public class EmpleadoRepository implements IEmpleadoRepository {
                      "INNER JOIN personas per ON e.dni = per.dni " +
                      "WHERE e.numero_empleado = ?";
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, numeroEmpleado);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToEmpleado(rs));
+                    return Optional.of(Mapeadores.empleado().mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -116,12 +118,13 @@ public class EmpleadoRepository implements IEmpleadoRepository {
                      "ORDER BY per.apellido, per.nombre";
         List<Empleado> empleados = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            MapeadorFila<Empleado> mapeador = Mapeadores.empleado();
             while (rs.next()) {
-                empleados.add(mapResultSetToEmpleado(rs));
+                empleados.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar empleados: " + e.getMessage(), e);
@@ -130,6 +133,46 @@ public class EmpleadoRepository implements IEmpleadoRepository {
         return empleados;
     }
 
+    @Override
+    public Pagina<Empleado> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 3) : null;
+        // SQL Server no compara tuplas: (apellido, nombre, dni) > (?, ?, ?) se expande
+        String sql = "SELECT TOP (?) e.*, per.nombre, per.apellido, per.email, per.telefono " +
+                     "FROM empleados e " +
+                     "INNER JOIN personas per ON e.dni = per.dni " +
+                     (clave != null
+                         ? "WHERE per.apellido > ? OR (per.apellido = ? AND (per.nombre > ? " +
+                           "OR (per.nombre = ? AND per.dni > ?))) "
+                         : "") +
+                     "ORDER BY per.apellido, per.nombre, per.dni";
+        List<Empleado> empleados = new ArrayList<>();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                pstmt.setString(2, clave[0]);
+                pstmt.setString(3, clave[0]);
+                pstmt.setString(4, clave[1]);
+                pstmt.setString(5, clave[1]);
+                pstmt.setString(6, clave[2]);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Empleado> mapeador = Mapeadores.empleado();
+                while (rs.next()) {
+                    empleados.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar empleados por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(empleados, tamano,
+                e -> TokenPagina.codificar(e.getApellido(), e.getNombre(), e.getDni()));
+    }
+
     @Override
     public List<Empleado> buscarPorCargo(String cargo) {
         String sql = "SELECT e.*, per.nombre, per.apellido, per.email, per.telefono " +
@@ -139,14 +182,15 @@ public class EmpleadoRepository implements IEmpleadoRepository {
                      "ORDER BY per.apellido, per.nombre";
         List<Empleado> empleados = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, cargo);
             
             try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Empleado> mapeador = Mapeadores.empleado();
                 while (rs.next()) {
-                    empleados.add(mapResultSetToEmpleado(rs));
+                    empleados.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -175,18 +219,13 @@ public class EmpleadoRepository implements IEmpleadoRepository {
             String mensaje = cstmt.getString(4);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
                 return true;
             } else {
-                conexionBD.rollback();
+                conn.rollback();
                 throw new RuntimeException("Error al eliminar empleado: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
-            }
             throw new RuntimeException("Error al eliminar empleado: " + e.getMessage(), e);
         }
     }
@@ -211,24 +250,4 @@ public class EmpleadoRepository implements IEmpleadoRepository {
         
         return false;
     }
-
-    /**
-     * Mapea un ResultSet a un objeto Empleado
-     */
-    private Empleado mapResultSetToEmpleado(ResultSet rs) throws SQLException {
-        Date fechaContratacion = rs.getDate("fecha_contratacion");
-        LocalDate fechaCont = fechaContratacion != null ? fechaContratacion.toLocalDate() : null;
-        
-        return new Empleado(
-            rs.getString("dni"),
-            rs.getString("nombre"),
-            rs.getString("apellido"),
-            rs.getString("email"),
-            rs.getString("telefono"),
-            rs.getString("numero_empleado"),
-            rs.getString("cargo"),
-            fechaCont,
-            rs.getDouble("salario")
-        );
-    }
 }
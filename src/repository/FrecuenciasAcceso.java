@@ -0,0 +1,87 @@
+package repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Frecuencia aproximada de acceso por clave (count-min sketch de contadores de 4 bits)
+ * Cada clave incrementa cuatro contadores y su frecuencia es el menor de ellos, así que las
+ * colisiones solo pueden sobrestimarla. Pasada una muestra de accesos (diez por entrada de la
+ * caché) todos los contadores se dividen por dos, para que lo frecuente hace tiempo pierda peso
+ * frente a lo frecuente ahora. Ocupa 8 bytes por entrada y no reserva memoria al contar
+ */
+class FrecuenciasAcceso {
+    // Máximo de un contador de 4 bits
+    private static final int MAXIMO = 15;
+    private static final long MASCARA_MITAD = 0x7777_7777_7777_7777L;
+    private static final long[] SEMILLAS = {
+            0x97cb_3127_e6c5_9a3bL, 0xb492_b66f_be98_f273L, 0x9ae1_6a3b_2f90_404fL, 0xcbf2_9ce4_8422_2325L};
+
+    private final AtomicLongArray tabla;
+    private final int mascara;
+    private final int tamanoMuestra;
+    private final AtomicInteger accesos = new AtomicInteger();
+
+    FrecuenciasAcceso(int capacidad) {
+        int tamano = Integer.highestOneBit(Math.max(capacidad, 16) - 1) << 1;
+        this.tabla = new AtomicLongArray(tamano);
+        this.mascara = tamano - 1;
+        this.tamanoMuestra = 10 * Math.max(capacidad, 16);
+    }
+
+    /**
+     * @return Frecuencia estimada de la clave, entre 0 y 15
+     */
+    int frecuencia(String clave) {
+        int hash = espaciar(clave.hashCode());
+        int frecuencia = MAXIMO;
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            int desplazamiento = desplazamiento(hash, i);
+            frecuencia = Math.min(frecuencia, (int) ((tabla.get(indice(hash, i)) >>> desplazamiento) & MAXIMO));
+        }
+        return frecuencia;
+    }
+
+    void incrementar(String clave) {
+        int hash = espaciar(clave.hashCode());
+        for (int i = 0; i < SEMILLAS.length; i++) {
+            int indice = indice(hash, i);
+            int desplazamiento = desplazamiento(hash, i);
+            long actual;
+            do {
+                actual = tabla.get(indice);
+                if (((actual >>> desplazamiento) & MAXIMO) == MAXIMO) {
+                    break;
+                }
+            } while (!tabla.compareAndSet(indice, actual, actual + (1L << desplazamiento)));
+        }
+        int total = accesos.incrementAndGet();
+        // Mientras se envejece otros hilos siguen contando: lo hace el que logra descontar la muestra
+        if (total >= tamanoMuestra && accesos.compareAndSet(total, total - tamanoMuestra / 2)) {
+            envejecer();
+        }
+    }
+
+    private void envejecer() {
+        for (int i = 0; i < tabla.length(); i++) {
+            tabla.getAndUpdate(i, contadores -> (contadores >>> 1) & MASCARA_MITAD);
+        }
+    }
+
+    private int indice(int hash, int i) {
+        long h = (hash + SEMILLAS[i]) * SEMILLAS[i];
+        h += h >>> 32;
+        return (int) h & mascara;
+    }
+
+    // Cada long guarda 16 contadores; los 4 bits de hash elegidos por función eligen uno
+    private static int desplazamiento(int hash, int i) {
+        return ((hash >>> (i << 3)) & MAXIMO) << 2;
+    }
+
+    private static int espaciar(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -1,6 +1,7 @@
 package repository;
 
 import model.Avion;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,8 +11,10 @@ import java.util.Optional;
  */
 public interface IAvionRepository {
     void guardar(Avion avion);
+    List<ResultadoFila> guardarTodos(Collection<Avion> aviones);
     Optional<Avion> buscarPorNumeroSerie(String numeroSerie);
     List<Avion> listarTodos();
+    Pagina<Avion> listarPagina(int tamano, String token);
     List<Avion> buscarPorEstado(String estado);
     boolean eliminar(String numeroSerie);
     boolean existe(String numeroSerie);
@@ -0,0 +1,17 @@
+package repository;
+
+import model.Avion;
+import model.VueloResumen;
+
+/**
+ * Consulta de cambios por versión de fila (rowversion) para mantener las cachés al día
+ * sin recargar tablas completas
+ */
+public interface ICambiosRepository {
+    /**
+     * @return Versión a partir de la cual empezar a sondear: todo lo anterior ya está confirmado
+     */
+    long versionActual();
+    LoteCambios<VueloResumen> cambiosVuelos(long desde);
+    LoteCambios<Avion> cambiosAviones(long desde);
+}
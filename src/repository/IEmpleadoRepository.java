@@ -13,6 +13,7 @@ public interface IEmpleadoRepository {
     Optional<Empleado> buscarPorDni(String dni);
     Optional<Empleado> buscarPorNumeroEmpleado(String numeroEmpleado);
     List<Empleado> listarTodos();
+    Pagina<Empleado> listarPagina(int tamano, String token);
     List<Empleado> buscarPorCargo(String cargo);
     boolean eliminar(String dni);
     boolean existe(String dni);
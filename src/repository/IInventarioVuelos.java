@@ -0,0 +1,45 @@
+package repository;
+
+import model.VueloResumen;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Estado vivo de los vuelos (asientos libres y estado) para validar reservas sin ir a la base.
+ * Las escrituras que cambian los asientos pasan por escribir(), que aplica la variación en el
+ * mismo momento en que la base la confirma
+ */
+public interface IInventarioVuelos {
+    /**
+     * @return Resumen del vuelo con sus asientos libres y estado actuales, o vacío si el
+     *         inventario no lo conoce
+     */
+    Optional<VueloResumen> consultar(String numeroVuelo);
+
+    /**
+     * Ejecuta una escritura que cambia los asientos libres del vuelo y aplica al inventario la
+     * variación calculada a partir de su resultado (negativa al reservar, positiva al liberar).
+     * Si la escritura lanza una excepción el inventario no cambia
+     */
+    <T> T escribir(String numeroVuelo, Supplier<T> escritura, ToIntFunction<T> variacion);
+
+    /**
+     * Inventario que no guarda nada: las consultas vuelven vacías y las escrituras se ejecutan
+     * tal cual
+     */
+    static IInventarioVuelos sinCache() {
+        return new IInventarioVuelos() {
+            @Override
+            public Optional<VueloResumen> consultar(String numeroVuelo) {
+                return Optional.empty();
+            }
+
+            @Override
+            public <T> T escribir(String numeroVuelo, Supplier<T> escritura, ToIntFunction<T> variacion) {
+                return escritura.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package repository;
+
+import java.util.function.Supplier;
+
+/**
+ * Forma de ejecutar las consultas de carga de una caché para que lean del primario
+ * Una caché que se carga desde una réplica retrasada publicaría datos sin las escrituras que
+ * este nodo ya confirmó; con SQL Server se usa ConexionBD::leerDelPrimario
+ */
+@FunctionalInterface
+public interface ILecturaPrimario {
+    <T> T leer(Supplier<T> consulta);
+
+    /**
+     * Ejecuta la consulta tal cual; para repositorios sin réplicas (almacén en memoria)
+     */
+    static ILecturaPrimario directa() {
+        return Supplier::get;
+    }
+}
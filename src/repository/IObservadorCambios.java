@@ -0,0 +1,14 @@
+package repository;
+
+/**
+ * Caché o índice en memoria que recibe los cambios detectados por SondeoCambios
+ */
+@FunctionalInterface
+public interface IObservadorCambios<T> {
+    /**
+     * Aplica las filas cambiadas (su estado completo, no una diferencia) y quita las borradas
+     * @return false si no pudo aplicarlos sin riesgo de pisar una escritura propia más nueva;
+     *         el sondeo vuelve a pedir el mismo tramo en la próxima vuelta
+     */
+    boolean aplicarCambios(LoteCambios<T> cambios);
+}
@@ -1,6 +1,7 @@
 package repository;
 
 import model.Pasajero;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,8 +11,10 @@ import java.util.Optional;
  */
 public interface IPasajeroRepository {
     void guardar(Pasajero pasajero);
+    List<ResultadoFila> guardarTodos(Collection<Pasajero> pasajeros);
     Optional<Pasajero> buscarPorDni(String dni);
     List<Pasajero> listarTodos();
+    Pagina<Pasajero> listarPagina(int tamano, String token);
     boolean eliminar(String dni);
     boolean existe(String dni);
 }
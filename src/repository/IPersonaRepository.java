@@ -13,6 +13,7 @@ public interface IPersonaRepository {
     void guardar(Persona persona);
     Optional<Persona> buscarPorDni(String dni);
     List<Persona> listarTodos();
+    Pagina<Persona> listarPagina(int tamano, String token);
     boolean eliminar(String dni);
     boolean existe(String dni);
 }
@@ -1,10 +1,13 @@
 package repository;
 
+import model.PoliticaAsientos;
 import model.Reserva;
+import model.ReservaResumen;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface para repositorio de Reservas
@@ -12,11 +15,34 @@ import java.util.Optional;
  */
 public interface IReservaRepository {
     void guardar(Reserva reserva);
+    /**
+     * Guarda las reservas de un mismo vuelo en una sola operación atómica; si se confirma,
+     * asigna a cada reserva su número de asiento
+     */
+    ResultadoGrupo guardarGrupo(List<Reserva> reservas, PoliticaAsientos politica);
     Optional<Reserva> buscarPorNumeroReserva(String numeroReserva);
     List<Reserva> listarTodos();
+    Pagina<Reserva> listarPagina(int tamano, String token);
+    /**
+     * Recorre todos los registros sin cargarlos en memoria; el Stream mantiene una
+     * conexión abierta y debe cerrarse (try-with-resources)
+     */
+    Stream<Reserva> recorrerTodos();
     List<Reserva> buscarPorPasajero(String dniPasajero);
     List<Reserva> buscarPorVuelo(String numeroVuelo);
     List<Reserva> buscarPorFecha(LocalDate fecha);
+    /**
+     * Listados resumidos para las pantallas de lista: nombre del pasajero y precio del
+     * vuelo, sin armar el pasajero, el vuelo ni el avión completos
+     */
+    Pagina<ReservaResumen> listarResumenPagina(int tamano, String token);
+    List<ReservaResumen> buscarResumenPorPasajero(String dniPasajero);
+    List<ReservaResumen> buscarResumenPorVuelo(String numeroVuelo);
+    List<ReservaResumen> buscarResumenPorFecha(LocalDate fecha);
+    /**
+     * Resúmenes entre dos días, ambos incluidos, en orden cronológico
+     */
+    List<ReservaResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta);
     boolean eliminar(String numeroReserva);
     boolean existe(String numeroReserva);
 }
@@ -11,7 +11,13 @@ import java.util.Optional;
 public interface IUsuarioRepository {
     void guardar(Usuario usuario);
     Optional<Usuario> buscarPorNombreUsuario(String nombreUsuario);
+    /**
+     * Verifica las credenciales de un usuario activo y lo devuelve completo, con su empleado,
+     * en la misma operación; vacío si las credenciales no son válidas
+     */
+    Optional<Usuario> autenticar(String nombreUsuario, String contrasena);
     List<Usuario> listarTodos();
+    Pagina<Usuario> listarPagina(int tamano, String token);
     boolean eliminar(String nombreUsuario);
     boolean existe(String nombreUsuario);
 }
@@ -1,10 +1,15 @@
 package repository;
 
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
 import model.Vuelo;
+import model.VueloResumen;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface para repositorio de Vuelos
@@ -12,12 +17,41 @@ import java.util.Optional;
  */
 public interface IVueloRepository {
     void guardar(Vuelo vuelo);
+    List<ResultadoFila> guardarTodos(Collection<Vuelo> vuelos);
     Optional<Vuelo> buscarPorNumeroVuelo(String numeroVuelo);
     List<Vuelo> listarTodos();
+    Pagina<Vuelo> listarPagina(int tamano, String token);
+    /**
+     * Recorre todos los registros sin cargarlos en memoria; el Stream mantiene una
+     * conexión abierta y debe cerrarse (try-with-resources)
+     */
+    Stream<Vuelo> recorrerTodos();
     List<Vuelo> buscarPorOrigen(String origen);
     List<Vuelo> buscarPorDestino(String destino);
     List<Vuelo> buscarPorOrigenYDestino(String origen, String destino);
     List<Vuelo> buscarPorFecha(LocalDate fecha);
+    /**
+     * Listados resumidos para las pantallas de lista: solo las columnas que se muestran,
+     * sin armar el avión completo de cada vuelo
+     */
+    Pagina<VueloResumen> listarResumenPagina(int tamano, String token);
+    List<VueloResumen> buscarResumenPorOrigen(String origen);
+    List<VueloResumen> buscarResumenPorDestino(String destino);
+    List<VueloResumen> buscarResumenPorOrigenYDestino(String origen, String destino);
+    List<VueloResumen> buscarResumenPorFecha(LocalDate fecha);
+    /**
+     * Resúmenes entre dos días, ambos incluidos, en orden cronológico
+     */
+    List<VueloResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta);
+    /**
+     * Búsqueda por varios criterios; solo filtran los criterios indicados
+     */
+    List<VueloResumen> buscarResumen(CriteriosBusquedaVuelo criterios);
+    /**
+     * Cambia el estado del vuelo; al pasar a EN_VUELO el avión queda EN_VUELO, y al
+     * completarse o cancelarse queda DISPONIBLE
+     */
+    void actualizarEstado(String numeroVuelo, EstadoVuelo nuevoEstado);
     boolean eliminar(String numeroVuelo);
     boolean existe(String numeroVuelo);
 }
@@ -0,0 +1,65 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Filas cambiadas y claves borradas de una tabla entre dos versiones de fila (rowversion),
+ * [desde, hasta)
+ */
+public class LoteCambios<T> {
+    private final long desde;
+    private final long hasta;
+    private final List<T> cambiados;
+    private final List<String> eliminados;
+    private final long consultadoEn;
+
+    /**
+     * @param consultadoEn System.nanoTime() de antes de la consulta: las escrituras posteriores
+     *                     pueden no estar incluidas
+     */
+    public LoteCambios(long desde, long hasta, List<T> cambiados, List<String> eliminados, long consultadoEn) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.cambiados = List.copyOf(cambiados);
+        this.eliminados = List.copyOf(eliminados);
+        this.consultadoEn = consultadoEn;
+    }
+
+    // Getters
+    public long getDesde() {
+        return desde;
+    }
+
+    /**
+     * @return Versión desde la que empieza el próximo lote
+     */
+    public long getHasta() {
+        return hasta;
+    }
+
+    public List<T> getCambiados() {
+        return cambiados;
+    }
+
+    public List<String> getEliminados() {
+        return eliminados;
+    }
+
+    public long getConsultadoEn() {
+        return consultadoEn;
+    }
+
+    public boolean estaVacio() {
+        return cambiados.isEmpty() && eliminados.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "LoteCambios{" +
+                "desde=" + desde +
+                ", hasta=" + hasta +
+                ", cambiados=" + cambiados.size() +
+                ", eliminados=" + eliminados.size() +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package repository;
+
+import model.Avion;
+import model.Pasajero;
+import model.Vuelo;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapa de identidad de una consulta: las filas que repiten el mismo avión (numero_serie),
+ * vuelo (numero_vuelo) o pasajero (dni) comparten una única instancia en lugar de crear una
+ * copia por fila. Se crea uno por consulta y no se comparte entre hilos
+ */
+class MapaIdentidad {
+    // Instancias que conserva por tipo el mapa de un cursor
+    static final int CAPACIDAD_CURSOR = 1024;
+
+    private final Map<String, Avion> aviones;
+    private final Map<String, Vuelo> vuelos;
+    private final Map<String, Pasajero> pasajeros;
+
+    MapaIdentidad() {
+        this.aviones = new HashMap<>();
+        this.vuelos = new HashMap<>();
+        this.pasajeros = new HashMap<>();
+    }
+
+    private MapaIdentidad(int capacidad) {
+        this.aviones = acotado(capacidad);
+        this.vuelos = acotado(capacidad);
+        this.pasajeros = acotado(capacidad);
+    }
+
+    /**
+     * Mapa para recorrer un cursor completo: conserva solo las instancias usadas más
+     * recientemente, para que la memoria no crezca con la cantidad de filas
+     */
+    static MapaIdentidad paraCursor() {
+        return new MapaIdentidad(CAPACIDAD_CURSOR);
+    }
+
+    private static <T> Map<String, T> acotado(int capacidad) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> mayor) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /**
+     * Construye la instancia a partir de la fila actual; solo se invoca si la clave es nueva
+     */
+    @FunctionalInterface
+    interface Fabrica<T> {
+        T crear() throws SQLException;
+    }
+
+    Avion avion(String numeroSerie, Fabrica<Avion> fabrica) throws SQLException {
+        return obtener(aviones, numeroSerie, fabrica);
+    }
+
+    Vuelo vuelo(String numeroVuelo, Fabrica<Vuelo> fabrica) throws SQLException {
+        return obtener(vuelos, numeroVuelo, fabrica);
+    }
+
+    Pasajero pasajero(String dni, Fabrica<Pasajero> fabrica) throws SQLException {
+        return obtener(pasajeros, dni, fabrica);
+    }
+
+    private static <T> T obtener(Map<String, T> instancias, String clave, Fabrica<T> fabrica) throws SQLException {
+        if (clave == null) {
+            return fabrica.crear();
+        }
+        T instancia = instancias.get(clave);
+        if (instancia == null) {
+            instancia = fabrica.crear();
+            instancias.put(clave, instancia);
+        }
+        return instancia;
+    }
+}
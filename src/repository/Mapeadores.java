@@ -0,0 +1,320 @@
+package repository;
+
+import database.CursorResultados.MapeadorFila;
+import model.Avion;
+import model.Empleado;
+import model.EstadoAvion;
+import model.EstadoReserva;
+import model.EstadoVuelo;
+import model.Pasajero;
+import model.Reserva;
+import model.ReservaResumen;
+import model.Rol;
+import model.Usuario;
+import model.Vuelo;
+import model.VueloResumen;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mapeo de filas a entidades, declarado una sola vez para todos los repositorios
+ * Cada mapeador se compila contra los metadatos del ResultSet que recibe: los ordinales
+ * de sus columnas se resuelven ahí y las filas se leen por posición, sin buscar cada
+ * columna por nombre. Un mapeador se crea por consulta y no se comparte entre hilos
+ */
+final class Mapeadores {
+    static final TablaEnum<EstadoAvion> ESTADOS_AVION = TablaEnum.de(EstadoAvion.class, EstadoAvion.DISPONIBLE);
+    static final TablaEnum<EstadoVuelo> ESTADOS_VUELO = TablaEnum.de(EstadoVuelo.class, EstadoVuelo.PROGRAMADO);
+    static final TablaEnum<EstadoReserva> ESTADOS_RESERVA = TablaEnum.de(EstadoReserva.class, EstadoReserva.CONFIRMADA);
+    static final TablaEnum<Rol> ROLES = TablaEnum.de(Rol.class, Rol.VENDEDOR);
+
+    private Mapeadores() {
+    }
+
+    /**
+     * Mapeo que todavía no conoce los ordinales: los obtiene de las columnas del ResultSet
+     */
+    @FunctionalInterface
+    interface Definicion<T> {
+        MapeadorFila<T> compilar(Columnas columnas) throws SQLException;
+    }
+
+    /**
+     * Mapeador que se compila con el primer ResultSet que recibe y solo se vuelve a
+     * compilar si recibe otro (por ejemplo, el de otra página)
+     */
+    static <T> MapeadorFila<T> compilado(Definicion<T> definicion) {
+        return new MapeadorFila<>() {
+            private ResultSet origen;
+            private MapeadorFila<T> mapeador;
+
+            @Override
+            public T mapear(ResultSet rs) throws SQLException {
+                if (rs != origen) {
+                    mapeador = definicion.compilar(Columnas.de(rs));
+                    origen = rs;
+                }
+                return mapeador.mapear(rs);
+            }
+        };
+    }
+
+    /**
+     * @param columnaEstado "estado" en consultas a aviones, "estado_avion" en los JOIN
+     */
+    static MapeadorFila<Avion> avion(String columnaEstado) {
+        return compilado(columnas -> definirAvion(columnas, columnaEstado));
+    }
+
+    /**
+     * Vuelo con su avión (JOIN); los vuelos del mismo avión comparten la instancia
+     */
+    static MapeadorFila<Vuelo> vuelo(MapaIdentidad mapa) {
+        return compilado(columnas -> definirVuelo(columnas, mapa));
+    }
+
+    static MapeadorFila<Pasajero> pasajero() {
+        return compilado(columnas -> definirPasajero(columnas, ""));
+    }
+
+    /**
+     * Reserva con pasajero, vuelo y avión (JOIN), resueltos con el mapa de identidad
+     */
+    static MapeadorFila<Reserva> reserva(MapaIdentidad mapa) {
+        return compilado(columnas -> definirReserva(columnas, mapa));
+    }
+
+    static MapeadorFila<Empleado> empleado() {
+        return compilado(columnas -> definirEmpleado(columnas, "dni"));
+    }
+
+    /**
+     * Usuario con su empleado (JOIN)
+     */
+    static MapeadorFila<Usuario> usuario() {
+        return compilado(Mapeadores::definirUsuario);
+    }
+
+    /**
+     * Resumen de vuelo de los procedimientos *_resumen: sin las columnas del avión salvo su modelo
+     */
+    static MapeadorFila<VueloResumen> vueloResumen() {
+        return compilado(Mapeadores::definirVueloResumen);
+    }
+
+    /**
+     * Resumen de reserva de los procedimientos *_resumen: nombre del pasajero y precio del vuelo
+     */
+    static MapeadorFila<ReservaResumen> reservaResumen() {
+        return compilado(Mapeadores::definirReservaResumen);
+    }
+
+    private static MapeadorFila<Avion> definirAvion(Columnas columnas, String columnaEstado) throws SQLException {
+        int numeroSerie = columnas.indice("numero_serie");
+        int modelo = columnas.indice("modelo");
+        int fabricante = columnas.indice("fabricante");
+        int capacidadPasajeros = columnas.indice("capacidad_pasajeros");
+        int capacidadCarga = columnas.indice("capacidad_carga");
+        int estado = columnas.indice(columnaEstado);
+
+        return rs -> {
+            Avion avion = new Avion(
+                rs.getString(numeroSerie),
+                rs.getString(modelo),
+                rs.getString(fabricante),
+                rs.getInt(capacidadPasajeros),
+                rs.getInt(capacidadCarga)
+            );
+            avion.setEstado(ESTADOS_AVION.decodificar(rs.getString(estado)));
+            return avion;
+        };
+    }
+
+    private static MapeadorFila<Vuelo> definirVuelo(Columnas columnas, MapaIdentidad mapa) throws SQLException {
+        MapeadorFila<Avion> avion = definirAvion(columnas, "estado_avion");
+        int numeroSerie = columnas.indice("numero_serie");
+        int numeroVuelo = columnas.indice("numero_vuelo");
+        int origen = columnas.indice("origen");
+        int destino = columnas.indice("destino");
+        int fechaHoraSalida = columnas.indice("fecha_hora_salida");
+        int fechaHoraLlegada = columnas.indice("fecha_hora_llegada");
+        int precio = columnas.indice("precio");
+        int asientosDisponibles = columnas.indice("asientos_disponibles");
+        int estado = columnas.indice("estado_vuelo");
+
+        return rs -> {
+            Avion avionVuelo = mapa.avion(rs.getString(numeroSerie), () -> avion.mapear(rs));
+            Vuelo vuelo = new Vuelo(
+                rs.getString(numeroVuelo),
+                rs.getString(origen),
+                rs.getString(destino),
+                fechaHora(rs, fechaHoraSalida),
+                fechaHora(rs, fechaHoraLlegada),
+                avionVuelo,
+                rs.getDouble(precio)
+            );
+            vuelo.setAsientosDisponibles(rs.getInt(asientosDisponibles));
+            vuelo.setEstado(ESTADOS_VUELO.decodificar(rs.getString(estado)));
+            return vuelo;
+        };
+    }
+
+    /**
+     * @param sufijo "" en consultas a pasajeros, "_pasajero" en los JOIN de reservas
+     */
+    private static MapeadorFila<Pasajero> definirPasajero(Columnas columnas, String sufijo) throws SQLException {
+        int dni = columnas.indice("dni" + sufijo);
+        int nombre = columnas.indice("nombre" + sufijo);
+        int apellido = columnas.indice("apellido" + sufijo);
+        int email = columnas.indice("email" + sufijo);
+        int telefono = columnas.indice("telefono" + sufijo);
+        int fechaNacimiento = columnas.indice("fecha_nacimiento");
+        int nacionalidad = columnas.indice("nacionalidad");
+        int numeroPasaporte = columnas.indice("numero_pasaporte");
+
+        return rs -> new Pasajero(
+            rs.getString(dni),
+            rs.getString(nombre),
+            rs.getString(apellido),
+            rs.getString(email),
+            rs.getString(telefono),
+            fecha(rs, fechaNacimiento),
+            rs.getString(nacionalidad),
+            rs.getString(numeroPasaporte)
+        );
+    }
+
+    private static MapeadorFila<Reserva> definirReserva(Columnas columnas, MapaIdentidad mapa) throws SQLException {
+        MapeadorFila<Pasajero> pasajero = definirPasajero(columnas, "_pasajero");
+        MapeadorFila<Vuelo> vuelo = definirVuelo(columnas, mapa);
+        int numeroReserva = columnas.indice("numero_reserva");
+        int fechaReserva = columnas.indice("fecha_reserva");
+        int numeroAsiento = columnas.indice("numero_asiento");
+        int estado = columnas.indice("estado_reserva");
+        int dniPasajero = columnas.indice("dni_pasajero");
+        int numeroVuelo = columnas.indice("numero_vuelo");
+
+        return rs -> {
+            Pasajero pasajeroReserva = mapa.pasajero(rs.getString(dniPasajero), () -> pasajero.mapear(rs));
+            Vuelo vueloReserva = mapa.vuelo(rs.getString(numeroVuelo), () -> vuelo.mapear(rs));
+            Reserva reserva = new Reserva(
+                rs.getString(numeroReserva),
+                pasajeroReserva,
+                vueloReserva,
+                rs.getInt(numeroAsiento)
+            );
+            LocalDateTime fecha = fechaHora(rs, fechaReserva);
+            reserva.setFechaReserva(fecha != null ? fecha : LocalDateTime.now());
+            reserva.setEstado(ESTADOS_RESERVA.decodificar(rs.getString(estado)));
+            return reserva;
+        };
+    }
+
+    /**
+     * @param columnaDni "dni" en consultas a empleados, "dni_empleado" en los JOIN de usuarios
+     */
+    private static MapeadorFila<Empleado> definirEmpleado(Columnas columnas, String columnaDni) throws SQLException {
+        int dni = columnas.indice(columnaDni);
+        int nombre = columnas.indice("nombre");
+        int apellido = columnas.indice("apellido");
+        int email = columnas.indice("email");
+        int telefono = columnas.indice("telefono");
+        int numeroEmpleado = columnas.indice("numero_empleado");
+        int cargo = columnas.indice("cargo");
+        int fechaContratacion = columnas.indice("fecha_contratacion");
+        int salario = columnas.indice("salario");
+
+        return rs -> new Empleado(
+            rs.getString(dni),
+            rs.getString(nombre),
+            rs.getString(apellido),
+            rs.getString(email),
+            rs.getString(telefono),
+            rs.getString(numeroEmpleado),
+            rs.getString(cargo),
+            fecha(rs, fechaContratacion),
+            rs.getDouble(salario)
+        );
+    }
+
+    private static MapeadorFila<Usuario> definirUsuario(Columnas columnas) throws SQLException {
+        MapeadorFila<Empleado> empleado = definirEmpleado(columnas, "dni_empleado");
+        int nombreUsuario = columnas.indice("nombre_usuario");
+        int contrasena = columnas.indice("contrasena");
+        int rol = columnas.indice("rol");
+
+        return rs -> new Usuario(
+            rs.getString(nombreUsuario),
+            rs.getString(contrasena),
+            ROLES.decodificar(rs.getString(rol)),
+            empleado.mapear(rs)
+        );
+    }
+
+    private static MapeadorFila<VueloResumen> definirVueloResumen(Columnas columnas) throws SQLException {
+        int numeroVuelo = columnas.indice("numero_vuelo");
+        int origen = columnas.indice("origen");
+        int destino = columnas.indice("destino");
+        int fechaHoraSalida = columnas.indice("fecha_hora_salida");
+        int fechaHoraLlegada = columnas.indice("fecha_hora_llegada");
+        int numeroSerie = columnas.indice("numero_serie");
+        int modelo = columnas.indice("modelo");
+        int precio = columnas.indice("precio");
+        int asientosDisponibles = columnas.indice("asientos_disponibles");
+        int estado = columnas.indice("estado_vuelo");
+
+        return rs -> new VueloResumen(
+            rs.getString(numeroVuelo),
+            rs.getString(origen),
+            rs.getString(destino),
+            fechaHora(rs, fechaHoraSalida),
+            fechaHora(rs, fechaHoraLlegada),
+            rs.getString(numeroSerie),
+            rs.getString(modelo),
+            rs.getDouble(precio),
+            rs.getInt(asientosDisponibles),
+            ESTADOS_VUELO.decodificar(rs.getString(estado))
+        );
+    }
+
+    private static MapeadorFila<ReservaResumen> definirReservaResumen(Columnas columnas) throws SQLException {
+        int numeroReserva = columnas.indice("numero_reserva");
+        int dniPasajero = columnas.indice("dni_pasajero");
+        int nombrePasajero = columnas.indice("nombre_pasajero");
+        int apellidoPasajero = columnas.indice("apellido_pasajero");
+        int numeroVuelo = columnas.indice("numero_vuelo");
+        int fechaReserva = columnas.indice("fecha_reserva");
+        int numeroAsiento = columnas.indice("numero_asiento");
+        int precio = columnas.indice("precio");
+        int estado = columnas.indice("estado_reserva");
+
+        return rs -> {
+            LocalDateTime fecha = fechaHora(rs, fechaReserva);
+            return new ReservaResumen(
+                rs.getString(numeroReserva),
+                rs.getString(dniPasajero),
+                rs.getString(nombrePasajero) + " " + rs.getString(apellidoPasajero),
+                rs.getString(numeroVuelo),
+                fecha != null ? fecha : LocalDateTime.now(),
+                rs.getInt(numeroAsiento),
+                rs.getDouble(precio),
+                ESTADOS_RESERVA.decodificar(rs.getString(estado))
+            );
+        };
+    }
+
+    private static LocalDateTime fechaHora(ResultSet rs, int columna) throws SQLException {
+        Timestamp valor = rs.getTimestamp(columna);
+        return valor != null ? valor.toLocalDateTime() : null;
+    }
+
+    private static LocalDate fecha(ResultSet rs, int columna) throws SQLException {
+        Date valor = rs.getDate(columna);
+        return valor != null ? valor.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,72 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de un listado paginado por clave (keyset)
+ * El token de continuación es opaco: codifica la clave de ordenamiento de la última
+ * fila entregada, de modo que la página siguiente se busca a partir de esa clave
+ * y cuesta lo mismo sin importar cuántas páginas se hayan recorrido antes
+ */
+public class Pagina<T> {
+    public static final int TAMANO_MAXIMO = 500;
+
+    private final List<T> elementos;
+    private final String siguienteToken;
+
+    public Pagina(List<T> elementos, String siguienteToken) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguienteToken = siguienteToken;
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas con una de más (tamano + 1):
+     * si la fila extra existe se descarta y hay página siguiente
+     * @param clave Calcula el token de continuación a partir del último elemento
+     */
+    public static <T> Pagina<T> desdeFilas(List<T> filas, int tamano, Function<T, String> clave) {
+        if (filas.size() <= tamano) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> elementos = filas.subList(0, tamano);
+        return new Pagina<>(elementos, clave.apply(elementos.get(tamano - 1)));
+    }
+
+    /**
+     * Misma página con sus elementos transformados; conserva el token de continuación
+     */
+    public <R> Pagina<R> mapear(Function<T, R> transformacion) {
+        List<R> transformados = new ArrayList<>(elementos.size());
+        for (T elemento : elementos) {
+            transformados.add(transformacion.apply(elemento));
+        }
+        return new Pagina<>(transformados, siguienteToken);
+    }
+
+    // Getters
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * @return Token para pedir la página siguiente, o null si esta es la última
+     */
+    public String getSiguienteToken() {
+        return siguienteToken;
+    }
+
+    public boolean haySiguiente() {
+        return siguienteToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "elementos=" + elementos.size() +
+                ", siguienteToken='" + siguienteToken + '\'' +
+                '}';
+    }
+}
@@ -1,12 +1,13 @@
 package repository;
 
 import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
 import model.Pasajero;
 import model.Persona;
 
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,13 @@ import java.util.Optional;
  * Implementación de repositorio de Pasajeros con SQL Server
  */
 public class PasajeroRepository implements IPasajeroRepository {
+    // Búsqueda de cada reserva; el precalentamiento la prepara con este mismo texto
+    public static final String SQL_BUSCAR_POR_DNI =
+            "SELECT p.*, per.nombre, per.apellido, per.email, per.telefono " +
+            "FROM pasajeros p " +
+            "INNER JOIN personas per ON p.dni = per.dni " +
+            "WHERE p.dni = ?";
+
     private final ConexionBD conexionBD;
 
     public PasajeroRepository() {
@@ -22,7 +30,7 @@ public class PasajeroRepository implements IPasajeroRepository {
 
     @Override
     public void guardar(Pasajero pasajero) {
-        String sql = "{CALL sp_crear_pasajero(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
+        String sql = "{CALL sp_crear_pasajero(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -37,6 +45,7 @@ public class PasajeroRepository implements IPasajeroRepository {
             cstmt.setString(8, pasajero.getNumeroPasaporte());
             cstmt.registerOutParameter(9, Types.BIT);
             cstmt.registerOutParameter(10, Types.VARCHAR);
+            cstmt.registerOutParameter(11, Types.BIT);
             
             cstmt.execute();
             
@@ -44,36 +53,49 @@ public class PasajeroRepository implements IPasajeroRepository {
             String mensaje = cstmt.getString(10);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
             } else {
-                conexionBD.rollback();
+                conn.rollback();
+                if (cstmt.getBoolean(11)) {
+                    throw new ClaveDuplicadaException(mensaje);
+                }
                 throw new RuntimeException("Error al guardar pasajero: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar pasajero: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Pasajero> pasajeros) {
+        return new CargaPorLotes<Pasajero>(conexionBD, "{CALL sp_crear_pasajeros_lote(?)}", Pasajero::getDni,
+                (fila, pasajero) -> fila
+                        .campo("dni", pasajero.getDni())
+                        .campo("nombre", pasajero.getNombre())
+                        .campo("apellido", pasajero.getApellido())
+                        .campo("email", pasajero.getEmail())
+                        .campo("telefono", pasajero.getTelefono())
+                        .campo("fecha_nacimiento", pasajero.getFechaNacimiento())
+                        .campo("nacionalidad", pasajero.getNacionalidad())
+                        .campo("numero_pasaporte", pasajero.getNumeroPasaporte()))
+                .guardar(pasajeros);
+    }
+
     @Override
     public Optional<Pasajero> buscarPorDni(String dni) {
-        String sql = "SELECT p.*, per.nombre, per.apellido, per.email, per.telefono " +
-                     "FROM pasajeros p " +
-                     "INNER JOIN personas per ON p.dni = per.dni " +
-                     "WHERE p.dni = ?";
+        String sql = SQL_BUSCAR_POR_DNI;
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, dni);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToPasajero(rs));
+                    return Optional.of(Mapeadores.pasajero().mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -91,12 +113,13 @@ public class PasajeroRepository implements IPasajeroRepository {
                      "ORDER BY per.apellido, per.nombre";
         List<Pasajero> pasajeros = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            MapeadorFila<Pasajero> mapeador = Mapeadores.pasajero();
             while (rs.next()) {
-                pasajeros.add(mapResultSetToPasajero(rs));
+                pasajeros.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar pasajeros: " + e.getMessage(), e);
@@ -105,6 +128,46 @@ public class PasajeroRepository implements IPasajeroRepository {
         return pasajeros;
     }
 
+    @Override
+    public Pagina<Pasajero> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 3) : null;
+        // SQL Server no compara tuplas: (apellido, nombre, dni) > (?, ?, ?) se expande
+        String sql = "SELECT TOP (?) p.*, per.nombre, per.apellido, per.email, per.telefono " +
+                     "FROM pasajeros p " +
+                     "INNER JOIN personas per ON p.dni = per.dni " +
+                     (clave != null
+                         ? "WHERE per.apellido > ? OR (per.apellido = ? AND (per.nombre > ? " +
+                           "OR (per.nombre = ? AND per.dni > ?))) "
+                         : "") +
+                     "ORDER BY per.apellido, per.nombre, per.dni";
+        List<Pasajero> pasajeros = new ArrayList<>();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                pstmt.setString(2, clave[0]);
+                pstmt.setString(3, clave[0]);
+                pstmt.setString(4, clave[1]);
+                pstmt.setString(5, clave[1]);
+                pstmt.setString(6, clave[2]);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Pasajero> mapeador = Mapeadores.pasajero();
+                while (rs.next()) {
+                    pasajeros.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar pasajeros por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(pasajeros, tamano,
+                p -> TokenPagina.codificar(p.getApellido(), p.getNombre(), p.getDni()));
+    }
+
     @Override
     public boolean eliminar(String dni) {
         // Usar procedimiento almacenado para eliminar pasajero
@@ -123,18 +186,13 @@ public class PasajeroRepository implements IPasajeroRepository {
             String mensaje = cstmt.getString(3);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
                 return true;
             } else {
-                conexionBD.rollback();
+                conn.rollback();
                 throw new RuntimeException("Error al eliminar pasajero: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
-            }
             throw new RuntimeException("Error al eliminar pasajero: " + e.getMessage(), e);
         }
     }
@@ -159,31 +217,4 @@ public class PasajeroRepository implements IPasajeroRepository {
         
         return false;
     }
-
-    /**
-     * Mapea un ResultSet a un objeto Pasajero
-     */
-    private Pasajero mapResultSetToPasajero(ResultSet rs) throws SQLException {
-        Date fechaNacimiento = rs.getDate("fecha_nacimiento");
-        LocalDate fechaNac = fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null;
-
-        String dni = rs.getString("dni");
-        String nombre = rs.getString("nombre");
-        String apellido = rs.getString("apellido");
-        String email = rs.getString("email");
-        String telefono = rs.getString("telefono");
-        String nacionalidad = rs.getString("nacionalidad");
-        String numero_pasaporte = rs.getString("numero_pasaporte");
-
-        return new Pasajero(
-            dni,
-            nombre,
-            apellido,
-            email,
-            telefono,
-            fechaNac,
-            nacionalidad,
-            numero_pasaporte
-        );
-    }
 }
@@ -0,0 +1,270 @@
+package repository;
+
+import model.Pasajero;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de pasajeros por DNI alrededor de otro repositorio de pasajeros
+ * Los pasajeros frecuentes se buscan una y otra vez (reservas, check-in), así que se guardan
+ * hasta una cantidad fija de entradas, cada una con su vencimiento. Al llenarse, la víctima se
+ * elige con un reloj (CLOCK: se salta una vez a las entradas leídas desde la última pasada) y el
+ * pasajero nuevo solo entra si se lo buscó más veces que a la víctima (admisión TinyLFU, con
+ * FrecuenciasAcceso). Así una búsqueda aislada no desplaza a un pasajero habitual
+ *
+ * Los aciertos no toman locks ni reservan memoria: devuelven la misma instancia guardada, que
+ * no debe modificarse. Las altas y bajas pasan al repositorio envuelto e invalidan el DNI; los
+ * cambios hechos por fuera de la aplicación se ven al vencer la entrada. Los DNI inexistentes
+ * no se guardan
+ *
+ * Capacidad: -Dsistemavuelos.pasajeros.capacidad (10000 por defecto)
+ * Vencimiento: -Dsistemavuelos.pasajeros.ttlSegundos (300 por defecto)
+ */
+public class PasajeroRepositoryCache implements IPasajeroRepository {
+    private static final int CAPACIDAD = Integer.getInteger("sistemavuelos.pasajeros.capacidad", 10_000);
+    private static final long TTL_SEGUNDOS = Long.getLong("sistemavuelos.pasajeros.ttlSegundos", 300L);
+
+    private final IPasajeroRepository repositorio;
+    private final int capacidad;
+    private final long ttlNanos;
+    private final Map<String, Entrada> entradas;
+    private final FrecuenciasAcceso frecuencias;
+    // Se incrementa en cada invalidación; una búsqueda solo se guarda si no hubo otra en el medio
+    private final AtomicLong version = new AtomicLong();
+
+    // Estado del reloj, protegido por this
+    private final Entrada[] reloj;
+    private final int[] posicionesLibres;
+    private int cantidadLibres;
+    private int manecilla;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder vencidas = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+    private final LongAdder rechazos = new LongAdder();
+
+    public PasajeroRepositoryCache(IPasajeroRepository repositorio) {
+        this(repositorio, CAPACIDAD, Duration.ofSeconds(TTL_SEGUNDOS));
+    }
+
+    public PasajeroRepositoryCache(IPasajeroRepository repositorio, int capacidad, Duration ttl) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché de pasajeros debe ser positiva: " + capacidad);
+        }
+        this.repositorio = repositorio;
+        this.capacidad = capacidad;
+        this.ttlNanos = ttl.toNanos();
+        this.entradas = new ConcurrentHashMap<>(capacidad * 4 / 3 + 1);
+        this.frecuencias = new FrecuenciasAcceso(capacidad);
+        this.reloj = new Entrada[capacidad];
+        this.posicionesLibres = new int[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            posicionesLibres[i] = capacidad - 1 - i;
+        }
+        this.cantidadLibres = capacidad;
+    }
+
+    @Override
+    public Optional<Pasajero> buscarPorDni(String dni) {
+        if (dni == null) {
+            return repositorio.buscarPorDni(dni);
+        }
+        frecuencias.incrementar(dni);
+        Entrada entrada = entradas.get(dni);
+        if (entrada != null) {
+            if (!entrada.vencida(System.nanoTime())) {
+                if (!entrada.leida) {
+                    entrada.leida = true;
+                }
+                aciertos.increment();
+                return entrada.pasajero;
+            }
+            vencidas.increment();
+        }
+        fallos.increment();
+
+        long versionBusqueda = version.get();
+        Optional<Pasajero> pasajero = repositorio.buscarPorDni(dni);
+        if (pasajero.isPresent()) {
+            admitir(dni, pasajero, versionBusqueda);
+        }
+        return pasajero;
+    }
+
+    @Override
+    public boolean existe(String dni) {
+        Entrada entrada = dni != null ? entradas.get(dni) : null;
+        if (entrada != null && !entrada.vencida(System.nanoTime())) {
+            return true;
+        }
+        return repositorio.existe(dni);
+    }
+
+    @Override
+    public void guardar(Pasajero pasajero) {
+        try {
+            repositorio.guardar(pasajero);
+        } finally {
+            invalidar(pasajero.getDni());
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Pasajero> pasajeros) {
+        try {
+            return repositorio.guardarTodos(pasajeros);
+        } finally {
+            for (Pasajero pasajero : pasajeros) {
+                invalidar(pasajero.getDni());
+            }
+        }
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        try {
+            return repositorio.eliminar(dni);
+        } finally {
+            invalidar(dni);
+        }
+    }
+
+    @Override
+    public List<Pasajero> listarTodos() {
+        return repositorio.listarTodos();
+    }
+
+    @Override
+    public Pagina<Pasajero> listarPagina(int tamano, String token) {
+        return repositorio.listarPagina(tamano, token);
+    }
+
+    /**
+     * Descarta el pasajero guardado; la próxima búsqueda lo vuelve a leer
+     */
+    public synchronized void invalidar(String dni) {
+        version.incrementAndGet();
+        if (dni == null) {
+            return;
+        }
+        Entrada entrada = entradas.remove(dni);
+        if (entrada != null) {
+            liberar(entrada.posicion);
+        }
+    }
+
+    /**
+     * Guarda el pasajero leído si ninguna escritura lo invalidó durante la búsqueda y, con la
+     * caché llena, si es más frecuente que la víctima del reloj
+     */
+    private synchronized void admitir(String dni, Optional<Pasajero> pasajero, long versionBusqueda) {
+        if (version.get() != versionBusqueda) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        Entrada anterior = entradas.get(dni);
+        int posicion;
+        if (anterior != null) {
+            // Vencida, o ya guardada por otra búsqueda concurrente: se reemplaza en su lugar
+            posicion = anterior.posicion;
+        } else if (cantidadLibres > 0) {
+            posicion = posicionesLibres[--cantidadLibres];
+        } else {
+            posicion = elegirVictima(ahora);
+            Entrada victima = reloj[posicion];
+            if (!victima.vencida(ahora) && frecuencias.frecuencia(dni) <= frecuencias.frecuencia(victima.dni)) {
+                rechazos.increment();
+                return;
+            }
+            entradas.remove(victima.dni, victima);
+            expulsiones.increment();
+        }
+        Entrada nueva = new Entrada(dni, pasajero, ahora + ttlNanos, posicion);
+        reloj[posicion] = nueva;
+        entradas.put(dni, nueva);
+    }
+
+    /**
+     * Avanza la manecilla hasta una entrada vencida o no leída desde la última pasada; a las
+     * leídas les quita la marca. Termina en menos de dos vueltas
+     */
+    private int elegirVictima(long ahora) {
+        while (true) {
+            int posicion = manecilla;
+            manecilla = manecilla + 1 == capacidad ? 0 : manecilla + 1;
+            Entrada entrada = reloj[posicion];
+            if (!entrada.leida || entrada.vencida(ahora)) {
+                return posicion;
+            }
+            entrada.leida = false;
+        }
+    }
+
+    private void liberar(int posicion) {
+        reloj[posicion] = null;
+        posicionesLibres[cantidadLibres++] = posicion;
+    }
+
+    public int getCantidad() {
+        return entradas.size();
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    public long getVencidas() {
+        return vencidas.sum();
+    }
+
+    @Override
+    public String toString() {
+        long totalAciertos = aciertos.sum();
+        long total = totalAciertos + fallos.sum();
+        return String.format("PasajeroRepositoryCache{entradas=%d/%d, aciertos=%d, fallos=%d, tasaAciertos=%.1f%%, "
+                        + "vencidas=%d, expulsiones=%d, rechazos=%d}",
+                entradas.size(), capacidad, totalAciertos, total - totalAciertos,
+                total == 0 ? 0.0 : 100.0 * totalAciertos / total,
+                vencidas.sum(), expulsiones.sum(), rechazos.sum());
+    }
+
+    private static final class Entrada {
+        private final String dni;
+        private final Optional<Pasajero> pasajero;
+        private final long venceEn;
+        private final int posicion;
+        // Leída desde la última pasada del reloj; la escriben los aciertos sin lock
+        private volatile boolean leida;
+
+        private Entrada(String dni, Optional<Pasajero> pasajero, long venceEn, int posicion) {
+            this.dni = dni;
+            this.pasajero = pasajero;
+            this.venceEn = venceEn;
+            this.posicion = posicion;
+        }
+
+        private boolean vencida(long ahora) {
+            return ahora - venceEn >= 0;
+        }
+    }
+}
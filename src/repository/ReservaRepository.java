@@ -1,85 +1,152 @@
 package repository;
 
 import database.ConexionBD;
+import database.CursorResultados;
+import database.CursorResultados.MapeadorFila;
+import database.PoliticaReintentos;
+import model.PoliticaAsientos;
 import model.Reserva;
-import model.Pasajero;
-import model.Vuelo;
-import model.Avion;
-import model.EstadoReserva;
-import model.EstadoVuelo;
-import model.EstadoAvion;
-import repository.PasajeroRepository;
-import repository.VueloRepository;
+import model.ReservaResumen;
+import model.TipoAsignacionAsiento;
 
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 /**
  * Implementación de repositorio de Reservas con SQL Server
  */
 public class ReservaRepository implements IReservaRepository {
+    // Sentencias de la venta; el precalentamiento las prepara con este mismo texto
+    public static final String SQL_CREAR_RESERVA = "{CALL sp_crear_reserva(?, ?, ?, ?, ?, ?, ?)}";
+    public static final String SQL_BUSCAR_POR_NUMERO = "{CALL sp_buscar_reserva_por_numero(?)}";
+
+    // Reintentos ante interbloqueos con otras reservas del mismo vuelo
+    private static final PoliticaReintentos REINTENTOS_GUARDAR =
+            PoliticaReintentos.de("ReservaRepository.guardar", 5, 50, 1_000);
+    private static final PoliticaReintentos REINTENTOS_ELIMINAR =
+            PoliticaReintentos.de("ReservaRepository.eliminar", 3, 50, 500);
+
     private final ConexionBD conexionBD;
-    private final PasajeroRepository pasajeroRepository;
-    private final VueloRepository vueloRepository;
 
     public ReservaRepository() {
         this.conexionBD = ConexionBD.getInstancia();
-        this.pasajeroRepository = new PasajeroRepository();
-        this.vueloRepository = new VueloRepository();
     }
 
     @Override
     public void guardar(Reserva reserva) {
         // Usar el procedimiento almacenado para crear reserva
-        String sql = "{CALL sp_crear_reserva(?, ?, ?, ?, ?, ?)}";
+        String sql = SQL_CREAR_RESERVA;
         
-        try (Connection conn = conexionBD.getConexion();
-             CallableStatement cstmt = conn.prepareCall(sql)) {
-            
-            cstmt.setString(1, reserva.getNumeroReserva());
-            cstmt.setString(2, reserva.getPasajero().getDni());
-            cstmt.setString(3, reserva.getVuelo().getNumeroVuelo());
-            cstmt.setInt(4, reserva.getNumeroAsiento());
-            cstmt.registerOutParameter(5, Types.BIT);
-            cstmt.registerOutParameter(6, Types.VARCHAR);
-            
-            cstmt.execute();
-            
-            boolean resultado = cstmt.getBoolean(5);
-            String mensaje = cstmt.getString(6);
-            
-            if (resultado) {
-                conexionBD.commit();
-            } else {
-                conexionBD.rollback();
-                throw new RuntimeException("Error al crear reserva: " + mensaje);
-            }
+        try {
+            REINTENTOS_GUARDAR.ejecutar(() -> {
+                try (Connection conn = conexionBD.getConexion();
+                     CallableStatement cstmt = conn.prepareCall(sql)) {
+                    
+                    cstmt.setString(1, reserva.getNumeroReserva());
+                    cstmt.setString(2, reserva.getPasajero().getDni());
+                    cstmt.setString(3, reserva.getVuelo().getNumeroVuelo());
+                    cstmt.setInt(4, reserva.getNumeroAsiento());
+                    cstmt.registerOutParameter(5, Types.BIT);
+                    cstmt.registerOutParameter(6, Types.VARCHAR);
+                    cstmt.registerOutParameter(7, Types.BIT);
+                    
+                    cstmt.execute();
+                    
+                    boolean resultado = cstmt.getBoolean(5);
+                    String mensaje = cstmt.getString(6);
+                    
+                    if (resultado) {
+                        conn.commit();
+                    } else {
+                        conn.rollback();
+                        if (cstmt.getBoolean(7)) {
+                            throw new ClaveDuplicadaException(mensaje);
+                        }
+                        throw new RuntimeException("Error al crear reserva: " + mensaje);
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar reserva: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public ResultadoGrupo guardarGrupo(List<Reserva> reservas, PoliticaAsientos politica) {
+        String sql = "{CALL sp_crear_reservas_grupo(?, ?, ?, ?, ?)}";
+        boolean elegidos = politica.getTipo() == TipoAsignacionAsiento.ELEGIDOS;
+        DocumentoJson documento = new DocumentoJson();
+        for (Reserva reserva : reservas) {
+            documento.fila()
+                    .campo("numero_reserva", reserva.getNumeroReserva())
+                    .campo("dni_pasajero", reserva.getPasajero().getDni())
+                    .campo("numero_asiento", elegidos ? reserva.getNumeroAsiento() : null);
+        }
+        String filas = documento.cerrar();
+        
+        try {
+            return REINTENTOS_GUARDAR.ejecutar(() -> {
+                try (Connection conn = conexionBD.getConexion();
+                     CallableStatement cstmt = conn.prepareCall(sql)) {
+                    
+                    cstmt.setString(1, reservas.get(0).getVuelo().getNumeroVuelo());
+                    cstmt.setString(2, politica.getTipo().name());
+                    cstmt.setString(3, filas);
+                    cstmt.registerOutParameter(4, Types.BIT);
+                    cstmt.registerOutParameter(5, Types.VARCHAR);
+                    
+                    // Asientos asignados o, si se rechaza, asientos en conflicto
+                    Map<String, Integer> asientos = new HashMap<>();
+                    if (cstmt.execute()) {
+                        try (ResultSet rs = cstmt.getResultSet()) {
+                            while (rs.next()) {
+                                asientos.put(rs.getString("numero_reserva"), rs.getInt("numero_asiento"));
+                            }
+                        }
+                    }
+                    
+                    boolean resultado = cstmt.getBoolean(4);
+                    String mensaje = cstmt.getString(5);
+                    
+                    if (!resultado) {
+                        conn.rollback();
+                        return new ResultadoGrupo(false, mensaje, new ArrayList<>(new TreeSet<>(asientos.values())));
+                    }
+                    conn.commit();
+                    for (Reserva reserva : reservas) {
+                        reserva.setNumeroAsiento(asientos.getOrDefault(reserva.getNumeroReserva(), 0));
+                    }
+                    return new ResultadoGrupo(true, mensaje, List.of());
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al guardar reserva de grupo: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Optional<Reserva> buscarPorNumeroReserva(String numeroReserva) {
-        String sql = "{CALL sp_buscar_reserva_por_numero(?)}";
+        String sql = SQL_BUSCAR_POR_NUMERO;
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, numeroReserva);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToReservaCompleto(rs));
+                    return Optional.of(Mapeadores.reserva(new MapaIdentidad()).mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -93,13 +160,14 @@ public class ReservaRepository implements IReservaRepository {
     public List<Reserva> listarTodos() {
         String sql = "{CALL sp_listar_reservas}";
         List<Reserva> reservas = new ArrayList<>();
+        MapeadorFila<Reserva> mapeador = Mapeadores.reserva(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql);
              ResultSet rs = cstmt.executeQuery()) {
             
             while (rs.next()) {
-                reservas.add(mapResultSetToReservaCompleto(rs));
+                reservas.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar reservas: " + e.getMessage(), e);
@@ -108,21 +176,62 @@ public class ReservaRepository implements IReservaRepository {
         return reservas;
     }
 
+    @Override
+    public Pagina<Reserva> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        String sql = "{CALL sp_listar_reservas_pagina(?, ?, ?)}";
+        List<Reserva> reservas = new ArrayList<>();
+        MapeadorFila<Reserva> mapeador = Mapeadores.reserva(new MapaIdentidad());
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                cstmt.setTimestamp(2, Timestamp.valueOf(TokenPagina.aFecha(clave[0])));
+                cstmt.setString(3, clave[1]);
+            } else {
+                cstmt.setNull(2, Types.TIMESTAMP);
+                cstmt.setNull(3, Types.VARCHAR);
+            }
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar reservas por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(reservas, tamano,
+                r -> TokenPagina.codificar(r.getFechaReserva().toString(), r.getNumeroReserva()));
+    }
+
+    @Override
+    public Stream<Reserva> recorrerTodos() {
+        try {
+            return CursorResultados.abrir(conexionBD.getConexionLectura(), "{CALL sp_listar_reservas}",
+                    Mapeadores.reserva(MapaIdentidad.paraCursor()));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer reservas: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Reserva> buscarPorPasajero(String dniPasajero) {
-        // Usar el procedimiento almacenado
-        String sql = "{CALL sp_obtener_reservas_pasajero(?)}";
+        String sql = "{CALL sp_buscar_reservas_por_pasajero(?)}";
         List<Reserva> reservas = new ArrayList<>();
+        MapeadorFila<Reserva> mapeador = Mapeadores.reserva(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, dniPasajero);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    // Mapear desde el procedimiento almacenado
-                    reservas.add(mapResultSetToReservaFromProcedure(rs, dniPasajero));
+                    reservas.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -136,15 +245,16 @@ public class ReservaRepository implements IReservaRepository {
     public List<Reserva> buscarPorVuelo(String numeroVuelo) {
         String sql = "{CALL sp_buscar_reservas_por_vuelo(?)}";
         List<Reserva> reservas = new ArrayList<>();
+        MapeadorFila<Reserva> mapeador = Mapeadores.reserva(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, numeroVuelo);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    reservas.add(mapResultSetToReservaCompleto(rs));
+                    reservas.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -162,15 +272,16 @@ public class ReservaRepository implements IReservaRepository {
         
         String sql = "{CALL sp_buscar_reservas_por_fecha(?)}";
         List<Reserva> reservas = new ArrayList<>();
+        MapeadorFila<Reserva> mapeador = Mapeadores.reserva(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setDate(1, Date.valueOf(fecha));
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    reservas.add(mapResultSetToReservaCompleto(rs));
+                    reservas.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -181,234 +292,189 @@ public class ReservaRepository implements IReservaRepository {
     }
 
     @Override
-    public boolean eliminar(String numeroReserva) {
-        // Usar el procedimiento almacenado para cancelar reserva
-        String sql = "{CALL sp_cancelar_reserva(?, ?, ?)}";
+    public Pagina<ReservaResumen> listarResumenPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        String sql = "{CALL sp_listar_reservas_resumen_pagina(?, ?, ?)}";
+        List<ReservaResumen> reservas = new ArrayList<>();
+        MapeadorFila<ReservaResumen> mapeador = Mapeadores.reservaResumen();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
-            cstmt.setString(1, numeroReserva);
-            cstmt.registerOutParameter(2, Types.BIT);
-            cstmt.registerOutParameter(3, Types.VARCHAR);
-            
-            cstmt.execute();
-            
-            boolean resultado = cstmt.getBoolean(2);
-            String mensaje = cstmt.getString(3);
-            
-            if (resultado) {
-                conexionBD.commit();
-                return true;
+            cstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                cstmt.setTimestamp(2, Timestamp.valueOf(TokenPagina.aFecha(clave[0])));
+                cstmt.setString(3, clave[1]);
             } else {
-                conexionBD.rollback();
-                throw new RuntimeException("Error al cancelar reserva: " + mensaje);
+                cstmt.setNull(2, Types.TIMESTAMP);
+                cstmt.setNull(3, Types.VARCHAR);
             }
-        } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
+                }
             }
-            throw new RuntimeException("Error al eliminar reserva: " + e.getMessage(), e);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar resumen de reservas por página: " + e.getMessage(), e);
         }
+        
+        return Pagina.desdeFilas(reservas, tamano,
+                r -> TokenPagina.codificar(r.getFechaReserva().toString(), r.getNumeroReserva()));
     }
 
     @Override
-    public boolean existe(String numeroReserva) {
-        String sql = "SELECT COUNT(*) FROM reservas WHERE numero_reserva = ?";
+    public List<ReservaResumen> buscarResumenPorPasajero(String dniPasajero) {
+        String sql = "{CALL sp_buscar_reservas_resumen_por_pasajero(?)}";
+        List<ReservaResumen> reservas = new ArrayList<>();
+        MapeadorFila<ReservaResumen> mapeador = Mapeadores.reservaResumen();
         
-        try (Connection conn = conexionBD.getConexion();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
             
-            pstmt.setString(1, numeroReserva);
+            cstmt.setString(1, dniPasajero);
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Error al verificar existencia de reserva: " + e.getMessage(), e);
+            throw new RuntimeException("Error al buscar resumen de reservas por pasajero: " + e.getMessage(), e);
         }
         
-        return false;
+        return reservas;
     }
 
-    /**
-     * Mapea un ResultSet completo (con JOINs) a un objeto Reserva sin hacer consultas adicionales
-     */
-    private Reserva mapResultSetToReservaCompleto(ResultSet rs) throws SQLException {
-        // Datos de la reserva
-        Timestamp fechaReserva = rs.getTimestamp("fecha_reserva");
-        LocalDateTime fechaRes = fechaReserva != null ? fechaReserva.toLocalDateTime() : LocalDateTime.now();
-        String numero_reserva = rs.getString("numero_reserva");
-        int numero_asiento = rs.getInt("numero_asiento");
-        String estado_reserva = rs.getString("estado_reserva");
+    @Override
+    public List<ReservaResumen> buscarResumenPorVuelo(String numeroVuelo) {
+        String sql = "{CALL sp_buscar_reservas_resumen_por_vuelo(?)}";
+        List<ReservaResumen> reservas = new ArrayList<>();
+        MapeadorFila<ReservaResumen> mapeador = Mapeadores.reservaResumen();
         
-        // Crear Pasajero desde los datos del JOIN
-        String dniPasajero = rs.getString("dni_pasajero");
-        String nombrePasajero = rs.getString("nombre_pasajero");
-        String apellidoPasajero = rs.getString("apellido_pasajero");
-        String emailPasajero = rs.getString("email_pasajero");
-        String telefonoPasajero = rs.getString("telefono_pasajero");
-        Date fechaNacimiento = rs.getDate("fecha_nacimiento");
-        LocalDate fechaNac = fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null;
-        String nacionalidad = rs.getString("nacionalidad");
-        String numeroPasaporte = rs.getString("numero_pasaporte");
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setString(1, numeroVuelo);
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de reservas por vuelo: " + e.getMessage(), e);
+        }
         
-        Pasajero pasajero = new Pasajero(
-            dniPasajero,
-            nombrePasajero,
-            apellidoPasajero,
-            emailPasajero,
-            telefonoPasajero,
-            fechaNac,
-            nacionalidad,
-            numeroPasaporte
-        );
+        return reservas;
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorFecha(LocalDate fecha) {
+        if (fecha == null) {
+            return new ArrayList<>();
+        }
         
-        // Crear Avión desde los datos del JOIN
-        String numeroSerie = rs.getString("numero_serie");
-        String modelo = rs.getString("modelo");
-        String fabricante = rs.getString("fabricante");
-        int capacidadPasajeros = rs.getInt("capacidad_pasajeros");
-        int capacidadCarga = rs.getInt("capacidad_carga");
-        String estadoAvionStr = rs.getString("estado_avion");
+        String sql = "{CALL sp_buscar_reservas_resumen_por_fecha(?)}";
+        List<ReservaResumen> reservas = new ArrayList<>();
+        MapeadorFila<ReservaResumen> mapeador = Mapeadores.reservaResumen();
         
-        Avion avion = new Avion(numeroSerie, modelo, fabricante, capacidadPasajeros, capacidadCarga);
-        try {
-            avion.setEstado(EstadoAvion.valueOf(estadoAvionStr));
-        } catch (IllegalArgumentException e) {
-            avion.setEstado(EstadoAvion.DISPONIBLE);
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setDate(1, Date.valueOf(fecha));
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de reservas por fecha: " + e.getMessage(), e);
         }
         
-        // Crear Vuelo desde los datos del JOIN
-        String numeroVuelo = rs.getString("numero_vuelo");
-        String origen = rs.getString("origen");
-        String destino = rs.getString("destino");
-        Timestamp fechaSalida = rs.getTimestamp("fecha_hora_salida");
-        Timestamp fechaLlegada = rs.getTimestamp("fecha_hora_llegada");
-        LocalDateTime fechaHoraSalida = fechaSalida != null ? fechaSalida.toLocalDateTime() : null;
-        LocalDateTime fechaHoraLlegada = fechaLlegada != null ? fechaLlegada.toLocalDateTime() : null;
-        Double precio = rs.getDouble("precio");
-        int asientosDisponibles = rs.getInt("asientos_disponibles");
-        String estadoVueloStr = rs.getString("estado_vuelo");
-        
-        Vuelo vuelo = new Vuelo(
-            numeroVuelo,
-            origen,
-            destino,
-            fechaHoraSalida,
-            fechaHoraLlegada,
-            avion,
-            precio
-        );
-        vuelo.setAsientosDisponibles(asientosDisponibles);
-        try {
-            vuelo.setEstado(EstadoVuelo.valueOf(estadoVueloStr));
-        } catch (IllegalArgumentException e) {
-            vuelo.setEstado(EstadoVuelo.PROGRAMADO);
+        return reservas;
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            return new ArrayList<>();
         }
         
-        // Crear Reserva
-        Reserva reserva = new Reserva(
-            numero_reserva,
-            pasajero,
-            vuelo,
-            numero_asiento
-        );
-        reserva.setFechaReserva(fechaRes);
+        String sql = "{CALL sp_buscar_reservas_resumen_por_rango(?, ?)}";
+        List<ReservaResumen> reservas = new ArrayList<>();
+        MapeadorFila<ReservaResumen> mapeador = Mapeadores.reservaResumen();
         
-        // Establecer estado
-        try {
-            reserva.setEstado(EstadoReserva.valueOf(estado_reserva));
-        } catch (IllegalArgumentException e) {
-            reserva.setEstado(EstadoReserva.CONFIRMADA);
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setDate(1, Date.valueOf(desde));
+            cstmt.setDate(2, Date.valueOf(hasta));
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    reservas.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar reservas por rango de fechas: " + e.getMessage(), e);
         }
         
-        return reserva;
+        return reservas;
     }
 
-    /**
-     * Mapea un ResultSet a un objeto Reserva (método original que hace consultas adicionales)
-     */
-    private Reserva mapResultSetToReserva(ResultSet rs) throws SQLException {
-        Timestamp fechaReserva = rs.getTimestamp("fecha_reserva");
-        LocalDateTime fechaRes = fechaReserva != null ? fechaReserva.toLocalDateTime() : LocalDateTime.now();
-        String numeroVuelo = rs.getString("numero_vuelo");
-        String numero_reserva = rs.getString("numero_reserva");
-        int numero_asiento = rs.getInt("numero_asiento");
-        String estado = rs.getString("estado");
-
-        // Obtener pasajero
-        String dniPasajero = rs.getString("dni_pasajero");
-        Pasajero pasajero = pasajeroRepository.buscarPorDni(dniPasajero)
-                .orElseThrow(() -> new SQLException("Pasajero no encontrado: " + dniPasajero));
-        
-        // Obtener vuelo
-
-        Vuelo vuelo = vueloRepository.buscarPorNumeroVuelo(numeroVuelo)
-                .orElseThrow(() -> new SQLException("Vuelo no encontrado: " + numeroVuelo));
+    @Override
+    public boolean eliminar(String numeroReserva) {
+        // Usar el procedimiento almacenado para cancelar reserva
+        String sql = "{CALL sp_cancelar_reserva(?, ?, ?)}";
         
-        Reserva reserva = new Reserva(
-            numero_reserva,
-            pasajero,
-            vuelo,
-                numero_asiento
-        );
-        reserva.setFechaReserva(fechaRes);
-        // Establecer estado
-        String estadoStr = estado;
         try {
-            reserva.setEstado(EstadoReserva.valueOf(estadoStr));
-        } catch (IllegalArgumentException e) {
-            reserva.setEstado(EstadoReserva.CONFIRMADA);
+            return REINTENTOS_ELIMINAR.ejecutar(() -> {
+                try (Connection conn = conexionBD.getConexion();
+                     CallableStatement cstmt = conn.prepareCall(sql)) {
+                    
+                    cstmt.setString(1, numeroReserva);
+                    cstmt.registerOutParameter(2, Types.BIT);
+                    cstmt.registerOutParameter(3, Types.VARCHAR);
+                    
+                    cstmt.execute();
+                    
+                    boolean resultado = cstmt.getBoolean(2);
+                    String mensaje = cstmt.getString(3);
+                    
+                    if (resultado) {
+                        conn.commit();
+                        return true;
+                    } else {
+                        conn.rollback();
+                        throw new RuntimeException("Error al cancelar reserva: " + mensaje);
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al eliminar reserva: " + e.getMessage(), e);
         }
-        
-        return reserva;
     }
 
-    /**
-     * Mapea un ResultSet del procedimiento almacenado a un objeto Reserva
-     */
-    private Reserva mapResultSetToReservaFromProcedure(ResultSet rs, String dniPasajero) throws SQLException {
-        Timestamp fechaReserva = rs.getTimestamp("fecha_reserva");
-        LocalDateTime fechaRes = fechaReserva != null ? fechaReserva.toLocalDateTime() : LocalDateTime.now();
-        
-        // Obtener pasajero
-        Pasajero pasajero = pasajeroRepository.buscarPorDni(dniPasajero)
-                .orElseThrow(() -> new SQLException("Pasajero no encontrado: " + dniPasajero));
-        
-        // Crear vuelo básico desde el procedimiento
-        Timestamp fechaSalida = rs.getTimestamp("fecha_hora_salida");
-        Timestamp fechaLlegada = rs.getTimestamp("fecha_hora_llegada");
-        
-        LocalDateTime fechaHoraSalida = fechaSalida != null ? fechaSalida.toLocalDateTime() : null;
-        LocalDateTime fechaHoraLlegada = fechaLlegada != null ? fechaLlegada.toLocalDateTime() : null;
-        
-        // Necesitamos obtener el vuelo completo
-        String numeroVuelo = rs.getString("numero_vuelo");
-        Vuelo vuelo = vueloRepository.buscarPorNumeroVuelo(numeroVuelo)
-                .orElseThrow(() -> new SQLException("Vuelo no encontrado: " + numeroVuelo));
-        
-        Reserva reserva = new Reserva(
-            rs.getString("numero_reserva"),
-            pasajero,
-            vuelo,
-            rs.getInt("numero_asiento")
-        );
-        
-        reserva.setFechaReserva(fechaRes);
+    @Override
+    public boolean existe(String numeroReserva) {
+        String sql = "SELECT COUNT(*) FROM reservas WHERE numero_reserva = ?";
         
-        // Establecer estado
-        String estadoStr = rs.getString("estado");
-        try {
-            reserva.setEstado(EstadoReserva.valueOf(estadoStr));
-        } catch (IllegalArgumentException e) {
-            reserva.setEstado(EstadoReserva.CONFIRMADA);
+        try (Connection conn = conexionBD.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, numeroReserva);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al verificar existencia de reserva: " + e.getMessage(), e);
         }
         
-        return reserva;
+        return false;
     }
 }
@@ -0,0 +1,50 @@
+package repository;
+
+/**
+ * Resultado de una fila de una carga masiva (guardarTodos)
+ * Una fila rechazada no impide que se guarden las demás del lote
+ */
+public class ResultadoFila {
+    private final int indice;
+    private final String clave;
+    private final boolean exitoso;
+    private final String mensaje;
+
+    /**
+     * @param indice Posición de la fila en la colección recibida
+     * @param clave Clave primaria de la fila (DNI, número de serie, número de vuelo)
+     */
+    public ResultadoFila(int indice, String clave, boolean exitoso, String mensaje) {
+        this.indice = indice;
+        this.clave = clave;
+        this.exitoso = exitoso;
+        this.mensaje = mensaje;
+    }
+
+    // Getters
+    public int getIndice() {
+        return indice;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    public boolean isExitoso() {
+        return exitoso;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoFila{" +
+                "indice=" + indice +
+                ", clave='" + clave + '\'' +
+                ", exitoso=" + exitoso +
+                ", mensaje='" + mensaje + '\'' +
+                '}';
+    }
+}
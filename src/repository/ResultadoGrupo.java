@@ -0,0 +1,43 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Resultado de guardar una reserva de grupo: se confirma completa o se rechaza completa
+ */
+public class ResultadoGrupo {
+    private final boolean confirmado;
+    private final String mensaje;
+    private final List<Integer> asientosEnConflicto;
+
+    public ResultadoGrupo(boolean confirmado, String mensaje, List<Integer> asientosEnConflicto) {
+        this.confirmado = confirmado;
+        this.mensaje = mensaje;
+        this.asientosEnConflicto = List.copyOf(asientosEnConflicto);
+    }
+
+    // Getters
+    public boolean isConfirmado() {
+        return confirmado;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * @return Asientos pedidos que ya estaban ocupados (vacía si el rechazo fue por otro motivo)
+     */
+    public List<Integer> getAsientosEnConflicto() {
+        return asientosEnConflicto;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoGrupo{" +
+                "confirmado=" + confirmado +
+                ", mensaje='" + mensaje + '\'' +
+                ", asientosEnConflicto=" + asientosEnConflicto +
+                '}';
+    }
+}
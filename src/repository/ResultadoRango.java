@@ -0,0 +1,80 @@
+package repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Resultado de una consulta por rango de fechas, leído con un solo recorrido del índice
+ * Si se pidió agrupar, las filas también se reparten por día (en el mismo orden en que
+ * llegaron), sin consultar cada día por separado
+ */
+public class ResultadoRango<T> {
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final List<T> elementos;
+    private final SortedMap<LocalDate, List<T>> porDia;
+
+    private ResultadoRango(LocalDate desde, LocalDate hasta, List<T> elementos, SortedMap<LocalDate, List<T>> porDia) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.porDia = porDia != null ? Collections.unmodifiableSortedMap(porDia) : null;
+    }
+
+    /**
+     * @param elementos Filas del rango, ya ordenadas
+     * @param agruparPorDia Si también se reparten las filas por día
+     * @param fecha Fecha y hora de cada fila, para saber a qué día pertenece
+     */
+    public static <T> ResultadoRango<T> de(LocalDate desde, LocalDate hasta, List<T> elementos,
+                                           boolean agruparPorDia, Function<T, LocalDateTime> fecha) {
+        if (!agruparPorDia) {
+            return new ResultadoRango<>(desde, hasta, elementos, null);
+        }
+        SortedMap<LocalDate, List<T>> porDia = new TreeMap<>();
+        for (T elemento : elementos) {
+            porDia.computeIfAbsent(fecha.apply(elemento).toLocalDate(), dia -> new ArrayList<>()).add(elemento);
+        }
+        return new ResultadoRango<>(desde, hasta, elementos, porDia);
+    }
+
+    // Getters
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public boolean estaAgrupado() {
+        return porDia != null;
+    }
+
+    /**
+     * @return Filas de cada día con resultados, ordenados por día; vacío si no se agrupó
+     */
+    public SortedMap<LocalDate, List<T>> getPorDia() {
+        return porDia != null ? porDia : Collections.emptySortedMap();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoRango{" +
+                "desde=" + desde +
+                ", hasta=" + hasta +
+                ", elementos=" + elementos.size() +
+                ", dias=" + (porDia != null ? porDia.size() : "sin agrupar") +
+                '}';
+    }
+}
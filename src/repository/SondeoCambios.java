@@ -0,0 +1,153 @@
+package repository;
+
+import model.Avion;
+import model.VueloResumen;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Sondeo periódico de cambios de vuelos y aviones por versión de fila
+ * Cada vuelta pide solo las filas cambiadas desde la última versión vista y las entrega a las
+ * cachés registradas, así que el costo depende de la cantidad de cambios y no del tamaño de
+ * las tablas. Las tablas sin observadores no se consultan
+ *
+ * Intervalo: -Dsistemavuelos.cambios.intervaloMs (1000 por defecto; 0 lo desactiva)
+ */
+public class SondeoCambios implements AutoCloseable {
+    private static final long INTERVALO_MS = Long.getLong("sistemavuelos.cambios.intervaloMs", 1000L);
+
+    private final ICambiosRepository repositorio;
+    private final Canal<VueloResumen> vuelos;
+    private final Canal<Avion> aviones;
+    private final ScheduledExecutorService hilo;
+    private final AtomicLong vueltas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    public SondeoCambios(ICambiosRepository repositorio) {
+        this.repositorio = repositorio;
+        this.vuelos = new Canal<>("vuelos", repositorio::cambiosVuelos);
+        this.aviones = new Canal<>("aviones", repositorio::cambiosAviones);
+        this.hilo = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "sondeo-cambios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    public void alCambiarVuelos(IObservadorCambios<VueloResumen> observador) {
+        vuelos.observadores.add(observador);
+    }
+
+    public void alCambiarAviones(IObservadorCambios<Avion> observador) {
+        aviones.observadores.add(observador);
+    }
+
+    /**
+     * Toma la versión actual como punto de partida y empieza a sondear con el intervalo por defecto.
+     * Debe llamarse antes de que las cachés carguen sus datos, para no perder cambios intermedios
+     * @return false si el sondeo está desactivado
+     */
+    public boolean iniciar() {
+        return iniciar(Duration.ofMillis(INTERVALO_MS));
+    }
+
+    public boolean iniciar(Duration intervalo) {
+        if (intervalo.isZero() || intervalo.isNegative()) {
+            return false;
+        }
+        long version = repositorio.versionActual();
+        vuelos.marca = version;
+        aviones.marca = version;
+        long milisegundos = intervalo.toMillis();
+        hilo.scheduleWithFixedDelay(this::sondearProgramado, milisegundos, milisegundos, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Una vuelta de sondeo de todas las tablas con observadores
+     */
+    public synchronized void sondear() {
+        vuelos.sondear();
+        aviones.sondear();
+        vueltas.incrementAndGet();
+    }
+
+    private void sondearProgramado() {
+        try {
+            sondear();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría la tarea programada; se registra y se reintenta en la próxima vuelta
+            errores.incrementAndGet();
+            System.err.println("Sondeo de cambios: " + e.getMessage());
+        }
+    }
+
+    public long getVueltas() {
+        return vueltas.get();
+    }
+
+    public long getErrores() {
+        return errores.get();
+    }
+
+    @Override
+    public void close() {
+        hilo.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "SondeoCambios{vueltas=" + vueltas + ", errores=" + errores
+                + ", " + vuelos + ", " + aviones + '}';
+    }
+
+    /**
+     * Una tabla sondeada: su última versión vista y sus observadores
+     */
+    private static final class Canal<T> {
+        private final String tabla;
+        private final LongFunction<LoteCambios<T>> consulta;
+        private final List<IObservadorCambios<T>> observadores = new CopyOnWriteArrayList<>();
+        private long marca;
+        private long filas;
+        private long reintentos;
+
+        private Canal(String tabla, LongFunction<LoteCambios<T>> consulta) {
+            this.tabla = tabla;
+            this.consulta = consulta;
+        }
+
+        private void sondear() {
+            if (observadores.isEmpty()) {
+                return;
+            }
+            LoteCambios<T> cambios = consulta.apply(marca);
+            boolean aplicado = true;
+            if (!cambios.estaVacio()) {
+                for (IObservadorCambios<T> observador : observadores) {
+                    // Todos reciben el lote aunque uno lo rechace: las filas traen su estado
+                    // completo, así que volver a aplicarlas no cambia el resultado
+                    aplicado &= observador.aplicarCambios(cambios);
+                }
+                filas += cambios.getCambiados().size() + cambios.getEliminados().size();
+            }
+            if (aplicado) {
+                marca = cambios.getHasta();
+            } else {
+                reintentos++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return tabla + "{filas=" + filas + ", reintentos=" + reintentos + '}';
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodifica el texto de una columna a su constante de enum con una tabla precalculada
+ * Un valor nulo o desconocido devuelve el valor por defecto sin construir excepciones,
+ * a diferencia de valueOf dentro de un try/catch
+ */
+final class TablaEnum<E extends Enum<E>> {
+    private final Map<String, E> constantes;
+    private final E porDefecto;
+
+    private TablaEnum(Map<String, E> constantes, E porDefecto) {
+        this.constantes = constantes;
+        this.porDefecto = porDefecto;
+    }
+
+    static <E extends Enum<E>> TablaEnum<E> de(Class<E> tipo, E porDefecto) {
+        Map<String, E> constantes = new HashMap<>();
+        for (E constante : tipo.getEnumConstants()) {
+            constantes.put(constante.name(), constante);
+        }
+        return new TablaEnum<>(constantes, porDefecto);
+    }
+
+    E decodificar(String valor) {
+        if (valor == null) {
+            return porDefecto;
+        }
+        return constantes.getOrDefault(valor, porDefecto);
+    }
+}
@@ -0,0 +1,82 @@
+package repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los tokens de continuación de {@link Pagina}
+ * El token es la clave de ordenamiento de la última fila en Base64 URL-safe;
+ * quien lo recibe no debe interpretarlo, solo devolverlo para pedir la página siguiente
+ */
+public final class TokenPagina {
+
+    private TokenPagina() {
+    }
+
+    public static String codificar(String... valores) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            salida.writeByte(valores.length);
+            for (String valor : valores) {
+                salida.writeUTF(valor);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param partes Cantidad de valores que debe tener la clave
+     * @throws TokenInvalidoException Si el token está mal formado o no corresponde al listado
+     */
+    public static String[] decodificar(String token, int partes) {
+        try (DataInputStream entrada = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (entrada.readUnsignedByte() != partes) {
+                throw new TokenInvalidoException(null);
+            }
+            String[] valores = new String[partes];
+            for (int i = 0; i < partes; i++) {
+                valores[i] = entrada.readUTF();
+            }
+            if (entrada.available() > 0) {
+                throw new TokenInvalidoException(null);
+            }
+            return valores;
+        } catch (TokenInvalidoException e) {
+            throw e;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new TokenInvalidoException(e);
+        }
+    }
+
+    /**
+     * Interpreta un valor de fecha del token (formato ISO, con la precisión completa de la columna)
+     * @throws TokenInvalidoException Si el valor no es una fecha válida
+     */
+    public static LocalDateTime aFecha(String valor) {
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new TokenInvalidoException(e);
+        }
+    }
+
+    /**
+     * El token recibido no fue emitido por el listado que lo interpreta
+     */
+    public static class TokenInvalidoException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        TokenInvalidoException(Throwable causa) {
+            super("Token de página inválido", causa);
+        }
+    }
+}
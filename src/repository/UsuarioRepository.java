@@ -1,9 +1,8 @@
 package repository;
 
 import database.ConexionBD;
+import database.CursorResultados.MapeadorFila;
 import model.Usuario;
-import model.Rol;
-import model.Empleado;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -14,6 +13,9 @@ import java.util.Optional;
  * Implementación de repositorio de Usuarios con SQL Server
  */
 public class UsuarioRepository implements IUsuarioRepository {
+    // Inicio de sesión; el precalentamiento lo prepara con este mismo texto
+    public static final String SQL_AUTENTICAR = "{CALL sp_autenticar_usuario(?, ?, ?, ?, ?)}";
+
     private final ConexionBD conexionBD;
 
     public UsuarioRepository() {
@@ -22,7 +24,7 @@ public class UsuarioRepository implements IUsuarioRepository {
 
     @Override
     public void guardar(Usuario usuario) {
-        String sql = "{CALL sp_crear_usuario(?, ?, ?, ?, ?, ?)}";
+        String sql = "{CALL sp_crear_usuario(?, ?, ?, ?, ?, ?, ?)}";
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -33,6 +35,7 @@ public class UsuarioRepository implements IUsuarioRepository {
             cstmt.setString(4, usuario.getEmpleado().getDni());
             cstmt.registerOutParameter(5, Types.BIT);
             cstmt.registerOutParameter(6, Types.VARCHAR);
+            cstmt.registerOutParameter(7, Types.BIT);
             
             cstmt.execute();
             
@@ -40,16 +43,17 @@ public class UsuarioRepository implements IUsuarioRepository {
             String mensaje = cstmt.getString(6);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
             } else {
-                conexionBD.rollback();
+                conn.rollback();
+                if (cstmt.getBoolean(7)) {
+                    throw new ClaveDuplicadaException(mensaje);
+                }
                 throw new RuntimeException("Error al guardar usuario: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar usuario: " + e.getMessage(), e);
         }
@@ -63,14 +67,14 @@ public class UsuarioRepository implements IUsuarioRepository {
                      "INNER JOIN personas per ON e.dni = per.dni " +
                      "WHERE u.nombre_usuario = ?";
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, nombreUsuario);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUsuario(rs));
+                    return Optional.of(Mapeadores.usuario().mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -89,12 +93,13 @@ public class UsuarioRepository implements IUsuarioRepository {
                      "ORDER BY u.nombre_usuario";
         List<Usuario> usuarios = new ArrayList<>();
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            MapeadorFila<Usuario> mapeador = Mapeadores.usuario();
             while (rs.next()) {
-                usuarios.add(mapResultSetToUsuario(rs));
+                usuarios.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar usuarios: " + e.getMessage(), e);
@@ -103,6 +108,38 @@ public class UsuarioRepository implements IUsuarioRepository {
         return usuarios;
     }
 
+    @Override
+    public Pagina<Usuario> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 1) : null;
+        String sql = "SELECT TOP (?) u.*, e.*, per.nombre, per.apellido, per.email, per.telefono " +
+                     "FROM usuarios u " +
+                     "INNER JOIN empleados e ON u.dni_empleado = e.dni " +
+                     "INNER JOIN personas per ON e.dni = per.dni " +
+                     (clave != null ? "WHERE u.nombre_usuario > ? " : "") +
+                     "ORDER BY u.nombre_usuario";
+        List<Usuario> usuarios = new ArrayList<>();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                pstmt.setString(2, clave[0]);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                MapeadorFila<Usuario> mapeador = Mapeadores.usuario();
+                while (rs.next()) {
+                    usuarios.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar usuarios por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(usuarios, tamano, u -> TokenPagina.codificar(u.getNombreUsuario()));
+    }
+
     @Override
     public boolean eliminar(String nombreUsuario) {
         String sql = "{CALL sp_actualizar_estado_usuario(?, ?, ?, ?)}";
@@ -121,18 +158,13 @@ public class UsuarioRepository implements IUsuarioRepository {
             String mensaje = cstmt.getString(4);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
                 return true;
             } else {
-                conexionBD.rollback();
+                conn.rollback();
                 throw new RuntimeException("Error al eliminar usuario: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
-            }
             throw new RuntimeException("Error al eliminar usuario: " + e.getMessage(), e);
         }
     }
@@ -158,11 +190,9 @@ public class UsuarioRepository implements IUsuarioRepository {
         return false;
     }
 
-    /**
-     * Autentica un usuario usando el procedimiento almacenado
-     */
+    @Override
     public Optional<Usuario> autenticar(String nombreUsuario, String contrasena) {
-        String sql = "{CALL sp_autenticar_usuario(?, ?, ?, ?, ?)}";
+        String sql = SQL_AUTENTICAR;
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -173,12 +203,21 @@ public class UsuarioRepository implements IUsuarioRepository {
             cstmt.registerOutParameter(4, Types.VARCHAR);
             cstmt.registerOutParameter(5, Types.VARCHAR);
             
-            cstmt.execute();
+            // Si las credenciales son válidas el procedimiento devuelve el usuario completo
+            Usuario usuario = null;
+            if (cstmt.execute()) {
+                try (ResultSet rs = cstmt.getResultSet()) {
+                    if (rs.next()) {
+                        usuario = Mapeadores.usuario().mapear(rs);
+                    }
+                }
+            }
             
             boolean resultado = cstmt.getBoolean(3);
+            // Confirma la actualización del último acceso
+            conn.commit();
             if (resultado) {
-                // Si la autenticación fue exitosa, obtener el usuario completo
-                return buscarPorNombreUsuario(nombreUsuario);
+                return Optional.ofNullable(usuario);
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al autenticar usuario: " + e.getMessage(), e);
@@ -186,43 +225,4 @@ public class UsuarioRepository implements IUsuarioRepository {
         
         return Optional.empty();
     }
-
-    /**
-     * Mapea un ResultSet a un objeto Usuario
-     */
-    private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
-        // Crear empleado
-        Date fechaContratacion = rs.getDate("fecha_contratacion");
-        java.time.LocalDate fechaCont = fechaContratacion != null ? fechaContratacion.toLocalDate() : null;
-        
-        Empleado empleado = new Empleado(
-            rs.getString("dni_empleado"),
-            rs.getString("nombre"),
-            rs.getString("apellido"),
-            rs.getString("email"),
-            rs.getString("telefono"),
-            rs.getString("numero_empleado"),
-            rs.getString("cargo"),
-            fechaCont,
-            rs.getDouble("salario")
-        );
-        
-        // Crear usuario
-        String rolStr = rs.getString("rol");
-        Rol rol;
-        try {
-            rol = Rol.valueOf(rolStr);
-        } catch (IllegalArgumentException e) {
-            rol = Rol.VENDEDOR; // Valor por defecto
-        }
-        
-        Usuario usuario = new Usuario(
-            rs.getString("nombre_usuario"),
-            rs.getString("contrasena"),
-            rol,
-            empleado
-        );
-        
-        return usuario;
-    }
 }
@@ -1,34 +1,43 @@
 package repository;
 
 import database.ConexionBD;
-import model.Vuelo;
-import model.Avion;
+import database.CursorResultados;
+import database.CursorResultados.MapeadorFila;
+import model.CriteriosBusquedaVuelo;
 import model.EstadoVuelo;
-import model.EstadoAvion;
-import repository.AvionRepository;
+import model.OrdenBusquedaVuelo;
+import model.Vuelo;
+import model.VueloResumen;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementación de repositorio de Vuelos con SQL Server
  */
 public class VueloRepository implements IVueloRepository {
+    // Búsqueda de cada reserva; el precalentamiento la prepara con este mismo texto
+    public static final String SQL_BUSCAR_POR_NUMERO = "{CALL sp_buscar_vuelo_por_numero(?)}";
+    private static final String SELECT_RESUMEN =
+            "SELECT v.numero_vuelo, v.origen, v.destino, v.fecha_hora_salida, v.fecha_hora_llegada, " +
+            "v.precio, v.asientos_disponibles, v.estado AS estado_vuelo, a.numero_serie, a.modelo " +
+            "FROM vuelos v INNER JOIN aviones a ON v.numero_serie_avion = a.numero_serie ";
+
     private final ConexionBD conexionBD;
-    private final AvionRepository avionRepository;
 
     public VueloRepository() {
         this.conexionBD = ConexionBD.getInstancia();
-        this.avionRepository = new AvionRepository();
     }
 
     @Override
     public void guardar(Vuelo vuelo) {
-        String sql = "{CALL sp_crear_vuelo(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
+        String sql = "{CALL sp_crear_vuelo(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)}";
         
         try (Connection conn = conexionBD.getConexion();
              CallableStatement cstmt = conn.prepareCall(sql)) {
@@ -43,6 +52,7 @@ public class VueloRepository implements IVueloRepository {
             cstmt.setString(8, vuelo.getEstado().toString());
             cstmt.registerOutParameter(9, Types.BIT);
             cstmt.registerOutParameter(10, Types.VARCHAR);
+            cstmt.registerOutParameter(11, Types.BIT);
             
             cstmt.execute();
             
@@ -50,33 +60,49 @@ public class VueloRepository implements IVueloRepository {
             String mensaje = cstmt.getString(10);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
             } else {
-                conexionBD.rollback();
+                conn.rollback();
+                if (cstmt.getBoolean(11)) {
+                    throw new ClaveDuplicadaException(mensaje);
+                }
                 throw new RuntimeException("Error al guardar vuelo: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
+            if (ClaveDuplicadaException.esViolacionUnica(e)) {
+                throw new ClaveDuplicadaException(e.getMessage(), e);
             }
             throw new RuntimeException("Error al guardar vuelo: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Vuelo> vuelos) {
+        return new CargaPorLotes<Vuelo>(conexionBD, "{CALL sp_crear_vuelos_lote(?)}", Vuelo::getNumeroVuelo,
+                (fila, vuelo) -> fila
+                        .campo("numero_vuelo", vuelo.getNumeroVuelo())
+                        .campo("origen", vuelo.getOrigen())
+                        .campo("destino", vuelo.getDestino())
+                        .campo("fecha_hora_salida", vuelo.getFechaHoraSalida())
+                        .campo("fecha_hora_llegada", vuelo.getFechaHoraLlegada())
+                        .campo("numero_serie_avion", vuelo.getAvion() != null ? vuelo.getAvion().getNumeroSerie() : null)
+                        .campo("precio", vuelo.getPrecio())
+                        .campo("estado", vuelo.getEstado() != null ? vuelo.getEstado().name() : null))
+                .guardar(vuelos);
+    }
+
     @Override
     public Optional<Vuelo> buscarPorNumeroVuelo(String numeroVuelo) {
-        String sql = "{CALL sp_buscar_vuelo_por_numero(?)}";
+        String sql = SQL_BUSCAR_POR_NUMERO;
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, numeroVuelo);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToVueloCompleto(rs));
+                    return Optional.of(Mapeadores.vuelo(new MapaIdentidad()).mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -90,13 +116,14 @@ public class VueloRepository implements IVueloRepository {
     public List<Vuelo> listarTodos() {
         String sql = "{CALL sp_listar_vuelos}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql);
              ResultSet rs = cstmt.executeQuery()) {
             
             while (rs.next()) {
-                vuelos.add(mapResultSetToVueloCompleto(rs));
+                vuelos.add(mapeador.mapear(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar vuelos: " + e.getMessage(), e);
@@ -105,19 +132,62 @@ public class VueloRepository implements IVueloRepository {
         return vuelos;
     }
 
+    @Override
+    public Pagina<Vuelo> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        String sql = "{CALL sp_listar_vuelos_pagina(?, ?, ?)}";
+        List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                cstmt.setTimestamp(2, Timestamp.valueOf(TokenPagina.aFecha(clave[0])));
+                cstmt.setString(3, clave[1]);
+            } else {
+                cstmt.setNull(2, Types.TIMESTAMP);
+                cstmt.setNull(3, Types.VARCHAR);
+            }
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar vuelos por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(vuelos, tamano,
+                v -> TokenPagina.codificar(v.getFechaHoraSalida().toString(), v.getNumeroVuelo()));
+    }
+
+    @Override
+    public Stream<Vuelo> recorrerTodos() {
+        try {
+            return CursorResultados.abrir(conexionBD.getConexionLectura(), "{CALL sp_listar_vuelos}",
+                    Mapeadores.vuelo(MapaIdentidad.paraCursor()));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al recorrer vuelos: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Vuelo> buscarPorOrigen(String origen) {
         String sql = "{CALL sp_buscar_vuelos_por_origen(?)}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, origen);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    vuelos.add(mapResultSetToVueloCompleto(rs));
+                    vuelos.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -131,15 +201,16 @@ public class VueloRepository implements IVueloRepository {
     public List<Vuelo> buscarPorDestino(String destino) {
         String sql = "{CALL sp_buscar_vuelos_por_destino(?)}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, destino);
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    vuelos.add(mapResultSetToVueloCompleto(rs));
+                    vuelos.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -153,8 +224,9 @@ public class VueloRepository implements IVueloRepository {
     public List<Vuelo> buscarPorOrigenYDestino(String origen, String destino) {
         String sql = "{CALL sp_buscar_vuelos_por_ruta(?, ?)}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setString(1, origen);
@@ -162,7 +234,7 @@ public class VueloRepository implements IVueloRepository {
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    vuelos.add(mapResultSetToVueloCompleto(rs));
+                    vuelos.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -180,15 +252,16 @@ public class VueloRepository implements IVueloRepository {
         
         String sql = "{CALL sp_buscar_vuelos_por_fecha(?)}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             cstmt.setDate(1, Date.valueOf(fecha));
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    vuelos.add(mapResultSetToVueloCompleto(rs));
+                    vuelos.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -198,6 +271,271 @@ public class VueloRepository implements IVueloRepository {
         return vuelos;
     }
 
+    @Override
+    public Pagina<VueloResumen> listarResumenPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        String sql = "{CALL sp_listar_vuelos_resumen_pagina(?, ?, ?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setInt(1, tamano + 1);
+            if (clave != null) {
+                cstmt.setTimestamp(2, Timestamp.valueOf(TokenPagina.aFecha(clave[0])));
+                cstmt.setString(3, clave[1]);
+            } else {
+                cstmt.setNull(2, Types.TIMESTAMP);
+                cstmt.setNull(3, Types.VARCHAR);
+            }
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar resumen de vuelos por página: " + e.getMessage(), e);
+        }
+        
+        return Pagina.desdeFilas(vuelos, tamano,
+                v -> TokenPagina.codificar(v.getFechaHoraSalida().toString(), v.getNumeroVuelo()));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigen(String origen) {
+        String sql = "{CALL sp_buscar_vuelos_resumen_por_origen(?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setString(1, origen);
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de vuelos por origen: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorDestino(String destino) {
+        String sql = "{CALL sp_buscar_vuelos_resumen_por_destino(?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setString(1, destino);
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de vuelos por destino: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigenYDestino(String origen, String destino) {
+        String sql = "{CALL sp_buscar_vuelos_resumen_por_ruta(?, ?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setString(1, origen);
+            cstmt.setString(2, destino);
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de vuelos por origen y destino: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorFecha(LocalDate fecha) {
+        if (fecha == null) {
+            return new ArrayList<>();
+        }
+        
+        String sql = "{CALL sp_buscar_vuelos_resumen_por_fecha(?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setDate(1, Date.valueOf(fecha));
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar resumen de vuelos por fecha: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumen(CriteriosBusquedaVuelo criterios) {
+        // Solo se escriben los filtros indicados: cada combinación es un texto SQL distinto con
+        // su propio plan, y las columnas se comparan sin convertir (los parámetros se convierten
+        // al tipo de la columna) para que se usen idx_origen_destino e idx_fecha_salida
+        List<String> condiciones = new ArrayList<>();
+        List<Object> parametros = new ArrayList<>();
+        if (criterios.getOrigen() != null) {
+            condiciones.add("v.origen = CAST(? AS VARCHAR(100))");
+            parametros.add(criterios.getOrigen());
+        }
+        if (criterios.getDestino() != null) {
+            condiciones.add("v.destino = CAST(? AS VARCHAR(100))");
+            parametros.add(criterios.getDestino());
+        }
+        if (criterios.getSalidaDesde() != null) {
+            condiciones.add("v.fecha_hora_salida >= ?");
+            parametros.add(Timestamp.valueOf(criterios.getSalidaDesde()));
+        }
+        if (criterios.getSalidaHasta() != null) {
+            condiciones.add("v.fecha_hora_salida < ?");
+            parametros.add(Timestamp.valueOf(criterios.getSalidaHasta()));
+        }
+        if (criterios.getPrecioMinimo() != null) {
+            condiciones.add("v.precio >= ?");
+            parametros.add(BigDecimal.valueOf(criterios.getPrecioMinimo()));
+        }
+        if (criterios.getPrecioMaximo() != null) {
+            condiciones.add("v.precio <= ?");
+            parametros.add(BigDecimal.valueOf(criterios.getPrecioMaximo()));
+        }
+        if (criterios.getAsientosMinimos() != null) {
+            condiciones.add("v.asientos_disponibles >= ?");
+            parametros.add(criterios.getAsientosMinimos());
+        }
+        if (!criterios.getEstados().isEmpty()) {
+            List<String> marcadores = new ArrayList<>();
+            for (EstadoVuelo estado : criterios.getEstados()) {
+                marcadores.add("CAST(? AS VARCHAR(20))");
+                parametros.add(estado.name());
+            }
+            condiciones.add("v.estado IN (" + String.join(", ", marcadores) + ")");
+        }
+
+        String sql = SELECT_RESUMEN +
+                     (condiciones.isEmpty() ? "" : "WHERE " + String.join(" AND ", condiciones) + " ") +
+                     "ORDER BY " + ordenSql(criterios.getOrden());
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < parametros.size(); i++) {
+                pstmt.setObject(i + 1, parametros.get(i));
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar vuelos por criterios: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    private static String ordenSql(OrdenBusquedaVuelo orden) {
+        switch (orden) {
+            case PRECIO:
+                return "v.precio, v.fecha_hora_salida, v.numero_vuelo";
+            case ASIENTOS_DISPONIBLES:
+                return "v.asientos_disponibles DESC, v.fecha_hora_salida, v.numero_vuelo";
+            default:
+                return "v.fecha_hora_salida, v.numero_vuelo";
+        }
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            return new ArrayList<>();
+        }
+        
+        String sql = "{CALL sp_buscar_vuelos_resumen_por_rango(?, ?)}";
+        List<VueloResumen> vuelos = new ArrayList<>();
+        MapeadorFila<VueloResumen> mapeador = Mapeadores.vueloResumen();
+        
+        try (Connection conn = conexionBD.getConexionLectura();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setDate(1, Date.valueOf(desde));
+            cstmt.setDate(2, Date.valueOf(hasta));
+            
+            try (ResultSet rs = cstmt.executeQuery()) {
+                while (rs.next()) {
+                    vuelos.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al buscar vuelos por rango de fechas: " + e.getMessage(), e);
+        }
+        
+        return vuelos;
+    }
+
+    @Override
+    public void actualizarEstado(String numeroVuelo, EstadoVuelo nuevoEstado) {
+        String sql = "{CALL sp_actualizar_estado_vuelo(?, ?, ?, ?)}";
+        
+        try (Connection conn = conexionBD.getConexion();
+             CallableStatement cstmt = conn.prepareCall(sql)) {
+            
+            cstmt.setString(1, numeroVuelo);
+            cstmt.setString(2, nuevoEstado.name());
+            cstmt.registerOutParameter(3, Types.BIT);
+            cstmt.registerOutParameter(4, Types.VARCHAR);
+            
+            cstmt.execute();
+            
+            boolean resultado = cstmt.getBoolean(3);
+            String mensaje = cstmt.getString(4);
+            
+            if (resultado) {
+                conn.commit();
+            } else {
+                conn.rollback();
+                throw new RuntimeException("Error al actualizar estado de vuelo: " + mensaje);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al actualizar estado de vuelo: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean eliminar(String numeroVuelo) {
         String sql = "{CALL sp_eliminar_vuelo(?, ?, ?)}";
@@ -215,18 +553,13 @@ public class VueloRepository implements IVueloRepository {
             String mensaje = cstmt.getString(3);
             
             if (resultado) {
-                conexionBD.commit();
+                conn.commit();
                 return true;
             } else {
-                conexionBD.rollback();
+                conn.rollback();
                 throw new RuntimeException("Error al eliminar vuelo: " + mensaje);
             }
         } catch (SQLException e) {
-            try {
-                conexionBD.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException("Error al hacer rollback", ex);
-            }
             throw new RuntimeException("Error al eliminar vuelo: " + e.getMessage(), e);
         }
     }
@@ -258,8 +591,9 @@ public class VueloRepository implements IVueloRepository {
     public List<Vuelo> buscarVuelosDisponibles(String origen, String destino, LocalDate fecha) {
         String sql = "{CALL sp_buscar_vuelos_disponibles(?, ?, ?)}";
         List<Vuelo> vuelos = new ArrayList<>();
+        MapeadorFila<Vuelo> mapeador = Mapeadores.vuelo(new MapaIdentidad());
         
-        try (Connection conn = conexionBD.getConexion();
+        try (Connection conn = conexionBD.getConexionLectura();
              CallableStatement cstmt = conn.prepareCall(sql)) {
             
             if (origen != null && !origen.isEmpty()) {
@@ -282,7 +616,7 @@ public class VueloRepository implements IVueloRepository {
             
             try (ResultSet rs = cstmt.executeQuery()) {
                 while (rs.next()) {
-                    vuelos.add(mapResultSetToVueloCompleto(rs));
+                    vuelos.add(mapeador.mapear(rs));
                 }
             }
         } catch (SQLException e) {
@@ -291,104 +625,4 @@ public class VueloRepository implements IVueloRepository {
         
         return vuelos;
     }
-
-    /**
-     * Mapea un ResultSet completo (con JOINs) a un objeto Vuelo sin hacer consultas adicionales
-     */
-    private Vuelo mapResultSetToVueloCompleto(ResultSet rs) throws SQLException {
-        // Datos del vuelo
-        Timestamp fechaSalida = rs.getTimestamp("fecha_hora_salida");
-        Timestamp fechaLlegada = rs.getTimestamp("fecha_hora_llegada");
-        LocalDateTime fechaHoraSalida = fechaSalida != null ? fechaSalida.toLocalDateTime() : null;
-        LocalDateTime fechaHoraLlegada = fechaLlegada != null ? fechaLlegada.toLocalDateTime() : null;
-        
-        String numero_vuelo = rs.getString("numero_vuelo");
-        String origen = rs.getString("origen");
-        String destino = rs.getString("destino");
-        Double precio = rs.getDouble("precio");
-        int asientos_disponibles = rs.getInt("asientos_disponibles");
-        String estado_vuelo = rs.getString("estado_vuelo");
-        
-        // Crear Avión desde los datos del JOIN
-        String numeroSerie = rs.getString("numero_serie");
-        String modelo = rs.getString("modelo");
-        String fabricante = rs.getString("fabricante");
-        int capacidadPasajeros = rs.getInt("capacidad_pasajeros");
-        int capacidadCarga = rs.getInt("capacidad_carga");
-        String estadoAvionStr = rs.getString("estado_avion");
-        
-        Avion avion = new Avion(numeroSerie, modelo, fabricante, capacidadPasajeros, capacidadCarga);
-        try {
-            avion.setEstado(EstadoAvion.valueOf(estadoAvionStr));
-        } catch (IllegalArgumentException e) {
-            avion.setEstado(EstadoAvion.DISPONIBLE);
-        }
-        
-        // Crear Vuelo
-        Vuelo vuelo = new Vuelo(
-            numero_vuelo,
-            origen,
-            destino,
-            fechaHoraSalida,
-            fechaHoraLlegada,
-            avion,
-            precio
-        );
-        vuelo.setAsientosDisponibles(asientos_disponibles);
-        
-        // Establecer estado
-        try {
-            vuelo.setEstado(EstadoVuelo.valueOf(estado_vuelo));
-        } catch (IllegalArgumentException e) {
-            vuelo.setEstado(EstadoVuelo.PROGRAMADO);
-        }
-        
-        return vuelo;
-    }
-
-    /**
-     * Mapea un ResultSet a un objeto Vuelo (método original que hace consultas adicionales)
-     */
-    private Vuelo mapResultSetToVuelo(ResultSet rs) throws SQLException {
-        Timestamp fechaSalida = rs.getTimestamp("fecha_hora_salida");
-        Timestamp fechaLlegada = rs.getTimestamp("fecha_hora_llegada");
-        
-        LocalDateTime fechaHoraSalida = fechaSalida != null ? fechaSalida.toLocalDateTime() : null;
-        LocalDateTime fechaHoraLlegada = fechaLlegada != null ? fechaLlegada.toLocalDateTime() : null;
-        String numero_vuelo = rs.getString("numero_vuelo");
-        String origen = rs.getString("origen");
-        String destino = rs.getString("destino");
-        Double precio = rs.getDouble("precio");
-        int asientos_disponibles = rs.getInt("asientos_disponibles");
-        String estado = rs.getString("estado");
-
-
-        // Obtener el avión
-        String numeroSerieAvion = rs.getString("numero_serie_avion");
-        Avion avion = avionRepository.buscarPorNumeroSerie(numeroSerieAvion)
-                .orElseThrow(() -> new SQLException("Avión no encontrado: " + numeroSerieAvion));
-        
-        Vuelo vuelo = new Vuelo(
-            numero_vuelo,
-            origen,
-            destino,
-            fechaHoraSalida,
-            fechaHoraLlegada,
-            avion,
-            precio
-        );
-        
-        vuelo.setAsientosDisponibles(asientos_disponibles);
-        
-        // Establecer estado
-        String estadoStr = estado;
-        try {
-            vuelo.setEstado(EstadoVuelo.valueOf(estadoStr));
-        } catch (IllegalArgumentException e) {
-            vuelo.setEstado(EstadoVuelo.PROGRAMADO);
-        }
-        
-        return vuelo;
-    }
-
 }
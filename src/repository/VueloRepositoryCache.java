@@ -0,0 +1,451 @@
+package repository;
+
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
+import model.Vuelo;
+import model.VueloResumen;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inventario de vuelos en memoria alrededor de otro repositorio de vuelos
+ * Carga los resúmenes de todos los vuelos con una sola consulta y responde desde memoria los
+ * listados resumidos, las búsquedas y las consultas de asientos libres. Los vuelos completos
+ * se siguen leyendo del repositorio envuelto, con los asientos y el estado del inventario
+ *
+ * Las altas, reservas y cancelaciones confirmadas por este nodo se aplican al inventario en el
+ * momento (escribir()); los cambios de otros nodos se ven al vencer el inventario, que se recarga
+ * completo pasado el TTL (-Dsistemavuelos.inventario.ttlSegundos, 30 por defecto), o antes si
+ * se registra en un SondeoCambios, que le entrega solo los vuelos cambiados
+ */
+public class VueloRepositoryCache implements IVueloRepository, IInventarioVuelos, IObservadorCambios<VueloResumen> {
+    private static final long TTL_SEGUNDOS = Long.getLong("sistemavuelos.inventario.ttlSegundos", 30L);
+
+    private final IVueloRepository repositorio;
+    private final long ttlNanos;
+    private final ILecturaPrimario lecturaPrimario;
+    // Se incrementa al terminar cada escritura; una carga solo se publica si no hubo escrituras
+    // en el medio, porque no se sabe si las filas leídas ya las incluyen
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger escriturasEnCurso = new AtomicInteger();
+    // System.nanoTime() del final de la última escritura propia
+    private volatile long ultimaEscritura = System.nanoTime();
+    private volatile Inventario inventario;
+
+    public VueloRepositoryCache(IVueloRepository repositorio) {
+        this(repositorio, Duration.ofSeconds(TTL_SEGUNDOS));
+    }
+
+    public VueloRepositoryCache(IVueloRepository repositorio, Duration ttl) {
+        this(repositorio, ttl, ILecturaPrimario.directa());
+    }
+
+    /**
+     * @param lecturaPrimario Forma de leer del primario al cargar el inventario: una carga
+     *                        desde una réplica retrasada perdería reservas ya confirmadas
+     */
+    public VueloRepositoryCache(IVueloRepository repositorio, Duration ttl, ILecturaPrimario lecturaPrimario) {
+        this.repositorio = repositorio;
+        this.ttlNanos = ttl.toNanos();
+        this.lecturaPrimario = lecturaPrimario;
+    }
+
+    /**
+     * Descarta el inventario cargado; la próxima lectura lo vuelve a cargar
+     */
+    public void invalidar() {
+        version.incrementAndGet();
+        inventario = null;
+    }
+
+    @Override
+    public Optional<VueloResumen> consultar(String numeroVuelo) {
+        if (numeroVuelo == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(inventario().vuelos.get(numeroVuelo));
+    }
+
+    @Override
+    public <T> T escribir(String numeroVuelo, Supplier<T> escritura, ToIntFunction<T> variacion) {
+        return aplicarEscritura(numeroVuelo, escritura, (resultado, vuelo) -> {
+            int cambio = variacion.applyAsInt(resultado);
+            return cambio == 0 ? vuelo : con(vuelo, vuelo.getAsientosDisponibles() + cambio, vuelo.getEstado());
+        });
+    }
+
+    /**
+     * Reemplaza los vuelos cambiados por su estado en la base, agrega los nuevos y quita los
+     * eliminados; un vuelo con otra salida se mueve en el índice por salida. El costo depende de
+     * la cantidad de cambios y no del tamaño del inventario
+     */
+    @Override
+    public boolean aplicarCambios(LoteCambios<VueloResumen> cambios) {
+        Inventario actual = inventario;
+        if (actual == null || cambios.getConsultadoEn() - actual.cargadoEn <= 0) {
+            // Sin inventario, o cargado después de la consulta: ya incluye estos cambios
+            return true;
+        }
+        if (escrituraPosterior(cambios)) {
+            return false;
+        }
+        for (String numeroVuelo : cambios.getEliminados()) {
+            actual.quitar(numeroVuelo);
+        }
+        for (VueloResumen vuelo : cambios.getCambiados()) {
+            actual.poner(vuelo);
+        }
+        // Si una escritura propia se cruzó mientras se aplicaba, pudo quedar pisada por un valor
+        // anterior: se vuelve a pedir el tramo, que ya la incluye
+        return !escrituraPosterior(cambios);
+    }
+
+    private boolean escrituraPosterior(LoteCambios<VueloResumen> cambios) {
+        return escriturasEnCurso.get() > 0 || ultimaEscritura - cambios.getConsultadoEn() >= 0;
+    }
+
+    @Override
+    public void guardar(Vuelo vuelo) {
+        escriturasEnCurso.incrementAndGet();
+        try {
+            repositorio.guardar(vuelo);
+            Inventario actual = inventario;
+            if (actual != null) {
+                actual.poner(VueloResumen.de(vuelo));
+            }
+        } finally {
+            terminarEscritura();
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Vuelo> vuelos) {
+        try {
+            return repositorio.guardarTodos(vuelos);
+        } finally {
+            invalidar();
+        }
+    }
+
+    @Override
+    public Optional<Vuelo> buscarPorNumeroVuelo(String numeroVuelo) {
+        return repositorio.buscarPorNumeroVuelo(numeroVuelo).map(this::superponer);
+    }
+
+    @Override
+    public List<Vuelo> listarTodos() {
+        return superponer(repositorio.listarTodos());
+    }
+
+    @Override
+    public Pagina<Vuelo> listarPagina(int tamano, String token) {
+        return repositorio.listarPagina(tamano, token).mapear(this::superponer);
+    }
+
+    @Override
+    public Stream<Vuelo> recorrerTodos() {
+        return repositorio.recorrerTodos().map(this::superponer);
+    }
+
+    @Override
+    public List<Vuelo> buscarPorOrigen(String origen) {
+        return superponer(repositorio.buscarPorOrigen(origen));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorDestino(String destino) {
+        return superponer(repositorio.buscarPorDestino(destino));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorOrigenYDestino(String origen, String destino) {
+        return superponer(repositorio.buscarPorOrigenYDestino(origen, destino));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorFecha(LocalDate fecha) {
+        return superponer(repositorio.buscarPorFecha(fecha));
+    }
+
+    @Override
+    public Pagina<VueloResumen> listarResumenPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        Inventario actual = inventario();
+        // Busca la posición del token en el índice y lee solo la página y una fila de más
+        NavigableSet<ClaveSalida> tramo = clave == null ? actual.porSalida
+                : actual.porSalida.tailSet(new ClaveSalida(TokenPagina.aFecha(clave[0]), clave[1]), false);
+        List<VueloResumen> filas = filtrar(actual, tramo, v -> true, tamano + 1);
+        return Pagina.desdeFilas(filas, tamano,
+                v -> TokenPagina.codificar(v.getFechaHoraSalida().toString(), v.getNumeroVuelo()));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigen(String origen) {
+        return origen == null ? new ArrayList<>() : filtrar(v -> origen.equalsIgnoreCase(v.getOrigen()));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorDestino(String destino) {
+        return destino == null ? new ArrayList<>() : filtrar(v -> destino.equalsIgnoreCase(v.getDestino()));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigenYDestino(String origen, String destino) {
+        if (origen == null || destino == null) {
+            return new ArrayList<>();
+        }
+        return filtrar(v -> origen.equalsIgnoreCase(v.getOrigen()) && destino.equalsIgnoreCase(v.getDestino()));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorFecha(LocalDate fecha) {
+        return buscarResumenPorRangoFechas(fecha, fecha);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            return new ArrayList<>();
+        }
+        if (hasta.isBefore(desde)) {
+            return new ArrayList<>();
+        }
+        Inventario actual = inventario();
+        // Ningún número de vuelo es vacío: las claves con "" acotan el tramo por salida
+        NavigableSet<ClaveSalida> tramo = actual.porSalida.subSet(
+                new ClaveSalida(desde.atStartOfDay(), ""), true,
+                new ClaveSalida(hasta.plusDays(1).atStartOfDay(), ""), false);
+        return filtrar(actual, tramo, v -> true, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumen(CriteriosBusquedaVuelo criterios) {
+        List<VueloResumen> vuelos = filtrar(criterios::cumple);
+        // Ya vienen por salida y número de vuelo; el orden estable los conserva como desempate
+        switch (criterios.getOrden()) {
+            case PRECIO:
+                vuelos.sort(Comparator.comparingDouble(VueloResumen::getPrecio));
+                break;
+            case ASIENTOS_DISPONIBLES:
+                vuelos.sort(Comparator.comparingInt(VueloResumen::getAsientosDisponibles).reversed());
+                break;
+            default:
+                break;
+        }
+        return vuelos;
+    }
+
+    @Override
+    public void actualizarEstado(String numeroVuelo, EstadoVuelo nuevoEstado) {
+        aplicarEscritura(numeroVuelo, () -> {
+            repositorio.actualizarEstado(numeroVuelo, nuevoEstado);
+            return nuevoEstado;
+        }, (estado, vuelo) -> con(vuelo, vuelo.getAsientosDisponibles(), estado));
+    }
+
+    @Override
+    public boolean eliminar(String numeroVuelo) {
+        // Devolver null en el cambio quita el vuelo del inventario
+        return aplicarEscritura(numeroVuelo, () -> repositorio.eliminar(numeroVuelo),
+                (eliminado, vuelo) -> eliminado ? null : vuelo);
+    }
+
+    @Override
+    public boolean existe(String numeroVuelo) {
+        return repositorio.existe(numeroVuelo);
+    }
+
+    /**
+     * Ejecuta la escritura y, si termina bien, aplica el cambio al vuelo del inventario en forma
+     * atómica. Mientras haya escrituras en curso ninguna carga se publica
+     */
+    private <T> T aplicarEscritura(String numeroVuelo, Supplier<T> escritura,
+                                   BiFunction<T, VueloResumen, VueloResumen> cambio) {
+        escriturasEnCurso.incrementAndGet();
+        try {
+            T resultado = escritura.get();
+            Inventario actual = inventario;
+            if (actual != null && numeroVuelo != null) {
+                actual.vuelos.computeIfPresent(numeroVuelo, (numero, vuelo) -> {
+                    VueloResumen nuevo = cambio.apply(resultado, vuelo);
+                    if (nuevo == null) {
+                        actual.porSalida.remove(new ClaveSalida(vuelo));
+                    }
+                    return nuevo;
+                });
+            }
+            return resultado;
+        } finally {
+            terminarEscritura();
+        }
+    }
+
+    private void terminarEscritura() {
+        version.incrementAndGet();
+        ultimaEscritura = System.nanoTime();
+        escriturasEnCurso.decrementAndGet();
+    }
+
+    private Inventario inventario() {
+        Inventario actual = inventario;
+        if (actual != null && !actual.vencido(ttlNanos)) {
+            return actual;
+        }
+        synchronized (this) {
+            actual = inventario;
+            if (actual != null && !actual.vencido(ttlNanos)) {
+                return actual;
+            }
+            long versionCarga = version.get();
+            boolean sinEscrituras = escriturasEnCurso.get() == 0;
+            long inicio = System.nanoTime();
+            Inventario cargado = new Inventario(
+                    lecturaPrimario.leer(() -> repositorio.buscarResumen(CriteriosBusquedaVuelo.todos())), inicio);
+            if (sinEscrituras && escriturasEnCurso.get() == 0 && version.get() == versionCarga) {
+                inventario = cargado;
+                return cargado;
+            }
+            // Una escritura se cruzó con la carga: se sigue usando el inventario anterior, que
+            // sí la aplicó, y se vuelve a cargar en la próxima lectura
+            return actual != null ? actual : cargado;
+        }
+    }
+
+    private List<VueloResumen> filtrar(Predicate<VueloResumen> filtro) {
+        Inventario actual = inventario();
+        return filtrar(actual, actual.porSalida, filtro, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Vuelos de un tramo del índice por salida que cumplen el filtro, en orden; deja de recorrer
+     * al juntar el límite
+     */
+    private static List<VueloResumen> filtrar(Inventario actual, NavigableSet<ClaveSalida> tramo,
+                                              Predicate<VueloResumen> filtro, int limite) {
+        List<VueloResumen> vuelos = new ArrayList<>();
+        for (ClaveSalida clave : tramo) {
+            if (vuelos.size() >= limite) {
+                break;
+            }
+            VueloResumen vuelo = actual.vigente(clave);
+            if (vuelo != null && filtro.test(vuelo)) {
+                vuelos.add(vuelo);
+            }
+        }
+        return vuelos;
+    }
+
+    private List<Vuelo> superponer(List<Vuelo> vuelos) {
+        return vuelos.stream().map(this::superponer).collect(Collectors.toList());
+    }
+
+    /**
+     * Reemplaza los asientos libres y el estado leídos de la base por los del inventario, que
+     * incluyen las escrituras de este nodo
+     */
+    private Vuelo superponer(Vuelo vuelo) {
+        VueloResumen vivo = inventario().vuelos.get(vuelo.getNumeroVuelo());
+        if (vivo != null) {
+            vuelo.setAsientosDisponibles(vivo.getAsientosDisponibles());
+            vuelo.setEstado(vivo.getEstado());
+        }
+        return vuelo;
+    }
+
+    private static VueloResumen con(VueloResumen vuelo, int asientosDisponibles, EstadoVuelo estado) {
+        return new VueloResumen(vuelo.getNumeroVuelo(), vuelo.getOrigen(), vuelo.getDestino(),
+                vuelo.getFechaHoraSalida(), vuelo.getFechaHoraLlegada(),
+                vuelo.getNumeroSerieAvion(), vuelo.getModeloAvion(), vuelo.getPrecio(),
+                asientosDisponibles, estado);
+    }
+
+    /**
+     * Vuelos cargados: los resúmenes por número de vuelo y un índice ordenado por salida y número
+     * de vuelo. Los dos se actualizan de a un vuelo; el índice solo se toca cuando un vuelo
+     * aparece, desaparece o cambia de salida
+     */
+    private static final class Inventario {
+        private final ConcurrentHashMap<String, VueloResumen> vuelos = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<ClaveSalida> porSalida = new ConcurrentSkipListSet<>(ClaveSalida.ORDEN);
+        // Inicio de la consulta de carga: los cambios consultados antes ya están incluidos
+        private final long cargadoEn;
+
+        private Inventario(List<VueloResumen> resumenes, long cargadoEn) {
+            this.cargadoEn = cargadoEn;
+            for (VueloResumen vuelo : resumenes) {
+                vuelos.put(vuelo.getNumeroVuelo(), vuelo);
+                porSalida.add(new ClaveSalida(vuelo));
+            }
+        }
+
+        /**
+         * Agrega o reemplaza el vuelo. La clave nueva entra al índice antes que el vuelo y la
+         * anterior sale después, así un lector nunca deja de verlo mientras se mueve
+         */
+        private void poner(VueloResumen vuelo) {
+            porSalida.add(new ClaveSalida(vuelo));
+            VueloResumen anterior = vuelos.put(vuelo.getNumeroVuelo(), vuelo);
+            if (anterior != null && !anterior.getFechaHoraSalida().equals(vuelo.getFechaHoraSalida())) {
+                porSalida.remove(new ClaveSalida(anterior));
+            }
+        }
+
+        private void quitar(String numeroVuelo) {
+            VueloResumen anterior = vuelos.remove(numeroVuelo);
+            if (anterior != null) {
+                porSalida.remove(new ClaveSalida(anterior));
+            }
+        }
+
+        /**
+         * Vuelo de la clave del índice, o null si la clave quedó vieja (el vuelo se eliminó o se
+         * está moviendo a otra salida)
+         */
+        private VueloResumen vigente(ClaveSalida clave) {
+            VueloResumen vuelo = vuelos.get(clave.numeroVuelo);
+            return vuelo != null && vuelo.getFechaHoraSalida().equals(clave.salida) ? vuelo : null;
+        }
+
+        private boolean vencido(long ttlNanos) {
+            return System.nanoTime() - cargadoEn >= ttlNanos;
+        }
+    }
+
+    /**
+     * Posición de un vuelo en el índice por salida, con el mismo orden que buscarResumen(todos())
+     */
+    private static final class ClaveSalida {
+        private static final Comparator<ClaveSalida> ORDEN =
+                Comparator.comparing((ClaveSalida c) -> c.salida).thenComparing(c -> c.numeroVuelo);
+
+        private final LocalDateTime salida;
+        private final String numeroVuelo;
+
+        private ClaveSalida(LocalDateTime salida, String numeroVuelo) {
+            this.salida = salida;
+            this.numeroVuelo = numeroVuelo;
+        }
+
+        private ClaveSalida(VueloResumen vuelo) {
+            this(vuelo.getFechaHoraSalida(), vuelo.getNumeroVuelo());
+        }
+    }
+}
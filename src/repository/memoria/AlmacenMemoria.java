@@ -0,0 +1,205 @@
+package repository.memoria;
+
+import model.*;
+import repository.ResultadoFila;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Almacén en memoria compartido por los repositorios en memoria
+ * Equivale a las tablas de script_bd.sql: mapas concurrentes por clave primaria e índices
+ * secundarios (origen, destino, fecha, pasajero, vuelo). Las lecturas no se bloquean; las
+ * escrituras se serializan con un único bloqueo para validar y aplicar las reglas de los
+ * procedimientos almacenados de forma atómica
+ * Los objetos se guardan como copias y se devuelven copias nuevas, igual que al leer de la base
+ */
+public class AlmacenMemoria {
+    final ReentrantLock escritura = new ReentrantLock();
+
+    // Tablas
+    final Map<String, Avion> aviones = new ConcurrentHashMap<>();
+    final Map<String, Pasajero> pasajeros = new ConcurrentHashMap<>();
+    final Map<String, Empleado> empleados = new ConcurrentHashMap<>();
+    final Map<String, Usuario> usuarios = new ConcurrentHashMap<>();
+    final Map<String, Vuelo> vuelos = new ConcurrentHashMap<>();
+    final Map<String, Reserva> reservas = new ConcurrentHashMap<>();
+
+    // Restricciones de unicidad y columnas "activo"
+    final Set<String> emails = ConcurrentHashMap.newKeySet();
+    final Set<String> pasaportes = ConcurrentHashMap.newKeySet();
+    final Map<String, String> empleadosPorNumero = new ConcurrentHashMap<>();
+    final Set<String> empleadosInactivos = ConcurrentHashMap.newKeySet();
+    final Set<String> usuariosInactivos = ConcurrentHashMap.newKeySet();
+    // UK_VueloAsiento: numero_vuelo + numero_asiento
+    final Set<String> asientosOcupados = ConcurrentHashMap.newKeySet();
+
+    // Índices secundarios
+    final IndiceSecundario<String> empleadosPorCargo = new IndiceSecundario<>();
+    final IndiceSecundario<String> vuelosPorOrigen = new IndiceSecundario<>();
+    final IndiceSecundario<String> vuelosPorDestino = new IndiceSecundario<>();
+    final IndiceSecundario<LocalDate> vuelosPorFecha = IndiceSecundario.ordenado();
+    final IndiceSecundario<String> vuelosPorAvion = new IndiceSecundario<>();
+    final IndiceSecundario<String> reservasPorPasajero = new IndiceSecundario<>();
+    final IndiceSecundario<String> reservasPorVuelo = new IndiceSecundario<>();
+    final IndiceSecundario<LocalDate> reservasPorFecha = IndiceSecundario.ordenado();
+
+    /**
+     * Crea un almacén con los datos iniciales de script_bd.sql (tres aviones y el usuario admin)
+     */
+    public static AlmacenMemoria conDatosIniciales() {
+        AlmacenMemoria almacen = new AlmacenMemoria();
+        almacen.aviones.put("AV001", new Avion("AV001", "Boeing 737", "Boeing", 180, 20000));
+        almacen.aviones.put("AV002", new Avion("AV002", "Airbus A320", "Airbus", 150, 18000));
+        almacen.aviones.put("AV003", new Avion("AV003", "Boeing 787", "Boeing", 250, 35000));
+
+        Empleado admin = new Empleado("12345678", "Admin", "Sistema", "admin@sistema.com", "999999999",
+                "EMP001", "Administrador", LocalDate.now(), 5000.00);
+        almacen.empleados.put(admin.getDni(), admin);
+        almacen.emails.add(normalizar(admin.getEmail()));
+        almacen.empleadosPorNumero.put(admin.getNumeroEmpleado(), admin.getDni());
+        almacen.empleadosPorCargo.agregar(normalizar(admin.getCargo()), admin.getDni());
+        almacen.usuarios.put("admin", new Usuario("admin", "admin123", Rol.ADMINISTRADOR, admin));
+        return almacen;
+    }
+
+    /**
+     * Clave de búsqueda sin distinguir mayúsculas, como la intercalación por defecto de SQL Server
+     */
+    static String normalizar(String valor) {
+        return valor != null ? valor.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    static String claveAsiento(String numeroVuelo, int numeroAsiento) {
+        return numeroVuelo + "#" + numeroAsiento;
+    }
+
+    /**
+     * Orden de los listados de personas; el DNI desempata para que la clave de página sea única
+     */
+    static final Comparator<Persona> ORDEN_PERSONAS = Comparator.comparing(Persona::getApellido)
+            .thenComparing(Persona::getNombre)
+            .thenComparing(Persona::getDni);
+
+    /**
+     * Compara una persona con la clave (apellido, nombre, dni) de un token de página
+     */
+    static int compararClave(Persona persona, String[] clave) {
+        int comparacion = persona.getApellido().compareTo(clave[0]);
+        if (comparacion == 0) {
+            comparacion = persona.getNombre().compareTo(clave[1]);
+        }
+        return comparacion != 0 ? comparacion : persona.getDni().compareTo(clave[2]);
+    }
+
+    /**
+     * Carga masiva en memoria: cada elemento se guarda por separado y un rechazo no
+     * detiene a los demás, igual que en los procedimientos de lote
+     */
+    static <T> List<ResultadoFila> guardarUnoPorUno(Collection<T> elementos, Function<T, String> clave,
+                                                    Consumer<T> guardar) {
+        List<ResultadoFila> resultados = new ArrayList<>(elementos.size());
+        int indice = 0;
+        for (T elemento : elementos) {
+            try {
+                guardar.accept(elemento);
+                resultados.add(new ResultadoFila(indice, clave.apply(elemento), true, "Creado exitosamente"));
+            } catch (RuntimeException e) {
+                resultados.add(new ResultadoFila(indice, clave.apply(elemento), false, e.getMessage()));
+            }
+            indice++;
+        }
+        return resultados;
+    }
+
+    boolean existePersona(String dni) {
+        return pasajeros.containsKey(dni) || empleados.containsKey(dni);
+    }
+
+    // Copias: lo guardado nunca se comparte con quien llama
+
+    static Avion copiar(Avion avion) {
+        if (avion == null) {
+            return null;
+        }
+        Avion copia = new Avion(avion.getNumeroSerie(), avion.getModelo(), avion.getFabricante(),
+                avion.getCapacidadPasajeros(), avion.getCapacidadCarga());
+        copia.setEstado(avion.getEstado());
+        return copia;
+    }
+
+    static Pasajero copiar(Pasajero pasajero) {
+        if (pasajero == null) {
+            return null;
+        }
+        return new Pasajero(pasajero.getDni(), pasajero.getNombre(), pasajero.getApellido(), pasajero.getEmail(),
+                pasajero.getTelefono(), pasajero.getFechaNacimiento(), pasajero.getNacionalidad(),
+                pasajero.getNumeroPasaporte());
+    }
+
+    static Empleado copiar(Empleado empleado) {
+        if (empleado == null) {
+            return null;
+        }
+        return new Empleado(empleado.getDni(), empleado.getNombre(), empleado.getApellido(), empleado.getEmail(),
+                empleado.getTelefono(), empleado.getNumeroEmpleado(), empleado.getCargo(),
+                empleado.getFechaContratacion(), empleado.getSalario());
+    }
+
+    /**
+     * Vuelo con su avión actual (equivale al JOIN de sp_listar_vuelos)
+     */
+    Vuelo leerVuelo(Vuelo guardado) {
+        if (guardado == null) {
+            return null;
+        }
+        Vuelo vuelo = new Vuelo();
+        vuelo.setNumeroVuelo(guardado.getNumeroVuelo());
+        vuelo.setOrigen(guardado.getOrigen());
+        vuelo.setDestino(guardado.getDestino());
+        vuelo.setFechaHoraSalida(guardado.getFechaHoraSalida());
+        vuelo.setFechaHoraLlegada(guardado.getFechaHoraLlegada());
+        vuelo.setAvion(copiar(aviones.get(guardado.getAvion().getNumeroSerie())));
+        vuelo.setPrecio(guardado.getPrecio());
+        vuelo.setAsientosDisponibles(guardado.getAsientosDisponibles());
+        vuelo.setEstado(guardado.getEstado());
+        return vuelo;
+    }
+
+    /**
+     * Reserva con su pasajero y vuelo actuales
+     */
+    Reserva leerReserva(Reserva guardada) {
+        if (guardada == null) {
+            return null;
+        }
+        Reserva reserva = new Reserva(guardada.getNumeroReserva(),
+                copiar(pasajeros.get(guardada.getPasajero().getDni())),
+                leerVuelo(vuelos.get(guardada.getVuelo().getNumeroVuelo())),
+                guardada.getNumeroAsiento());
+        reserva.setFechaReserva(guardada.getFechaReserva());
+        reserva.setEstado(guardada.getEstado());
+        return reserva;
+    }
+
+    /**
+     * Usuario con su empleado actual
+     */
+    Usuario leerUsuario(Usuario guardado) {
+        if (guardado == null) {
+            return null;
+        }
+        return new Usuario(guardado.getNombreUsuario(), guardado.getContrasena(), guardado.getRol(),
+                copiar(empleados.get(guardado.getEmpleado().getDni())));
+    }
+}
@@ -0,0 +1,111 @@
+package repository.memoria;
+
+import model.Avion;
+import model.EstadoAvion;
+import repository.IAvionRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.ResultadoFila;
+import repository.TokenPagina;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación en memoria del repositorio de Aviones
+ * Aplica las mismas reglas que sp_crear_avion y sp_eliminar_avion
+ */
+public class AvionRepositoryMemoria implements IAvionRepository {
+    private final AlmacenMemoria almacen;
+
+    public AvionRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Avion avion) {
+        almacen.escritura.lock();
+        try {
+            if (almacen.aviones.containsKey(avion.getNumeroSerie())) {
+                throw new ClaveDuplicadaException("Ya existe un avión con ese número de serie");
+            }
+            if (avion.getCapacidadPasajeros() <= 0) {
+                throw new RuntimeException("Error al guardar avión: La capacidad de pasajeros debe ser mayor a 0");
+            }
+            if (avion.getCapacidadCarga() < 0) {
+                throw new RuntimeException("Error al guardar avión: La capacidad de carga no puede ser negativa");
+            }
+            Avion copia = AlmacenMemoria.copiar(avion);
+            if (copia.getEstado() == null) {
+                copia.setEstado(EstadoAvion.DISPONIBLE);
+            }
+            almacen.aviones.put(copia.getNumeroSerie(), copia);
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Avion> aviones) {
+        return AlmacenMemoria.guardarUnoPorUno(aviones, Avion::getNumeroSerie, this::guardar);
+    }
+
+    @Override
+    public Optional<Avion> buscarPorNumeroSerie(String numeroSerie) {
+        return Optional.ofNullable(AlmacenMemoria.copiar(almacen.aviones.get(numeroSerie)));
+    }
+
+    @Override
+    public List<Avion> listarTodos() {
+        return almacen.aviones.values().stream()
+                .sorted(Comparator.comparing(Avion::getNumeroSerie))
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Pagina<Avion> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 1) : null;
+        List<Avion> filas = almacen.aviones.values().stream()
+                .filter(a -> clave == null || a.getNumeroSerie().compareTo(clave[0]) > 0)
+                .sorted(Comparator.comparing(Avion::getNumeroSerie))
+                .limit(tamano + 1L)
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano, a -> TokenPagina.codificar(a.getNumeroSerie()));
+    }
+
+    @Override
+    public List<Avion> buscarPorEstado(String estado) {
+        return almacen.aviones.values().stream()
+                .filter(a -> a.getEstado().name().equalsIgnoreCase(estado))
+                .sorted(Comparator.comparing(Avion::getNumeroSerie))
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean eliminar(String numeroSerie) {
+        almacen.escritura.lock();
+        try {
+            if (!almacen.aviones.containsKey(numeroSerie)) {
+                throw new RuntimeException("Error al eliminar avión: El avión no existe");
+            }
+            if (!almacen.vuelosPorAvion.obtener(numeroSerie).isEmpty()) {
+                throw new RuntimeException("Error al eliminar avión: No se puede eliminar un avión que tiene vuelos asociados");
+            }
+            almacen.aviones.remove(numeroSerie);
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String numeroSerie) {
+        return almacen.aviones.containsKey(numeroSerie);
+    }
+}
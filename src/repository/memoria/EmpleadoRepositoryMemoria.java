@@ -0,0 +1,113 @@
+package repository.memoria;
+
+import model.Empleado;
+import repository.IEmpleadoRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.TokenPagina;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación en memoria del repositorio de Empleados
+ * Aplica las mismas reglas que sp_crear_empleado y sp_actualizar_estado_empleado
+ * (eliminar desactiva al empleado, no lo borra)
+ */
+public class EmpleadoRepositoryMemoria implements IEmpleadoRepository {
+    private final AlmacenMemoria almacen;
+
+    public EmpleadoRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Empleado empleado) {
+        almacen.escritura.lock();
+        try {
+            if (almacen.existePersona(empleado.getDni())) {
+                throw new ClaveDuplicadaException("Ya existe una persona con ese DNI");
+            }
+            String email = AlmacenMemoria.normalizar(empleado.getEmail());
+            if (email != null && almacen.emails.contains(email)) {
+                throw new ClaveDuplicadaException("El email ya está en uso");
+            }
+            if (almacen.empleadosPorNumero.containsKey(empleado.getNumeroEmpleado())) {
+                throw new ClaveDuplicadaException("El número de empleado ya está en uso");
+            }
+
+            almacen.empleados.put(empleado.getDni(), AlmacenMemoria.copiar(empleado));
+            if (email != null) {
+                almacen.emails.add(email);
+            }
+            almacen.empleadosPorNumero.put(empleado.getNumeroEmpleado(), empleado.getDni());
+            almacen.empleadosPorCargo.agregar(AlmacenMemoria.normalizar(empleado.getCargo()), empleado.getDni());
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Empleado> buscarPorDni(String dni) {
+        return Optional.ofNullable(AlmacenMemoria.copiar(almacen.empleados.get(dni)));
+    }
+
+    @Override
+    public Optional<Empleado> buscarPorNumeroEmpleado(String numeroEmpleado) {
+        String dni = almacen.empleadosPorNumero.get(numeroEmpleado);
+        return dni != null ? buscarPorDni(dni) : Optional.empty();
+    }
+
+    @Override
+    public List<Empleado> listarTodos() {
+        return ordenar(almacen.empleados.values().stream());
+    }
+
+    @Override
+    public Pagina<Empleado> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 3) : null;
+        List<Empleado> filas = almacen.empleados.values().stream()
+                .filter(e -> clave == null || AlmacenMemoria.compararClave(e, clave) > 0)
+                .sorted(AlmacenMemoria.ORDEN_PERSONAS)
+                .limit(tamano + 1L)
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano,
+                e -> TokenPagina.codificar(e.getApellido(), e.getNombre(), e.getDni()));
+    }
+
+    @Override
+    public List<Empleado> buscarPorCargo(String cargo) {
+        return ordenar(almacen.empleadosPorCargo.obtener(AlmacenMemoria.normalizar(cargo)).stream()
+                .map(almacen.empleados::get));
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        almacen.escritura.lock();
+        try {
+            if (!almacen.empleados.containsKey(dni)) {
+                throw new RuntimeException("Error al eliminar empleado: El empleado no existe");
+            }
+            almacen.empleadosInactivos.add(dni);
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String dni) {
+        return almacen.empleados.containsKey(dni);
+    }
+
+    private List<Empleado> ordenar(Stream<Empleado> empleados) {
+        return empleados
+                .sorted(Comparator.comparing(Empleado::getApellido).thenComparing(Empleado::getNombre))
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+    }
+}
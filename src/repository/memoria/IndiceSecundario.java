@@ -0,0 +1,67 @@
+package repository.memoria;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice secundario en memoria: asocia un valor de búsqueda con las claves primarias que lo tienen
+ * Admite lecturas concurrentes; las escrituras se hacen bajo el bloqueo del almacén
+ */
+class IndiceSecundario<K> {
+    private final Map<K, Set<String>> entradas;
+
+    IndiceSecundario() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    private IndiceSecundario(Map<K, Set<String>> entradas) {
+        this.entradas = entradas;
+    }
+
+    /**
+     * Índice ordenado por valor, que además admite búsquedas por rango
+     */
+    static <K extends Comparable<? super K>> IndiceSecundario<K> ordenado() {
+        return new IndiceSecundario<>(new ConcurrentSkipListMap<>());
+    }
+
+    void agregar(K valor, String clave) {
+        if (valor != null) {
+            entradas.computeIfAbsent(valor, v -> ConcurrentHashMap.newKeySet()).add(clave);
+        }
+    }
+
+    void quitar(K valor, String clave) {
+        if (valor != null) {
+            entradas.computeIfPresent(valor, (v, claves) -> {
+                claves.remove(clave);
+                return claves.isEmpty() ? null : claves;
+            });
+        }
+    }
+
+    Set<String> obtener(K valor) {
+        if (valor == null) {
+            return Collections.emptySet();
+        }
+        Set<String> claves = entradas.get(valor);
+        return claves != null ? claves : Collections.emptySet();
+    }
+
+    /**
+     * Claves de los valores entre desde y hasta, ambos incluidos; solo en índices ordenados
+     */
+    Set<String> obtenerRango(K desde, K hasta) {
+        if (!(entradas instanceof NavigableMap)) {
+            throw new UnsupportedOperationException("El índice no está ordenado");
+        }
+        Set<String> claves = new HashSet<>();
+        ((NavigableMap<K, Set<String>>) entradas).subMap(desde, true, hasta, true).values().forEach(claves::addAll);
+        return claves;
+    }
+}
@@ -0,0 +1,122 @@
+package repository.memoria;
+
+import model.Pasajero;
+import model.EstadoReserva;
+import repository.IPasajeroRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.ResultadoFila;
+import repository.TokenPagina;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación en memoria del repositorio de Pasajeros
+ * Aplica las mismas reglas que sp_crear_pasajero y sp_eliminar_pasajero
+ */
+public class PasajeroRepositoryMemoria implements IPasajeroRepository {
+    private final AlmacenMemoria almacen;
+
+    public PasajeroRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Pasajero pasajero) {
+        almacen.escritura.lock();
+        try {
+            if (almacen.existePersona(pasajero.getDni())) {
+                throw new ClaveDuplicadaException("Ya existe una persona con ese DNI");
+            }
+            String email = AlmacenMemoria.normalizar(pasajero.getEmail());
+            if (email != null && almacen.emails.contains(email)) {
+                throw new ClaveDuplicadaException("El email ya está en uso");
+            }
+            String pasaporte = pasajero.getNumeroPasaporte();
+            boolean tienePasaporte = pasaporte != null && !pasaporte.isEmpty();
+            if (tienePasaporte && almacen.pasaportes.contains(pasaporte)) {
+                throw new ClaveDuplicadaException("El número de pasaporte ya está en uso");
+            }
+
+            almacen.pasajeros.put(pasajero.getDni(), AlmacenMemoria.copiar(pasajero));
+            if (email != null) {
+                almacen.emails.add(email);
+            }
+            if (tienePasaporte) {
+                almacen.pasaportes.add(pasaporte);
+            }
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Pasajero> pasajeros) {
+        return AlmacenMemoria.guardarUnoPorUno(pasajeros, Pasajero::getDni, this::guardar);
+    }
+
+    @Override
+    public Optional<Pasajero> buscarPorDni(String dni) {
+        return Optional.ofNullable(AlmacenMemoria.copiar(almacen.pasajeros.get(dni)));
+    }
+
+    @Override
+    public List<Pasajero> listarTodos() {
+        return almacen.pasajeros.values().stream()
+                .sorted(Comparator.comparing(Pasajero::getApellido).thenComparing(Pasajero::getNombre))
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Pagina<Pasajero> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 3) : null;
+        List<Pasajero> filas = almacen.pasajeros.values().stream()
+                .filter(p -> clave == null || AlmacenMemoria.compararClave(p, clave) > 0)
+                .sorted(AlmacenMemoria.ORDEN_PERSONAS)
+                .limit(tamano + 1L)
+                .map(AlmacenMemoria::copiar)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano,
+                p -> TokenPagina.codificar(p.getApellido(), p.getNombre(), p.getDni()));
+    }
+
+    @Override
+    public boolean eliminar(String dni) {
+        almacen.escritura.lock();
+        try {
+            Pasajero pasajero = almacen.pasajeros.get(dni);
+            if (pasajero == null) {
+                throw new RuntimeException("Error al eliminar pasajero: El pasajero no existe");
+            }
+            boolean tieneActivas = almacen.reservasPorPasajero.obtener(dni).stream()
+                    .map(almacen.reservas::get)
+                    .anyMatch(r -> r.getEstado() != EstadoReserva.CANCELADA);
+            if (tieneActivas) {
+                throw new RuntimeException("Error al eliminar pasajero: No se puede eliminar un pasajero con reservas activas");
+            }
+            if (!almacen.reservasPorPasajero.obtener(dni).isEmpty()) {
+                // Las reservas canceladas siguen referenciando al pasajero (FK sin cascada)
+                throw new RuntimeException("Error al eliminar pasajero: El pasajero tiene reservas asociadas");
+            }
+
+            almacen.pasajeros.remove(dni);
+            almacen.emails.remove(AlmacenMemoria.normalizar(pasajero.getEmail()));
+            if (pasajero.getNumeroPasaporte() != null) {
+                almacen.pasaportes.remove(pasajero.getNumeroPasaporte());
+            }
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String dni) {
+        return almacen.pasajeros.containsKey(dni);
+    }
+}
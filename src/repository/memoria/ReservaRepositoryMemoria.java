@@ -0,0 +1,334 @@
+package repository.memoria;
+
+import model.EstadoReserva;
+import model.Avion;
+import model.EstadoVuelo;
+import model.Pasajero;
+import model.PoliticaAsientos;
+import model.Reserva;
+import model.ReservaResumen;
+import model.TipoAsignacionAsiento;
+import model.Vuelo;
+import repository.IReservaRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.ResultadoGrupo;
+import repository.TokenPagina;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación en memoria del repositorio de Reservas
+ * Aplica las mismas reglas que sp_crear_reserva y sp_cancelar_reserva: el vuelo debe estar
+ * programado o en abordaje y tener asientos, el asiento es único por vuelo (UK_VueloAsiento)
+ * y crear/cancelar descuenta/devuelve un asiento de forma atómica con la reserva
+ */
+public class ReservaRepositoryMemoria implements IReservaRepository {
+    private final AlmacenMemoria almacen;
+
+    public ReservaRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Reserva reserva) {
+        almacen.escritura.lock();
+        try {
+            String numeroVuelo = reserva.getVuelo().getNumeroVuelo();
+            Vuelo vuelo = almacen.vuelos.get(numeroVuelo);
+            if (vuelo == null) {
+                throw new RuntimeException("Error al crear reserva: El vuelo no existe");
+            }
+            if (vuelo.getEstado() != EstadoVuelo.PROGRAMADO && vuelo.getEstado() != EstadoVuelo.EN_ABORDAR) {
+                throw new RuntimeException("Error al crear reserva: El vuelo no está disponible. Estado: "
+                        + vuelo.getEstado().name());
+            }
+            if (vuelo.getAsientosDisponibles() <= 0) {
+                throw new RuntimeException("Error al crear reserva: No hay asientos disponibles");
+            }
+            String claveAsiento = AlmacenMemoria.claveAsiento(numeroVuelo, reserva.getNumeroAsiento());
+            if (almacen.asientosOcupados.contains(claveAsiento)) {
+                throw new ClaveDuplicadaException("El asiento ya está ocupado");
+            }
+            if (reserva.getNumeroAsiento() <= 0) {
+                throw new RuntimeException("Error al crear reserva: El número de asiento debe ser mayor a 0");
+            }
+            if (almacen.reservas.containsKey(reserva.getNumeroReserva())) {
+                throw new ClaveDuplicadaException("Ya existe una reserva con ese número");
+            }
+            Pasajero pasajero = almacen.pasajeros.get(reserva.getPasajero().getDni());
+            if (pasajero == null) {
+                throw new RuntimeException("Error al crear reserva: El pasajero no existe");
+            }
+
+            Reserva guardada = new Reserva(reserva.getNumeroReserva(), pasajero, vuelo, reserva.getNumeroAsiento());
+            guardada.setFechaReserva(LocalDateTime.now());
+            guardada.setEstado(EstadoReserva.CONFIRMADA);
+            almacen.reservas.put(guardada.getNumeroReserva(), guardada);
+            almacen.asientosOcupados.add(claveAsiento);
+            indexar(guardada);
+
+            actualizarAsientos(vuelo, -1);
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public ResultadoGrupo guardarGrupo(List<Reserva> reservas, PoliticaAsientos politica) {
+        almacen.escritura.lock();
+        try {
+            String numeroVuelo = reservas.get(0).getVuelo().getNumeroVuelo();
+            Vuelo vuelo = almacen.vuelos.get(numeroVuelo);
+            if (vuelo == null) {
+                return rechazo("El vuelo no existe");
+            }
+            if (vuelo.getEstado() != EstadoVuelo.PROGRAMADO && vuelo.getEstado() != EstadoVuelo.EN_ABORDAR) {
+                return rechazo("El vuelo no está disponible. Estado: " + vuelo.getEstado().name());
+            }
+            if (vuelo.getAsientosDisponibles() < reservas.size()) {
+                return rechazo("No hay asientos suficientes para el grupo. Disponibles: "
+                        + vuelo.getAsientosDisponibles());
+            }
+            List<Pasajero> pasajeros = new ArrayList<>();
+            for (Reserva reserva : reservas) {
+                Pasajero pasajero = almacen.pasajeros.get(reserva.getPasajero().getDni());
+                if (pasajero == null) {
+                    return rechazo("Pasajeros no registrados: " + reserva.getPasajero().getDni());
+                }
+                if (almacen.reservas.containsKey(reserva.getNumeroReserva())) {
+                    return rechazo("Ya existen reservas con los números: " + reserva.getNumeroReserva());
+                }
+                pasajeros.add(pasajero);
+            }
+
+            Avion avion = almacen.aviones.get(vuelo.getAvion().getNumeroSerie());
+            int capacidad = (avion != null ? avion : vuelo.getAvion()).getCapacidadPasajeros();
+            List<Integer> asientos = new ArrayList<>();
+            if (politica.getTipo() == TipoAsignacionAsiento.ELEGIDOS) {
+                TreeSet<Integer> conflictos = new TreeSet<>();
+                for (Reserva reserva : reservas) {
+                    int asiento = reserva.getNumeroAsiento();
+                    if (asiento <= 0 || asiento > capacidad) {
+                        return rechazo("Los asientos deben estar entre 1 y " + capacidad);
+                    }
+                    if (almacen.asientosOcupados.contains(AlmacenMemoria.claveAsiento(numeroVuelo, asiento))
+                            || asientos.contains(asiento)) {
+                        conflictos.add(asiento);
+                    }
+                    asientos.add(asiento);
+                }
+                if (!conflictos.isEmpty()) {
+                    return new ResultadoGrupo(false, "Hay asientos ocupados", new ArrayList<>(conflictos));
+                }
+            } else {
+                asientos = asignarAsientos(numeroVuelo, capacidad, reservas.size(),
+                        politica.getTipo() == TipoAsignacionAsiento.CONTIGUOS);
+                if (asientos == null) {
+                    return rechazo(politica.getTipo() == TipoAsignacionAsiento.CONTIGUOS
+                            ? "No hay " + reservas.size() + " asientos contiguos libres"
+                            : "No hay " + reservas.size() + " asientos libres");
+                }
+            }
+
+            LocalDateTime ahora = LocalDateTime.now();
+            for (int i = 0; i < reservas.size(); i++) {
+                Reserva reserva = reservas.get(i);
+                reserva.setNumeroAsiento(asientos.get(i));
+                Reserva guardada = new Reserva(reserva.getNumeroReserva(), pasajeros.get(i), vuelo, asientos.get(i));
+                guardada.setFechaReserva(ahora);
+                guardada.setEstado(EstadoReserva.CONFIRMADA);
+                almacen.reservas.put(guardada.getNumeroReserva(), guardada);
+                almacen.asientosOcupados.add(AlmacenMemoria.claveAsiento(numeroVuelo, asientos.get(i)));
+                indexar(guardada);
+            }
+            actualizarAsientos(vuelo, -reservas.size());
+            return new ResultadoGrupo(true, "Reserva de grupo creada exitosamente", List.of());
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reserva> buscarPorNumeroReserva(String numeroReserva) {
+        return Optional.ofNullable(almacen.leerReserva(almacen.reservas.get(numeroReserva)));
+    }
+
+    @Override
+    public List<Reserva> listarTodos() {
+        return leer(almacen.reservas.values(), Comparator.comparing(Reserva::getFechaReserva).reversed());
+    }
+
+    @Override
+    public Pagina<Reserva> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        LocalDateTime fecha = clave != null ? TokenPagina.aFecha(clave[0]) : null;
+        List<Reserva> filas = almacen.reservas.values().stream()
+                .filter(r -> fecha == null || r.getFechaReserva().isBefore(fecha)
+                        || (r.getFechaReserva().isEqual(fecha) && r.getNumeroReserva().compareTo(clave[1]) < 0))
+                .sorted(Comparator.comparing(Reserva::getFechaReserva)
+                        .thenComparing(Reserva::getNumeroReserva).reversed())
+                .limit(tamano + 1L)
+                .map(almacen::leerReserva)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano,
+                r -> TokenPagina.codificar(r.getFechaReserva().toString(), r.getNumeroReserva()));
+    }
+
+    @Override
+    public Stream<Reserva> recorrerTodos() {
+        return almacen.reservas.values().stream()
+                .sorted(Comparator.comparing(Reserva::getFechaReserva).reversed())
+                .map(almacen::leerReserva);
+    }
+
+    @Override
+    public List<Reserva> buscarPorPasajero(String dniPasajero) {
+        return leerClaves(almacen.reservasPorPasajero.obtener(dniPasajero),
+                Comparator.comparing(Reserva::getFechaReserva).reversed());
+    }
+
+    @Override
+    public List<Reserva> buscarPorVuelo(String numeroVuelo) {
+        return leerClaves(almacen.reservasPorVuelo.obtener(numeroVuelo),
+                Comparator.comparingInt(Reserva::getNumeroAsiento));
+    }
+
+    @Override
+    public List<Reserva> buscarPorFecha(LocalDate fecha) {
+        return leerClaves(almacen.reservasPorFecha.obtener(fecha),
+                Comparator.comparing(Reserva::getFechaReserva).reversed());
+    }
+
+    @Override
+    public Pagina<ReservaResumen> listarResumenPagina(int tamano, String token) {
+        return listarPagina(tamano, token).mapear(ReservaResumen::de);
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorPasajero(String dniPasajero) {
+        return resumir(buscarPorPasajero(dniPasajero));
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorVuelo(String numeroVuelo) {
+        return resumir(buscarPorVuelo(numeroVuelo));
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorFecha(LocalDate fecha) {
+        return resumir(buscarPorFecha(fecha));
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            return new ArrayList<>();
+        }
+        return resumir(leerClaves(almacen.reservasPorFecha.obtenerRango(desde, hasta),
+                Comparator.comparing(Reserva::getFechaReserva).thenComparing(Reserva::getNumeroReserva)));
+    }
+
+    @Override
+    public boolean eliminar(String numeroReserva) {
+        almacen.escritura.lock();
+        try {
+            Reserva reserva = almacen.reservas.get(numeroReserva);
+            if (reserva == null) {
+                throw new RuntimeException("Error al cancelar reserva: La reserva no existe");
+            }
+            if (reserva.getEstado() == EstadoReserva.CANCELADA) {
+                throw new RuntimeException("Error al cancelar reserva: La reserva ya está cancelada");
+            }
+            if (reserva.getEstado() == EstadoReserva.COMPLETADA) {
+                throw new RuntimeException("Error al cancelar reserva: No se puede cancelar una reserva completada");
+            }
+
+            Reserva cancelada = new Reserva(reserva.getNumeroReserva(), reserva.getPasajero(), reserva.getVuelo(),
+                    reserva.getNumeroAsiento());
+            cancelada.setFechaReserva(reserva.getFechaReserva());
+            cancelada.setEstado(EstadoReserva.CANCELADA);
+            almacen.reservas.put(numeroReserva, cancelada);
+
+            // Liberar el asiento (el número de asiento sigue ocupado por UK_VueloAsiento)
+            actualizarAsientos(almacen.vuelos.get(reserva.getVuelo().getNumeroVuelo()), +1);
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String numeroReserva) {
+        return almacen.reservas.containsKey(numeroReserva);
+    }
+
+    /**
+     * Elige los asientos libres (1..capacidad) de número más bajo, o el primer bloque
+     * consecutivo que alcance; null si no hay suficientes
+     */
+    private List<Integer> asignarAsientos(String numeroVuelo, int capacidad, int cantidad, boolean contiguos) {
+        List<Integer> elegidos = new ArrayList<>();
+        for (int asiento = 1; asiento <= capacidad && elegidos.size() < cantidad; asiento++) {
+            if (almacen.asientosOcupados.contains(AlmacenMemoria.claveAsiento(numeroVuelo, asiento))) {
+                if (contiguos) {
+                    elegidos.clear();
+                }
+            } else {
+                elegidos.add(asiento);
+            }
+        }
+        return elegidos.size() == cantidad ? elegidos : null;
+    }
+
+    private static ResultadoGrupo rechazo(String mensaje) {
+        return new ResultadoGrupo(false, mensaje, List.of());
+    }
+
+    /**
+     * Sustituye el vuelo guardado por una copia con los asientos actualizados,
+     * así las lecturas concurrentes nunca ven un vuelo a medio modificar
+     */
+    private void actualizarAsientos(Vuelo vuelo, int diferencia) {
+        if (vuelo == null) {
+            return;
+        }
+        Vuelo actualizado = almacen.leerVuelo(vuelo);
+        actualizado.setAsientosDisponibles(vuelo.getAsientosDisponibles() + diferencia);
+        almacen.vuelos.put(actualizado.getNumeroVuelo(), actualizado);
+    }
+
+    private void indexar(Reserva reserva) {
+        String clave = reserva.getNumeroReserva();
+        almacen.reservasPorPasajero.agregar(reserva.getPasajero().getDni(), clave);
+        almacen.reservasPorVuelo.agregar(reserva.getVuelo().getNumeroVuelo(), clave);
+        almacen.reservasPorFecha.agregar(reserva.getFechaReserva().toLocalDate(), clave);
+    }
+
+    private List<Reserva> leerClaves(Collection<String> claves, Comparator<Reserva> orden) {
+        return leer(claves.stream()
+                .map(almacen.reservas::get)
+                .filter(r -> r != null)
+                .collect(Collectors.toList()), orden);
+    }
+
+    private List<Reserva> leer(Collection<Reserva> reservas, Comparator<Reserva> orden) {
+        return reservas.stream()
+                .sorted(orden)
+                .map(almacen::leerReserva)
+                .collect(Collectors.toList());
+    }
+
+    private static List<ReservaResumen> resumir(List<Reserva> reservas) {
+        return reservas.stream().map(ReservaResumen::de).collect(Collectors.toList());
+    }
+}
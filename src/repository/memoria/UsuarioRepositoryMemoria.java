@@ -0,0 +1,99 @@
+package repository.memoria;
+
+import model.Usuario;
+import repository.IUsuarioRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.TokenPagina;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación en memoria del repositorio de Usuarios
+ * Aplica las mismas reglas que sp_crear_usuario, sp_actualizar_estado_usuario y
+ * sp_autenticar_usuario (solo se autentican usuarios activos)
+ * (eliminar desactiva al usuario, no lo borra)
+ */
+public class UsuarioRepositoryMemoria implements IUsuarioRepository {
+    private final AlmacenMemoria almacen;
+
+    public UsuarioRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Usuario usuario) {
+        almacen.escritura.lock();
+        try {
+            if (almacen.usuarios.containsKey(usuario.getNombreUsuario())) {
+                throw new ClaveDuplicadaException("El nombre de usuario ya existe");
+            }
+            String dniEmpleado = usuario.getEmpleado().getDni();
+            if (!almacen.empleados.containsKey(dniEmpleado) || almacen.empleadosInactivos.contains(dniEmpleado)) {
+                throw new RuntimeException("Error al guardar usuario: El empleado no existe o está inactivo");
+            }
+
+            almacen.usuarios.put(usuario.getNombreUsuario(), new Usuario(usuario.getNombreUsuario(),
+                    usuario.getContrasena(), usuario.getRol(), almacen.empleados.get(dniEmpleado)));
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Usuario> buscarPorNombreUsuario(String nombreUsuario) {
+        return Optional.ofNullable(almacen.leerUsuario(almacen.usuarios.get(nombreUsuario)));
+    }
+
+    @Override
+    public Optional<Usuario> autenticar(String nombreUsuario, String contrasena) {
+        Usuario usuario = almacen.usuarios.get(nombreUsuario);
+        if (usuario == null || almacen.usuariosInactivos.contains(nombreUsuario)
+                || !usuario.getContrasena().equals(contrasena)) {
+            return Optional.empty();
+        }
+        return Optional.of(almacen.leerUsuario(usuario));
+    }
+
+    @Override
+    public List<Usuario> listarTodos() {
+        return almacen.usuarios.values().stream()
+                .sorted(Comparator.comparing(Usuario::getNombreUsuario))
+                .map(almacen::leerUsuario)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Pagina<Usuario> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 1) : null;
+        List<Usuario> filas = almacen.usuarios.values().stream()
+                .filter(u -> clave == null || u.getNombreUsuario().compareTo(clave[0]) > 0)
+                .sorted(Comparator.comparing(Usuario::getNombreUsuario))
+                .limit(tamano + 1L)
+                .map(almacen::leerUsuario)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano, u -> TokenPagina.codificar(u.getNombreUsuario()));
+    }
+
+    @Override
+    public boolean eliminar(String nombreUsuario) {
+        almacen.escritura.lock();
+        try {
+            if (!almacen.usuarios.containsKey(nombreUsuario)) {
+                throw new RuntimeException("Error al eliminar usuario: El usuario no existe");
+            }
+            almacen.usuariosInactivos.add(nombreUsuario);
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String nombreUsuario) {
+        return almacen.usuarios.containsKey(nombreUsuario);
+    }
+}
@@ -0,0 +1,301 @@
+package repository.memoria;
+
+import model.Avion;
+import model.CriteriosBusquedaVuelo;
+import model.EstadoAvion;
+import model.EstadoReserva;
+import model.EstadoVuelo;
+import model.Vuelo;
+import model.VueloResumen;
+import repository.IVueloRepository;
+import repository.ClaveDuplicadaException;
+import repository.Pagina;
+import repository.ResultadoFila;
+import repository.TokenPagina;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación en memoria del repositorio de Vuelos
+ * Aplica las mismas reglas que sp_crear_vuelo y sp_eliminar_vuelo; las búsquedas por origen,
+ * destino y fecha usan los índices secundarios del almacén
+ */
+public class VueloRepositoryMemoria implements IVueloRepository {
+    private final AlmacenMemoria almacen;
+
+    public VueloRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public void guardar(Vuelo vuelo) {
+        almacen.escritura.lock();
+        try {
+            if (almacen.vuelos.containsKey(vuelo.getNumeroVuelo())) {
+                throw new ClaveDuplicadaException("Ya existe un vuelo con ese número");
+            }
+            Avion avion = vuelo.getAvion() != null ? almacen.aviones.get(vuelo.getAvion().getNumeroSerie()) : null;
+            if (avion == null) {
+                throw new RuntimeException("Error al guardar vuelo: El avión no existe");
+            }
+            if (avion.getEstado() != EstadoAvion.DISPONIBLE) {
+                throw new RuntimeException("Error al guardar vuelo: El avión no está disponible. Estado: "
+                        + avion.getEstado().name());
+            }
+            if (!vuelo.getFechaHoraLlegada().isAfter(vuelo.getFechaHoraSalida())) {
+                throw new RuntimeException("Error al guardar vuelo: La fecha de llegada debe ser posterior a la fecha de salida");
+            }
+            if (vuelo.getPrecio() < 0) {
+                throw new RuntimeException("Error al guardar vuelo: El precio no puede ser negativo");
+            }
+
+            Vuelo guardado = new Vuelo(vuelo.getNumeroVuelo(), vuelo.getOrigen(), vuelo.getDestino(),
+                    vuelo.getFechaHoraSalida(), vuelo.getFechaHoraLlegada(), avion, vuelo.getPrecio());
+            guardado.setEstado(vuelo.getEstado() != null ? vuelo.getEstado() : EstadoVuelo.PROGRAMADO);
+            almacen.vuelos.put(guardado.getNumeroVuelo(), guardado);
+            indexar(guardado);
+
+            // Igual que sp_crear_vuelo: un vuelo programado reserva el avión
+            if (guardado.getEstado() == EstadoVuelo.PROGRAMADO) {
+                Avion actualizado = AlmacenMemoria.copiar(avion);
+                actualizado.setEstado(EstadoAvion.EN_MANTENIMIENTO);
+                almacen.aviones.put(actualizado.getNumeroSerie(), actualizado);
+            }
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public List<ResultadoFila> guardarTodos(Collection<Vuelo> vuelos) {
+        return AlmacenMemoria.guardarUnoPorUno(vuelos, Vuelo::getNumeroVuelo, this::guardar);
+    }
+
+    @Override
+    public Optional<Vuelo> buscarPorNumeroVuelo(String numeroVuelo) {
+        return Optional.ofNullable(almacen.leerVuelo(almacen.vuelos.get(numeroVuelo)));
+    }
+
+    @Override
+    public List<Vuelo> listarTodos() {
+        return leer(almacen.vuelos.values());
+    }
+
+    @Override
+    public Pagina<Vuelo> listarPagina(int tamano, String token) {
+        String[] clave = token != null ? TokenPagina.decodificar(token, 2) : null;
+        LocalDateTime salida = clave != null ? TokenPagina.aFecha(clave[0]) : null;
+        List<Vuelo> filas = almacen.vuelos.values().stream()
+                .filter(v -> salida == null || v.getFechaHoraSalida().isAfter(salida)
+                        || (v.getFechaHoraSalida().isEqual(salida) && v.getNumeroVuelo().compareTo(clave[1]) > 0))
+                .sorted(Comparator.comparing(Vuelo::getFechaHoraSalida).thenComparing(Vuelo::getNumeroVuelo))
+                .limit(tamano + 1L)
+                .map(almacen::leerVuelo)
+                .collect(Collectors.toList());
+        return Pagina.desdeFilas(filas, tamano,
+                v -> TokenPagina.codificar(v.getFechaHoraSalida().toString(), v.getNumeroVuelo()));
+    }
+
+    @Override
+    public Stream<Vuelo> recorrerTodos() {
+        return almacen.vuelos.values().stream()
+                .sorted(Comparator.comparing(Vuelo::getFechaHoraSalida))
+                .map(almacen::leerVuelo);
+    }
+
+    @Override
+    public List<Vuelo> buscarPorOrigen(String origen) {
+        return leerClaves(almacen.vuelosPorOrigen.obtener(AlmacenMemoria.normalizar(origen)));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorDestino(String destino) {
+        return leerClaves(almacen.vuelosPorDestino.obtener(AlmacenMemoria.normalizar(destino)));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorOrigenYDestino(String origen, String destino) {
+        Set<String> porDestino = almacen.vuelosPorDestino.obtener(AlmacenMemoria.normalizar(destino));
+        return leerClaves(almacen.vuelosPorOrigen.obtener(AlmacenMemoria.normalizar(origen)).stream()
+                .filter(porDestino::contains)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Vuelo> buscarPorFecha(LocalDate fecha) {
+        return leerClaves(almacen.vuelosPorFecha.obtener(fecha));
+    }
+
+    @Override
+    public Pagina<VueloResumen> listarResumenPagina(int tamano, String token) {
+        return listarPagina(tamano, token).mapear(VueloResumen::de);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigen(String origen) {
+        return resumir(buscarPorOrigen(origen));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorDestino(String destino) {
+        return resumir(buscarPorDestino(destino));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorOrigenYDestino(String origen, String destino) {
+        return resumir(buscarPorOrigenYDestino(origen, destino));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorFecha(LocalDate fecha) {
+        return resumir(buscarPorFecha(fecha));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenPorRangoFechas(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null) {
+            return Collections.emptyList();
+        }
+        return resumir(leerClaves(almacen.vuelosPorFecha.obtenerRango(desde, hasta)));
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumen(CriteriosBusquedaVuelo criterios) {
+        List<Vuelo> candidatos = criterios.getOrigen() != null
+                ? buscarPorOrigen(criterios.getOrigen())
+                : listarTodos();
+        Comparator<VueloResumen> orden;
+        switch (criterios.getOrden()) {
+            case PRECIO:
+                orden = Comparator.comparingDouble(VueloResumen::getPrecio);
+                break;
+            case ASIENTOS_DISPONIBLES:
+                orden = Comparator.comparingInt(VueloResumen::getAsientosDisponibles).reversed();
+                break;
+            default:
+                orden = (a, b) -> 0;
+        }
+        return candidatos.stream()
+                .map(VueloResumen::de)
+                .filter(criterios::cumple)
+                .sorted(orden.thenComparing(VueloResumen::getFechaHoraSalida).thenComparing(VueloResumen::getNumeroVuelo))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void actualizarEstado(String numeroVuelo, EstadoVuelo nuevoEstado) {
+        almacen.escritura.lock();
+        try {
+            Vuelo vuelo = almacen.vuelos.get(numeroVuelo);
+            if (vuelo == null) {
+                throw new RuntimeException("Error al actualizar estado de vuelo: El vuelo no existe");
+            }
+            if (vuelo.getEstado() == nuevoEstado) {
+                throw new RuntimeException("Error al actualizar estado de vuelo: El vuelo ya está en ese estado");
+            }
+            Vuelo actualizado = almacen.leerVuelo(vuelo);
+            actualizado.setEstado(nuevoEstado);
+            almacen.vuelos.put(numeroVuelo, actualizado);
+
+            // Igual que sp_actualizar_estado_vuelo: el avión acompaña al vuelo
+            EstadoAvion estadoAvion = nuevoEstado == EstadoVuelo.EN_VUELO ? EstadoAvion.EN_VUELO
+                    : nuevoEstado == EstadoVuelo.COMPLETADO || nuevoEstado == EstadoVuelo.CANCELADO ? EstadoAvion.DISPONIBLE
+                    : null;
+            Avion avion = almacen.aviones.get(vuelo.getAvion().getNumeroSerie());
+            if (estadoAvion != null && avion != null) {
+                Avion avionActualizado = AlmacenMemoria.copiar(avion);
+                avionActualizado.setEstado(estadoAvion);
+                almacen.aviones.put(avionActualizado.getNumeroSerie(), avionActualizado);
+            }
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean eliminar(String numeroVuelo) {
+        almacen.escritura.lock();
+        try {
+            Vuelo vuelo = almacen.vuelos.get(numeroVuelo);
+            if (vuelo == null) {
+                throw new RuntimeException("Error al eliminar vuelo: El vuelo no existe");
+            }
+            if (vuelo.getEstado() == EstadoVuelo.EN_VUELO || vuelo.getEstado() == EstadoVuelo.COMPLETADO) {
+                throw new RuntimeException("Error al eliminar vuelo: No se puede eliminar un vuelo en vuelo o completado");
+            }
+            Set<String> reservas = almacen.reservasPorVuelo.obtener(numeroVuelo);
+            boolean tieneActivas = reservas.stream()
+                    .map(almacen.reservas::get)
+                    .anyMatch(r -> r.getEstado() != EstadoReserva.CANCELADA);
+            if (tieneActivas) {
+                throw new RuntimeException("Error al eliminar vuelo: No se puede eliminar un vuelo con reservas activas");
+            }
+            if (!reservas.isEmpty()) {
+                // Las reservas canceladas siguen referenciando al vuelo (FK sin cascada)
+                throw new RuntimeException("Error al eliminar vuelo: El vuelo tiene reservas asociadas");
+            }
+
+            almacen.vuelos.remove(numeroVuelo);
+            desindexar(vuelo);
+
+            // Liberar el avión
+            Avion avion = almacen.aviones.get(vuelo.getAvion().getNumeroSerie());
+            if (avion != null) {
+                Avion actualizado = AlmacenMemoria.copiar(avion);
+                actualizado.setEstado(EstadoAvion.DISPONIBLE);
+                almacen.aviones.put(actualizado.getNumeroSerie(), actualizado);
+            }
+            return true;
+        } finally {
+            almacen.escritura.unlock();
+        }
+    }
+
+    @Override
+    public boolean existe(String numeroVuelo) {
+        return almacen.vuelos.containsKey(numeroVuelo);
+    }
+
+    private void indexar(Vuelo vuelo) {
+        String clave = vuelo.getNumeroVuelo();
+        almacen.vuelosPorOrigen.agregar(AlmacenMemoria.normalizar(vuelo.getOrigen()), clave);
+        almacen.vuelosPorDestino.agregar(AlmacenMemoria.normalizar(vuelo.getDestino()), clave);
+        almacen.vuelosPorFecha.agregar(vuelo.getFechaHoraSalida().toLocalDate(), clave);
+        almacen.vuelosPorAvion.agregar(vuelo.getAvion().getNumeroSerie(), clave);
+    }
+
+    private void desindexar(Vuelo vuelo) {
+        String clave = vuelo.getNumeroVuelo();
+        almacen.vuelosPorOrigen.quitar(AlmacenMemoria.normalizar(vuelo.getOrigen()), clave);
+        almacen.vuelosPorDestino.quitar(AlmacenMemoria.normalizar(vuelo.getDestino()), clave);
+        almacen.vuelosPorFecha.quitar(vuelo.getFechaHoraSalida().toLocalDate(), clave);
+        almacen.vuelosPorAvion.quitar(vuelo.getAvion().getNumeroSerie(), clave);
+    }
+
+    private List<Vuelo> leerClaves(Collection<String> claves) {
+        return leer(claves.stream()
+                .map(almacen.vuelos::get)
+                .filter(v -> v != null)
+                .collect(Collectors.toList()));
+    }
+
+    private List<Vuelo> leer(Collection<Vuelo> vuelos) {
+        return vuelos.stream()
+                .sorted(Comparator.comparing(Vuelo::getFechaHoraSalida))
+                .map(almacen::leerVuelo)
+                .collect(Collectors.toList());
+    }
+
+    private static List<VueloResumen> resumir(List<Vuelo> vuelos) {
+        return vuelos.stream().map(VueloResumen::de).collect(Collectors.toList());
+    }
+}
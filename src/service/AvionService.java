@@ -5,11 +5,12 @@ import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
 import model.Avion;
 import model.EstadoAvion;
+import repository.ClaveDuplicadaException;
 import repository.IAvionRepository;
+import repository.Pagina;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión de Aviones
@@ -32,11 +33,11 @@ public class AvionService implements IAvionService {
             throw new ValidacionException("El número de serie del avión es obligatorio.");
         }
 
-        if (avionRepository.existe(avion.getNumeroSerie())) {
-            throw new OperacionNoPermitidaException("Ya existe un avión con el número de serie " + avion.getNumeroSerie() + ".");
+        try {
+            avionRepository.guardar(avion);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se registró el avión " + avion.getNumeroSerie() + ": " + e.getMessage() + ".");
         }
-
-        avionRepository.guardar(avion);
         return true;
     }
 
@@ -50,11 +51,14 @@ public class AvionService implements IAvionService {
         return avionRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Avion> listarAvionesPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, avionRepository::listarPagina);
+    }
+
     @Override
     public List<Avion> buscarAvionesDisponibles() {
-        return avionRepository.listarTodos().stream()
-                .filter(a -> a.getEstado() == EstadoAvion.DISPONIBLE)
-                .collect(Collectors.toList());
+        return avionRepository.buscarPorEstado(EstadoAvion.DISPONIBLE.name());
     }
 
     @Override
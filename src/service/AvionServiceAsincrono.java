@@ -0,0 +1,52 @@
+package service;
+
+import model.Avion;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IAvionService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class AvionServiceAsincrono implements IAvionServiceAsincrono {
+    private final IAvionService avionService;
+    private final EjecutorAsincrono ejecutor;
+
+    public AvionServiceAsincrono(IAvionService avionService, EjecutorAsincrono ejecutor) {
+        this.avionService = avionService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> registrarAvion(Avion avion) {
+        return ejecutor.ejecutar(() -> avionService.registrarAvion(avion));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Avion>> buscarAvionPorNumeroSerie(String numeroSerie) {
+        return ejecutor.ejecutar(() -> avionService.buscarAvionPorNumeroSerie(numeroSerie));
+    }
+
+    @Override
+    public CompletableFuture<List<Avion>> listarTodosLosAviones() {
+        return ejecutor.ejecutar(() -> avionService.listarTodosLosAviones());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Avion>> listarAvionesPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> avionService.listarAvionesPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<Avion>> buscarAvionesDisponibles() {
+        return ejecutor.ejecutar(() -> avionService.buscarAvionesDisponibles());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> eliminarAvion(String numeroSerie) {
+        return ejecutor.ejecutar(() -> avionService.eliminarAvion(numeroSerie));
+    }
+}
@@ -0,0 +1,69 @@
+package service;
+
+import model.Usuario;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Usuarios autenticados, por nombre de usuario, hasta que vence su sesión
+ * El usuario se guarda tal como lo devolvió la autenticación, con su rol y su empleado, así
+ * que las verificaciones de rol durante el turno no vuelven a la base. La sesión no se
+ * renueva con el uso: al vencer hay que iniciar sesión de nuevo
+ */
+public class CacheSesiones {
+    private final Map<String, Sesion> sesiones = new ConcurrentHashMap<>();
+    private final long duracionNanos;
+
+    public CacheSesiones(Duration duracion) {
+        this.duracionNanos = duracion.toNanos();
+    }
+
+    public void registrar(Usuario usuario) {
+        sesiones.put(usuario.getNombreUsuario(), new Sesion(usuario, System.nanoTime() + duracionNanos));
+    }
+
+    /**
+     * @return Usuario de la sesión, o vacío si no inició sesión o la sesión venció
+     */
+    public Optional<Usuario> obtener(String nombreUsuario) {
+        if (nombreUsuario == null) {
+            return Optional.empty();
+        }
+        Sesion sesion = sesiones.get(nombreUsuario);
+        if (sesion == null) {
+            return Optional.empty();
+        }
+        if (System.nanoTime() - sesion.venceEn >= 0) {
+            sesiones.remove(nombreUsuario, sesion);
+            return Optional.empty();
+        }
+        return Optional.of(sesion.usuario);
+    }
+
+    /**
+     * @return true si había una sesión abierta
+     */
+    public boolean cerrar(String nombreUsuario) {
+        return nombreUsuario != null && sesiones.remove(nombreUsuario) != null;
+    }
+
+    /**
+     * Sesiones abiertas, incluidas las vencidas que todavía no se consultaron
+     */
+    public int getCantidad() {
+        return sesiones.size();
+    }
+
+    private static final class Sesion {
+        private final Usuario usuario;
+        private final long venceEn;
+
+        private Sesion(Usuario usuario, long venceEn) {
+            this.usuario = usuario;
+            this.venceEn = venceEn;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package service;
+
+import database.ConexionBD;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutor de las fachadas asíncronas de servicios: un hilo virtual por tarea, con la
+ * concurrencia limitada a la cantidad de conexiones del pool para que las tareas esperen
+ * un permiso aquí y no un préstamo de conexión (que tiene tiempo de espera)
+ *
+ * Las tareas corren en otro hilo: no se unen a una transacción abierta con
+ * ConexionBD.enTransaccion(). Sí comparten la sesión de lectura del hilo que las pidió:
+ * leen del primario si esa sesión escribió hace poco, y lo que confirmen abre la misma
+ * ventana para ella
+ */
+public class EjecutorAsincrono implements AutoCloseable {
+    private final ExecutorService hilos;
+    private final Semaphore permisos;
+    private final int concurrenciaMaxima;
+
+    /**
+     * @param concurrenciaMaxima Tareas en ejecución simultánea como máximo; en general el
+     *                           tamaño máximo del pool de conexiones
+     */
+    public EjecutorAsincrono(int concurrenciaMaxima) {
+        if (concurrenciaMaxima <= 0) {
+            throw new IllegalArgumentException("Concurrencia inválida: " + concurrenciaMaxima);
+        }
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        this.permisos = new Semaphore(concurrenciaMaxima, true);
+        this.concurrenciaMaxima = concurrenciaMaxima;
+    }
+
+    /**
+     * Ejecuta la tarea en un hilo virtual cuando haya un permiso libre
+     * @return Futuro que se completa con el resultado, o excepcionalmente con la
+     *         excepción que lanzó la tarea
+     */
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        // Se toma en el hilo que pide la tarea, no en el hilo virtual que la ejecuta
+        ConexionBD.SesionLectura sesion = ConexionBD.sesionActual();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permisos.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Tarea interrumpida mientras esperaba un permiso");
+            }
+            try {
+                return ConexionBD.enSesion(sesion, tarea);
+            } finally {
+                permisos.release();
+            }
+        }, hilos);
+    }
+
+    /**
+     * Espera el resultado de un futuro y relanza tal cual la excepción de la tarea, de modo
+     * que quien llama sigue recibiendo las DominioException del servicio
+     */
+    public static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Espera interrumpida");
+        } catch (ExecutionException e) {
+            throw relanzable(e.getCause());
+        }
+    }
+
+    private static RuntimeException relanzable(Throwable causa) {
+        if (causa instanceof RuntimeException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        return new CompletionException(causa);
+    }
+
+    public int getConcurrenciaMaxima() {
+        return concurrenciaMaxima;
+    }
+
+    /**
+     * Tareas en ejecución en este momento
+     */
+    public int getEnEjecucion() {
+        return concurrenciaMaxima - permisos.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        hilos.shutdown();
+    }
+}
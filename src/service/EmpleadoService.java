@@ -4,7 +4,9 @@ import exception.OperacionNoPermitidaException;
 import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
 import model.Empleado;
+import repository.ClaveDuplicadaException;
 import repository.IEmpleadoRepository;
+import repository.Pagina;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,11 +33,11 @@ public class EmpleadoService implements IEmpleadoService {
             throw new ValidacionException("El DNI del empleado es obligatorio.");
         }
 
-        if (empleadoRepository.existe(empleado.getDni())) {
-            throw new OperacionNoPermitidaException("Ya existe un empleado con el DNI " + empleado.getDni() + ".");
+        try {
+            empleadoRepository.guardar(empleado);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se registró el empleado " + empleado.getDni() + ": " + e.getMessage() + ".");
         }
-
-        empleadoRepository.guardar(empleado);
         return true;
     }
 
@@ -54,6 +56,11 @@ public class EmpleadoService implements IEmpleadoService {
         return empleadoRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Empleado> listarEmpleadosPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, empleadoRepository::listarPagina);
+    }
+
     @Override
     public List<Empleado> buscarEmpleadosPorCargo(String cargo) {
         if (cargo == null || cargo.isBlank()) {
@@ -0,0 +1,57 @@
+package service;
+
+import model.Empleado;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IEmpleadoService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class EmpleadoServiceAsincrono implements IEmpleadoServiceAsincrono {
+    private final IEmpleadoService empleadoService;
+    private final EjecutorAsincrono ejecutor;
+
+    public EmpleadoServiceAsincrono(IEmpleadoService empleadoService, EjecutorAsincrono ejecutor) {
+        this.empleadoService = empleadoService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> registrarEmpleado(Empleado empleado) {
+        return ejecutor.ejecutar(() -> empleadoService.registrarEmpleado(empleado));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Empleado>> buscarEmpleadoPorDni(String dni) {
+        return ejecutor.ejecutar(() -> empleadoService.buscarEmpleadoPorDni(dni));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Empleado>> buscarEmpleadoPorNumero(String numeroEmpleado) {
+        return ejecutor.ejecutar(() -> empleadoService.buscarEmpleadoPorNumero(numeroEmpleado));
+    }
+
+    @Override
+    public CompletableFuture<List<Empleado>> listarTodosLosEmpleados() {
+        return ejecutor.ejecutar(() -> empleadoService.listarTodosLosEmpleados());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Empleado>> listarEmpleadosPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> empleadoService.listarEmpleadosPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<Empleado>> buscarEmpleadosPorCargo(String cargo) {
+        return ejecutor.ejecutar(() -> empleadoService.buscarEmpleadosPorCargo(cargo));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> eliminarEmpleado(String dni) {
+        return ejecutor.ejecutar(() -> empleadoService.eliminarEmpleado(dni));
+    }
+}
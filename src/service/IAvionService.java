@@ -1,6 +1,7 @@
 package service;
 
 import model.Avion;
+import repository.Pagina;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,7 @@ public interface IAvionService {
     boolean registrarAvion(Avion avion);
     Optional<Avion> buscarAvionPorNumeroSerie(String numeroSerie);
     List<Avion> listarTodosLosAviones();
+    Pagina<Avion> listarAvionesPorPagina(int tamano, String token);
     List<Avion> buscarAvionesDisponibles();
     boolean eliminarAvion(String numeroSerie);
 }
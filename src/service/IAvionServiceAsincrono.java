@@ -0,0 +1,20 @@
+package service;
+
+import model.Avion;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IAvionService: cada operación devuelve un CompletableFuture
+ */
+public interface IAvionServiceAsincrono {
+    CompletableFuture<Boolean> registrarAvion(Avion avion);
+    CompletableFuture<Optional<Avion>> buscarAvionPorNumeroSerie(String numeroSerie);
+    CompletableFuture<List<Avion>> listarTodosLosAviones();
+    CompletableFuture<Pagina<Avion>> listarAvionesPorPagina(int tamano, String token);
+    CompletableFuture<List<Avion>> buscarAvionesDisponibles();
+    CompletableFuture<Boolean> eliminarAvion(String numeroSerie);
+}
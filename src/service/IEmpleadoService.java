@@ -1,6 +1,7 @@
 package service;
 
 import model.Empleado;
+import repository.Pagina;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,7 @@ public interface IEmpleadoService {
     Optional<Empleado> buscarEmpleadoPorDni(String dni);
     Optional<Empleado> buscarEmpleadoPorNumero(String numeroEmpleado);
     List<Empleado> listarTodosLosEmpleados();
+    Pagina<Empleado> listarEmpleadosPorPagina(int tamano, String token);
     List<Empleado> buscarEmpleadosPorCargo(String cargo);
     boolean eliminarEmpleado(String dni);
 }
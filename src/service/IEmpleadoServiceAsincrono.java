@@ -0,0 +1,21 @@
+package service;
+
+import model.Empleado;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IEmpleadoService: cada operación devuelve un CompletableFuture
+ */
+public interface IEmpleadoServiceAsincrono {
+    CompletableFuture<Boolean> registrarEmpleado(Empleado empleado);
+    CompletableFuture<Optional<Empleado>> buscarEmpleadoPorDni(String dni);
+    CompletableFuture<Optional<Empleado>> buscarEmpleadoPorNumero(String numeroEmpleado);
+    CompletableFuture<List<Empleado>> listarTodosLosEmpleados();
+    CompletableFuture<Pagina<Empleado>> listarEmpleadosPorPagina(int tamano, String token);
+    CompletableFuture<List<Empleado>> buscarEmpleadosPorCargo(String cargo);
+    CompletableFuture<Boolean> eliminarEmpleado(String dni);
+}
@@ -1,6 +1,7 @@
 package service;
 
 import model.Pasajero;
+import repository.Pagina;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,7 @@ public interface IPasajeroService {
     boolean registrarPasajero(Pasajero pasajero);
     Optional<Pasajero> buscarPasajeroPorDni(String dni);
     List<Pasajero> listarTodosLosPasajeros();
+    Pagina<Pasajero> listarPasajerosPorPagina(int tamano, String token);
     boolean eliminarPasajero(String dni);
 }
 
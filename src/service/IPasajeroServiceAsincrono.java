@@ -0,0 +1,19 @@
+package service;
+
+import model.Pasajero;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IPasajeroService: cada operación devuelve un CompletableFuture
+ */
+public interface IPasajeroServiceAsincrono {
+    CompletableFuture<Boolean> registrarPasajero(Pasajero pasajero);
+    CompletableFuture<Optional<Pasajero>> buscarPasajeroPorDni(String dni);
+    CompletableFuture<List<Pasajero>> listarTodosLosPasajeros();
+    CompletableFuture<Pagina<Pasajero>> listarPasajerosPorPagina(int tamano, String token);
+    CompletableFuture<Boolean> eliminarPasajero(String dni);
+}
@@ -1,6 +1,12 @@
 package service;
 
+import model.Pasajero;
+import model.PoliticaAsientos;
 import model.Reserva;
+import model.ReservaResumen;
+import model.Vuelo;
+import repository.Pagina;
+import repository.ResultadoRango;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -11,11 +17,21 @@ import java.util.Optional;
  */
 public interface IReservaService {
     boolean crearReserva(Reserva reserva);
+    List<Reserva> crearReservasGrupo(Vuelo vuelo, List<Pasajero> pasajeros, PoliticaAsientos politica);
     Optional<Reserva> buscarReservaPorNumero(String numeroReserva);
     List<Reserva> listarTodasLasReservas();
+    Pagina<Reserva> listarReservasPorPagina(int tamano, String token);
     List<Reserva> buscarReservasPorPasajero(String dniPasajero);
     List<Reserva> buscarReservasPorVuelo(String numeroVuelo);
     List<Reserva> buscarReservasPorFecha(LocalDate fecha);
+    Pagina<ReservaResumen> listarResumenReservasPorPagina(int tamano, String token);
+    List<ReservaResumen> buscarResumenReservasPorPasajero(String dniPasajero);
+    List<ReservaResumen> buscarResumenReservasPorVuelo(String numeroVuelo);
+    List<ReservaResumen> buscarResumenReservasPorFecha(LocalDate fecha);
+    /**
+     * Resúmenes entre dos días, ambos incluidos; si se pide, también agrupados por día
+     */
+    ResultadoRango<ReservaResumen> buscarResumenReservasPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia);
     boolean cancelarReserva(String numeroReserva);
 }
 
@@ -0,0 +1,34 @@
+package service;
+
+import model.Pasajero;
+import model.PoliticaAsientos;
+import model.Reserva;
+import model.ReservaResumen;
+import model.Vuelo;
+import repository.Pagina;
+import repository.ResultadoRango;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IReservaService: cada operación devuelve un CompletableFuture
+ */
+public interface IReservaServiceAsincrono {
+    CompletableFuture<Boolean> crearReserva(Reserva reserva);
+    CompletableFuture<List<Reserva>> crearReservasGrupo(Vuelo vuelo, List<Pasajero> pasajeros, PoliticaAsientos politica);
+    CompletableFuture<Optional<Reserva>> buscarReservaPorNumero(String numeroReserva);
+    CompletableFuture<List<Reserva>> listarTodasLasReservas();
+    CompletableFuture<Pagina<Reserva>> listarReservasPorPagina(int tamano, String token);
+    CompletableFuture<List<Reserva>> buscarReservasPorPasajero(String dniPasajero);
+    CompletableFuture<List<Reserva>> buscarReservasPorVuelo(String numeroVuelo);
+    CompletableFuture<List<Reserva>> buscarReservasPorFecha(LocalDate fecha);
+    CompletableFuture<Pagina<ReservaResumen>> listarResumenReservasPorPagina(int tamano, String token);
+    CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorPasajero(String dniPasajero);
+    CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorVuelo(String numeroVuelo);
+    CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorFecha(LocalDate fecha);
+    CompletableFuture<ResultadoRango<ReservaResumen>> buscarResumenReservasPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia);
+    CompletableFuture<Boolean> cancelarReserva(String numeroReserva);
+}
@@ -1,6 +1,7 @@
 package service;
 
 import model.Usuario;
+import repository.Pagina;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,8 +11,14 @@ import java.util.Optional;
 public interface IUsuarioService {
     boolean registrarUsuario(Usuario usuario);
     Optional<Usuario> autenticar(String nombreUsuario, String contrasena);
+    /**
+     * Usuario autenticado mientras su sesión no venza, sin consultar la base
+     */
+    Optional<Usuario> usuarioEnSesion(String nombreUsuario);
+    boolean cerrarSesion(String nombreUsuario);
     Optional<Usuario> buscarUsuario(String nombreUsuario);
     List<Usuario> listarTodosLosUsuarios();
+    Pagina<Usuario> listarUsuariosPorPagina(int tamano, String token);
     boolean eliminarUsuario(String nombreUsuario);
 }
 
@@ -0,0 +1,22 @@
+package service;
+
+import model.Usuario;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IUsuarioService: cada operación devuelve un CompletableFuture
+ */
+public interface IUsuarioServiceAsincrono {
+    CompletableFuture<Boolean> registrarUsuario(Usuario usuario);
+    CompletableFuture<Optional<Usuario>> autenticar(String nombreUsuario, String contrasena);
+    CompletableFuture<Optional<Usuario>> usuarioEnSesion(String nombreUsuario);
+    CompletableFuture<Boolean> cerrarSesion(String nombreUsuario);
+    CompletableFuture<Optional<Usuario>> buscarUsuario(String nombreUsuario);
+    CompletableFuture<List<Usuario>> listarTodosLosUsuarios();
+    CompletableFuture<Pagina<Usuario>> listarUsuariosPorPagina(int tamano, String token);
+    CompletableFuture<Boolean> eliminarUsuario(String nombreUsuario);
+}
@@ -1,6 +1,11 @@
 package service;
 
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
 import model.Vuelo;
+import model.VueloResumen;
+import repository.Pagina;
+import repository.ResultadoRango;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,10 +18,22 @@ public interface IVueloService {
     boolean registrarVuelo(Vuelo vuelo);
     Optional<Vuelo> buscarVueloPorNumero(String numeroVuelo);
     List<Vuelo> listarTodosLosVuelos();
+    Pagina<Vuelo> listarVuelosPorPagina(int tamano, String token);
     List<Vuelo> buscarVuelosPorOrigen(String origen);
     List<Vuelo> buscarVuelosPorDestino(String destino);
     List<Vuelo> buscarVuelosPorRuta(String origen, String destino);
     List<Vuelo> buscarVuelosPorFecha(LocalDate fecha);
+    Pagina<VueloResumen> listarResumenVuelosPorPagina(int tamano, String token);
+    List<VueloResumen> buscarResumenVuelosPorOrigen(String origen);
+    List<VueloResumen> buscarResumenVuelosPorDestino(String destino);
+    List<VueloResumen> buscarResumenVuelosPorRuta(String origen, String destino);
+    List<VueloResumen> buscarResumenVuelosPorFecha(LocalDate fecha);
+    /**
+     * Resúmenes entre dos días, ambos incluidos; si se pide, también agrupados por día
+     */
+    ResultadoRango<VueloResumen> buscarResumenVuelosPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia);
+    List<VueloResumen> buscarVuelos(CriteriosBusquedaVuelo criterios);
+    boolean actualizarEstadoVuelo(String numeroVuelo, EstadoVuelo nuevoEstado);
     boolean eliminarVuelo(String numeroVuelo);
 }
 
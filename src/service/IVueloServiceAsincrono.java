@@ -0,0 +1,36 @@
+package service;
+
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
+import model.Vuelo;
+import model.VueloResumen;
+import repository.Pagina;
+import repository.ResultadoRango;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de IVueloService: cada operación devuelve un CompletableFuture
+ */
+public interface IVueloServiceAsincrono {
+    CompletableFuture<Boolean> registrarVuelo(Vuelo vuelo);
+    CompletableFuture<Optional<Vuelo>> buscarVueloPorNumero(String numeroVuelo);
+    CompletableFuture<List<Vuelo>> listarTodosLosVuelos();
+    CompletableFuture<Pagina<Vuelo>> listarVuelosPorPagina(int tamano, String token);
+    CompletableFuture<List<Vuelo>> buscarVuelosPorOrigen(String origen);
+    CompletableFuture<List<Vuelo>> buscarVuelosPorDestino(String destino);
+    CompletableFuture<List<Vuelo>> buscarVuelosPorRuta(String origen, String destino);
+    CompletableFuture<List<Vuelo>> buscarVuelosPorFecha(LocalDate fecha);
+    CompletableFuture<Pagina<VueloResumen>> listarResumenVuelosPorPagina(int tamano, String token);
+    CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorOrigen(String origen);
+    CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorDestino(String destino);
+    CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorRuta(String origen, String destino);
+    CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorFecha(LocalDate fecha);
+    CompletableFuture<ResultadoRango<VueloResumen>> buscarResumenVuelosPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia);
+    CompletableFuture<List<VueloResumen>> buscarVuelos(CriteriosBusquedaVuelo criterios);
+    CompletableFuture<Boolean> actualizarEstadoVuelo(String numeroVuelo, EstadoVuelo nuevoEstado);
+    CompletableFuture<Boolean> eliminarVuelo(String numeroVuelo);
+}
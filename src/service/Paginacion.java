@@ -0,0 +1,31 @@
+package service;
+
+import exception.ValidacionException;
+import repository.Pagina;
+import repository.TokenPagina;
+
+import java.util.function.BiFunction;
+
+/**
+ * Validaciones comunes de los listados paginados de los servicios
+ */
+final class Paginacion {
+
+    private Paginacion() {
+    }
+
+    /**
+     * Valida el tamaño de página y ejecuta la consulta; un token que no se puede
+     * interpretar se informa como error de validación
+     */
+    static <T> Pagina<T> consultar(int tamano, String token, BiFunction<Integer, String, Pagina<T>> consulta) {
+        if (tamano < 1 || tamano > Pagina.TAMANO_MAXIMO) {
+            throw new ValidacionException("El tamaño de página debe estar entre 1 y " + Pagina.TAMANO_MAXIMO + ".");
+        }
+        try {
+            return consulta.apply(tamano, token);
+        } catch (TokenPagina.TokenInvalidoException e) {
+            throw new ValidacionException("El token de página no es válido.", e);
+        }
+    }
+}
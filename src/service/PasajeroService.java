@@ -4,7 +4,9 @@ import exception.OperacionNoPermitidaException;
 import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
 import model.Pasajero;
+import repository.ClaveDuplicadaException;
 import repository.IPasajeroRepository;
+import repository.Pagina;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,11 +32,11 @@ public class PasajeroService implements IPasajeroService {
             throw new ValidacionException("El DNI del pasajero es obligatorio.");
         }
 
-        if (pasajeroRepository.existe(pasajero.getDni())) {
-            throw new OperacionNoPermitidaException("Ya existe un pasajero con el DNI " + pasajero.getDni() + ".");
+        try {
+            pasajeroRepository.guardar(pasajero);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se registró el pasajero " + pasajero.getDni() + ": " + e.getMessage() + ".");
         }
-
-        pasajeroRepository.guardar(pasajero);
         return true;
     }
 
@@ -48,6 +50,11 @@ public class PasajeroService implements IPasajeroService {
         return pasajeroRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Pasajero> listarPasajerosPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, pasajeroRepository::listarPagina);
+    }
+
     @Override
     public boolean eliminarPasajero(String dni) {
         if (dni == null || dni.isBlank()) {
@@ -0,0 +1,47 @@
+package service;
+
+import model.Pasajero;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IPasajeroService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class PasajeroServiceAsincrono implements IPasajeroServiceAsincrono {
+    private final IPasajeroService pasajeroService;
+    private final EjecutorAsincrono ejecutor;
+
+    public PasajeroServiceAsincrono(IPasajeroService pasajeroService, EjecutorAsincrono ejecutor) {
+        this.pasajeroService = pasajeroService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> registrarPasajero(Pasajero pasajero) {
+        return ejecutor.ejecutar(() -> pasajeroService.registrarPasajero(pasajero));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Pasajero>> buscarPasajeroPorDni(String dni) {
+        return ejecutor.ejecutar(() -> pasajeroService.buscarPasajeroPorDni(dni));
+    }
+
+    @Override
+    public CompletableFuture<List<Pasajero>> listarTodosLosPasajeros() {
+        return ejecutor.ejecutar(() -> pasajeroService.listarTodosLosPasajeros());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Pasajero>> listarPasajerosPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> pasajeroService.listarPasajerosPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> eliminarPasajero(String dni) {
+        return ejecutor.ejecutar(() -> pasajeroService.eliminarPasajero(dni));
+    }
+}
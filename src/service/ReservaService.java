@@ -1,16 +1,32 @@
 package service;
 
+import exception.AsientosOcupadosException;
 import exception.OperacionNoPermitidaException;
 import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
 import model.EstadoReserva;
+import model.Pasajero;
+import model.PoliticaAsientos;
 import model.Reserva;
+import model.ReservaResumen;
+import model.TipoAsignacionAsiento;
 import model.Vuelo;
+import model.VueloResumen;
+import repository.ClaveDuplicadaException;
+import repository.IInventarioVuelos;
 import repository.IReservaRepository;
+import repository.Pagina;
+import repository.ResultadoGrupo;
+import repository.ResultadoRango;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión de Reservas
@@ -18,11 +34,21 @@ import java.util.Optional;
  */
 public class ReservaService implements IReservaService {
     private final IReservaRepository reservaRepository;
+    private volatile IInventarioVuelos inventario = IInventarioVuelos.sinCache();
 
     public ReservaService(IReservaRepository reservaRepository) {
         this.reservaRepository = reservaRepository;
     }
 
+    /**
+     * Inventario de vuelos con los asientos libres actuales: se usa para validar las reservas
+     * y recibe las reservas y cancelaciones confirmadas. Sin inventario se valida con el vuelo
+     * recibido
+     */
+    public void setInventario(IInventarioVuelos inventario) {
+        this.inventario = inventario;
+    }
+
     @Override
     public boolean crearReserva(Reserva reserva) {
         if (reserva == null) {
@@ -33,25 +59,90 @@ public class ReservaService implements IReservaService {
             throw new ValidacionException("El número de reserva es obligatorio.");
         }
 
-        if (reservaRepository.existe(reserva.getNumeroReserva())) {
-            throw new OperacionNoPermitidaException("Ya existe una reserva con el número " + reserva.getNumeroReserva() + ".");
-        }
-
         if (reserva.getVuelo() == null || reserva.getPasajero() == null) {
             throw new ValidacionException("La reserva debe tener pasajero y vuelo asociados.");
         }
 
         // Validar que el vuelo tenga asientos disponibles
         Vuelo vuelo = reserva.getVuelo();
-        if (!vuelo.tieneAsientosDisponibles()) {
+        if (asientosDisponibles(vuelo) <= 0) {
             throw new OperacionNoPermitidaException("El vuelo " + vuelo.getNumeroVuelo() + " no tiene asientos disponibles.");
         }
 
         // El procedimiento almacenado se encarga de reservar el asiento automáticamente
-        reservaRepository.guardar(reserva);
+        try {
+            inventario.escribir(vuelo.getNumeroVuelo(), () -> {
+                reservaRepository.guardar(reserva);
+                return reserva;
+            }, guardada -> -1);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se creó la reserva " + reserva.getNumeroReserva() + ": " + e.getMessage() + ".");
+        }
         return true;
     }
 
+    @Override
+    public List<Reserva> crearReservasGrupo(Vuelo vuelo, List<Pasajero> pasajeros, PoliticaAsientos politica) {
+        if (vuelo == null) {
+            throw new ValidacionException("La reserva de grupo debe tener un vuelo asociado.");
+        }
+
+        if (pasajeros == null || pasajeros.isEmpty()) {
+            throw new ValidacionException("El grupo debe tener al menos un pasajero.");
+        }
+
+        if (politica == null) {
+            throw new ValidacionException("La política de asientos es obligatoria.");
+        }
+
+        Set<String> dnis = new HashSet<>();
+        for (Pasajero pasajero : pasajeros) {
+            if (pasajero == null) {
+                throw new ValidacionException("El grupo no puede tener pasajeros nulos.");
+            }
+            if (!dnis.add(pasajero.getDni())) {
+                throw new ValidacionException("El pasajero " + pasajero.getDni() + " está repetido en el grupo.");
+            }
+        }
+
+        boolean elegidos = politica.getTipo() == TipoAsignacionAsiento.ELEGIDOS;
+        if (elegidos && politica.getAsientos().size() != pasajeros.size()) {
+            throw new ValidacionException("Debe indicar un asiento por pasajero.");
+        }
+
+        if (asientosDisponibles(vuelo) < pasajeros.size()) {
+            throw new OperacionNoPermitidaException("El vuelo " + vuelo.getNumeroVuelo() + " no tiene "
+                    + pasajeros.size() + " asientos disponibles.");
+        }
+
+        // Las reservas del grupo comparten un prefijo para poder identificarlas juntas
+        String grupo = "G" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        List<Reserva> reservas = new ArrayList<>(pasajeros.size());
+        for (int i = 0; i < pasajeros.size(); i++) {
+            int asiento = elegidos ? politica.getAsientos().get(i) : 0;
+            reservas.add(new Reserva(grupo + "-" + (i + 1), pasajeros.get(i), vuelo, asiento));
+        }
+
+        // El procedimiento almacenado asigna y reserva todos los asientos en una sola operación
+        ResultadoGrupo resultado = inventario.escribir(vuelo.getNumeroVuelo(),
+                () -> reservaRepository.guardarGrupo(reservas, politica),
+                grupoGuardado -> grupoGuardado.isConfirmado() ? -reservas.size() : 0);
+        if (!resultado.isConfirmado()) {
+            if (!resultado.getAsientosEnConflicto().isEmpty()) {
+                String asientos = resultado.getAsientosEnConflicto().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(", "));
+                String detalle = resultado.getAsientosEnConflicto().size() == 1
+                        ? "el asiento " + asientos + " ya está ocupado."
+                        : "los asientos " + asientos + " ya están ocupados.";
+                throw new AsientosOcupadosException("No se reservó el grupo: " + detalle,
+                        resultado.getAsientosEnConflicto());
+            }
+            throw new OperacionNoPermitidaException("No se reservó el grupo: " + resultado.getMensaje() + ".");
+        }
+        return reservas;
+    }
+
     @Override
     public Optional<Reserva> buscarReservaPorNumero(String numeroReserva) {
         return reservaRepository.buscarPorNumeroReserva(numeroReserva);
@@ -62,6 +153,11 @@ public class ReservaService implements IReservaService {
         return reservaRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Reserva> listarReservasPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, reservaRepository::listarPagina);
+    }
+
     @Override
     public List<Reserva> buscarReservasPorPasajero(String dniPasajero) {
         return reservaRepository.buscarPorPasajero(dniPasajero);
@@ -80,6 +176,41 @@ public class ReservaService implements IReservaService {
         return reservaRepository.buscarPorFecha(fecha);
     }
 
+    @Override
+    public Pagina<ReservaResumen> listarResumenReservasPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, reservaRepository::listarResumenPagina);
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenReservasPorPasajero(String dniPasajero) {
+        return reservaRepository.buscarResumenPorPasajero(dniPasajero);
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenReservasPorVuelo(String numeroVuelo) {
+        return reservaRepository.buscarResumenPorVuelo(numeroVuelo);
+    }
+
+    @Override
+    public List<ReservaResumen> buscarResumenReservasPorFecha(LocalDate fecha) {
+        if (fecha == null) {
+            throw new ValidacionException("La fecha es obligatoria para la búsqueda.");
+        }
+        return reservaRepository.buscarResumenPorFecha(fecha);
+    }
+
+    @Override
+    public ResultadoRango<ReservaResumen> buscarResumenReservasPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia) {
+        if (desde == null || hasta == null) {
+            throw new ValidacionException("Las fechas desde y hasta son obligatorias para la búsqueda.");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidacionException("La fecha desde no puede ser posterior a la fecha hasta.");
+        }
+        List<ReservaResumen> elementos = reservaRepository.buscarResumenPorRangoFechas(desde, hasta);
+        return ResultadoRango.de(desde, hasta, elementos, agruparPorDia, ReservaResumen::getFechaReserva);
+    }
+
     @Override
     public boolean cancelarReserva(String numeroReserva) {
         if (numeroReserva == null || numeroReserva.isBlank()) {
@@ -93,7 +224,20 @@ public class ReservaService implements IReservaService {
         }
 
         // El procedimiento almacenado se encarga de cancelar la reserva y liberar el asiento automáticamente
-        return reservaRepository.eliminar(numeroReserva);
+        Vuelo vuelo = reservaOpt.get().getVuelo();
+        return inventario.escribir(vuelo != null ? vuelo.getNumeroVuelo() : null,
+                () -> reservaRepository.eliminar(numeroReserva),
+                cancelada -> cancelada ? 1 : 0);
+    }
+
+    /**
+     * Asientos libres del vuelo según el inventario, o según el vuelo recibido si el inventario
+     * no lo conoce
+     */
+    private int asientosDisponibles(Vuelo vuelo) {
+        return inventario.consultar(vuelo.getNumeroVuelo())
+                .map(VueloResumen::getAsientosDisponibles)
+                .orElse(vuelo.getAsientosDisponibles());
     }
 }
 
@@ -0,0 +1,98 @@
+package service;
+
+import model.Pasajero;
+import model.PoliticaAsientos;
+import model.Reserva;
+import model.ReservaResumen;
+import model.Vuelo;
+import repository.Pagina;
+import repository.ResultadoRango;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IReservaService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class ReservaServiceAsincrono implements IReservaServiceAsincrono {
+    private final IReservaService reservaService;
+    private final EjecutorAsincrono ejecutor;
+
+    public ReservaServiceAsincrono(IReservaService reservaService, EjecutorAsincrono ejecutor) {
+        this.reservaService = reservaService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> crearReserva(Reserva reserva) {
+        return ejecutor.ejecutar(() -> reservaService.crearReserva(reserva));
+    }
+
+    @Override
+    public CompletableFuture<List<Reserva>> crearReservasGrupo(Vuelo vuelo, List<Pasajero> pasajeros, PoliticaAsientos politica) {
+        return ejecutor.ejecutar(() -> reservaService.crearReservasGrupo(vuelo, pasajeros, politica));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Reserva>> buscarReservaPorNumero(String numeroReserva) {
+        return ejecutor.ejecutar(() -> reservaService.buscarReservaPorNumero(numeroReserva));
+    }
+
+    @Override
+    public CompletableFuture<List<Reserva>> listarTodasLasReservas() {
+        return ejecutor.ejecutar(() -> reservaService.listarTodasLasReservas());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Reserva>> listarReservasPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> reservaService.listarReservasPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<Reserva>> buscarReservasPorPasajero(String dniPasajero) {
+        return ejecutor.ejecutar(() -> reservaService.buscarReservasPorPasajero(dniPasajero));
+    }
+
+    @Override
+    public CompletableFuture<List<Reserva>> buscarReservasPorVuelo(String numeroVuelo) {
+        return ejecutor.ejecutar(() -> reservaService.buscarReservasPorVuelo(numeroVuelo));
+    }
+
+    @Override
+    public CompletableFuture<List<Reserva>> buscarReservasPorFecha(LocalDate fecha) {
+        return ejecutor.ejecutar(() -> reservaService.buscarReservasPorFecha(fecha));
+    }
+
+    @Override
+    public CompletableFuture<Pagina<ReservaResumen>> listarResumenReservasPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> reservaService.listarResumenReservasPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorPasajero(String dniPasajero) {
+        return ejecutor.ejecutar(() -> reservaService.buscarResumenReservasPorPasajero(dniPasajero));
+    }
+
+    @Override
+    public CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorVuelo(String numeroVuelo) {
+        return ejecutor.ejecutar(() -> reservaService.buscarResumenReservasPorVuelo(numeroVuelo));
+    }
+
+    @Override
+    public CompletableFuture<List<ReservaResumen>> buscarResumenReservasPorFecha(LocalDate fecha) {
+        return ejecutor.ejecutar(() -> reservaService.buscarResumenReservasPorFecha(fecha));
+    }
+
+    @Override
+    public CompletableFuture<ResultadoRango<ReservaResumen>> buscarResumenReservasPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia) {
+        return ejecutor.ejecutar(() -> reservaService.buscarResumenReservasPorRango(desde, hasta, agruparPorDia));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelarReserva(String numeroReserva) {
+        return ejecutor.ejecutar(() -> reservaService.cancelarReserva(numeroReserva));
+    }
+}
@@ -4,8 +4,11 @@ import exception.OperacionNoPermitidaException;
 import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
 import model.Usuario;
+import repository.ClaveDuplicadaException;
 import repository.IUsuarioRepository;
+import repository.Pagina;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +17,19 @@ import java.util.Optional;
  * Aplica SRP - única responsabilidad: gestión de usuarios y autenticación
  */
 public class UsuarioService implements IUsuarioService {
+    // Un turno de trabajo por defecto
+    private static final long DURACION_SESION_MINUTOS = Long.getLong("sistemavuelos.sesion.duracionMinutos", 480L);
+
     private final IUsuarioRepository usuarioRepository;
+    private final CacheSesiones sesiones;
 
     public UsuarioService(IUsuarioRepository usuarioRepository) {
+        this(usuarioRepository, Duration.ofMinutes(DURACION_SESION_MINUTOS));
+    }
+
+    public UsuarioService(IUsuarioRepository usuarioRepository, Duration duracionSesion) {
         this.usuarioRepository = usuarioRepository;
+        this.sesiones = new CacheSesiones(duracionSesion);
     }
 
     @Override
@@ -34,11 +46,11 @@ public class UsuarioService implements IUsuarioService {
             throw new ValidacionException("La contraseña es obligatoria.");
         }
 
-        if (usuarioRepository.existe(usuario.getNombreUsuario())) {
-            throw new OperacionNoPermitidaException("Ya existe un usuario con el nombre " + usuario.getNombreUsuario() + ".");
+        try {
+            usuarioRepository.guardar(usuario);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se registró el usuario " + usuario.getNombreUsuario() + ": " + e.getMessage() + ".");
         }
-
-        usuarioRepository.guardar(usuario);
         return true;
     }
 
@@ -51,15 +63,27 @@ public class UsuarioService implements IUsuarioService {
             throw new ValidacionException("La contraseña es obligatoria para autenticarse.");
         }
 
-        Optional<Usuario> usuarioOpt = usuarioRepository.buscarPorNombreUsuario(nombreUsuario);
+        // Verifica las credenciales y trae el usuario completo en una sola operación
+        Optional<Usuario> usuarioOpt = usuarioRepository.autenticar(nombreUsuario, contrasena);
 
-        if (usuarioOpt.isPresent() && usuarioOpt.get().getContrasena().equals(contrasena)) {
+        if (usuarioOpt.isPresent()) {
+            sesiones.registrar(usuarioOpt.get());
             return usuarioOpt;
         }
 
         throw new RecursoNoEncontradoException("Credenciales inválidas.");
     }
 
+    @Override
+    public Optional<Usuario> usuarioEnSesion(String nombreUsuario) {
+        return sesiones.obtener(nombreUsuario);
+    }
+
+    @Override
+    public boolean cerrarSesion(String nombreUsuario) {
+        return sesiones.cerrar(nombreUsuario);
+    }
+
     @Override
     public Optional<Usuario> buscarUsuario(String nombreUsuario) {
         return usuarioRepository.buscarPorNombreUsuario(nombreUsuario);
@@ -70,6 +94,11 @@ public class UsuarioService implements IUsuarioService {
         return usuarioRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Usuario> listarUsuariosPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, usuarioRepository::listarPagina);
+    }
+
     @Override
     public boolean eliminarUsuario(String nombreUsuario) {
         if (nombreUsuario == null || nombreUsuario.isBlank()) {
@@ -78,7 +107,10 @@ public class UsuarioService implements IUsuarioService {
         if (!usuarioRepository.existe(nombreUsuario)) {
             throw new RecursoNoEncontradoException("No se encontró un usuario con nombre " + nombreUsuario + ".");
         }
-        return usuarioRepository.eliminar(nombreUsuario);
+        boolean eliminado = usuarioRepository.eliminar(nombreUsuario);
+        // Un usuario desactivado no conserva la sesión abierta
+        sesiones.cerrar(nombreUsuario);
+        return eliminado;
     }
 }
 
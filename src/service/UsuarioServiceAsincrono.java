@@ -0,0 +1,62 @@
+package service;
+
+import model.Usuario;
+import repository.Pagina;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IUsuarioService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class UsuarioServiceAsincrono implements IUsuarioServiceAsincrono {
+    private final IUsuarioService usuarioService;
+    private final EjecutorAsincrono ejecutor;
+
+    public UsuarioServiceAsincrono(IUsuarioService usuarioService, EjecutorAsincrono ejecutor) {
+        this.usuarioService = usuarioService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> registrarUsuario(Usuario usuario) {
+        return ejecutor.ejecutar(() -> usuarioService.registrarUsuario(usuario));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Usuario>> autenticar(String nombreUsuario, String contrasena) {
+        return ejecutor.ejecutar(() -> usuarioService.autenticar(nombreUsuario, contrasena));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Usuario>> usuarioEnSesion(String nombreUsuario) {
+        return ejecutor.ejecutar(() -> usuarioService.usuarioEnSesion(nombreUsuario));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cerrarSesion(String nombreUsuario) {
+        return ejecutor.ejecutar(() -> usuarioService.cerrarSesion(nombreUsuario));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Usuario>> buscarUsuario(String nombreUsuario) {
+        return ejecutor.ejecutar(() -> usuarioService.buscarUsuario(nombreUsuario));
+    }
+
+    @Override
+    public CompletableFuture<List<Usuario>> listarTodosLosUsuarios() {
+        return ejecutor.ejecutar(() -> usuarioService.listarTodosLosUsuarios());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Usuario>> listarUsuariosPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> usuarioService.listarUsuariosPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> eliminarUsuario(String nombreUsuario) {
+        return ejecutor.ejecutar(() -> usuarioService.eliminarUsuario(nombreUsuario));
+    }
+}
@@ -3,8 +3,14 @@ package service;
 import exception.OperacionNoPermitidaException;
 import exception.RecursoNoEncontradoException;
 import exception.ValidacionException;
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
 import model.Vuelo;
+import model.VueloResumen;
+import repository.ClaveDuplicadaException;
 import repository.IVueloRepository;
+import repository.Pagina;
+import repository.ResultadoRango;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,11 +22,20 @@ import java.util.Optional;
  */
 public class VueloService implements IVueloService {
     private final IVueloRepository vueloRepository;
+    private volatile Runnable alCambiarAviones = () -> { };
 
     public VueloService(IVueloRepository vueloRepository) {
         this.vueloRepository = vueloRepository;
     }
 
+    /**
+     * Acción a ejecutar después de cada operación que cambia el estado de un avión (programar,
+     * despegar, completar, cancelar o eliminar un vuelo); por ejemplo, invalidar la caché de flota
+     */
+    public void setAlCambiarAviones(Runnable alCambiarAviones) {
+        this.alCambiarAviones = alCambiarAviones;
+    }
+
     @Override
     public boolean registrarVuelo(Vuelo vuelo) {
         if (vuelo == null) {
@@ -35,11 +50,12 @@ public class VueloService implements IVueloService {
             throw new ValidacionException("El vuelo debe tener un avión asignado.");
         }
 
-        if (vueloRepository.existe(vuelo.getNumeroVuelo())) {
-            throw new OperacionNoPermitidaException("Ya existe un vuelo con el número " + vuelo.getNumeroVuelo() + ".");
+        try {
+            vueloRepository.guardar(vuelo);
+        } catch (ClaveDuplicadaException e) {
+            throw new OperacionNoPermitidaException("No se registró el vuelo " + vuelo.getNumeroVuelo() + ": " + e.getMessage() + ".");
         }
-
-        vueloRepository.guardar(vuelo);
+        alCambiarAviones.run();
         return true;
     }
 
@@ -53,6 +69,11 @@ public class VueloService implements IVueloService {
         return vueloRepository.listarTodos();
     }
 
+    @Override
+    public Pagina<Vuelo> listarVuelosPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, vueloRepository::listarPagina);
+    }
+
     @Override
     public List<Vuelo> buscarVuelosPorOrigen(String origen) {
         return vueloRepository.buscarPorOrigen(origen);
@@ -76,6 +97,90 @@ public class VueloService implements IVueloService {
         return vueloRepository.buscarPorFecha(fecha);
     }
 
+    @Override
+    public Pagina<VueloResumen> listarResumenVuelosPorPagina(int tamano, String token) {
+        return Paginacion.consultar(tamano, token, vueloRepository::listarResumenPagina);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenVuelosPorOrigen(String origen) {
+        return vueloRepository.buscarResumenPorOrigen(origen);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenVuelosPorDestino(String destino) {
+        return vueloRepository.buscarResumenPorDestino(destino);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenVuelosPorRuta(String origen, String destino) {
+        return vueloRepository.buscarResumenPorOrigenYDestino(origen, destino);
+    }
+
+    @Override
+    public List<VueloResumen> buscarResumenVuelosPorFecha(LocalDate fecha) {
+        if (fecha == null) {
+            throw new ValidacionException("La fecha es obligatoria para la búsqueda.");
+        }
+        return vueloRepository.buscarResumenPorFecha(fecha);
+    }
+
+    @Override
+    public ResultadoRango<VueloResumen> buscarResumenVuelosPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia) {
+        if (desde == null || hasta == null) {
+            throw new ValidacionException("Las fechas desde y hasta son obligatorias para la búsqueda.");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new ValidacionException("La fecha desde no puede ser posterior a la fecha hasta.");
+        }
+        List<VueloResumen> elementos = vueloRepository.buscarResumenPorRangoFechas(desde, hasta);
+        return ResultadoRango.de(desde, hasta, elementos, agruparPorDia, VueloResumen::getFechaHoraSalida);
+    }
+
+    @Override
+    public List<VueloResumen> buscarVuelos(CriteriosBusquedaVuelo criterios) {
+        if (criterios == null) {
+            throw new ValidacionException("Los criterios de búsqueda son obligatorios.");
+        }
+        if (criterios.getSalidaDesde() != null && criterios.getSalidaHasta() != null
+                && !criterios.getSalidaDesde().isBefore(criterios.getSalidaHasta())) {
+            throw new ValidacionException("El inicio del rango de salida debe ser anterior a su fin.");
+        }
+        if ((criterios.getPrecioMinimo() != null && criterios.getPrecioMinimo() < 0)
+                || (criterios.getPrecioMaximo() != null && criterios.getPrecioMaximo() < 0)) {
+            throw new ValidacionException("El rango de precio no puede ser negativo.");
+        }
+        if (criterios.getPrecioMinimo() != null && criterios.getPrecioMaximo() != null
+                && criterios.getPrecioMinimo() > criterios.getPrecioMaximo()) {
+            throw new ValidacionException("El precio mínimo no puede superar al máximo.");
+        }
+        if (criterios.getAsientosMinimos() != null && criterios.getAsientosMinimos() < 0) {
+            throw new ValidacionException("Los asientos mínimos no pueden ser negativos.");
+        }
+        return vueloRepository.buscarResumen(criterios);
+    }
+
+    @Override
+    public boolean actualizarEstadoVuelo(String numeroVuelo, EstadoVuelo nuevoEstado) {
+        if (numeroVuelo == null || numeroVuelo.isBlank()) {
+            throw new ValidacionException("El número de vuelo es obligatorio para actualizar su estado.");
+        }
+        if (nuevoEstado == null) {
+            throw new ValidacionException("El nuevo estado del vuelo es obligatorio.");
+        }
+        Vuelo vuelo = vueloRepository.buscarPorNumeroVuelo(numeroVuelo)
+                .orElseThrow(() -> new RecursoNoEncontradoException("No se encontró el vuelo con número " + numeroVuelo + "."));
+        if (vuelo.getEstado() == nuevoEstado) {
+            throw new OperacionNoPermitidaException("El vuelo " + numeroVuelo + " ya está en estado " + nuevoEstado + ".");
+        }
+        vueloRepository.actualizarEstado(numeroVuelo, nuevoEstado);
+        if (nuevoEstado == EstadoVuelo.EN_VUELO || nuevoEstado == EstadoVuelo.COMPLETADO
+                || nuevoEstado == EstadoVuelo.CANCELADO) {
+            alCambiarAviones.run();
+        }
+        return true;
+    }
+
     @Override
     public boolean eliminarVuelo(String numeroVuelo) {
         if (numeroVuelo == null || numeroVuelo.isBlank()) {
@@ -84,7 +189,11 @@ public class VueloService implements IVueloService {
         if (!vueloRepository.existe(numeroVuelo)) {
             throw new RecursoNoEncontradoException("No se encontró un vuelo con número " + numeroVuelo + ".");
         }
-        return vueloRepository.eliminar(numeroVuelo);
+        boolean eliminado = vueloRepository.eliminar(numeroVuelo);
+        if (eliminado) {
+            alCambiarAviones.run();
+        }
+        return eliminado;
     }
 }
 
@@ -0,0 +1,112 @@
+package service;
+
+import model.CriteriosBusquedaVuelo;
+import model.EstadoVuelo;
+import model.Vuelo;
+import model.VueloResumen;
+import repository.Pagina;
+import repository.ResultadoRango;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fachada asíncrona de IVueloService: delega cada operación en el servicio síncrono,
+ * ejecutándola en un hilo virtual del EjecutorAsincrono
+ */
+public class VueloServiceAsincrono implements IVueloServiceAsincrono {
+    private final IVueloService vueloService;
+    private final EjecutorAsincrono ejecutor;
+
+    public VueloServiceAsincrono(IVueloService vueloService, EjecutorAsincrono ejecutor) {
+        this.vueloService = vueloService;
+        this.ejecutor = ejecutor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> registrarVuelo(Vuelo vuelo) {
+        return ejecutor.ejecutar(() -> vueloService.registrarVuelo(vuelo));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Vuelo>> buscarVueloPorNumero(String numeroVuelo) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVueloPorNumero(numeroVuelo));
+    }
+
+    @Override
+    public CompletableFuture<List<Vuelo>> listarTodosLosVuelos() {
+        return ejecutor.ejecutar(() -> vueloService.listarTodosLosVuelos());
+    }
+
+    @Override
+    public CompletableFuture<Pagina<Vuelo>> listarVuelosPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> vueloService.listarVuelosPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<Vuelo>> buscarVuelosPorOrigen(String origen) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVuelosPorOrigen(origen));
+    }
+
+    @Override
+    public CompletableFuture<List<Vuelo>> buscarVuelosPorDestino(String destino) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVuelosPorDestino(destino));
+    }
+
+    @Override
+    public CompletableFuture<List<Vuelo>> buscarVuelosPorRuta(String origen, String destino) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVuelosPorRuta(origen, destino));
+    }
+
+    @Override
+    public CompletableFuture<List<Vuelo>> buscarVuelosPorFecha(LocalDate fecha) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVuelosPorFecha(fecha));
+    }
+
+    @Override
+    public CompletableFuture<Pagina<VueloResumen>> listarResumenVuelosPorPagina(int tamano, String token) {
+        return ejecutor.ejecutar(() -> vueloService.listarResumenVuelosPorPagina(tamano, token));
+    }
+
+    @Override
+    public CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorOrigen(String origen) {
+        return ejecutor.ejecutar(() -> vueloService.buscarResumenVuelosPorOrigen(origen));
+    }
+
+    @Override
+    public CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorDestino(String destino) {
+        return ejecutor.ejecutar(() -> vueloService.buscarResumenVuelosPorDestino(destino));
+    }
+
+    @Override
+    public CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorRuta(String origen, String destino) {
+        return ejecutor.ejecutar(() -> vueloService.buscarResumenVuelosPorRuta(origen, destino));
+    }
+
+    @Override
+    public CompletableFuture<List<VueloResumen>> buscarResumenVuelosPorFecha(LocalDate fecha) {
+        return ejecutor.ejecutar(() -> vueloService.buscarResumenVuelosPorFecha(fecha));
+    }
+
+    @Override
+    public CompletableFuture<ResultadoRango<VueloResumen>> buscarResumenVuelosPorRango(LocalDate desde, LocalDate hasta, boolean agruparPorDia) {
+        return ejecutor.ejecutar(() -> vueloService.buscarResumenVuelosPorRango(desde, hasta, agruparPorDia));
+    }
+
+    @Override
+    public CompletableFuture<List<VueloResumen>> buscarVuelos(CriteriosBusquedaVuelo criterios) {
+        return ejecutor.ejecutar(() -> vueloService.buscarVuelos(criterios));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> actualizarEstadoVuelo(String numeroVuelo, EstadoVuelo nuevoEstado) {
+        return ejecutor.ejecutar(() -> vueloService.actualizarEstadoVuelo(numeroVuelo, nuevoEstado));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> eliminarVuelo(String numeroVuelo) {
+        return ejecutor.ejecutar(() -> vueloService.eliminarVuelo(numeroVuelo));
+    }
+}
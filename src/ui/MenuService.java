@@ -1,22 +1,43 @@
 package ui;
 
+import database.ConexionBD;
+import database.PoliticaReintentos;
 import exception.DominioException;
 import model.*;
 import service.*;
 import repository.*;
+import repository.memoria.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio de interfaz de usuario (menú)
  * Aplica SRP - única responsabilidad: interfaz de usuario
  */
 public class MenuService {
+    private static final int TAMANO_PAGINA = Integer.getInteger("sistemavuelos.listados.tamanoPagina", 20);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // Sentencias del primer inicio de sesión y de la venta, preparadas durante el precalentamiento.
+    // Se toman de los repositorios para que el texto coincida con la clave de la cache de sentencias
+    private static final List<String> PROCEDIMIENTOS_FRECUENTES = List.of(
+            UsuarioRepository.SQL_AUTENTICAR,
+            PasajeroRepository.SQL_BUSCAR_POR_DNI,
+            VueloRepository.SQL_BUSCAR_POR_NUMERO,
+            ReservaRepository.SQL_CREAR_RESERVA,
+            ReservaRepository.SQL_BUSCAR_POR_NUMERO
+    );
 
     private final Scanner scanner;
     private final IEmpleadoService empleadoService;
@@ -25,31 +46,120 @@ public class MenuService {
     private final IAvionService avionService;
     private final IVueloService vueloService;
     private final IReservaService reservaService;
+    private final EjecutorAsincrono ejecutorAsincrono;
+    private final IPasajeroServiceAsincrono pasajeroServiceAsincrono;
+    private final IVueloServiceAsincrono vueloServiceAsincrono;
+    private final boolean enMemoria;
+    private final SondeoCambios sondeoCambios;
+    private final PasajeroRepositoryCache cachePasajeros;
     private Usuario usuarioActual;
 
     public MenuService() {
         this.scanner = new Scanner(System.in);
         
-        // Inicializar repositorios
-        IEmpleadoRepository empleadoRepo = new EmpleadoRepository();
-        IUsuarioRepository usuarioRepo = new UsuarioRepository();
-        IPasajeroRepository pasajeroRepo = new PasajeroRepository();
-        IAvionRepository avionRepo = new AvionRepository();
-        IVueloRepository vueloRepo = new VueloRepository();
-        IReservaRepository reservaRepo = new ReservaRepository();
+        // Inicializar repositorios: SQL Server, o en memoria con -Dsistemavuelos.repositorio=memoria
+        IEmpleadoRepository empleadoRepo;
+        IUsuarioRepository usuarioRepo;
+        IPasajeroRepository pasajeroRepo;
+        IAvionRepository avionRepo;
+        IVueloRepository vueloRepo;
+        IReservaRepository reservaRepo;
+        this.enMemoria = "memoria".equalsIgnoreCase(System.getProperty("sistemavuelos.repositorio"));
+        SondeoCambios sondeo = null;
+        PasajeroRepositoryCache pasajerosFrecuentes = null;
+        if (enMemoria) {
+            AlmacenMemoria almacen = AlmacenMemoria.conDatosIniciales();
+            empleadoRepo = new EmpleadoRepositoryMemoria(almacen);
+            usuarioRepo = new UsuarioRepositoryMemoria(almacen);
+            pasajeroRepo = new PasajeroRepositoryMemoria(almacen);
+            avionRepo = new AvionRepositoryMemoria(almacen);
+            vueloRepo = new VueloRepositoryMemoria(almacen);
+            reservaRepo = new ReservaRepositoryMemoria(almacen);
+        } else {
+            empleadoRepo = new EmpleadoRepository();
+            usuarioRepo = new UsuarioRepository();
+            // Los pasajeros frecuentes se buscan por DNI una y otra vez al reservar
+            pasajerosFrecuentes = new PasajeroRepositoryCache(new PasajeroRepository());
+            pasajeroRepo = pasajerosFrecuentes;
+            reservaRepo = new ReservaRepository();
+
+            // El sondeo arranca antes de que las cachés carguen, para no perder cambios intermedios.
+            // Si está activo, el TTL del inventario es solo una red de seguridad
+            sondeo = new SondeoCambios(new CambiosRepository());
+            boolean sondeando;
+            try {
+                sondeando = sondeo.iniciar();
+            } catch (RuntimeException e) {
+                System.err.println("Sondeo de cambios desactivado: " + e.getMessage());
+                sondeando = false;
+            }
+            long ttlInventario = Long.getLong("sistemavuelos.inventario.ttlSegundos", sondeando ? 600L : 30L);
+            // Las cachés se cargan del primario, para incluir lo que este nodo ya confirmó
+            ILecturaPrimario primario = ConexionBD.getInstancia()::leerDelPrimario;
+            AvionRepositoryCache flota = new AvionRepositoryCache(new AvionRepository(), primario);
+            VueloRepositoryCache inventario = new VueloRepositoryCache(new VueloRepository(),
+                    Duration.ofSeconds(ttlInventario), primario);
+            sondeo.alCambiarAviones(flota);
+            sondeo.alCambiarVuelos(inventario);
+            avionRepo = flota;
+            vueloRepo = inventario;
+        }
+        this.sondeoCambios = sondeo;
+        this.cachePasajeros = pasajerosFrecuentes;
         
         // Inicializar servicios
         this.empleadoService = new EmpleadoService(empleadoRepo);
         this.usuarioService = new UsuarioService(usuarioRepo);
         this.pasajeroService = new PasajeroService(pasajeroRepo);
         this.avionService = new AvionService(avionRepo);
-        this.vueloService = new VueloService(vueloRepo);
-        this.reservaService = new ReservaService(reservaRepo);
+        VueloService vuelos = new VueloService(vueloRepo);
+        if (avionRepo instanceof AvionRepositoryCache) {
+            // Programar, despegar, completar o cancelar un vuelo cambia el estado de su avión
+            vuelos.setAlCambiarAviones(((AvionRepositoryCache) avionRepo)::invalidar);
+        }
+        this.vueloService = vuelos;
+        ReservaService reservas = new ReservaService(reservaRepo);
+        if (vueloRepo instanceof VueloRepositoryCache) {
+            // Las reservas validan con los asientos del inventario y le aplican las confirmadas
+            reservas.setInventario((VueloRepositoryCache) vueloRepo);
+        }
+        this.reservaService = reservas;
+
+        // Consultas concurrentes, limitadas a las conexiones del pool (o a los procesadores en memoria)
+        int concurrencia = enMemoria
+                ? Runtime.getRuntime().availableProcessors()
+                : ConexionBD.getInstancia().getEstadisticasPool().getMaximo();
+        this.ejecutorAsincrono = new EjecutorAsincrono(concurrencia);
+        this.pasajeroServiceAsincrono = new PasajeroServiceAsincrono(pasajeroService, ejecutorAsincrono);
+        this.vueloServiceAsincrono = new VueloServiceAsincrono(vueloService, ejecutorAsincrono);
         
         // Crear datos iniciales
         //inicializarDatos();
     }
 
+    /**
+     * Fase opcional de arranque: abre en paralelo las conexiones mínimas, prepara los
+     * procedimientos más usados y carga las tablas de referencia pequeñas (flota de aviones)
+     * para que el primer inicio de sesión no pague el costo de conexiones en frío
+     */
+    public void precalentar() {
+        if (enMemoria) {
+            System.out.println("Precalentamiento omitido: se usa el almacén en memoria.");
+            return;
+        }
+        long inicio = System.nanoTime();
+        int conexiones = ConexionBD.getInstancia().precalentar(PROCEDIMIENTOS_FRECUENTES);
+        int aviones = 0;
+        try {
+            aviones = avionService.listarTodosLosAviones().size();
+        } catch (RuntimeException e) {
+            System.err.println("No se pudo cargar la flota durante el precalentamiento: " + e.getMessage());
+        }
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.println("Precalentamiento completado en " + milisegundos + " ms ("
+                + conexiones + " conexiones, " + aviones + " aviones cargados)");
+    }
+
     public void mostrarMenuPrincipal() {
         while (true) {
             System.out.println("\n=== SISTEMA DE GESTIÓN DE VUELOS ===");
@@ -65,6 +175,10 @@ public class MenuService {
                     break;
                 case 2:
                     System.out.println("¡Hasta luego!");
+                    ejecutorAsincrono.close();
+                    if (sondeoCambios != null) {
+                        sondeoCambios.close();
+                    }
                     return;
                 default:
                     System.out.println("Opción inválida. Intente nuevamente.");
@@ -93,6 +207,28 @@ public class MenuService {
         }
     }
 
+    /**
+     * Vuelve a tomar el usuario actual de las sesiones del servicio, sin ir a la base
+     * @return false si no hay sesión o si venció
+     */
+    private boolean sesionVigente() {
+        if (usuarioActual == null) {
+            return false;
+        }
+        usuarioActual = usuarioService.usuarioEnSesion(usuarioActual.getNombreUsuario()).orElse(null);
+        if (usuarioActual == null) {
+            System.out.println("\nLa sesión venció. Inicie sesión nuevamente.");
+            return false;
+        }
+        return true;
+    }
+
+    private void cerrarSesion() {
+        usuarioService.cerrarSesion(usuarioActual.getNombreUsuario());
+        usuarioActual = null;
+        System.out.println("Sesión cerrada.");
+    }
+
     private void mostrarMenuUsuario() {
         if (usuarioActual == null) {
             return;
@@ -112,7 +248,7 @@ public class MenuService {
     }
 
     private void mostrarMenuAdministrador() {
-        while (usuarioActual != null) {
+        while (sesionVigente()) {
             System.out.println("\n=== MENÚ PRINCIPAL - ADMINISTRADOR ===");
             System.out.println("1. Gestión de Empleados");
             System.out.println("2. Gestión de Usuarios");
@@ -120,7 +256,8 @@ public class MenuService {
             System.out.println("4. Gestión de Aviones");
             System.out.println("5. Gestión de Vuelos");
             System.out.println("6. Gestión de Reservas");
-            System.out.println("7. Cerrar Sesión");
+            System.out.println("7. Métricas de Base de Datos");
+            System.out.println("8. Cerrar Sesión");
             System.out.print("Seleccione una opción: ");
             
             int opcion = leerEntero();
@@ -145,8 +282,10 @@ public class MenuService {
                     menuReservas();
                     break;
                 case 7:
-                    usuarioActual = null;
-                    System.out.println("Sesión cerrada.");
+                    mostrarMetricasBaseDatos();
+                    break;
+                case 8:
+                    cerrarSesion();
                     return;
                 default:
                     System.out.println("Opción inválida. Intente nuevamente.");
@@ -154,8 +293,23 @@ public class MenuService {
         }
     }
 
+    private void mostrarMetricasBaseDatos() {
+        if (enMemoria) {
+            System.out.println("Sin métricas de base de datos: se usa el almacén en memoria.");
+            return;
+        }
+        ConexionBD conexionBD = ConexionBD.getInstancia();
+        System.out.println("\n=== MÉTRICAS DE BASE DE DATOS ===");
+        System.out.println(conexionBD.getMetricas().volcar());
+        System.out.println(conexionBD.getEstadisticasPool());
+        conexionBD.getEstadisticasReplicas().forEach(System.out::println);
+        PoliticaReintentos.getRegistradas().forEach(System.out::println);
+        System.out.println(sondeoCambios);
+        System.out.println(cachePasajeros);
+    }
+
     private void mostrarMenuOperador() {
-        while (usuarioActual != null) {
+        while (sesionVigente()) {
             System.out.println("\n=== MENÚ PRINCIPAL - OPERADOR ===");
             System.out.println("1. Gestión de Pasajeros");
             System.out.println("2. Gestión de Vuelos");
@@ -176,8 +330,7 @@ public class MenuService {
                     menuReservas();
                     break;
                 case 4:
-                    usuarioActual = null;
-                    System.out.println("Sesión cerrada.");
+                    cerrarSesion();
                     return;
                 default:
                     System.out.println("Opción inválida. Intente nuevamente.");
@@ -186,7 +339,7 @@ public class MenuService {
     }
 
     private void mostrarMenuBasico() {
-        while (usuarioActual != null) {
+        while (sesionVigente()) {
             System.out.println("\n=== MENÚ PRINCIPAL ===");
             System.out.println("1. Consultar Vuelos");
             System.out.println("2. Consultar Reservas");
@@ -203,8 +356,7 @@ public class MenuService {
                     listarReservas();
                     break;
                 case 3:
-                    usuarioActual = null;
-                    System.out.println("Sesión cerrada.");
+                    cerrarSesion();
                     return;
                 default:
                     System.out.println("Opción inválida. Intente nuevamente.");
@@ -293,14 +445,8 @@ public class MenuService {
     }
 
     private void listarEmpleados() {
-        List<Empleado> empleados = empleadoService.listarTodosLosEmpleados();
-        if (empleados.isEmpty()) {
-            System.out.println("No hay empleados registrados.");
-        } else {
-            System.out.println("\n=== LISTA DE EMPLEADOS ===");
-            imprimirTablaEmpleados(empleados);
-            System.out.println("Total de empleados: " + empleados.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE EMPLEADOS", "No hay empleados registrados.",
+                empleadoService::listarEmpleadosPorPagina, this::imprimirTablaEmpleados));
     }
 
     private void buscarEmpleadosPorCargo() {
@@ -422,7 +568,7 @@ public class MenuService {
         System.out.println(separator);
     }
 
-    private void imprimirTablaVuelos(List<Vuelo> vuelos) {
+    private void imprimirTablaVuelos(List<VueloResumen> vuelos) {
         String headerFormat = "%-10s %-15s %-15s %-18s %-18s %-25s %-10s %-12s %-10s%n";
         String rowFormat = "%-10s %-15s %-15s %-18s %-18s %-25s %-10.2f %-12d %-10s%n";
         String separator = "----------------------------------------------------------------------------------------------------------------------------";
@@ -442,8 +588,8 @@ public class MenuService {
         vuelos.forEach(vuelo -> {
             String salida = formatearFechaHora(vuelo.getFechaHoraSalida());
             String llegada = formatearFechaHora(vuelo.getFechaHoraLlegada());
-            String avionInfo = vuelo.getAvion() != null
-                    ? vuelo.getAvion().getModelo() + " (" + vuelo.getAvion().getNumeroSerie() + ")"
+            String avionInfo = vuelo.getNumeroSerieAvion() != null
+                    ? vuelo.getModeloAvion() + " (" + vuelo.getNumeroSerieAvion() + ")"
                     : "N/A";
             System.out.printf(rowFormat,
                     vuelo.getNumeroVuelo(),
@@ -460,7 +606,7 @@ public class MenuService {
         System.out.println(separator);
     }
 
-    private void imprimirTablaReservas(List<Reserva> reservas) {
+    private void imprimirTablaReservas(List<ReservaResumen> reservas) {
         String headerFormat = "%-12s %-25s %-12s %-20s %-12s %-10s %-10s%n";
         String rowFormat = "%-12s %-25s %-12s %-20s %-12s %-10d %-10.2f%n";
         String separator = "------------------------------------------------------------------------------------------------------";
@@ -476,11 +622,9 @@ public class MenuService {
         System.out.println(separator);
 
         reservas.forEach(reserva -> {
-            Pasajero pasajero = reserva.getPasajero();
-            Vuelo vuelo = reserva.getVuelo();
-            String pasajeroNombre = pasajero != null ? pasajero.getNombreCompleto() : "N/A";
-            String pasajeroDni = pasajero != null ? pasajero.getDni() : "N/A";
-            String vueloInfo = vuelo != null ? vuelo.getNumeroVuelo() : "N/A";
+            String pasajeroNombre = reserva.getDniPasajero() != null ? reserva.getNombreCompletoPasajero() : "N/A";
+            String pasajeroDni = reserva.getDniPasajero() != null ? reserva.getDniPasajero() : "N/A";
+            String vueloInfo = reserva.getNumeroVuelo() != null ? reserva.getNumeroVuelo() : "N/A";
             String fecha = reserva.getFechaReserva() != null ? formatearFechaHora(reserva.getFechaReserva()) : "N/A";
 
             System.out.printf(rowFormat,
@@ -510,6 +654,62 @@ public class MenuService {
         }
     }
 
+    /**
+     * Muestra el resultado de una búsqueda por rango: una tabla por día si se agrupó, o una
+     * sola tabla; el subtotal se calcula sobre las filas de cada tabla
+     */
+    private <T> void mostrarRango(String titulo, ResultadoRango<T> resultado,
+                                  Consumer<List<T>> imprimirTabla, Function<List<T>, String> subtotal) {
+        if (resultado.getElementos().isEmpty()) {
+            System.out.println("No se encontraron resultados entre " + resultado.getDesde()
+                    + " y " + resultado.getHasta() + ".");
+            return;
+        }
+        if (resultado.estaAgrupado()) {
+            resultado.getPorDia().forEach((dia, filas) -> {
+                System.out.println("\n=== " + titulo + " DEL " + dia + " ===");
+                imprimirTabla.accept(filas);
+                System.out.println(subtotal.apply(filas));
+            });
+        } else {
+            System.out.println("\n=== " + titulo + " DEL " + resultado.getDesde() + " AL " + resultado.getHasta() + " ===");
+            imprimirTabla.accept(resultado.getElementos());
+        }
+        System.out.println("Total del rango. " + subtotal.apply(resultado.getElementos()));
+    }
+
+    /**
+     * Muestra un listado de a una página por vez; la siguiente se pide con el token
+     * de continuación, así que nunca se carga el listado completo en memoria
+     */
+    private <T> void mostrarPaginado(String titulo, String mensajeVacio,
+                                     BiFunction<Integer, String, Pagina<T>> consulta,
+                                     Consumer<List<T>> imprimirTabla) {
+        String token = null;
+        int numeroPagina = 1;
+        int total = 0;
+        while (true) {
+            Pagina<T> pagina = consulta.apply(TAMANO_PAGINA, token);
+            if (numeroPagina == 1 && pagina.getElementos().isEmpty()) {
+                System.out.println(mensajeVacio);
+                return;
+            }
+            System.out.println("\n=== " + titulo + " (página " + numeroPagina + ") ===");
+            imprimirTabla.accept(pagina.getElementos());
+            total += pagina.getElementos().size();
+            if (!pagina.haySiguiente()) {
+                break;
+            }
+            System.out.print("¿Ver la página siguiente? (s/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                break;
+            }
+            token = pagina.getSiguienteToken();
+            numeroPagina++;
+        }
+        System.out.println("Total mostrados: " + total);
+    }
+
     private void eliminarEmpleado() {
         System.out.print("\nIngrese el DNI del empleado a eliminar: ");
         String dni = scanner.nextLine();
@@ -598,15 +798,8 @@ public class MenuService {
     }
 
     private void listarUsuarios() {
-        System.out.println("\n=== LISTA DE USUARIOS ===");
-        List<Usuario> usuarios = usuarioService.listarTodosLosUsuarios();
-        
-        if (usuarios.isEmpty()) {
-            System.out.println("No hay usuarios registrados.");
-        } else {
-            imprimirTablaUsuarios(usuarios);
-            System.out.println("\nTotal de usuarios: " + usuarios.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE USUARIOS", "No hay usuarios registrados.",
+                usuarioService::listarUsuariosPorPagina, this::imprimirTablaUsuarios));
     }
 
     private void eliminarUsuario() {
@@ -620,7 +813,7 @@ public class MenuService {
 
     private void menuPasajeros() {
         // Determinar si es administrador para mostrar todas las opciones
-        boolean esAdministrador = usuarioActual != null && usuarioActual.getRol() == Rol.ADMINISTRADOR;
+        boolean esAdministrador = sesionVigente() && usuarioActual.getRol() == Rol.ADMINISTRADOR;
         
         while (true) {
             System.out.println("\n=== GESTIÓN DE PASAJEROS ===");
@@ -713,14 +906,8 @@ public class MenuService {
     }
 
     private void listarPasajeros() {
-        List<Pasajero> pasajeros = pasajeroService.listarTodosLosPasajeros();
-        if (pasajeros.isEmpty()) {
-            System.out.println("No hay pasajeros registrados.");
-        } else {
-            System.out.println("\n=== LISTA DE PASAJEROS ===");
-            imprimirTablaPasajeros(pasajeros);
-            System.out.println("Total de pasajeros: " + pasajeros.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE PASAJEROS", "No hay pasajeros registrados.",
+                pasajeroService::listarPasajerosPorPagina, this::imprimirTablaPasajeros));
     }
 
     private void eliminarPasajero() {
@@ -804,14 +991,8 @@ public class MenuService {
     }
 
     private void listarAviones() {
-        List<Avion> aviones = avionService.listarTodosLosAviones();
-        if (aviones.isEmpty()) {
-            System.out.println("No hay aviones registrados.");
-        } else {
-            System.out.println("\n=== LISTA DE AVIONES ===");
-            imprimirTablaAviones(aviones);
-            System.out.println("Total de aviones: " + aviones.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE AVIONES", "No hay aviones registrados.",
+                avionService::listarAvionesPorPagina, this::imprimirTablaAviones));
     }
 
     private void listarAvionesDisponibles() {
@@ -838,7 +1019,7 @@ public class MenuService {
 
     private void menuVuelos() {
         // Determinar si es administrador para mostrar todas las opciones
-        boolean esAdministrador = usuarioActual != null && usuarioActual.getRol() == Rol.ADMINISTRADOR;
+        boolean esAdministrador = sesionVigente() && usuarioActual.getRol() == Rol.ADMINISTRADOR;
         
         while (true) {
             System.out.println("\n=== GESTIÓN DE VUELOS ===");
@@ -851,8 +1032,11 @@ public class MenuService {
                 System.out.println("5. Buscar Vuelos por Destino");
                 System.out.println("6. Buscar Vuelos por Ruta");
                 System.out.println("7. Buscar Vuelos por Fecha");
-                System.out.println("8. Eliminar Vuelo");
-                System.out.println("9. Volver al Menú Principal");
+                System.out.println("8. Buscar Vuelos por Rango de Fechas");
+                System.out.println("9. Búsqueda Avanzada de Vuelos");
+                System.out.println("10. Actualizar Estado de Vuelo");
+                System.out.println("11. Eliminar Vuelo");
+                System.out.println("12. Volver al Menú Principal");
             } else {
                 System.out.println("2. Volver al Menú Principal");
             }
@@ -884,9 +1068,18 @@ public class MenuService {
                         buscarVuelosPorFecha();
                         break;
                     case 8:
-                        eliminarVuelo();
+                        buscarVuelosPorRango();
                         break;
                     case 9:
+                        buscarVuelosAvanzado();
+                        break;
+                    case 10:
+                        actualizarEstadoVuelo();
+                        break;
+                    case 11:
+                        eliminarVuelo();
+                        break;
+                    case 12:
                         return;
                     default:
                         System.out.println("Opción inválida.");
@@ -939,7 +1132,7 @@ public class MenuService {
         ejecutarAccion(() -> vueloService.buscarVueloPorNumero(numeroVuelo).ifPresentOrElse(
                 vuelo -> {
                     System.out.println("\n=== VUELO ENCONTRADO ===");
-                    imprimirTablaVuelos(List.of(vuelo));
+                    imprimirTablaVuelos(List.of(VueloResumen.de(vuelo)));
                     System.out.println("Total encontrados: 1");
                 },
                 () -> System.out.println("Vuelo no encontrado.")
@@ -947,21 +1140,15 @@ public class MenuService {
     }
 
     private void listarVuelos() {
-        List<Vuelo> vuelos = vueloService.listarTodosLosVuelos();
-        if (vuelos.isEmpty()) {
-            System.out.println("No hay vuelos registrados.");
-        } else {
-            System.out.println("\n=== LISTA DE VUELOS ===");
-            imprimirTablaVuelos(vuelos);
-            System.out.println("Total de vuelos: " + vuelos.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE VUELOS", "No hay vuelos registrados.",
+                vueloService::listarResumenVuelosPorPagina, this::imprimirTablaVuelos));
     }
 
     private void buscarVuelosPorOrigen() {
         System.out.print("\nIngrese el origen: ");
         String origen = scanner.nextLine();
         ejecutarAccion(() -> {
-            List<Vuelo> vuelos = vueloService.buscarVuelosPorOrigen(origen);
+            List<VueloResumen> vuelos = vueloService.buscarResumenVuelosPorOrigen(origen);
             if (vuelos.isEmpty()) {
                 System.out.println("No se encontraron vuelos con ese origen.");
             } else {
@@ -976,7 +1163,7 @@ public class MenuService {
         System.out.print("\nIngrese el destino: ");
         String destino = scanner.nextLine();
         ejecutarAccion(() -> {
-            List<Vuelo> vuelos = vueloService.buscarVuelosPorDestino(destino);
+            List<VueloResumen> vuelos = vueloService.buscarResumenVuelosPorDestino(destino);
             if (vuelos.isEmpty()) {
                 System.out.println("No se encontraron vuelos con ese destino.");
             } else {
@@ -993,7 +1180,7 @@ public class MenuService {
         System.out.print("Ingrese el destino: ");
         String destino = scanner.nextLine();
         ejecutarAccion(() -> {
-            List<Vuelo> vuelos = vueloService.buscarVuelosPorRuta(origen, destino);
+            List<VueloResumen> vuelos = vueloService.buscarResumenVuelosPorRuta(origen, destino);
             if (vuelos.isEmpty()) {
                 System.out.println("No se encontraron vuelos en esa ruta.");
             } else {
@@ -1008,7 +1195,7 @@ public class MenuService {
         System.out.print("\nIngrese la fecha de salida (YYYY-MM-DD): ");
         LocalDate fecha = leerFecha();
         ejecutarAccion(() -> {
-            List<Vuelo> vuelos = vueloService.buscarVuelosPorFecha(fecha);
+            List<VueloResumen> vuelos = vueloService.buscarResumenVuelosPorFecha(fecha);
             if (vuelos.isEmpty()) {
                 System.out.println("No se encontraron vuelos para la fecha indicada.");
             } else {
@@ -1019,6 +1206,96 @@ public class MenuService {
         });
     }
 
+    private void buscarVuelosPorRango() {
+        System.out.print("\nSalida desde el día (YYYY-MM-DD): ");
+        LocalDate desde = leerFecha();
+        System.out.print("Salida hasta el día, incluido (YYYY-MM-DD): ");
+        LocalDate hasta = leerFecha();
+        System.out.print("¿Agrupar por día? (s/n): ");
+        boolean agrupar = scanner.nextLine().trim().equalsIgnoreCase("s");
+        ejecutarAccion(() -> mostrarRango("VUELOS",
+                vueloService.buscarResumenVuelosPorRango(desde, hasta, agrupar),
+                this::imprimirTablaVuelos,
+                vuelos -> "Vuelos: " + vuelos.size()));
+    }
+
+    private void buscarVuelosAvanzado() {
+        System.out.println("\n=== BÚSQUEDA AVANZADA DE VUELOS ===");
+        System.out.println("(Deje en blanco los criterios que no quiera usar)");
+        System.out.print("Origen: ");
+        String origen = scanner.nextLine();
+        System.out.print("Destino: ");
+        String destino = scanner.nextLine();
+        System.out.print("Salida desde el día (YYYY-MM-DD): ");
+        LocalDate primerDia = leerFechaOpcional();
+        System.out.print("Salida hasta el día, incluido (YYYY-MM-DD): ");
+        LocalDate ultimoDia = leerFechaOpcional();
+        System.out.print("Precio mínimo: ");
+        Double precioMinimo = leerDoubleOpcional();
+        System.out.print("Precio máximo: ");
+        Double precioMaximo = leerDoubleOpcional();
+        System.out.print("Asientos libres mínimos: ");
+        Integer asientosMinimos = leerEnteroOpcional();
+        System.out.print("Estados (separados por comas, ej. PROGRAMADO,EN_ABORDAR): ");
+        String estadosTexto = scanner.nextLine();
+        System.out.println("Ordenar por: 1. Salida  2. Precio  3. Asientos disponibles");
+        System.out.print("Seleccione una opción: ");
+        int opcionOrden = leerEntero();
+
+        ejecutarAccion(() -> {
+            List<EstadoVuelo> estados = new ArrayList<>();
+            for (String estado : estadosTexto.split(",")) {
+                if (estado.isBlank()) {
+                    continue;
+                }
+                try {
+                    estados.add(EstadoVuelo.valueOf(estado.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Estado inválido: " + estado.trim());
+                    return;
+                }
+            }
+            OrdenBusquedaVuelo orden = opcionOrden == 2 ? OrdenBusquedaVuelo.PRECIO
+                    : opcionOrden == 3 ? OrdenBusquedaVuelo.ASIENTOS_DISPONIBLES
+                    : OrdenBusquedaVuelo.SALIDA;
+            CriteriosBusquedaVuelo criterios = CriteriosBusquedaVuelo.todos()
+                    .conOrigen(origen)
+                    .conDestino(destino)
+                    .conSalidaEntreFechas(primerDia, ultimoDia)
+                    .conPrecioEntre(precioMinimo, precioMaximo)
+                    .conAsientosMinimos(asientosMinimos)
+                    .conEstados(estados)
+                    .ordenadosPor(orden);
+
+            List<VueloResumen> vuelos = vueloService.buscarVuelos(criterios);
+            if (vuelos.isEmpty()) {
+                System.out.println("No se encontraron vuelos con esos criterios.");
+            } else {
+                System.out.println("\n=== VUELOS ENCONTRADOS ===");
+                imprimirTablaVuelos(vuelos);
+                System.out.println("Total encontrados: " + vuelos.size());
+            }
+        });
+    }
+
+    private void actualizarEstadoVuelo() {
+        System.out.print("\nIngrese el número de vuelo: ");
+        String numeroVuelo = scanner.nextLine();
+        System.out.print("Nuevo estado (PROGRAMADO, EN_ABORDAR, EN_VUELO, COMPLETADO, CANCELADO): ");
+        String estadoTexto = scanner.nextLine();
+        ejecutarAccion(() -> {
+            EstadoVuelo nuevoEstado;
+            try {
+                nuevoEstado = EstadoVuelo.valueOf(estadoTexto.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Estado inválido: " + estadoTexto.trim());
+                return;
+            }
+            vueloService.actualizarEstadoVuelo(numeroVuelo, nuevoEstado);
+            System.out.println("Estado del vuelo actualizado a " + nuevoEstado + ".");
+        });
+    }
+
     private void eliminarVuelo() {
         System.out.print("\nIngrese el número de vuelo a eliminar: ");
         String numeroVuelo = scanner.nextLine();
@@ -1030,22 +1307,24 @@ public class MenuService {
 
     private void menuReservas() {
         // Determinar si es administrador para mostrar todas las opciones
-        boolean esAdministrador = usuarioActual != null && usuarioActual.getRol() == Rol.ADMINISTRADOR;
+        boolean esAdministrador = sesionVigente() && usuarioActual.getRol() == Rol.ADMINISTRADOR;
         
         while (true) {
             System.out.println("\n=== GESTIÓN DE RESERVAS ===");
             System.out.println("1. Crear Reserva");
+            System.out.println("2. Crear Reserva de Grupo");
             
             if (esAdministrador) {
-                System.out.println("2. Buscar Reserva por Número");
-                System.out.println("3. Listar Todas las Reservas");
-                System.out.println("4. Buscar Reservas por Pasajero");
-                System.out.println("5. Buscar Reservas por Vuelo");
-                System.out.println("6. Buscar Reservas por Fecha");
-                System.out.println("7. Cancelar Reserva");
-                System.out.println("8. Volver al Menú Principal");
+                System.out.println("3. Buscar Reserva por Número");
+                System.out.println("4. Listar Todas las Reservas");
+                System.out.println("5. Buscar Reservas por Pasajero");
+                System.out.println("6. Buscar Reservas por Vuelo");
+                System.out.println("7. Buscar Reservas por Fecha");
+                System.out.println("8. Buscar Reservas por Rango de Fechas");
+                System.out.println("9. Cancelar Reserva");
+                System.out.println("10. Volver al Menú Principal");
             } else {
-                System.out.println("2. Volver al Menú Principal");
+                System.out.println("3. Volver al Menú Principal");
             }
             System.out.print("Seleccione una opción: ");
             
@@ -1057,24 +1336,30 @@ public class MenuService {
                         crearReserva();
                         break;
                     case 2:
-                        buscarReservaPorNumero();
+                        crearReservaGrupo();
                         break;
                     case 3:
-                        listarReservas();
+                        buscarReservaPorNumero();
                         break;
                     case 4:
-                        buscarReservasPorPasajero();
+                        listarReservas();
                         break;
                     case 5:
-                        buscarReservasPorVuelo();
+                        buscarReservasPorPasajero();
                         break;
                     case 6:
-                        buscarReservasPorFecha();
+                        buscarReservasPorVuelo();
                         break;
                     case 7:
-                        cancelarReserva();
+                        buscarReservasPorFecha();
                         break;
                     case 8:
+                        buscarReservasPorRango();
+                        break;
+                    case 9:
+                        cancelarReserva();
+                        break;
+                    case 10:
                         return;
                     default:
                         System.out.println("Opción inválida.");
@@ -1085,6 +1370,9 @@ public class MenuService {
                         crearReserva();
                         break;
                     case 2:
+                        crearReservaGrupo();
+                        break;
+                    case 3:
                         return;
                     default:
                         System.out.println("Opción inválida.");
@@ -1104,17 +1392,95 @@ public class MenuService {
         System.out.print("Número de Asiento: ");
         int numeroAsiento = leerEntero();
 
-        ejecutarAccion(() -> pasajeroService.buscarPasajeroPorDni(dniPasajero).ifPresentOrElse(
-                pasajero -> vueloService.buscarVueloPorNumero(numeroVuelo).ifPresentOrElse(
-                        vuelo -> {
-                            Reserva reserva = new Reserva(numeroReserva, pasajero, vuelo, numeroAsiento);
-                            reservaService.crearReserva(reserva);
-                            System.out.println("Reserva creada exitosamente.");
-                        },
-                        () -> System.out.println("Vuelo no encontrado.")
-                ),
-                () -> System.out.println("Pasajero no encontrado. Debe registrar el pasajero primero.")
-        ));
+        ejecutarAccion(() -> {
+            // Las dos búsquedas son independientes: se piden a la vez
+            CompletableFuture<Optional<Pasajero>> pasajeroBuscado = pasajeroServiceAsincrono.buscarPasajeroPorDni(dniPasajero);
+            CompletableFuture<Optional<Vuelo>> vueloBuscado = vueloServiceAsincrono.buscarVueloPorNumero(numeroVuelo);
+
+            Pasajero pasajero = EjecutorAsincrono.esperar(pasajeroBuscado).orElse(null);
+            if (pasajero == null) {
+                System.out.println("Pasajero no encontrado. Debe registrar el pasajero primero.");
+                return;
+            }
+            Vuelo vuelo = EjecutorAsincrono.esperar(vueloBuscado).orElse(null);
+            if (vuelo == null) {
+                System.out.println("Vuelo no encontrado.");
+                return;
+            }
+            Reserva reserva = new Reserva(numeroReserva, pasajero, vuelo, numeroAsiento);
+            reservaService.crearReserva(reserva);
+            System.out.println("Reserva creada exitosamente.");
+        });
+    }
+
+    private void crearReservaGrupo() {
+        System.out.println("\n=== CREAR RESERVA DE GRUPO ===");
+        System.out.print("Número de Vuelo: ");
+        String numeroVuelo = scanner.nextLine();
+        System.out.print("DNI de los Pasajeros (separados por comas): ");
+        String[] dnis = scanner.nextLine().split(",");
+        System.out.println("Asignación de asientos: 1. Elegidos  2. Primeros libres  3. Contiguos");
+        System.out.print("Seleccione una opción: ");
+        int opcionAsientos = leerEntero();
+        String asientosElegidos = "";
+        if (opcionAsientos == 1) {
+            System.out.print("Números de Asiento, en el orden de los pasajeros (separados por comas): ");
+            asientosElegidos = scanner.nextLine();
+        }
+        String[] asientos = asientosElegidos.split(",");
+
+        ejecutarAccion(() -> {
+            PoliticaAsientos politica;
+            switch (opcionAsientos) {
+                case 1:
+                    List<Integer> numeros = new ArrayList<>();
+                    for (String asiento : asientos) {
+                        numeros.add(Integer.parseInt(asiento.trim()));
+                    }
+                    politica = PoliticaAsientos.elegidos(numeros);
+                    break;
+                case 2:
+                    politica = PoliticaAsientos.primerosLibres();
+                    break;
+                case 3:
+                    politica = PoliticaAsientos.contiguos();
+                    break;
+                default:
+                    System.out.println("Opción inválida.");
+                    return;
+            }
+
+            // El vuelo y todos los pasajeros se buscan a la vez; se esperan en orden
+            CompletableFuture<Optional<Vuelo>> vueloBuscado = vueloServiceAsincrono.buscarVueloPorNumero(numeroVuelo);
+            List<String> dnisPedidos = new ArrayList<>();
+            List<CompletableFuture<Optional<Pasajero>>> pasajerosBuscados = new ArrayList<>();
+            for (String dni : dnis) {
+                if (dni.isBlank()) {
+                    continue;
+                }
+                dnisPedidos.add(dni.trim());
+                pasajerosBuscados.add(pasajeroServiceAsincrono.buscarPasajeroPorDni(dni.trim()));
+            }
+
+            Vuelo vuelo = EjecutorAsincrono.esperar(vueloBuscado).orElse(null);
+            if (vuelo == null) {
+                System.out.println("Vuelo no encontrado.");
+                return;
+            }
+            List<Pasajero> pasajeros = new ArrayList<>();
+            for (int i = 0; i < pasajerosBuscados.size(); i++) {
+                Pasajero pasajero = EjecutorAsincrono.esperar(pasajerosBuscados.get(i)).orElse(null);
+                if (pasajero == null) {
+                    System.out.println("Pasajero " + dnisPedidos.get(i) + " no encontrado. Debe registrar el pasajero primero.");
+                    return;
+                }
+                pasajeros.add(pasajero);
+            }
+
+            List<Reserva> reservas = reservaService.crearReservasGrupo(vuelo, pasajeros, politica);
+            System.out.println("Reserva de grupo creada exitosamente.");
+            imprimirTablaReservas(reservas.stream().map(ReservaResumen::de).collect(Collectors.toList()));
+        });
     }
 
     private void buscarReservaPorNumero() {
@@ -1123,7 +1489,7 @@ public class MenuService {
         ejecutarAccion(() -> reservaService.buscarReservaPorNumero(numeroReserva).ifPresentOrElse(
                 reserva -> {
                     System.out.println("\n=== RESERVA ENCONTRADA ===");
-                    imprimirTablaReservas(List.of(reserva));
+                    imprimirTablaReservas(List.of(ReservaResumen.de(reserva)));
                     System.out.println("Total encontrados: 1");
                 },
                 () -> System.out.println("Reserva no encontrada.")
@@ -1131,21 +1497,15 @@ public class MenuService {
     }
 
     private void listarReservas() {
-        List<Reserva> reservas = reservaService.listarTodasLasReservas();
-        if (reservas.isEmpty()) {
-            System.out.println("No hay reservas registradas.");
-        } else {
-            System.out.println("\n=== LISTA DE RESERVAS ===");
-            imprimirTablaReservas(reservas);
-            System.out.println("Total de reservas: " + reservas.size());
-        }
+        ejecutarAccion(() -> mostrarPaginado("LISTA DE RESERVAS", "No hay reservas registradas.",
+                reservaService::listarResumenReservasPorPagina, this::imprimirTablaReservas));
     }
 
     private void buscarReservasPorPasajero() {
         System.out.print("\nIngrese el DNI del pasajero: ");
         String dniPasajero = scanner.nextLine();
         ejecutarAccion(() -> {
-            List<Reserva> reservas = reservaService.buscarReservasPorPasajero(dniPasajero);
+            List<ReservaResumen> reservas = reservaService.buscarResumenReservasPorPasajero(dniPasajero);
             if (reservas.isEmpty()) {
                 System.out.println("No se encontraron reservas para ese pasajero.");
             } else {
@@ -1160,7 +1520,7 @@ public class MenuService {
         System.out.print("\nIngrese el número de vuelo: ");
         String numeroVuelo = scanner.nextLine();
         ejecutarAccion(() -> {
-            List<Reserva> reservas = reservaService.buscarReservasPorVuelo(numeroVuelo);
+            List<ReservaResumen> reservas = reservaService.buscarResumenReservasPorVuelo(numeroVuelo);
             if (reservas.isEmpty()) {
                 System.out.println("No se encontraron reservas para ese vuelo.");
             } else {
@@ -1175,7 +1535,7 @@ public class MenuService {
         System.out.print("\nIngrese la fecha de la reserva (YYYY-MM-DD): ");
         LocalDate fecha = leerFecha();
         ejecutarAccion(() -> {
-            List<Reserva> reservas = reservaService.buscarReservasPorFecha(fecha);
+            List<ReservaResumen> reservas = reservaService.buscarResumenReservasPorFecha(fecha);
             if (reservas.isEmpty()) {
                 System.out.println("No se encontraron reservas para la fecha indicada.");
             } else {
@@ -1186,6 +1546,20 @@ public class MenuService {
         });
     }
 
+    private void buscarReservasPorRango() {
+        System.out.print("\nReservas desde el día (YYYY-MM-DD): ");
+        LocalDate desde = leerFecha();
+        System.out.print("Reservas hasta el día, incluido (YYYY-MM-DD): ");
+        LocalDate hasta = leerFecha();
+        System.out.print("¿Agrupar por día? (s/n): ");
+        boolean agrupar = scanner.nextLine().trim().equalsIgnoreCase("s");
+        ejecutarAccion(() -> mostrarRango("RESERVAS",
+                reservaService.buscarResumenReservasPorRango(desde, hasta, agrupar),
+                this::imprimirTablaReservas,
+                reservas -> String.format("Reservas: %d, importe: %.2f", reservas.size(),
+                        reservas.stream().mapToDouble(ReservaResumen::calcularTotal).sum())));
+    }
+
     private void cancelarReserva() {
         System.out.print("\nIngrese el número de reserva a cancelar: ");
         String numeroReserva = scanner.nextLine();
@@ -1280,6 +1654,48 @@ public class MenuService {
         }
     }
 
+    private LocalDate leerFechaOpcional() {
+        while (true) {
+            String fechaStr = scanner.nextLine();
+            if (fechaStr.isBlank()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(fechaStr.trim());
+            } catch (DateTimeParseException e) {
+                System.out.print("Fecha inválida. Use formato YYYY-MM-DD o deje en blanco. Intente nuevamente: ");
+            }
+        }
+    }
+
+    private Double leerDoubleOpcional() {
+        while (true) {
+            String valor = scanner.nextLine();
+            if (valor.isBlank()) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(valor.trim());
+            } catch (NumberFormatException e) {
+                System.out.print("Número inválido. Intente nuevamente o deje en blanco: ");
+            }
+        }
+    }
+
+    private Integer leerEnteroOpcional() {
+        while (true) {
+            String valor = scanner.nextLine();
+            if (valor.isBlank()) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(valor.trim());
+            } catch (NumberFormatException e) {
+                System.out.print("Número inválido. Intente nuevamente o deje en blanco: ");
+            }
+        }
+    }
+
     private LocalDateTime leerFechaHora() {
         while (true) {
             try {